@@ -0,0 +1,103 @@
+package cofh.core.network;
+
+import cofh.core.network.PacketHandler.Batch;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One player's batch of tile packets for a tick, as {@link PacketHandler#sendToPlayers} builds it. Each frame carries
+ * the fields of a cell's config and state packets: transfer amounts, trackers and light.
+ * <p>
+ * "encoding" compares varint fields against fixed-width ints; "frames" compares plain heap frames against pooled
+ * direct frames, which have to be copied into the batch and released because vanilla never releases a payload. Run
+ * with the GC profiler ("gradlew :CoFHCore:jmh"): gc.alloc.rate.norm is the allocation per batch, and the "bytes"
+ * counter the encoded size of the payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    private static final long POS = new BlockPos(-1234, 64, 5678).toLong();
+
+    @Param({"varint", "fixed"})
+    public String encoding;
+
+    @Param({"heap", "pooled"})
+    public String frames;
+
+    @Param({"1", "16"})
+    public int packets;
+
+    private boolean varint;
+    private boolean pooled;
+
+    @Setup
+    public void setup() {
+
+        varint = "varint".equals(encoding);
+        pooled = "pooled".equals(frames);
+    }
+
+    @Benchmark
+    public ByteBuf writeBatch(Encoded encoded) {
+
+        Batch batch = new Batch();
+        for (int i = 0; i < packets; ++i) {
+            ByteBuf frame = pooled ? PooledByteBufAllocator.DEFAULT.directBuffer() : Unpooled.buffer();
+            try {
+                writeFrame(new PacketBuffer(frame), i);
+                batch.add(frame);
+            } finally {
+                if (pooled) {
+                    frame.release();
+                }
+            }
+        }
+        ByteBuf payload = batch.toPayload(false);
+        encoded.bytes = payload.readableBytes();
+        return payload;
+    }
+
+    private void writeFrame(PacketBuffer buf, int i) {
+
+        buf.writeByte(1);
+        buf.writeLong(POS);
+        // Transfer amounts, then comparator and level trackers and light.
+        writeInt(buf, 1000);
+        writeInt(buf, 250 * (i & 3));
+        writeInt(buf, i % 16);
+        writeInt(buf, 8);
+        writeInt(buf, 15);
+    }
+
+    private void writeInt(PacketBuffer buf, int value) {
+
+        if (varint) {
+            buf.writeVarInt(value);
+        } else {
+            buf.writeInt(value);
+        }
+    }
+
+    /**
+     * Encoded size of the last payload, reported next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Encoded {
+
+        public int bytes;
+
+    }
+
+}
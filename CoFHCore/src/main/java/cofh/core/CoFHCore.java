@@ -90,6 +90,7 @@ public class CoFHCore {
         PACKET_HANDLER.registerPacket(PACKET_GUI, TileGuiPacket::new);
         PACKET_HANDLER.registerPacket(PACKET_REDSTONE, TileRedstonePacket::new);
         PACKET_HANDLER.registerPacket(PACKET_STATE, TileStatePacket::new);
+        PACKET_HANDLER.registerPacket(PACKET_STATE_BATCH, TileStateBatchPacket::new);
 
         PACKET_HANDLER.registerPacket(PACKET_CHAT, IndexedChatPacket::new);
 
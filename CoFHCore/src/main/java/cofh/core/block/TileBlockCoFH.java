@@ -21,6 +21,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.minecraft.world.IBlockReader;
+import net.minecraft.world.IWorldReader;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.network.NetworkHooks;
 
@@ -92,6 +93,16 @@ public class TileBlockCoFH extends Block implements IDismantleable {
         super.neighborChanged(state, worldIn, pos, blockIn, fromPos, isMoving);
     }
 
+    @Override
+    public void onNeighborChange(BlockState state, IWorldReader world, BlockPos pos, BlockPos neighbor) {
+
+        TileEntity tile = world.getTileEntity(pos);
+        if (tile instanceof TileCoFH) {
+            ((TileCoFH) tile).onNeighborChange(neighbor);
+        }
+        super.onNeighborChange(state, world, pos, neighbor);
+    }
+
     @Override
     public void onBlockPlacedBy(World worldIn, BlockPos pos, BlockState state, @Nullable LivingEntity placer, ItemStack stack) {
 
@@ -0,0 +1,55 @@
+package cofh.core.command;
+
+import cofh.core.util.TickProfiler;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.TranslationTextComponent;
+
+import static cofh.core.util.constants.Constants.CMD_COUNT;
+import static cofh.core.util.constants.Constants.CMD_DURATION;
+
+public class SubCommandProfile {
+
+    public static int permissionLevel = 3;
+
+    public static int defaultDuration = 200;
+    public static int defaultCount = 10;
+
+    static ArgumentBuilder<CommandSource, ?> register() {
+
+        return Commands.literal("profile")
+                .requires(source -> source.hasPermissionLevel(permissionLevel))
+                // Default Window
+                .executes(context -> startProfile(context.getSource(), defaultDuration, defaultCount))
+                // Window Specified
+                .then(Commands.argument(CMD_DURATION, IntegerArgumentType.integer(1, 72000))
+                        .executes(context -> startProfile(context.getSource(), IntegerArgumentType.getInteger(context, CMD_DURATION), defaultCount))
+                        // Count Specified
+                        .then(Commands.argument(CMD_COUNT, IntegerArgumentType.integer(1, 100))
+                                .executes(context -> startProfile(context.getSource(), IntegerArgumentType.getInteger(context, CMD_DURATION), IntegerArgumentType.getInteger(context, CMD_COUNT)))))
+                .then(Commands.literal("stop")
+                        .executes(context -> stopProfile(context.getSource())));
+    }
+
+    private static int startProfile(CommandSource source, int duration, int count) {
+
+        if (!TickProfiler.begin(source, duration, count)) {
+            source.sendErrorMessage(new TranslationTextComponent("commands.cofh.profile.failed.running"));
+            return 0;
+        }
+        source.sendFeedback(new TranslationTextComponent("commands.cofh.profile.start", duration), true);
+        return 1;
+    }
+
+    private static int stopProfile(CommandSource source) {
+
+        if (!TickProfiler.stop()) {
+            source.sendErrorMessage(new TranslationTextComponent("commands.cofh.profile.failed.none"));
+            return 0;
+        }
+        return 1;
+    }
+
+}
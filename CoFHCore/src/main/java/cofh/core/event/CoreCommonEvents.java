@@ -2,6 +2,12 @@ package cofh.core.event;
 
 import cofh.core.init.CoreConfig;
 import cofh.core.item.IXPContainerItem;
+import cofh.core.network.PacketHandler;
+import cofh.core.network.packet.client.TileStateBatchPacket;
+import cofh.core.util.BlockExpiryScheduler;
+import cofh.core.util.TickProfiler;
+import cofh.core.util.TileTickScheduler;
+import cofh.core.util.Utils;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.item.ExperienceOrbEntity;
@@ -9,11 +15,15 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.EquipmentSlotType;
 import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.ItemFishedEvent;
 import net.minecraftforge.event.entity.player.PlayerXpEvent;
 import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.SaplingGrowTreeEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -123,6 +133,35 @@ public class CoreCommonEvents {
         }
     }
 
+    @SubscribeEvent
+    public static void handleServerTickEvent(TickEvent.ServerTickEvent event) {
+
+        if (event.phase == TickEvent.Phase.END) {
+            TickProfiler.update();
+            PacketHandler.flushAll();
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleWorldTickEvent(TickEvent.WorldTickEvent event) {
+
+        if (event.phase == TickEvent.Phase.END && Utils.isServerWorld(event.world)) {
+            TileTickScheduler.update(event.world);
+            BlockExpiryScheduler.update((ServerWorld) event.world);
+            TileStateBatchPacket.flush((ServerWorld) event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleWorldUnloadEvent(WorldEvent.Unload event) {
+
+        if (event.getWorld() instanceof World) {
+            TileTickScheduler.clear((World) event.getWorld());
+            BlockExpiryScheduler.clear((World) event.getWorld());
+            TileStateBatchPacket.clear((World) event.getWorld());
+        }
+    }
+
     // region HELPERS
     private static Map.Entry<EquipmentSlotType, ItemStack> getMostDamagedItem(PlayerEntity player) {
 
@@ -30,6 +30,7 @@ public class FluidStorageCoFH implements IFluidHandler, IFluidStackAccess, IReso
     @Nonnull
     protected FluidStack fluid = FluidStack.EMPTY;
     protected int capacity;
+    protected int version;
 
     public FluidStorageCoFH(int capacity) {
 
@@ -52,8 +53,9 @@ public class FluidStorageCoFH implements IFluidHandler, IFluidStackAccess, IReso
     public FluidStorageCoFH setCapacity(int capacity) {
 
         this.capacity = MathHelper.clamp(capacity, 0, MAX_CAPACITY);
-        if (!isEmpty()) {
-            fluid.setAmount(Math.max(0, Math.min(capacity, getAmount())));
+        if (!isEmpty() && getAmount() > capacity) {
+            fluid.setAmount(Math.max(0, capacity));
+            ++version;
         }
         return this;
     }
@@ -93,6 +95,20 @@ public class FluidStorageCoFH implements IFluidHandler, IFluidStackAccess, IReso
     public void setFluidStack(FluidStack stack) {
 
         this.fluid = stack.isEmpty() ? emptyFluid.get() : stack;
+        ++version;
+    }
+
+    /**
+     * Increases every time the contents of this storage change.
+     */
+    public int getVersion() {
+
+        return version;
+    }
+
+    public void markChanged() {
+
+        ++version;
     }
 
     // region NBT
@@ -162,12 +178,16 @@ public class FluidStorageCoFH implements IFluidHandler, IFluidStackAccess, IReso
         }
         if (fluid.isEmpty()) {
             fluid = new FluidStack(resource, Math.min(capacity, resource.getAmount()));
+            ++version;
             return fluid.getAmount();
         }
         if (!fluid.isFluidEqual(resource)) {
             return 0;
         }
         int filled = capacity - fluid.getAmount();
+        if (filled > 0) {
+            ++version;
+        }
 
         if (resource.getAmount() < filled) {
             fluid.grow(resource.getAmount());
@@ -202,6 +222,7 @@ public class FluidStorageCoFH implements IFluidHandler, IFluidStackAccess, IReso
         FluidStack stack = new FluidStack(fluid, drained);
         if (action.execute()) {
             fluid.shrink(drained);
+            ++version;
             if (fluid.isEmpty()) {
                 setFluidStack(emptyFluid.get());
             }
@@ -230,6 +251,7 @@ public class FluidStorageCoFH implements IFluidHandler, IFluidStackAccess, IReso
         if (this.fluid.isEmpty()) {
             this.fluid = emptyFluid.get();
         }
+        ++version;
     }
 
     @Override
@@ -89,6 +89,18 @@ public class ManagedTankInv extends SimpleTankInv {
         return hasInputTanks() || hasOutputTanks();
     }
 
+    /**
+     * Sum of the versions of every input tank; changes whenever any input does.
+     */
+    public long getInputVersion() {
+
+        long version = 0;
+        for (FluidStorageCoFH tank : inputTanks) {
+            version += tank.getVersion();
+        }
+        return version;
+    }
+
     public List<FluidStorageCoFH> getInputTanks() {
 
         return inputTanks;
@@ -59,6 +59,18 @@ public class SimpleTankInv extends SimpleFluidHandler {
         return tanks.get(tank);
     }
 
+    /**
+     * Sum of the versions of every tank; changes whenever any tank does.
+     */
+    public long getVersion() {
+
+        long version = 0;
+        for (FluidStorageCoFH tank : tanks) {
+            version += tank.getVersion();
+        }
+        return version;
+    }
+
     // region NBT
     public SimpleTankInv read(CompoundNBT nbt) {
 
@@ -89,6 +89,17 @@ public class CoreConfig {
 
         SERVER_CONFIG.pop();
 
+        SERVER_CONFIG.push("Network");
+
+        serverEnableGuiDeltas = SERVER_CONFIG
+                .comment("If TRUE, open GUIs are synced by sending only the data which has changed since the last update.")
+                .define("GUI Delta Updates", enableGuiDeltas);
+        serverGuiUpdateInterval = SERVER_CONFIG
+                .comment("This option sets how often (in ticks) open GUIs are synced to players - they will only update 1 in N ticks.")
+                .defineInRange("GUI Update Interval", guiUpdateInterval, 1, 20);
+
+        SERVER_CONFIG.pop();
+
         SERVER_CONFIG.push("World");
 
         serverEnableSaplingGrowthMod = SERVER_CONFIG
@@ -172,6 +183,9 @@ public class CoreConfig {
         enableFishingExhaustion = serverEnableFishingExhaustion.get();
         amountFishingExhaustion = serverAmountFishingExhaustion.get().floatValue();
 
+        enableGuiDeltas = serverEnableGuiDeltas.get();
+        guiUpdateInterval = serverGuiUpdateInterval.get();
+
         enableSaplingGrowthMod = serverEnableSaplingGrowthMod.get();
         amountSaplingGrowthMod = serverAmountSaplingGrowthMod.get();
     }
@@ -209,6 +223,9 @@ public class CoreConfig {
     public static boolean enableFishingExhaustion = false;
     public static float amountFishingExhaustion = 0.125F;
 
+    public static boolean enableGuiDeltas = true;
+    public static int guiUpdateInterval = 1;
+
     public static boolean enableSaplingGrowthMod = false;
     public static int amountSaplingGrowthMod = 4;
 
@@ -225,6 +242,9 @@ public class CoreConfig {
     private static BooleanValue serverEnableFishingExhaustion;
     private static DoubleValue serverAmountFishingExhaustion;
 
+    private static BooleanValue serverEnableGuiDeltas;
+    private static IntValue serverGuiUpdateInterval;
+
     private static BooleanValue serverEnableSaplingGrowthMod;
     private static IntValue serverAmountSaplingGrowthMod;
 
@@ -58,6 +58,7 @@ public class InvWrapperCoFH implements IInventory {
             count = inSlot.getCount();
         }
         ItemStack stack = inSlot.split(count);
+        inventory.getSlot(index).markChanged();
         if (inSlot.getCount() <= 0) {
             inventory.set(index, ItemStack.EMPTY);
             inventory.onInventoryChange(index);
@@ -95,6 +96,8 @@ public class InvWrapperCoFH implements IInventory {
     @Override
     public void markDirty() {
 
+        // Containers grow and shrink slot stacks in place before calling this.
+        inventory.markChanged();
     }
 
     @Override
@@ -2,11 +2,14 @@ package cofh.core.inventory;
 
 import cofh.core.util.IResourceStorage;
 import cofh.core.util.helpers.ItemHelper;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraftforge.items.IItemHandler;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
 import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 
@@ -27,6 +30,8 @@ public class ItemStorageCoFH implements IItemHandler, IItemStackAccess, IResourc
     @Nonnull
     protected ItemStack item = ItemStack.EMPTY;
     protected int capacity = -1;
+    protected int version;
+    protected int identityVersion;
 
     public ItemStorageCoFH() {
 
@@ -78,18 +83,57 @@ public class ItemStorageCoFH implements IItemHandler, IItemStackAccess, IResourc
 
     public void consume(int amount) {
 
+        Item prevItem = item.getItem();
+        CompoundNBT prevTag = item.getTag();
         this.item = ItemHelper.consumeItem(item, amount);
+        onContentsChanged(prevItem, prevTag);
     }
 
     public void setItemStack(ItemStack item) {
 
+        Item prevItem = this.item.getItem();
+        CompoundNBT prevTag = this.item.getTag();
         this.item = item;
+        onContentsChanged(prevItem, prevTag);
+    }
+
+    /**
+     * Increases every time the contents of this storage change. Stacks mutated directly (e.g. by a container) are only
+     * counted once {@link #markChanged()} is called.
+     */
+    public int getVersion() {
+
+        return version;
+    }
+
+    /**
+     * Increases every time the item held by this storage changes: its type, its NBT, or whether there is one at all.
+     * Unlike {@link #getVersion()}, the count going up or down does not change it.
+     */
+    public int getIdentityVersion() {
+
+        return identityVersion;
+    }
+
+    public void markChanged() {
+
+        ++version;
+        ++identityVersion;
+    }
+
+    protected void onContentsChanged(Item prevItem, @Nullable CompoundNBT prevTag) {
+
+        ++version;
+        if (prevItem != item.getItem() || !Objects.equals(prevTag, item.getTag())) {
+            ++identityVersion;
+        }
     }
 
     // region NBT
     public ItemStorageCoFH readFromNBT(CompoundNBT nbt) {
 
         item = ItemStack.read(nbt);
+        markChanged();
         return this;
     }
 
@@ -155,11 +199,13 @@ public class ItemStorageCoFH implements IItemHandler, IItemStackAccess, IResourc
             if (totalCount <= limit) {
                 if (!simulate) {
                     item.setCount(totalCount);
+                    ++version;
                 }
                 return ItemStack.EMPTY;
             }
             if (!simulate) {
                 item.setCount(limit);
+                ++version;
             }
             return cloneStack(stack, totalCount - limit);
         }
@@ -177,8 +223,10 @@ public class ItemStorageCoFH implements IItemHandler, IItemStackAccess, IResourc
         ItemStack ret = cloneStack(item, retCount);
         if (!simulate) {
             item.shrink(retCount);
+            ++version;
             if (item.isEmpty()) {
-                setItemStack(ItemStack.EMPTY);
+                item = ItemStack.EMPTY;
+                ++identityVersion;
             }
         }
         return ret;
@@ -201,10 +249,15 @@ public class ItemStorageCoFH implements IItemHandler, IItemStackAccess, IResourc
     @Override
     public void modify(int quantity) {
 
+        boolean wasEmpty = this.item.isEmpty();
         this.item.grow(quantity);
         if (this.item.isEmpty()) {
             this.item = ItemStack.EMPTY;
         }
+        ++version;
+        if (wasEmpty != this.item.isEmpty()) {
+            ++identityVersion;
+        }
     }
 
     @Override
@@ -110,6 +110,31 @@ public class ManagedItemInv extends SimpleItemInv {
         return hasInputSlots() || hasOutputSlots();
     }
 
+    /**
+     * Sum of the versions of every input slot; changes whenever any input does.
+     */
+    public long getInputVersion() {
+
+        long version = 0;
+        for (ItemStorageCoFH slot : inputSlots) {
+            version += slot.getVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Sum of the identity versions of every input slot; changes whenever the item in any input does, but not when only
+     * a count changes.
+     */
+    public long getInputIdentityVersion() {
+
+        long version = 0;
+        for (ItemStorageCoFH slot : inputSlots) {
+            version += slot.getIdentityVersion();
+        }
+        return version;
+    }
+
     public List<ItemStorageCoFH> getInputSlots() {
 
         return inputSlots;
@@ -72,6 +72,28 @@ public class SimpleItemInv extends SimpleItemHandler {
     //        return ret;
     //    }
 
+    /**
+     * Marks every slot as changed; used when stacks may have been mutated in place.
+     */
+    public void markChanged() {
+
+        for (ItemStorageCoFH slot : slots) {
+            slot.markChanged();
+        }
+    }
+
+    /**
+     * Sum of the versions of every slot; changes whenever any slot does.
+     */
+    public long getVersion() {
+
+        long version = 0;
+        for (ItemStorageCoFH slot : slots) {
+            version += slot.getVersion();
+        }
+        return version;
+    }
+
     public ItemStorageCoFH getSlot(int slot) {
 
         return slots.get(slot);
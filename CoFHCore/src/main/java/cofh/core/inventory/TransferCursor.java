@@ -0,0 +1,32 @@
+package cofh.core.inventory;
+
+import net.minecraft.util.Direction;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Remembers, for each side, the slot of an adjacent inventory which last took part in a transfer. Bulk transfers start
+ * their scan there, so that inventories which are mostly empty or mostly full are not walked from the first slot on
+ * every pass.
+ */
+public class TransferCursor {
+
+    protected final int[] slots = new int[7];
+
+    public int get(@Nullable Direction side) {
+
+        return slots[side == null ? 6 : side.ordinal()];
+    }
+
+    public void set(@Nullable Direction side, int slot) {
+
+        slots[side == null ? 6 : side.ordinal()] = slot;
+    }
+
+    public void reset() {
+
+        Arrays.fill(slots, 0);
+    }
+
+}
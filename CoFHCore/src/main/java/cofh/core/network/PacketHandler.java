@@ -3,30 +3,56 @@ package cofh.core.network;
 import cofh.core.network.packet.IPacket;
 import cofh.core.network.packet.IPacketClient;
 import cofh.core.network.packet.IPacketServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectArrayMap;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.INetHandler;
+import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.ServerPlayNetHandler;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.loading.FMLEnvironment;
+import net.minecraftforge.fml.network.NetworkDirection;
 import net.minecraftforge.fml.network.NetworkEvent;
 import net.minecraftforge.fml.network.NetworkRegistry;
 import net.minecraftforge.fml.network.event.EventNetworkChannel;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.annotation.Nullable;
+import java.util.*;
 import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 public class PacketHandler {
 
     private static final Logger LOG = LogManager.getLogger("cofh.PacketHandler");
 
+    private static final List<PacketHandler> HANDLERS = new ArrayList<>();
+
+    /**
+     * Reserved id of a frame carrying several packets; never handed out by {@link #registerPacket(int, Supplier)}.
+     */
+    private static final byte BATCH_ID = 0;
+    // Id and compression flag at the head of every batch frame.
+    private static final int BATCH_HEADER_SIZE = 2;
+    // Kept well below the 1 MiB limit on clientbound custom payloads.
+    private static final int MAX_BATCH_SIZE = 1 << 19;
+    private static final int MAX_INFLATED_SIZE = 1 << 23;
+    private static final int COMPRESSION_THRESHOLD = 1024;
+
     private final ResourceLocation channelName;
     private final EventNetworkChannel channel;
     private final Byte2ObjectMap<Supplier<IPacket>> packets = new Byte2ObjectArrayMap<>(255);
+    private final Map<ServerPlayerEntity, Batch> pending = new Object2ObjectLinkedOpenHashMap<>();
 
     public PacketHandler(ResourceLocation channelName) {
 
@@ -40,6 +66,7 @@ public class PacketHandler {
             channel.registerObject(new ClientHandler());
         }
         channel.registerObject(new ServerHandler());
+        HANDLERS.add(this);
     }
 
     @SuppressWarnings("unchecked")
@@ -57,6 +84,201 @@ public class PacketHandler {
         return channelName;
     }
 
+    // region BATCHING
+
+    /**
+     * Queues a packet to each of the given players. Packets queued during a server tick are sent at the end of it, as
+     * a single frame per player; packets sent from any other thread go out immediately.
+     * <p>
+     * The packet is serialized once, when this is called, straight into the frame that is sent. Vanilla packets never
+     * release their payload, so frames are plain heap buffers.
+     */
+    public void sendToPlayers(IPacket packet, Iterable<ServerPlayerEntity> players) {
+
+        ByteBuf frame = null;
+        for (ServerPlayerEntity player : players) {
+            if (frame == null) {
+                frame = Unpooled.buffer();
+                frame.writeByte(packet.getId());
+                packet.write(new PacketBuffer(frame));
+            }
+            if (!player.server.isOnExecutionThread()) {
+                player.connection.sendPacket(toVanillaPacket(frame.duplicate()));
+                continue;
+            }
+            if (frame.readableBytes() >= MAX_BATCH_SIZE) {
+                flush(player);
+                player.connection.sendPacket(toVanillaPacket(frame.duplicate()));
+                continue;
+            }
+            Batch batch = pending.get(player);
+            if (batch == null) {
+                batch = new Batch();
+                pending.put(player, batch);
+            } else if (batch.frames.readableBytes() + frame.readableBytes() + 5 > MAX_BATCH_SIZE) {
+                flush(player);
+                batch = new Batch();
+                pending.put(player, batch);
+            }
+            batch.add(frame);
+        }
+    }
+
+    /**
+     * Sends everything queued by every handler. Called at the end of every server tick.
+     */
+    public static void flushAll() {
+
+        for (PacketHandler handler : HANDLERS) {
+            handler.flush();
+        }
+    }
+
+    public void flush() {
+
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<ServerPlayerEntity, Batch> entry : pending.entrySet()) {
+            send(entry.getKey(), entry.getValue());
+        }
+        pending.clear();
+    }
+
+    private void flush(ServerPlayerEntity player) {
+
+        Batch batch = pending.remove(player);
+        if (batch != null) {
+            send(player, batch);
+        }
+    }
+
+    private void send(ServerPlayerEntity player, Batch batch) {
+
+        if (player.hasDisconnected()) {
+            return;
+        }
+        NetworkManager manager = player.connection.getNetworkManager();
+        // Vanilla compresses packets over the network itself when configured to; doing it twice only costs time.
+        boolean compress = batch.size() >= COMPRESSION_THRESHOLD && !manager.isLocalChannel() && player.server.getNetworkCompressionThreshold() < 0;
+        player.connection.sendPacket(toVanillaPacket(batch.toPayload(compress)));
+    }
+
+    /**
+     * Each player is handed its own view of the payload; the bytes themselves are shared and never copied.
+     */
+    private net.minecraft.network.IPacket<?> toVanillaPacket(ByteBuf buf) {
+
+        return NetworkDirection.PLAY_TO_CLIENT.buildPacket(Pair.of(new PacketBuffer(buf), 0), channelName).getThis();
+    }
+
+    /**
+     * Reads the header of a batch frame, after its id, and returns the packet frames it holds.
+     */
+    static PacketBuffer readBatch(PacketBuffer buf) throws DataFormatException {
+
+        if (!buf.readBoolean()) {
+            return buf;
+        }
+        int length = buf.readVarInt();
+        if (length < 0 || length > MAX_INFLATED_SIZE) {
+            throw new DataFormatException("Invalid batch size " + length);
+        }
+        return new PacketBuffer(inflate(buf, length));
+    }
+
+    private static void deflate(ByteBuf in, ByteBuf out) {
+
+        byte[] input = new byte[in.readableBytes()];
+        in.readBytes(input);
+        byte[] chunk = new byte[8192];
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.writeBytes(chunk, 0, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuf inflate(ByteBuf in, int length) throws DataFormatException {
+
+        byte[] input = new byte[in.readableBytes()];
+        in.readBytes(input);
+        byte[] output = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int count = inflater.inflate(output, read, length - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != length) {
+                throw new DataFormatException("Expected " + length + " bytes, inflated " + read);
+            }
+        } finally {
+            inflater.end();
+        }
+        return Unpooled.wrappedBuffer(output);
+    }
+
+    /**
+     * Packet frames queued for one player, each prefixed with its length. The buffer starts with room for the batch
+     * header, so an uncompressed batch is sent as it is.
+     */
+    static class Batch {
+
+        final ByteBuf frames = Unpooled.buffer();
+        int count;
+
+        Batch() {
+
+            frames.writeByte(BATCH_ID);
+            frames.writeBoolean(false);
+        }
+
+        void add(ByteBuf frame) {
+
+            new PacketBuffer(frames).writeVarInt(frame.readableBytes());
+            frames.writeBytes(frame, frame.readerIndex(), frame.readableBytes());
+            ++count;
+        }
+
+        int size() {
+
+            return frames.readableBytes() - BATCH_HEADER_SIZE;
+        }
+
+        ByteBuf toPayload(boolean compress) {
+
+            if (count == 1) {
+                // A lone packet goes out as itself; drop the header and length prefix.
+                frames.skipBytes(BATCH_HEADER_SIZE);
+                new PacketBuffer(frames).readVarInt();
+                return frames;
+            }
+            if (!compress) {
+                return frames;
+            }
+            ByteBuf buf = Unpooled.buffer(size() / 2 + 16);
+            buf.writeByte(BATCH_ID);
+            buf.writeBoolean(true);
+            new PacketBuffer(buf).writeVarInt(size());
+            frames.skipBytes(BATCH_HEADER_SIZE);
+            deflate(frames, buf);
+            return buf;
+        }
+
+    }
+    // endregion
+
     // The ClientHandler, handles packets sent from the server to the client.
     private class ClientHandler {
 
@@ -67,20 +289,52 @@ public class PacketHandler {
             NetworkEvent.Context ctx = event.getSource().get();
             ctx.setPacketHandled(true);
             byte id = (byte) buf.readUnsignedByte();
+            if (id == BATCH_ID) {
+                try {
+                    PacketBuffer frames = readBatch(buf);
+                    ctx.enqueueWork(() -> handleBatch(frames));
+                } catch (DataFormatException e) {
+                    LOG.error("Unable to read batch, Channel: {}", channelName, e);
+                }
+                return;
+            }
+            IPacketClient packet = createPacket(id);
+            if (packet == null) {
+                return;
+            }
+            ctx.enqueueWork(() -> {
+                packet.read(buf);
+                packet.handleClient();
+            });
+        }
+
+        @Nullable
+        private IPacketClient createPacket(byte id) {
+
             Supplier<IPacket> supplier = packets.get(id);
             if (supplier == null) {
                 LOG.error("Received unregistered packet! ID: {}, Side: Client", id);
-                return;
+                return null;
             }
             IPacket packet = supplier.get();
             if (!(packet instanceof IPacketClient)) {
                 LOG.error("Received packet ID that isn't an IPacketClient? ID: {}", id);
-                return;
+                return null;
+            }
+            return (IPacketClient) packet;
+        }
+
+        private void handleBatch(PacketBuffer frames) {
+
+            // Packets are handled in the order in which they were sent.
+            while (frames.isReadable()) {
+                PacketBuffer frame = new PacketBuffer(frames.readSlice(frames.readVarInt()));
+                IPacketClient packet = createPacket((byte) frame.readUnsignedByte());
+                if (packet != null) {
+                    packet.read(frame);
+                    packet.handleClient();
+                }
             }
-            ctx.enqueueWork(() -> {
-                packet.read(buf);
-                ((IPacketClient) packet).handleClient();
-            });
         }
 
     }
@@ -88,12 +342,25 @@ public class PacketHandler {
     // The ServerHandler, handles packets sent from the client to the server.
     private class ServerHandler {
 
+        private final Map<NetworkManager, RateLimit> limits = Collections.synchronizedMap(new WeakHashMap<>());
+
+        /**
+         * Packets are decoded and validated here, on the network thread; only handling is left to the server thread.
+         */
         @SubscribeEvent
         public void onPayload(NetworkEvent.ClientCustomPayloadEvent event) {
 
             PacketBuffer buf = new PacketBuffer(event.getPayload());
             NetworkEvent.Context ctx = event.getSource().get();
             ctx.setPacketHandled(true);
+            INetHandler netHandler = ctx.getNetworkManager().getNetHandler();
+            if (!(netHandler instanceof ServerPlayNetHandler)) {
+                return;
+            }
+            ServerPlayerEntity player = ((ServerPlayNetHandler) netHandler).player;
+            if (!limits.computeIfAbsent(ctx.getNetworkManager(), m -> new RateLimit()).tryAcquire()) {
+                return;
+            }
             byte id = (byte) buf.readUnsignedByte();
             Supplier<IPacket> supplier = packets.get(id);
             if (supplier == null) {
@@ -105,13 +372,42 @@ public class PacketHandler {
                 LOG.error("Received packet ID that isn't an IPacketServer? ID: {}", id);
                 return;
             }
-            INetHandler netHandler = ctx.getNetworkManager().getNetHandler();
-            if (netHandler instanceof ServerPlayNetHandler) {
-                ctx.enqueueWork(() -> {
-                    packet.read(buf);
-                    ((IPacketServer) packet).handleServer(((ServerPlayNetHandler) netHandler).player);
-                });
+            try {
+                packet.read(buf);
+            } catch (RuntimeException e) {
+                LOG.warn("Dropping malformed packet from {}! ID: {}", player.getName().getString(), id, e);
+                return;
+            }
+            if (!((IPacketServer) packet).isValid()) {
+                LOG.warn("Dropping invalid packet from {}! ID: {}", player.getName().getString(), id);
+                return;
+            }
+            ctx.enqueueWork(() -> ((IPacketServer) packet).handleServer(player));
+        }
+
+    }
+
+    /**
+     * Token bucket limiting how many packets a single client may send; excess packets are dropped unread.
+     */
+    private static class RateLimit {
+
+        private static final double PACKETS_PER_SECOND = 100.0D;
+        private static final double BURST = 200.0D;
+
+        private double tokens = BURST;
+        private long lastTime = System.nanoTime();
+
+        synchronized boolean tryAcquire() {
+
+            long time = System.nanoTime();
+            tokens = Math.min(BURST, tokens + (time - lastTime) * PACKETS_PER_SECOND / 1.0E9D);
+            lastTime = time;
+            if (tokens < 1.0D) {
+                return false;
             }
+            tokens -= 1.0D;
+            return true;
         }
 
     }
@@ -12,7 +12,11 @@ import net.minecraft.world.World;
 import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.LogicalSidedProvider;
-import net.minecraftforge.fml.network.NetworkDirection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Packet sent FROM Servers TO Clients
@@ -32,8 +36,7 @@ public interface IPacketClient extends IPacket {
     default void sendToClients() {
 
         MinecraftServer server = LogicalSidedProvider.INSTANCE.get(LogicalSide.SERVER);
-        PlayerList list = server.getPlayerList();
-        list.sendPacketToAllPlayers(toVanillaPacket(NetworkDirection.PLAY_TO_CLIENT));
+        getHandler().sendToPlayers(this, server.getPlayerList().getPlayers());
     }
 
     /**
@@ -43,7 +46,7 @@ public interface IPacketClient extends IPacket {
      */
     default void sendToPlayer(ServerPlayerEntity player) {
 
-        player.connection.sendPacket(toVanillaPacket(NetworkDirection.PLAY_TO_CLIENT));
+        getHandler().sendToPlayers(this, Collections.singletonList(player));
     }
 
     // TODO: Consider fixing if functionality required.
@@ -64,17 +67,15 @@ public interface IPacketClient extends IPacket {
      */
     default void sendToOps() {
 
-        net.minecraft.network.IPacket<?> packet = null;
         MinecraftServer server = LogicalSidedProvider.INSTANCE.get(LogicalSide.SERVER);
         PlayerList playerList = server.getPlayerList();
+        List<ServerPlayerEntity> ops = new ArrayList<>();
         for (ServerPlayerEntity player : playerList.getPlayers()) {
             if (playerList.canSendCommands(player.getGameProfile())) {
-                if (packet == null) { // So we don't serialize multiple times.
-                    packet = toVanillaPacket(NetworkDirection.PLAY_TO_CLIENT);
-                }
-                player.connection.sendPacket(packet);
+                ops.add(player);
             }
         }
+        getHandler().sendToPlayers(this, ops);
     }
 
     // region sendToAllAround
@@ -117,8 +118,19 @@ public interface IPacketClient extends IPacket {
     default void sendToAllAround(double x, double y, double z, double range, RegistryKey<World> dim) {
 
         MinecraftServer server = LogicalSidedProvider.INSTANCE.get(LogicalSide.SERVER);
-        PlayerList list = server.getPlayerList();
-        list.sendToAllNearExcept(null, x, y, z, range, dim, toVanillaPacket(NetworkDirection.PLAY_TO_CLIENT));
+        List<ServerPlayerEntity> players = new ArrayList<>();
+        // Same selection as PlayerList#sendToAllNearExcept.
+        for (ServerPlayerEntity player : server.getPlayerList().getPlayers()) {
+            if (player.world.getDimensionKey() == dim) {
+                double dx = x - player.getPosX();
+                double dy = y - player.getPosY();
+                double dz = z - player.getPosZ();
+                if (dx * dx + dy * dy + dz * dz < range * range) {
+                    players.add(player);
+                }
+            }
+        }
+        getHandler().sendToPlayers(this, players);
     }
     // endregion
 
@@ -168,9 +180,7 @@ public interface IPacketClient extends IPacket {
      */
     default void sendToChunk(ServerWorld world, ChunkPos pos) {
 
-        net.minecraft.network.IPacket<?> packet = toVanillaPacket(NetworkDirection.PLAY_TO_CLIENT);
-        world.getChunkProvider().chunkManager.getTrackingPlayers(pos, false)//
-                .forEach(e -> e.connection.sendPacket(packet));
+        getHandler().sendToPlayers(this, world.getChunkProvider().chunkManager.getTrackingPlayers(pos, false).collect(Collectors.toList()));
     }
     // endregion
 }
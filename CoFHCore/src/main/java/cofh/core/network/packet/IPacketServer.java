@@ -20,6 +20,17 @@ public interface IPacketServer extends IPacket {
      */
     void handleServer(ServerPlayerEntity player);
 
+    /**
+     * Checks the decoded contents of the packet. Called on the network thread, after {@link #read}; packets which are
+     * not valid are dropped without being handled. Must not touch the world.
+     *
+     * @return True if the packet may be handled.
+     */
+    default boolean isValid() {
+
+        return true;
+    }
+
     /**
      * Send this packet to the server.
      */
@@ -6,20 +6,20 @@ import cofh.core.network.packet.PacketBase;
 import cofh.core.tileentity.TileCoFH;
 import cofh.core.util.ProxyUtils;
 import cofh.core.util.Utils;
-import io.netty.buffer.Unpooled;
 import net.minecraft.block.BlockState;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import static cofh.core.util.constants.Constants.NETWORK_UPDATE_DISTANCE;
 import static cofh.core.util.constants.Constants.PACKET_CONTROL;
 
 public class TileControlPacket extends PacketBase implements IPacketClient {
 
     protected BlockPos pos;
     protected PacketBuffer buffer;
+    // Sending side only; the tile writes its data straight into the outgoing frame.
+    protected TileCoFH tile;
 
     public TileControlPacket() {
 
@@ -46,7 +46,7 @@ public class TileControlPacket extends PacketBase implements IPacketClient {
     public void write(PacketBuffer buf) {
 
         buf.writeBlockPos(pos);
-        buf.writeBytes(buffer);
+        tile.getControlPacket(buf);
     }
 
     @Override
@@ -63,8 +63,8 @@ public class TileControlPacket extends PacketBase implements IPacketClient {
         }
         TileControlPacket packet = new TileControlPacket();
         packet.pos = tile.pos();
-        packet.buffer = tile.getControlPacket(new PacketBuffer(Unpooled.buffer()));
-        packet.sendToAllAround(packet.pos, NETWORK_UPDATE_DISTANCE, tile.world().getDimensionKey());
+        packet.tile = tile;
+        packet.sendToChunk(tile);
     }
 
 }
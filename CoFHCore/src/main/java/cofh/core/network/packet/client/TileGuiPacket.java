@@ -1,11 +1,14 @@
 package cofh.core.network.packet.client;
 
 import cofh.core.CoFHCore;
+import cofh.core.init.CoreConfig;
 import cofh.core.network.packet.IPacketClient;
 import cofh.core.network.packet.PacketBase;
 import cofh.core.tileentity.TileCoFH;
 import cofh.core.util.ProxyUtils;
 import cofh.core.util.Utils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
@@ -13,12 +16,34 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import static cofh.core.util.constants.Constants.PACKET_GUI;
 
+/**
+ * GUI data is sent as a delta against the last payload the player received for the same open container.
+ * <p>
+ * The tile's GUI payload is split into fixed-size segments; a delta carries a bitmask of changed segments followed by
+ * only those segments. If nothing changed, nothing is sent. A full payload is sent whenever the container changes or
+ * the payload length changes (e.g. a fluid with a different tag).
+ */
 public class TileGuiPacket extends PacketBase implements IPacketClient {
 
+    protected static final int SEGMENT_SIZE = 4;
+
+    protected static final Map<ServerPlayerEntity, Snapshot> SNAPSHOTS = new WeakHashMap<>();
+    // Server thread only. Payloads are written here first, so one which has not changed costs no allocation.
+    protected static final ByteBuf SCRATCH = Unpooled.buffer();
+
+    protected static BlockPos clientPos;
+    protected static byte[] clientData;
+
     protected BlockPos pos;
-    protected PacketBuffer buffer;
+    protected boolean delta;
+    protected byte[] data;
+    protected byte[] prevData;
+    protected byte[] mask;
 
     public TileGuiPacket() {
 
@@ -33,9 +58,19 @@ public class TileGuiPacket extends PacketBase implements IPacketClient {
             CoFHCore.LOG.error("Client world is null! (Is this being called on the server?)");
             return;
         }
+        if (delta) {
+            if (clientData == null || !pos.equals(clientPos) || clientData.length != data.length) {
+                return;
+            }
+            applyDelta(clientData, data, mask);
+            data = clientData;
+        }
+        clientPos = pos;
+        clientData = data;
+
         TileEntity tile = world.getTileEntity(pos);
         if (tile instanceof TileCoFH) {
-            ((TileCoFH) tile).handleGuiPacket(buffer);
+            ((TileCoFH) tile).handleGuiPacket(new PacketBuffer(Unpooled.wrappedBuffer(data)));
         }
     }
 
@@ -43,14 +78,29 @@ public class TileGuiPacket extends PacketBase implements IPacketClient {
     public void write(PacketBuffer buf) {
 
         buf.writeBlockPos(pos);
-        buf.writeBytes(buffer);
+        buf.writeBoolean(delta);
+        buf.writeVarInt(data.length);
+
+        if (!delta) {
+            buf.writeBytes(data);
+            return;
+        }
+        mask = writeSegments(buf, prevData, data);
     }
 
     @Override
     public void read(PacketBuffer buf) {
 
-        buffer = buf;
-        pos = buffer.readBlockPos();
+        pos = buf.readBlockPos();
+        delta = buf.readBoolean();
+        data = new byte[buf.readVarInt()];
+
+        if (!delta) {
+            buf.readBytes(data);
+            return;
+        }
+        // Changed segments are read into place; the rest are filled from the client copy in handleClient().
+        mask = readSegments(buf, data);
     }
 
     public static void sendToClient(TileCoFH tile, ServerPlayerEntity player) {
@@ -58,10 +108,121 @@ public class TileGuiPacket extends PacketBase implements IPacketClient {
         if (Utils.isClientWorld(tile.world())) {
             return;
         }
+        long time = tile.world().getGameTime();
+        int windowId = player.openContainer == null ? -1 : player.openContainer.windowId;
+
+        Snapshot snapshot = SNAPSHOTS.get(player);
+        boolean valid = snapshot != null && snapshot.windowId == windowId && snapshot.pos.equals(tile.pos());
+        if (valid && time - snapshot.time < CoreConfig.guiUpdateInterval && time >= snapshot.time) {
+            return;
+        }
+        SCRATCH.clear();
+        tile.getGuiPacket(new PacketBuffer(SCRATCH));
+        int length = SCRATCH.readableBytes();
+
+        boolean delta = valid && CoreConfig.enableGuiDeltas && snapshot.data.length == length;
+        if (delta && ByteBufUtil.equals(SCRATCH, 0, Unpooled.wrappedBuffer(snapshot.data), 0, length)) {
+            return;
+        }
+        byte[] data = new byte[length];
+        SCRATCH.getBytes(0, data);
+
         TileGuiPacket packet = new TileGuiPacket();
         packet.pos = tile.pos();
-        packet.buffer = tile.getGuiPacket(new PacketBuffer(Unpooled.buffer()));
+        packet.data = data;
+
+        if (delta) {
+            packet.delta = true;
+            packet.prevData = snapshot.data;
+        }
+        SNAPSHOTS.put(player, new Snapshot(windowId, tile.pos(), data, time));
         packet.sendToPlayer(player);
     }
 
+    // region HELPERS
+
+    /**
+     * Writes a bitmask of the segments which differ between the two payloads, followed by those segments.
+     *
+     * @return The bitmask.
+     */
+    protected static byte[] writeSegments(PacketBuffer buf, byte[] prev, byte[] cur) {
+
+        int segments = (cur.length + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        byte[] mask = new byte[(segments + 7) / 8];
+        for (int i = 0; i < segments; ++i) {
+            if (segmentChanged(prev, cur, i)) {
+                mask[i >> 3] |= 1 << (i & 7);
+            }
+        }
+        buf.writeBytes(mask);
+        for (int i = 0; i < segments; ++i) {
+            if ((mask[i >> 3] & 1 << (i & 7)) != 0) {
+                int start = i * SEGMENT_SIZE;
+                buf.writeBytes(cur, start, Math.min(SEGMENT_SIZE, cur.length - start));
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Reads what {@link #writeSegments} wrote; changed segments are read into place in the given payload.
+     *
+     * @return The bitmask.
+     */
+    protected static byte[] readSegments(PacketBuffer buf, byte[] data) {
+
+        int segments = (data.length + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        byte[] mask = new byte[(segments + 7) / 8];
+        buf.readBytes(mask);
+        for (int i = 0; i < segments; ++i) {
+            if ((mask[i >> 3] & 1 << (i & 7)) != 0) {
+                int start = i * SEGMENT_SIZE;
+                buf.readBytes(data, start, Math.min(SEGMENT_SIZE, data.length - start));
+            }
+        }
+        return mask;
+    }
+
+    protected static boolean segmentChanged(byte[] prev, byte[] cur, int segment) {
+
+        int start = segment * SEGMENT_SIZE;
+        int end = Math.min(start + SEGMENT_SIZE, cur.length);
+        for (int i = start; i < end; ++i) {
+            if (prev[i] != cur[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static void applyDelta(byte[] base, byte[] delta, byte[] mask) {
+
+        int segments = (base.length + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        for (int i = 0; i < segments; ++i) {
+            if ((mask[i >> 3] & 1 << (i & 7)) != 0) {
+                int start = i * SEGMENT_SIZE;
+                System.arraycopy(delta, start, base, start, Math.min(SEGMENT_SIZE, base.length - start));
+            }
+        }
+    }
+    // endregion
+
+    protected static class Snapshot {
+
+        final int windowId;
+        final BlockPos pos;
+        final byte[] data;
+        final long time;
+
+        Snapshot(int windowId, BlockPos pos, byte[] data, long time) {
+
+            this.windowId = windowId;
+            this.pos = pos;
+            this.data = data;
+            this.time = time;
+        }
+
+    }
+
 }
@@ -0,0 +1,123 @@
+package cofh.core.network.packet.client;
+
+import cofh.core.CoFHCore;
+import cofh.core.network.packet.IPacketClient;
+import cofh.core.network.packet.PacketBase;
+import cofh.core.tileentity.TileCoFH;
+import cofh.core.util.ProxyUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static cofh.core.util.constants.Constants.PACKET_STATE_BATCH;
+
+/**
+ * Carries the state of every tile in a chunk which requested a state update during a tick.
+ * <p>
+ * {@link TileStatePacket#sendToClient(TileCoFH)} queues the tile here; the queue is flushed at the end of the world
+ * tick, as one packet per chunk to the players tracking it. A tile queued several times in a tick is only written once,
+ * with its state as of the flush.
+ */
+public class TileStateBatchPacket extends PacketBase implements IPacketClient {
+
+    private static final Map<World, Long2ObjectLinkedOpenHashMap<Long2ObjectLinkedOpenHashMap<TileCoFH>>> PENDING = new WeakHashMap<>();
+
+    protected Collection<TileCoFH> tiles;
+    protected PacketBuffer buffer;
+
+    public TileStateBatchPacket() {
+
+        super(PACKET_STATE_BATCH, CoFHCore.PACKET_HANDLER);
+    }
+
+    @Override
+    public void handleClient() {
+
+        World world = ProxyUtils.getClientWorld();
+        if (world == null) {
+            CoFHCore.LOG.error("Client world is null! (Is this being called on the server?)");
+            return;
+        }
+        int count = buffer.readVarInt();
+        for (int i = 0; i < count; ++i) {
+            BlockPos pos = buffer.readBlockPos();
+            PacketBuffer state = new PacketBuffer(buffer.readSlice(buffer.readInt()));
+            TileEntity tile = world.getTileEntity(pos);
+            if (tile instanceof TileCoFH) {
+                ((TileCoFH) tile).handleStatePacket(state);
+                BlockState blockState = world.getBlockState(pos);
+                world.notifyBlockUpdate(pos, blockState, blockState, 3);
+            }
+        }
+    }
+
+    @Override
+    public void write(PacketBuffer buf) {
+
+        buf.writeVarInt(tiles.size());
+        for (TileCoFH tile : tiles) {
+            buf.writeBlockPos(tile.pos());
+            // Length is patched in once the state has been written; fixed width so that it can be.
+            int lengthIndex = buf.writerIndex();
+            buf.writeInt(0);
+            int start = buf.writerIndex();
+            tile.getStatePacket(buf);
+            buf.setInt(lengthIndex, buf.writerIndex() - start);
+        }
+    }
+
+    @Override
+    public void read(PacketBuffer buf) {
+
+        buffer = buf;
+    }
+
+    public static void queue(TileCoFH tile) {
+
+        long chunk = ChunkPos.asLong(tile.pos().getX() >> 4, tile.pos().getZ() >> 4);
+        PENDING.computeIfAbsent(tile.world(), w -> new Long2ObjectLinkedOpenHashMap<>())
+                .computeIfAbsent(chunk, c -> new Long2ObjectLinkedOpenHashMap<>())
+                .put(tile.pos().toLong(), tile);
+    }
+
+    public static void flush(ServerWorld world) {
+
+        Long2ObjectLinkedOpenHashMap<Long2ObjectLinkedOpenHashMap<TileCoFH>> chunks = PENDING.get(world);
+        if (chunks == null || chunks.isEmpty()) {
+            return;
+        }
+        for (Long2ObjectMap.Entry<Long2ObjectLinkedOpenHashMap<TileCoFH>> entry : chunks.long2ObjectEntrySet()) {
+            List<TileCoFH> tiles = new ArrayList<>(entry.getValue().size());
+            for (TileCoFH tile : entry.getValue().values()) {
+                if (!tile.isRemoved()) {
+                    tiles.add(tile);
+                }
+            }
+            if (tiles.isEmpty()) {
+                continue;
+            }
+            TileStateBatchPacket packet = new TileStateBatchPacket();
+            packet.tiles = tiles;
+            packet.sendToChunk(world, new ChunkPos(entry.getLongKey()));
+        }
+        chunks.clear();
+    }
+
+    public static void clear(World world) {
+
+        PENDING.remove(world);
+    }
+
+}
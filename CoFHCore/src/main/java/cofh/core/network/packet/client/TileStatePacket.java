@@ -6,14 +6,12 @@ import cofh.core.network.packet.PacketBase;
 import cofh.core.tileentity.TileCoFH;
 import cofh.core.util.ProxyUtils;
 import cofh.core.util.Utils;
-import io.netty.buffer.Unpooled;
 import net.minecraft.block.BlockState;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import static cofh.core.util.constants.Constants.NETWORK_UPDATE_DISTANCE;
 import static cofh.core.util.constants.Constants.PACKET_STATE;
 
 public class TileStatePacket extends PacketBase implements IPacketClient {
@@ -56,15 +54,15 @@ public class TileStatePacket extends PacketBase implements IPacketClient {
         pos = buffer.readBlockPos();
     }
 
+    /**
+     * Queues the tile's state; see {@link TileStateBatchPacket}.
+     */
     public static void sendToClient(TileCoFH tile) {
 
         if (Utils.isClientWorld(tile.world())) {
             return;
         }
-        TileStatePacket packet = new TileStatePacket();
-        packet.pos = tile.pos();
-        packet.buffer = tile.getStatePacket(new PacketBuffer(Unpooled.buffer()));
-        packet.sendToAllAround(packet.pos, NETWORK_UPDATE_DISTANCE, tile.world().getDimensionKey());
+        TileStateBatchPacket.queue(tile);
     }
 
 }
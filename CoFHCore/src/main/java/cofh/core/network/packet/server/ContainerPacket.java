@@ -13,6 +13,8 @@ import static cofh.core.util.constants.Constants.PACKET_CONTAINER;
 public class ContainerPacket extends PacketBase implements IPacketServer {
 
     protected PacketBuffer buffer;
+    // Sending side only; the container writes its data straight into the outgoing frame.
+    protected ContainerCoFH container;
 
     public ContainerPacket() {
 
@@ -30,19 +32,19 @@ public class ContainerPacket extends PacketBase implements IPacketServer {
     @Override
     public void write(PacketBuffer buf) {
 
-        buf.writeBytes(buffer);
+        container.getContainerPacket(buf);
     }
 
     @Override
     public void read(PacketBuffer buf) {
 
-        buffer = buf;
+        buffer = new PacketBuffer(Unpooled.copiedBuffer(buf));
     }
 
     public static void sendToServer(ContainerCoFH container) {
 
         ContainerPacket packet = new ContainerPacket();
-        packet.buffer = container.getContainerPacket(new PacketBuffer(Unpooled.buffer()));
+        packet.container = container;
         packet.sendToServer();
     }
 
@@ -37,11 +37,17 @@ public class RedstoneControlPacket extends PacketBase implements IPacketServer {
         }
     }
 
+    @Override
+    public boolean isValid() {
+
+        return threshold >= 0 && threshold <= 15 && mode >= 0 && mode < ControlMode.VALUES.length;
+    }
+
     @Override
     public void write(PacketBuffer buf) {
 
         buf.writeBlockPos(pos);
-        buf.writeInt(threshold);
+        buf.writeVarInt(threshold);
         buf.writeByte(mode);
     }
 
@@ -49,7 +55,7 @@ public class RedstoneControlPacket extends PacketBase implements IPacketServer {
     public void read(PacketBuffer buf) {
 
         pos = buf.readBlockPos();
-        threshold = buf.readInt();
+        threshold = buf.readVarInt();
         mode = buf.readByte();
     }
 
@@ -36,6 +36,12 @@ public class SecurityControlPacket extends PacketBase implements IPacketServer {
         }
     }
 
+    @Override
+    public boolean isValid() {
+
+        return mode >= 0 && mode < AccessMode.VALUES.length;
+    }
+
     @Override
     public void write(PacketBuffer buf) {
 
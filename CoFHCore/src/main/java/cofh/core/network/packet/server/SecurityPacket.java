@@ -27,6 +27,12 @@ public class SecurityPacket extends PacketBase implements IPacketServer {
         }
     }
 
+    @Override
+    public boolean isValid() {
+
+        return mode >= 0 && mode < AccessMode.VALUES.length;
+    }
+
     @Override
     public void write(PacketBuffer buf) {
 
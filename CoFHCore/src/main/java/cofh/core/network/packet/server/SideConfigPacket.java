@@ -37,6 +37,12 @@ public class SideConfigPacket extends PacketBase implements IPacketServer {
         }
     }
 
+    @Override
+    public boolean isValid() {
+
+        return sides != null;
+    }
+
     @Override
     public void write(PacketBuffer buf) {
 
@@ -57,11 +63,13 @@ public class SideConfigPacket extends PacketBase implements IPacketServer {
         byte[] bSides = buf.readByteArray(6);
         if (bSides.length == 6) {
             for (int i = 0; i < 6; ++i) {
-                if (bSides[i] > SideConfig.VALUES.length) {
+                if (bSides[i] < 0 || bSides[i] >= SideConfig.VALUES.length) {
                     bSides[i] = 0;
                 }
                 sides[i] = SideConfig.VALUES[bSides[i]];
             }
+        } else {
+            sides = null;
         }
     }
 
@@ -32,7 +32,7 @@ public class StorageClearPacket extends PacketBase implements IPacketServer {
         }
         TileEntity tile = world.getTileEntity(pos);
         if (tile instanceof TileCoFH) {
-            switch (StorageType.values()[storageType]) {
+            switch (StorageType.VALUES[storageType]) {
                 case ENERGY:
                     ((TileCoFH) tile).clearEnergy(storageIndex);
                     break;
@@ -47,20 +47,26 @@ public class StorageClearPacket extends PacketBase implements IPacketServer {
         // TODO: Debug logging?
     }
 
+    @Override
+    public boolean isValid() {
+
+        return storageType >= 0 && storageType < StorageType.VALUES.length && storageIndex >= 0;
+    }
+
     @Override
     public void write(PacketBuffer buf) {
 
         buf.writeBlockPos(pos);
-        buf.writeInt(storageType);
-        buf.writeInt(storageIndex);
+        buf.writeVarInt(storageType);
+        buf.writeVarInt(storageIndex);
     }
 
     @Override
     public void read(PacketBuffer buf) {
 
         pos = buf.readBlockPos();
-        storageType = buf.readInt();
-        storageIndex = buf.readInt();
+        storageType = buf.readVarInt();
+        storageIndex = buf.readVarInt();
     }
 
     public static boolean sendToServer(TileCoFH tile, StorageType storageType, int storageIndex) {
@@ -17,6 +17,8 @@ public class TileConfigPacket extends PacketBase implements IPacketServer {
 
     protected BlockPos pos;
     protected PacketBuffer buffer;
+    // Sending side only; the tile writes its data straight into the outgoing frame.
+    protected TileCoFH tile;
 
     public TileConfigPacket() {
 
@@ -40,21 +42,22 @@ public class TileConfigPacket extends PacketBase implements IPacketServer {
     public void write(PacketBuffer buf) {
 
         buf.writeBlockPos(pos);
-        buf.writeBytes(buffer);
+        tile.getConfigPacket(buf);
     }
 
     @Override
     public void read(PacketBuffer buf) {
 
-        buffer = buf;
-        pos = buffer.readBlockPos();
+        pos = buf.readBlockPos();
+        // Keep a copy of the tile's data, so the packet no longer depends on the network buffer.
+        buffer = new PacketBuffer(Unpooled.copiedBuffer(buf));
     }
 
     public static void sendToServer(TileCoFH tile) {
 
         TileConfigPacket packet = new TileConfigPacket();
         packet.pos = tile.pos();
-        packet.buffer = tile.getConfigPacket(new PacketBuffer(Unpooled.buffer()));
+        packet.tile = tile;
         packet.sendToServer();
     }
 
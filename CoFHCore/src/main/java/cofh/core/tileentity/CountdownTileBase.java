@@ -0,0 +1,66 @@
+package cofh.core.tileentity;
+
+import cofh.core.util.BlockExpiryScheduler;
+import cofh.core.util.Utils;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityType;
+
+/**
+ * Base for tiles whose block removes itself after a set duration.
+ * <p>
+ * These tiles do not tick. When loaded on the server they register their expiry with the
+ * {@link BlockExpiryScheduler}, which removes the block once it is due.
+ */
+public abstract class CountdownTileBase extends TileEntity {
+
+    protected int duration;
+    protected boolean restored;
+
+    public CountdownTileBase(TileEntityType<?> tileEntityTypeIn, int duration) {
+
+        super(tileEntityTypeIn);
+        this.duration = duration;
+    }
+
+    @Override
+    public void onLoad() {
+
+        super.onLoad();
+
+        if (world != null && Utils.isServerWorld(world)) {
+            BlockExpiryScheduler.schedule(world, pos, duration, restored);
+        }
+    }
+
+    @Override
+    public void read(BlockState state, CompoundNBT nbt) {
+
+        super.read(state, nbt);
+
+        // Only tiles coming back from a saved chunk are read; a fresh placement starts a new countdown.
+        restored = true;
+    }
+
+    /**
+     * Called on the server just before the block is removed.
+     */
+    public void onExpire() {
+
+    }
+
+    public int getDuration() {
+
+        return duration;
+    }
+
+    public void setDuration(int duration) {
+
+        this.duration = duration;
+        if (world != null && Utils.isServerWorld(world) && !isRemoved()) {
+            BlockExpiryScheduler.schedule(world, pos, duration, false);
+        }
+    }
+
+}
@@ -1,38 +1,16 @@
 package cofh.core.tileentity;
 
 import cofh.core.util.helpers.MathHelper;
-import net.minecraft.block.Blocks;
-import net.minecraft.tileentity.ITickableTileEntity;
-import net.minecraft.tileentity.TileEntity;
 
 import static cofh.core.util.references.CoreReferences.SIGNAL_AIR_TILE;
 
-public class SignalAirTile extends TileEntity implements ITickableTileEntity {
+public class SignalAirTile extends CountdownTileBase {
 
-    protected int duration = 200;
     protected int power = 15;
 
     public SignalAirTile() {
 
-        super(SIGNAL_AIR_TILE);
-    }
-
-    @Override
-    public void tick() {
-
-        if (world == null) {
-            return;
-        }
-        if (--duration <= 0) {
-            this.world.setBlockState(pos, Blocks.AIR.getDefaultState());
-            this.world.removeTileEntity(this.pos);
-            this.remove();
-        }
-    }
-
-    public int getDuration() {
-
-        return duration;
+        super(SIGNAL_AIR_TILE, 200);
     }
 
     public int getPower() {
@@ -40,11 +18,6 @@ public class SignalAirTile extends TileEntity implements ITickableTileEntity {
         return power;
     }
 
-    public void setDuration(int duration) {
-
-        this.duration = duration;
-    }
-
     public void setPower(int power) {
 
         this.power = MathHelper.clamp(power, 0, 15);
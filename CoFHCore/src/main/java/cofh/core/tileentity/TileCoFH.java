@@ -97,6 +97,10 @@ public class TileCoFH extends TileEntity implements ITileCallback, IConveyableDa
 
     }
 
+    public void onNeighborChange(BlockPos neighbor) {
+
+    }
+
     public boolean onActivatedDelegate(World world, BlockPos pos, BlockState state, PlayerEntity player, Hand hand, BlockRayTraceResult result) {
 
         return getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY).map(handler -> FluidHelper.interactWithHandler(player.getHeldItem(hand), handler, player, hand)).orElse(false);
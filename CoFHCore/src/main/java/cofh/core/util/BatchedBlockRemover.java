@@ -0,0 +1,186 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.network.play.server.SMultiBlockChangePacket;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.server.ServerWorld;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Removes a large number of blocks at once, section by section.
+ * <p>
+ * Positions are collected per chunk section, written directly to the section storage and sent to clients as one
+ * multi-block change per section. Neighbor and shape updates are only issued along the outer surface of the removed
+ * volume, once everything has been removed. No drops are spawned. Blocks with tile entities take the regular world
+ * path so that their tile entities are removed properly, unless the remover is told to discard tiles directly - which
+ * skips their replacement logic, and is only appropriate for blocks whose tiles hold nothing (e.g. expiring air blocks).
+ */
+public class BatchedBlockRemover {
+
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    protected final World world;
+    protected final boolean discardTiles;
+    protected final Long2ObjectMap<ShortSet> sections = new Long2ObjectOpenHashMap<>();
+    protected final LongSet removed = new LongOpenHashSet();
+
+    public BatchedBlockRemover(World world) {
+
+        this(world, false);
+    }
+
+    public BatchedBlockRemover(World world, boolean discardTiles) {
+
+        this.world = world;
+        this.discardTiles = discardTiles;
+    }
+
+    public void add(BlockPos pos) {
+
+        if (World.isOutsideBuildHeight(pos)) {
+            return;
+        }
+        sections.computeIfAbsent(SectionPos.worldToSection(pos.toLong()), s -> new ShortOpenHashSet()).add(packOffset(pos));
+    }
+
+    /**
+     * Removes every queued block.
+     *
+     * @return The number of blocks removed.
+     */
+    public int apply() {
+
+        if (!(world instanceof ServerWorld)) {
+            return 0;
+        }
+        ServerWorld serverWorld = (ServerWorld) world;
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int count = 0;
+
+        for (Long2ObjectMap.Entry<ShortSet> entry : sections.long2ObjectEntrySet()) {
+            SectionPos sectionPos = SectionPos.from(entry.getLongKey());
+            Chunk chunk = serverWorld.getChunk(sectionPos.getSectionX(), sectionPos.getSectionZ());
+            ChunkSection section = chunk.getSections()[sectionPos.getSectionY()];
+            if (ChunkSection.isEmpty(section)) {
+                continue;
+            }
+            boolean wasEmpty = section.isEmpty();
+            ShortSet changed = new ShortOpenHashSet();
+
+            for (ShortIterator iter = entry.getValue().iterator(); iter.hasNext(); ) {
+                short offset = iter.nextShort();
+                unpackOffset(sectionPos, offset, pos);
+                int x = pos.getX() & 15;
+                int y = pos.getY() & 15;
+                int z = pos.getZ() & 15;
+
+                BlockState state = section.getBlockState(x, y, z);
+                if (state.isAir(world, pos)) {
+                    continue;
+                }
+                if (state.hasTileEntity() && !discardTiles) {
+                    world.setBlockState(pos, AIR, 2 | 16);
+                } else {
+                    section.setBlockState(x, y, z, AIR);
+                    if (state.hasTileEntity()) {
+                        world.removeTileEntity(pos.toImmutable());
+                    }
+                    for (Map.Entry<Heightmap.Type, Heightmap> heightmap : chunk.getHeightmaps()) {
+                        heightmap.getValue().update(x, pos.getY(), z, AIR);
+                    }
+                    serverWorld.getChunkProvider().getLightManager().checkBlock(pos);
+                    serverWorld.onBlockStateChange(pos.toImmutable(), state, AIR);
+                    changed.add(offset);
+                }
+                removed.add(pos.toLong());
+                ++count;
+            }
+            if (changed.isEmpty()) {
+                continue;
+            }
+            if (wasEmpty != section.isEmpty()) {
+                serverWorld.getChunkProvider().getLightManager().updateSectionStatus(sectionPos, section.isEmpty());
+            }
+            chunk.markDirty();
+
+            SMultiBlockChangePacket packet = new SMultiBlockChangePacket(sectionPos, changed, section, false);
+            serverWorld.getChunkProvider().chunkManager.getTrackingPlayers(chunk.getPos(), false)//
+                    .forEach(e -> e.connection.sendPacket(packet));
+        }
+        notifySurface();
+
+        sections.clear();
+        removed.clear();
+        return count;
+    }
+
+    // region HELPERS
+    /**
+     * Position within a section, in the layout {@link SMultiBlockChangePacket} expects.
+     */
+    protected static short packOffset(BlockPos pos) {
+
+        return (short) ((pos.getX() & 15) << 8 | (pos.getZ() & 15) << 4 | pos.getY() & 15);
+    }
+
+    /**
+     * Inverse of {@link #packOffset(BlockPos)}; sets the given position to the block at the offset in the section.
+     */
+    protected static BlockPos.Mutable unpackOffset(SectionPos sectionPos, short offset, BlockPos.Mutable pos) {
+
+        return pos.setPos(sectionPos.getWorldStartX() + (offset >>> 8 & 15), sectionPos.getWorldStartY() + (offset & 15), sectionPos.getWorldStartZ() + (offset >>> 4 & 15));
+    }
+
+    /**
+     * Everything next to the removed volume gets what a regular removal would have sent it: a neighbor change, then a
+     * shape update - so that attached blocks (torches, ladders, rails, door halves) break, falling blocks fall and
+     * connecting blocks (fences, walls, panes) drop their connections.
+     */
+    protected void notifySurface() {
+
+        forEachSurfaceSide((pos, side) -> {
+            // Immutable, as blocks may hold on to the position they are notified at.
+            BlockPos adjPos = pos.offset(side);
+            world.neighborChanged(adjPos, AIR.getBlock(), pos);
+
+            BlockState adjState = world.getBlockState(adjPos);
+            Block.replaceBlock(adjState, adjState.updatePostPlacement(side.getOpposite(), AIR, world, adjPos, pos), world, adjPos, 3);
+        });
+    }
+
+    /**
+     * Visits every side of a removed block which faces a block that was not removed.
+     */
+    protected void forEachSurfaceSide(BiConsumer<BlockPos, Direction> action) {
+
+        BlockPos.Mutable adjPos = new BlockPos.Mutable();
+        for (long packed : removed) {
+            BlockPos pos = BlockPos.fromLong(packed);
+            for (Direction side : DIRECTIONS) {
+                adjPos.setAndMove(pos, side);
+                if (!removed.contains(adjPos.toLong())) {
+                    action.accept(pos, side);
+                }
+            }
+        }
+    }
+    // endregion
+}
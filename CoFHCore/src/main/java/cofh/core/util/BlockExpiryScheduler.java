@@ -0,0 +1,145 @@
+package cofh.core.util;
+
+import cofh.core.tileentity.CountdownTileBase;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraft.world.storage.WorldSavedData;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Removes countdown blocks (see {@link CountdownTileBase}) when they expire, instead of having every one of them tick.
+ * <p>
+ * Expiry ticks are held in a per-world {@link TimerWheel} and saved with the world. Expired blocks are removed once
+ * per world tick in a single {@link BatchedBlockRemover} sweep. Blocks that expire while their chunk is unloaded are
+ * set aside and removed as soon as their tile is loaded again.
+ */
+public class BlockExpiryScheduler {
+
+    private static final String TAG_BLOCK_EXPIRY = "cofh:block_expiry";
+    private static final String TAG_POS = "Pos";
+    private static final String TAG_TICK = "Tick";
+    private static final String TAG_OVERDUE = "Overdue";
+
+    private static final Map<World, ExpiryData> DATA = new WeakHashMap<>();
+
+    private BlockExpiryScheduler() {
+
+    }
+
+    /**
+     * @param restored True if the tile was loaded from a saved chunk; an expiry already on record is kept.
+     */
+    public static void schedule(World world, BlockPos pos, int duration, boolean restored) {
+
+        if (!(world instanceof ServerWorld)) {
+            return;
+        }
+        ExpiryData data = data((ServerWorld) world);
+        long key = pos.toLong();
+        long now = world.getGameTime();
+
+        if (!restored) {
+            data.overdue.remove(key);
+            data.wheel.schedule(key, now + duration);
+        } else if (data.overdue.remove(key)) {
+            data.wheel.schedule(key, now + 1);
+        } else if (!data.wheel.contains(key)) {
+            data.wheel.schedule(key, now + duration);
+        }
+        data.markDirty();
+    }
+
+    public static void update(ServerWorld world) {
+
+        ExpiryData data = DATA.get(world);
+        if (data == null) {
+            return;
+        }
+        LongArrayList expired = new LongArrayList();
+        data.wheel.advance(world.getGameTime(), expired::add);
+        if (expired.isEmpty()) {
+            return;
+        }
+        BatchedBlockRemover remover = new BatchedBlockRemover(world, true);
+        for (long key : expired) {
+            BlockPos pos = BlockPos.fromLong(key);
+            if (!world.isBlockLoaded(pos)) {
+                data.overdue.add(key);
+                continue;
+            }
+            TileEntity tile = world.getTileEntity(pos);
+            if (tile instanceof CountdownTileBase) {
+                ((CountdownTileBase) tile).onExpire();
+                remover.add(pos);
+            }
+        }
+        remover.apply();
+        data.markDirty();
+    }
+
+    public static void clear(World world) {
+
+        DATA.remove(world);
+    }
+
+    // region HELPERS
+    private static ExpiryData data(ServerWorld world) {
+
+        return DATA.computeIfAbsent(world, w -> world.getSavedData().getOrCreate(() -> new ExpiryData(world.getGameTime()), TAG_BLOCK_EXPIRY));
+    }
+    // endregion
+
+    static class ExpiryData extends WorldSavedData {
+
+        final TimerWheel wheel;
+        final LongSet overdue = new LongOpenHashSet();
+
+        ExpiryData(long gameTime) {
+
+            super(TAG_BLOCK_EXPIRY);
+            this.wheel = new TimerWheel(gameTime);
+        }
+
+        @Override
+        public void read(CompoundNBT nbt) {
+
+            long[] pos = nbt.getLongArray(TAG_POS);
+            long[] tick = nbt.getLongArray(TAG_TICK);
+            for (int i = 0; i < Math.min(pos.length, tick.length); ++i) {
+                wheel.schedule(pos[i], tick[i]);
+            }
+            for (long key : nbt.getLongArray(TAG_OVERDUE)) {
+                overdue.add(key);
+            }
+        }
+
+        @Override
+        public CompoundNBT write(CompoundNBT nbt) {
+
+            Long2LongMap deadlines = wheel.getDeadlines();
+            long[] pos = new long[deadlines.size()];
+            long[] tick = new long[deadlines.size()];
+            int i = 0;
+            for (Long2LongMap.Entry entry : deadlines.long2LongEntrySet()) {
+                pos[i] = entry.getLongKey();
+                tick[i] = entry.getLongValue();
+                ++i;
+            }
+            nbt.putLongArray(TAG_POS, pos);
+            nbt.putLongArray(TAG_TICK, tick);
+            nbt.putLongArray(TAG_OVERDUE, overdue.toLongArray());
+            return nbt;
+        }
+
+    }
+
+}
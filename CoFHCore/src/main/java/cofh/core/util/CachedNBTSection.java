@@ -0,0 +1,33 @@
+package cofh.core.util;
+
+import net.minecraft.nbt.CompoundNBT;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the last serialized form of one section of a tile's NBT (e.g. its inventory), along with the version of the
+ * data it was written from. While the version is unchanged, writing the section splices a copy of the cached tags into
+ * the output instead of serializing the data again.
+ * <p>
+ * The version must change whenever the serialized form would; data mutated without bumping it will be saved stale.
+ */
+public class CachedNBTSection {
+
+    protected CompoundNBT cached;
+    protected long version;
+
+    public CompoundNBT write(CompoundNBT nbt, long version, UnaryOperator<CompoundNBT> writer) {
+
+        if (cached == null || this.version != version) {
+            cached = writer.apply(new CompoundNBT());
+            this.version = version;
+        }
+        return nbt.merge(cached);
+    }
+
+    public void invalidate() {
+
+        cached = null;
+    }
+
+}
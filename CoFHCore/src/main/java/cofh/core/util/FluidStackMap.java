@@ -0,0 +1,55 @@
+package cofh.core.util;
+
+import net.minecraft.util.registry.Registry;
+import net.minecraftforge.fluids.FluidStack;
+
+/**
+ * {@link PackedStackMap} keyed by FluidStacks. Fluid amount is never part of the key.
+ * <p>
+ * NBT sensitive by default - this matches {@link cofh.core.util.helpers.FluidHelper#fluidHashcode(FluidStack)}.
+ */
+public class FluidStackMap<V> extends PackedStackMap<FluidStack, V> {
+
+    public FluidStackMap() {
+
+        this(true);
+    }
+
+    public FluidStackMap(boolean nbt) {
+
+        super(nbt);
+    }
+
+    public static long getFluidKey(FluidStack stack) {
+
+        return pack(Registry.FLUID.getId(stack.getFluid()), 0);
+    }
+
+    public static long getFluidKeyNBT(FluidStack stack) {
+
+        return pack(Registry.FLUID.getId(stack.getFluid()), fingerprint(stack.getTag()));
+    }
+
+    @Override
+    protected long getKey(FluidStack stack) {
+
+        return nbt ? getFluidKeyNBT(stack) : getFluidKey(stack);
+    }
+
+    @Override
+    protected boolean tagsEqual(FluidStack stored, FluidStack query) {
+
+        return nbtEquals(stored.getTag(), query.getTag());
+    }
+
+    @Override
+    protected FluidStack copy(FluidStack stack) {
+
+        FluidStack ret = new FluidStack(stack.getFluid(), stack.getAmount());
+        if (nbt && stack.getTag() != null) {
+            ret.setTag(stack.getTag().copy());
+        }
+        return ret;
+    }
+
+}
@@ -0,0 +1,55 @@
+package cofh.core.util;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+/**
+ * {@link PackedStackMap} keyed by ItemStacks. Stack size is never part of the key.
+ * <p>
+ * Not NBT sensitive by default - this matches {@link ComparableItemStack}. Use {@link ItemStackMap#ItemStackMap(boolean)} to match {@link ComparableItemStackNBT}.
+ */
+public class ItemStackMap<V> extends PackedStackMap<ItemStack, V> {
+
+    public ItemStackMap() {
+
+        this(false);
+    }
+
+    public ItemStackMap(boolean nbt) {
+
+        super(nbt);
+    }
+
+    public static long getItemKey(ItemStack stack) {
+
+        return pack(Item.getIdFromItem(stack.getItem()), 0);
+    }
+
+    public static long getItemKeyNBT(ItemStack stack) {
+
+        return pack(Item.getIdFromItem(stack.getItem()), fingerprint(stack.getTag()));
+    }
+
+    @Override
+    protected long getKey(ItemStack stack) {
+
+        return nbt ? getItemKeyNBT(stack) : getItemKey(stack);
+    }
+
+    @Override
+    protected boolean tagsEqual(ItemStack stored, ItemStack query) {
+
+        return nbtEquals(stored.getTag(), query.getTag());
+    }
+
+    @Override
+    protected ItemStack copy(ItemStack stack) {
+
+        ItemStack ret = new ItemStack(stack.getItem());
+        if (nbt && stack.getTag() != null) {
+            ret.setTag(stack.getTag().copy());
+        }
+        return ret;
+    }
+
+}
@@ -0,0 +1,52 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Size-bounded cache keyed by a primitive long, evicting the least recently used entry once full.
+ * <p>
+ * Access is synchronized, as baked model caches are read from chunk rebuild threads.
+ */
+public class LongLRUCache<V> {
+
+    protected final Long2ObjectLinkedOpenHashMap<V> map;
+    protected final int maxSize;
+
+    public LongLRUCache(int maxSize) {
+
+        this.map = new Long2ObjectLinkedOpenHashMap<>(maxSize);
+        this.maxSize = maxSize;
+    }
+
+    @Nullable
+    public synchronized V get(long key) {
+
+        return map.getAndMoveToLast(key);
+    }
+
+    public synchronized void put(long key, V value) {
+
+        map.putAndMoveToLast(key, value);
+        if (map.size() > maxSize) {
+            map.removeFirst();
+        }
+    }
+
+    public synchronized void clear() {
+
+        map.clear();
+    }
+
+    public synchronized int size() {
+
+        return map.size();
+    }
+
+    public int maxSize() {
+
+        return maxSize;
+    }
+
+}
@@ -0,0 +1,175 @@
+package cofh.core.util;
+
+import cofh.core.util.helpers.BlockHelper;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.inventory.ISidedInventory;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.energy.CapabilityEnergy;
+import net.minecraftforge.energy.IEnergyStorage;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.wrapper.InvWrapper;
+import net.minecraftforge.items.wrapper.SidedInvWrapper;
+
+import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-side cache of the capabilities exposed to a tile by its neighbors.
+ * <p>
+ * A side is resolved on first use and then reused until the owning tile reports a neighbor change for it, or until
+ * the neighbor invalidates the {@link LazyOptional} it handed out. Absence is cached as well, so an empty side costs
+ * nothing until something next to it changes.
+ */
+public class NeighborCapabilityCache {
+
+    protected final TileEntity tile;
+    protected final Map<Capability<?>, Entry[]> cache = new IdentityHashMap<>();
+
+    public NeighborCapabilityCache(TileEntity tile) {
+
+        this.tile = tile;
+    }
+
+    @Nullable
+    public IEnergyStorage getEnergyStorage(Direction side) {
+
+        return get(CapabilityEnergy.ENERGY, side);
+    }
+
+    @Nullable
+    public IFluidHandler getFluidHandler(Direction side) {
+
+        return get(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, side);
+    }
+
+    /**
+     * Includes the vanilla {@link IInventory} fallback used by InventoryHelper.
+     */
+    @Nullable
+    public IItemHandler getItemHandler(Direction side) {
+
+        Entry entry = getEntry(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, side);
+        if (!entry.resolved) {
+            resolve(entry, CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, side);
+            if (entry.value == null) {
+                TileEntity adjTile = BlockHelper.getAdjacentTileEntity(tile, side);
+                if (adjTile instanceof ISidedInventory) {
+                    entry.value = new SidedInvWrapper((ISidedInventory) adjTile, side.getOpposite());
+                } else if (adjTile instanceof IInventory) {
+                    entry.value = new InvWrapper((IInventory) adjTile);
+                }
+            }
+        }
+        return (IItemHandler) entry.value;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Capability<T> cap, Direction side) {
+
+        Entry entry = getEntry(cap, side);
+        if (!entry.resolved) {
+            resolve(entry, cap, side);
+        }
+        return (T) entry.value;
+    }
+
+    public void invalidate(BlockPos neighborPos) {
+
+        BlockPos pos = tile.getPos();
+        Direction side = Direction.byLong(neighborPos.getX() - pos.getX(), neighborPos.getY() - pos.getY(), neighborPos.getZ() - pos.getZ());
+        if (side == null) {
+            invalidate();
+        } else {
+            invalidate(side);
+        }
+    }
+
+    public void invalidate(Direction side) {
+
+        for (Entry[] entries : cache.values()) {
+            entries[side.ordinal()].clear();
+        }
+    }
+
+    public void invalidate() {
+
+        for (Entry[] entries : cache.values()) {
+            for (Entry entry : entries) {
+                entry.clear();
+            }
+        }
+    }
+
+    // region HELPERS
+    protected Entry getEntry(Capability<?> cap, Direction side) {
+
+        Entry[] entries = cache.get(cap);
+        if (entries == null) {
+            entries = new Entry[6];
+            for (int i = 0; i < entries.length; ++i) {
+                entries[i] = new Entry();
+            }
+            cache.put(cap, entries);
+        }
+        return entries[side.ordinal()];
+    }
+
+    protected <T> void resolve(Entry entry, Capability<T> cap, Direction side) {
+
+        entry.value = null;
+
+        World world = tile.getWorld();
+        BlockPos adjPos = tile.getPos().offset(side);
+        if (world == null || !world.isBlockLoaded(adjPos)) {
+            return;     // Chunk loads don't notify neighbors, so an unloaded side is never cached.
+        }
+        entry.resolved = true;
+
+        TileEntity adjTile = world.getTileEntity(adjPos);
+        if (adjTile == null) {
+            return;
+        }
+        LazyOptional<T> source = adjTile.getCapability(cap, side.getOpposite());
+        T value = source.orElse(null);
+        if (value == null) {
+            return;
+        }
+        entry.value = value;
+        // Only listen once per optional; a neighbor can be re-resolved many times (e.g. redstone updates) without changing.
+        if (entry.source != source) {
+            entry.source = source;
+            source.addListener(o -> {
+                if (entry.source == o) {
+                    entry.source = null;
+                    entry.clear();
+                }
+            });
+        }
+    }
+    // endregion
+
+    protected static class Entry {
+
+        boolean resolved;
+        Object value;
+        LazyOptional<?> source;
+
+        void clear() {
+
+            resolved = false;
+            value = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundNBT;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primitive-keyed map for stack lookups. Keys are packed into a long: registry id in the high 32 bits and an NBT fingerprint in the low 32 bits.
+ * <p>
+ * Lookups do not allocate. If the map is NBT sensitive, fingerprint collisions are resolved by verifying the stored stack against the query.
+ * If it is not, the fingerprint is always 0 and the registry id alone is the key.
+ *
+ * @param <S> Stack type.
+ * @param <V> Value type.
+ */
+public abstract class PackedStackMap<S, V> {
+
+    protected final Long2ObjectOpenHashMap<Entry<S, V>> map = new Long2ObjectOpenHashMap<>();
+    protected final boolean nbt;
+    protected int size;
+
+    protected PackedStackMap(boolean nbt) {
+
+        this.nbt = nbt;
+    }
+
+    public static long pack(int id, int fingerprint) {
+
+        return ((long) id << 32) | (fingerprint & 0xFFFFFFFFL);
+    }
+
+    public static int fingerprint(@Nullable CompoundNBT tag) {
+
+        return tag == null || tag.isEmpty() ? 0 : tag.hashCode();
+    }
+
+    /**
+     * Tag equality consistent with {@link #fingerprint(CompoundNBT)}: an empty tag is the same as no tag at all.
+     */
+    public static boolean nbtEquals(@Nullable CompoundNBT a, @Nullable CompoundNBT b) {
+
+        if (a == null || a.isEmpty()) {
+            return b == null || b.isEmpty();
+        }
+        return a.equals(b);
+    }
+
+    protected abstract long getKey(S stack);
+
+    protected abstract boolean tagsEqual(S stored, S query);
+
+    protected abstract S copy(S stack);
+
+    public boolean isNBTSensitive() {
+
+        return nbt;
+    }
+
+    public V get(S stack) {
+
+        for (Entry<S, V> entry = map.get(getKey(stack)); entry != null; entry = entry.next) {
+            if (!nbt || tagsEqual(entry.stack, stack)) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(S stack) {
+
+        return get(stack) != null;
+    }
+
+    public V put(S stack, V value) {
+
+        long key = getKey(stack);
+        Entry<S, V> head = map.get(key);
+        for (Entry<S, V> entry = head; entry != null; entry = entry.next) {
+            if (!nbt || tagsEqual(entry.stack, stack)) {
+                V prev = entry.value;
+                entry.value = value;
+                return prev;
+            }
+        }
+        map.put(key, new Entry<>(copy(stack), value, head));
+        ++size;
+        return null;
+    }
+
+    public V remove(S stack) {
+
+        long key = getKey(stack);
+        Entry<S, V> prev = null;
+        for (Entry<S, V> entry = map.get(key); entry != null; prev = entry, entry = entry.next) {
+            if (!nbt || tagsEqual(entry.stack, stack)) {
+                if (prev != null) {
+                    prev.next = entry.next;
+                } else if (entry.next != null) {
+                    map.put(key, entry.next);
+                } else {
+                    map.remove(key);
+                }
+                --size;
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+
+        map.clear();
+        size = 0;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    public void trim() {
+
+        map.trim();
+    }
+
+    public List<S> keys() {
+
+        List<S> ret = new ArrayList<>(size);
+        for (Entry<S, V> head : map.values()) {
+            for (Entry<S, V> entry = head; entry != null; entry = entry.next) {
+                ret.add(copy(entry.stack));
+            }
+        }
+        return ret;
+    }
+
+    public List<V> values() {
+
+        List<V> ret = new ArrayList<>(size);
+        for (Entry<S, V> head : map.values()) {
+            for (Entry<S, V> entry = head; entry != null; entry = entry.next) {
+                ret.add(entry.value);
+            }
+        }
+        return ret;
+    }
+
+    // region ENTRY
+    protected static class Entry<S, V> {
+
+        final S stack;
+        V value;
+        Entry<S, V> next;
+
+        Entry(S stack, V value, Entry<S, V> next) {
+
+            this.stack = stack;
+            this.value = value;
+            this.next = next;
+        }
+
+    }
+    // endregion
+}
@@ -0,0 +1,274 @@
+package cofh.core.util;
+
+import cofh.core.CoFHCore;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.command.CommandSource;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Samples the wall time and call count of the tick() of instrumented tiles over a number of server ticks, and reports
+ * them by tile class, by dimension, by chunk and by position. The full report is written to a CSV file in the game
+ * directory, off the server thread.
+ * <p>
+ * Tiles opt in by bracketing their tick with {@link #start()} and {@link #end(TileEntity, long)}; work done for tiles
+ * outside of their own tick is bracketed with {@link #endShared(Collection, long)} instead. While no profile is running
+ * this costs a single field check per tick.
+ */
+public class TickProfiler {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String CSV_HEADER = "category,key,tiles,calls,total_us,us_per_tick,us_per_call";
+
+    private static final Reference2ObjectOpenHashMap<TileEntity, Sample> SAMPLES = new Reference2ObjectOpenHashMap<>();
+
+    private static boolean running;
+    private static CommandSource source;
+    private static int elapsedTicks;
+    private static int windowTicks;
+    private static int topCount;
+
+    private TickProfiler() {
+
+    }
+
+    public static boolean isRunning() {
+
+        return running;
+    }
+
+    public static boolean begin(CommandSource commandSource, int ticks, int top) {
+
+        if (running) {
+            return false;
+        }
+        SAMPLES.clear();
+        source = commandSource;
+        elapsedTicks = 0;
+        windowTicks = ticks;
+        topCount = top;
+        running = true;
+        return true;
+    }
+
+    /**
+     * @return A timestamp to pass to {@link #end(TileEntity, long)}, or 0 if no profile is running.
+     */
+    public static long start() {
+
+        return running ? System.nanoTime() : 0L;
+    }
+
+    public static void end(TileEntity tile, long start) {
+
+        if (start == 0L || !running) {
+            return;
+        }
+        sample(tile, System.nanoTime() - start);
+    }
+
+    /**
+     * Splits the time since {@link #start()} evenly between the given tiles, e.g. the members of a bank which ticks on
+     * their behalf; it counts as a call for each of them.
+     */
+    public static void endShared(Collection<? extends TileEntity> tiles, long start) {
+
+        if (start == 0L || !running || tiles.isEmpty()) {
+            return;
+        }
+        long share = (System.nanoTime() - start) / tiles.size();
+        for (TileEntity tile : tiles) {
+            sample(tile, share);
+        }
+    }
+
+    /**
+     * Called at the end of every server tick.
+     */
+    public static void update() {
+
+        if (running && ++elapsedTicks >= windowTicks) {
+            finish();
+        }
+    }
+
+    /**
+     * Ends the running profile early and reports what has been sampled so far.
+     */
+    public static boolean stop() {
+
+        if (!running) {
+            return false;
+        }
+        finish();
+        return true;
+    }
+
+    // region HELPERS
+    private static void finish() {
+
+        running = false;
+        int ticks = Math.max(elapsedTicks, 1);
+
+        Map<String, Aggregate> byType = new HashMap<>();
+        Map<String, Aggregate> byDimension = new HashMap<>();
+        Map<String, Aggregate> byChunk = new HashMap<>();
+        List<Aggregate> byPos = new ArrayList<>();
+        Aggregate total = new Aggregate("total");
+
+        for (Sample sample : SAMPLES.values()) {
+            BlockPos pos = sample.pos;
+            String chunk = sample.dimension + " " + (pos.getX() >> 4) + "/" + (pos.getZ() >> 4);
+
+            byType.computeIfAbsent(sample.type, Aggregate::new).add(sample);
+            byDimension.computeIfAbsent(sample.dimension, Aggregate::new).add(sample);
+            byChunk.computeIfAbsent(chunk, Aggregate::new).add(sample);
+            byPos.add(new Aggregate(sample.dimension + " " + pos.getX() + "/" + pos.getY() + "/" + pos.getZ() + " " + sample.type).add(sample));
+            total.add(sample);
+        }
+        SAMPLES.clear();
+
+        List<Aggregate> types = sorted(byType.values());
+        List<Aggregate> dimensions = sorted(byDimension.values());
+        List<Aggregate> chunks = sorted(byChunk.values());
+        List<Aggregate> positions = sorted(byPos);
+
+        CommandSource commandSource = source;
+        source = null;
+        Path file = FMLPaths.GAMEDIR.get().resolve("cofh").resolve("profiles").resolve("tick_profile_" + LocalDateTime.now().format(FILE_DATE) + ".csv");
+        Util.getServerExecutor().execute(() -> {
+            boolean written = writeCsv(file, ticks, total, types, dimensions, chunks, positions);
+            if (commandSource != null) {
+                commandSource.getServer().execute(() -> {
+                    if (written) {
+                        commandSource.sendFeedback(new TranslationTextComponent("commands.cofh.profile.result.file", file.toString()), false);
+                    } else {
+                        commandSource.sendErrorMessage(new TranslationTextComponent("commands.cofh.profile.failed.file", file.toString()));
+                    }
+                });
+            }
+        });
+        if (commandSource == null) {
+            return;
+        }
+        commandSource.sendFeedback(new TranslationTextComponent("commands.cofh.profile.result", total.tiles, ticks, micros(total.nanos / ticks)), true);
+        for (int i = 0; i < Math.min(topCount, types.size()); ++i) {
+            Aggregate type = types.get(i);
+            commandSource.sendFeedback(new TranslationTextComponent("commands.cofh.profile.result.type", type.key, micros(type.nanos / ticks), type.tiles), false);
+        }
+        for (int i = 0; i < Math.min(topCount, positions.size()); ++i) {
+            Aggregate pos = positions.get(i);
+            commandSource.sendFeedback(new TranslationTextComponent("commands.cofh.profile.result.pos", pos.key, micros(pos.nanos / ticks)), false);
+        }
+    }
+
+    private static void sample(TileEntity tile, long nanos) {
+
+        World world = tile.getWorld();
+        if (world == null || world.isRemote) {
+            return;
+        }
+        Sample sample = SAMPLES.computeIfAbsent(tile, t -> new Sample(t.getClass().getName(), world.getDimensionKey().getLocation().toString(), t.getPos().toImmutable()));
+        sample.nanos += nanos;
+        ++sample.calls;
+    }
+
+    private static boolean writeCsv(Path file, int ticks, Aggregate total, List<Aggregate> types, List<Aggregate> dimensions, List<Aggregate> chunks, List<Aggregate> positions) {
+
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+                writeRow(writer, "total", total, ticks);
+                for (Aggregate entry : types) {
+                    writeRow(writer, "type", entry, ticks);
+                }
+                for (Aggregate entry : dimensions) {
+                    writeRow(writer, "dimension", entry, ticks);
+                }
+                for (Aggregate entry : chunks) {
+                    writeRow(writer, "chunk", entry, ticks);
+                }
+                for (Aggregate entry : positions) {
+                    writeRow(writer, "pos", entry, ticks);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            CoFHCore.LOG.error("Unable to write tick profile to " + file, e);
+            return false;
+        }
+    }
+
+    private static void writeRow(BufferedWriter writer, String category, Aggregate entry, int ticks) throws IOException {
+
+        writer.write(category + "," + entry.key + "," + entry.tiles + "," + entry.calls + "," + micros(entry.nanos) + "," + micros(entry.nanos / ticks) + "," + micros(entry.calls > 0 ? entry.nanos / entry.calls : 0));
+        writer.newLine();
+    }
+
+    private static List<Aggregate> sorted(Collection<Aggregate> entries) {
+
+        List<Aggregate> list = new ArrayList<>(entries);
+        list.sort(Comparator.comparingLong((Aggregate e) -> e.nanos).reversed());
+        return list;
+    }
+
+    private static String micros(long nanos) {
+
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0D);
+    }
+    // endregion
+
+    private static class Sample {
+
+        final String type;
+        final String dimension;
+        final BlockPos pos;
+        long nanos;
+        long calls;
+
+        Sample(String type, String dimension, BlockPos pos) {
+
+            this.type = type;
+            this.dimension = dimension;
+            this.pos = pos;
+        }
+
+    }
+
+    private static class Aggregate {
+
+        final String key;
+        int tiles;
+        long calls;
+        long nanos;
+
+        Aggregate(String key) {
+
+            this.key = key;
+        }
+
+        Aggregate add(Sample sample) {
+
+            ++tiles;
+            calls += sample.calls;
+            nanos += sample.nanos;
+            return this;
+        }
+
+    }
+
+}
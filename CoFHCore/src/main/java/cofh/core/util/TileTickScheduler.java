@@ -0,0 +1,154 @@
+package cofh.core.util;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Moves idle tiles out of (and back into) a world's ticking list.
+ * <p>
+ * Requests are queued and applied once per world tick, after tile entities have ticked, so the list is never
+ * modified while the world is iterating over it. Sleeping tiles are weakly held; a tile that is unloaded while asleep
+ * is simply forgotten, and its replacement ticks normally when the chunk is loaded again.
+ */
+public class TileTickScheduler {
+
+    private static final Map<World, Schedule> SCHEDULES = new WeakHashMap<>();
+
+    private TileTickScheduler() {
+
+    }
+
+    /**
+     * Request that a tile stop ticking at the end of the current world tick.
+     */
+    public static void sleep(TileEntity tile) {
+
+        schedule(tile, true);
+    }
+
+    /**
+     * Request that a sleeping tile resume ticking at the end of the current world tick.
+     */
+    public static void wake(TileEntity tile) {
+
+        schedule(tile, false);
+    }
+
+    public static boolean isSleeping(TileEntity tile) {
+
+        World world = tile.getWorld();
+        if (world == null) {
+            return false;
+        }
+        Schedule schedule = SCHEDULES.get(world);
+        return schedule != null && schedule.sleeping.contains(tile);
+    }
+
+    /**
+     * Must be called when a tile which may be asleep is removed. The world takes a tile removed mid-tick out of its
+     * loaded list from within the tick loop, which never reaches a sleeping tile.
+     */
+    public static void remove(TileEntity tile) {
+
+        World world = tile.getWorld();
+        if (world == null) {
+            return;
+        }
+        Schedule schedule = SCHEDULES.get(world);
+        if (schedule != null && schedule.sleeping.remove(tile)) {
+            schedule.removed.add(tile);
+        }
+    }
+
+    /**
+     * Calls the given action for every sleeping tile in every world; used to wake tiles waiting on something which
+     * has changed for all of them at once.
+     */
+    public static void forEachSleeping(Consumer<TileEntity> action) {
+
+        List<TileEntity> tiles = new ArrayList<>();
+        for (Schedule schedule : SCHEDULES.values()) {
+            tiles.addAll(schedule.sleeping);
+        }
+        tiles.forEach(action);
+    }
+
+    public static void update(World world) {
+
+        Schedule schedule = SCHEDULES.get(world);
+        if (schedule == null) {
+            return;
+        }
+        if (!schedule.pending.isEmpty()) {
+            applyPending(world, schedule);
+        }
+        if (!schedule.removed.isEmpty()) {
+            world.loadedTileEntityList.removeAll(schedule.removed);
+            schedule.removed.clear();
+        }
+    }
+
+    public static void clear(World world) {
+
+        SCHEDULES.remove(world);
+    }
+
+    // region HELPERS
+    private static void applyPending(World world, Schedule schedule) {
+
+        Set<TileEntity> toSleep = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TileEntity> toWake = new ArrayList<>();
+
+        for (Map.Entry<TileEntity, Boolean> entry : schedule.pending.entrySet()) {
+            TileEntity tile = entry.getKey();
+            if (!isValid(world, tile)) {
+                if (schedule.sleeping.remove(tile) && tile.isRemoved()) {
+                    schedule.removed.add(tile);
+                }
+                continue;
+            }
+            if (entry.getValue()) {
+                if (schedule.sleeping.add(tile)) {
+                    toSleep.add(tile);
+                }
+            } else if (schedule.sleeping.remove(tile)) {
+                toWake.add(tile);
+            }
+        }
+        schedule.pending.clear();
+
+        if (!toSleep.isEmpty()) {
+            world.tickableTileEntities.removeAll(toSleep);
+        }
+        if (!toWake.isEmpty()) {
+            world.tickableTileEntities.addAll(toWake);
+        }
+    }
+
+    private static void schedule(TileEntity tile, boolean sleep) {
+
+        World world = tile.getWorld();
+        if (world == null || !Utils.isServerWorld(world)) {
+            return;
+        }
+        SCHEDULES.computeIfAbsent(world, w -> new Schedule()).pending.put(tile, sleep);
+    }
+
+    private static boolean isValid(World world, TileEntity tile) {
+
+        return !tile.isRemoved() && tile.getWorld() == world && world.isBlockLoaded(tile.getPos()) && world.getTileEntity(tile.getPos()) == tile;
+    }
+    // endregion
+
+    private static class Schedule {
+
+        final Map<TileEntity, Boolean> pending = new LinkedHashMap<>();
+        final Set<TileEntity> sleeping = Collections.newSetFromMap(new WeakHashMap<>());
+        final Set<TileEntity> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    }
+
+}
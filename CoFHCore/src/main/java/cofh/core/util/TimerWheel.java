@@ -0,0 +1,186 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timer wheel mapping long keys to the tick they are due on.
+ * <p>
+ * The first level has one slot per tick for the next 256 ticks; the two levels above it cover 64 times the span of
+ * the level below, and anything further out waits in an overflow list. Entries move down a level each time the wheel
+ * below them wraps, so advancing by a tick only touches the slot that is due. Rescheduling a key simply inserts it
+ * again; stale entries are recognized by their deadline and dropped when their slot comes up.
+ */
+public class TimerWheel {
+
+    private static final int[] SLOT_BITS = {8, 6, 6};
+    private static final long MISSING = Long.MIN_VALUE;
+
+    protected final LongArrayList[][] levels = new LongArrayList[SLOT_BITS.length][];
+    protected final LongArrayList overflow = new LongArrayList();
+    protected final Long2LongOpenHashMap deadlines = new Long2LongOpenHashMap();
+
+    protected long currentTick;
+
+    public TimerWheel(long currentTick) {
+
+        this.currentTick = currentTick;
+        for (int i = 0; i < levels.length; ++i) {
+            levels[i] = new LongArrayList[1 << SLOT_BITS[i]];
+            for (int j = 0; j < levels[i].length; ++j) {
+                levels[i][j] = new LongArrayList();
+            }
+        }
+        deadlines.defaultReturnValue(MISSING);
+    }
+
+    public void schedule(long key, long tick) {
+
+        deadlines.put(key, tick);
+        insert(key, tick);
+    }
+
+    public void cancel(long key) {
+
+        deadlines.remove(key);
+    }
+
+    public boolean contains(long key) {
+
+        return deadlines.containsKey(key);
+    }
+
+    public int size() {
+
+        return deadlines.size();
+    }
+
+    public long getCurrentTick() {
+
+        return currentTick;
+    }
+
+    /**
+     * Pending keys and the ticks they are due on.
+     */
+    public Long2LongMap getDeadlines() {
+
+        return Long2LongMaps.unmodifiable(deadlines);
+    }
+
+    /**
+     * Advances the wheel up to and including the given tick, passing every key that falls due to the consumer in
+     * deadline order.
+     */
+    public void advance(long tick, LongConsumer expired) {
+
+        if (deadlines.isEmpty()) {
+            // Nothing pending; skip ahead rather than stepping through idle ticks.
+            if (currentTick < tick) {
+                clearSlots();
+                currentTick = tick;
+            }
+            return;
+        }
+        while (currentTick < tick) {
+            ++currentTick;
+            if ((currentTick & mask(0)) == 0) {
+                cascade();
+            }
+            LongArrayList slot = levels[0][(int) (currentTick & mask(0))];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            long[] due = slot.toLongArray();
+            slot.clear();
+            for (long key : due) {
+                long deadline = deadlines.get(key);
+                if (deadline != MISSING && deadline <= currentTick) {
+                    deadlines.remove(key);
+                    expired.accept(key);
+                }
+            }
+        }
+    }
+
+    // region HELPERS
+    protected void insert(long key, long tick) {
+
+        long delta = Math.max(tick - currentTick, 1);
+        tick = currentTick + delta;
+
+        int shift = 0;
+        long span = 1;
+        for (int i = 0; i < levels.length; ++i) {
+            span <<= SLOT_BITS[i];
+            if (delta < span) {
+                levels[i][(int) ((tick >> shift) & mask(i))].add(key);
+                return;
+            }
+            shift += SLOT_BITS[i];
+        }
+        overflow.add(key);
+    }
+
+    /**
+     * Called as the first level wraps; moves the entries of every level that is now due one level down.
+     */
+    protected void cascade() {
+
+        int shift = SLOT_BITS[0];
+        int level = 1;
+        // Find the highest level that wrapped along with the first one; higher levels must be emptied first.
+        while (level < levels.length - 1 && ((currentTick >> shift) & mask(level)) == 0) {
+            shift += SLOT_BITS[level];
+            ++level;
+        }
+        if (level == levels.length - 1 && ((currentTick >> shift) & mask(level)) == 0) {
+            reinsert(overflow);
+        }
+        for (; level >= 1; --level) {
+            reinsert(levels[level][(int) ((currentTick >> shift) & mask(level))]);
+            shift -= SLOT_BITS[level - 1];
+        }
+    }
+
+    protected void reinsert(LongArrayList slot) {
+
+        if (slot.isEmpty()) {
+            return;
+        }
+        long[] keys = slot.toLongArray();
+        slot.clear();
+        for (long key : keys) {
+            long deadline = deadlines.get(key);
+            if (deadline == MISSING) {
+                continue;
+            }
+            if (deadline <= currentTick) {
+                // Due on the tick being processed; its slot is handled right after the cascade.
+                levels[0][(int) (currentTick & mask(0))].add(key);
+            } else {
+                insert(key, deadline);
+            }
+        }
+    }
+
+    protected void clearSlots() {
+
+        for (LongArrayList[] level : levels) {
+            for (LongArrayList slot : level) {
+                slot.clear();
+            }
+        }
+        overflow.clear();
+    }
+
+    protected static long mask(int level) {
+
+        return (1L << SLOT_BITS[level]) - 1;
+    }
+    // endregion
+}
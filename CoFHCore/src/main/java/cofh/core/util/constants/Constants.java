@@ -124,6 +124,7 @@ public class Constants {
     // endregion
 
     // region COMMANDS
+    public static final String CMD_COUNT = "count";
     public static final String CMD_DURATION = "duration";
     public static final String CMD_FLAG = "flag";
     public static final String CMD_PLAYER = "player";
@@ -136,6 +137,7 @@ public class Constants {
     public static final int PACKET_GUI = 2;
     public static final int PACKET_REDSTONE = 3;
     public static final int PACKET_STATE = 4;
+    public static final int PACKET_STATE_BATCH = 5;
 
     public static final int PACKET_CHAT = 16;
 
@@ -1,6 +1,7 @@
 package cofh.core.util.helpers;
 
 import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.inventory.TransferCursor;
 import cofh.core.inventory.container.slot.SlotFalseCopy;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.ISidedInventory;
@@ -15,8 +16,10 @@ import net.minecraftforge.items.wrapper.EmptyHandler;
 import net.minecraftforge.items.wrapper.InvWrapper;
 import net.minecraftforge.items.wrapper.SidedInvWrapper;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
+import static cofh.core.util.helpers.ItemHelper.cloneStack;
 import static cofh.core.util.helpers.ItemHelper.itemsEqualWithTags;
 
 /**
@@ -166,25 +169,30 @@ public class InventoryHelper {
         Direction opposite = side.getOpposite();
 
         if (hasItemHandlerCap(adjTile, opposite)) {
-            IItemHandler handler = getItemHandlerCap(adjTile, opposite);
-            if (handler == EmptyHandler.INSTANCE) {
-                return false;
+            return extractFromHandler(getItemHandlerCap(adjTile, opposite), slot, amount);
+        }
+        return false;
+    }
+
+    public static boolean extractFromHandler(IItemHandler handler, ItemStorageCoFH slot, int amount) {
+
+        if (handler == EmptyHandler.INSTANCE) {
+            return false;
+        }
+        int initialAmount = amount;
+        for (int i = 0; i < handler.getSlots() && amount > 0; ++i) {
+            ItemStack query = handler.extractItem(i, amount, true);
+            if (query.isEmpty()) {      // Skip empty slots.
+                continue;
             }
-            int initialAmount = amount;
-            for (int i = 0; i < handler.getSlots() && amount > 0; ++i) {
-                ItemStack query = handler.extractItem(i, amount, true);
-                if (query.isEmpty()) {      // Skip empty slots.
-                    continue;
-                }
-                ItemStack ret = slot.insertItem(0, query, true);
-                if (ret.getCount() != query.getCount()) {       // If the slot accepted items.
-                    slot.insertItem(0, handler.extractItem(i, amount, false), false);
-                    amount -= query.getCount() - ret.getCount();
-                }
+            ItemStack ret = slot.insertItem(0, query, true);
+            int accepted = query.getCount() - ret.getCount();
+            if (accepted > 0) {       // If the slot accepted items; extract only those.
+                slot.insertItem(0, handler.extractItem(i, accepted, false), false);
+                amount -= accepted;
             }
-            return amount != initialAmount;
         }
-        return false;
+        return amount != initialAmount;
     }
 
     public static boolean insertIntoAdjacent(TileEntity tile, ItemStorageCoFH slot, int amount, Direction side) {
@@ -192,22 +200,190 @@ public class InventoryHelper {
         if (slot.isEmpty()) {
             return false;
         }
-        ItemStack initialStack = slot.getItemStack().copy();
-        initialStack.setCount(Math.min(amount, initialStack.getCount()));
         TileEntity adjTile = BlockHelper.getAdjacentTileEntity(tile, side);
         Direction opposite = side.getOpposite();
 
         if (hasItemHandlerCap(adjTile, opposite)) {
-            // OPTIMIZATION: This is used instead of addToInventory because prechecks have already happened.
-            ItemStack inserted = insertStackIntoInventory(getItemHandlerCap(adjTile, opposite), initialStack, false);
-            if (inserted.getCount() >= initialStack.getCount()) {
-                return false;
-            }
-            slot.modify(inserted.getCount() - initialStack.getCount());
-            return true;
+            return insertIntoHandler(getItemHandlerCap(adjTile, opposite), slot, amount);
         }
         return false;
     }
+
+    public static boolean insertIntoHandler(IItemHandler handler, ItemStorageCoFH slot, int amount) {
+
+        if (slot.isEmpty()) {
+            return false;
+        }
+        ItemStack initialStack = slot.getItemStack().copy();
+        initialStack.setCount(Math.min(amount, initialStack.getCount()));
+
+        // OPTIMIZATION: This is used instead of addToInventory because prechecks have already happened.
+        ItemStack inserted = insertStackIntoInventory(handler, initialStack, false);
+        if (inserted.getCount() >= initialStack.getCount()) {
+            return false;
+        }
+        slot.modify(inserted.getCount() - initialStack.getCount());
+        return true;
+    }
+    // endregion
+
+    // region BULK TRANSFER
+    /**
+     * Fills a single slot from a handler. Equivalent to {@link #extractFromHandler(IItemHandler, ItemStorageCoFH, int)},
+     * but each source slot is read once and moved with a single execute call, and the scan starts at the slot the
+     * cursor remembers for the given side.
+     */
+    public static boolean extractFromHandler(IItemHandler handler, ItemStorageCoFH slot, int amount, TransferCursor cursor, @Nullable Direction side) {
+
+        int size = handler.getSlots();
+        if (handler == EmptyHandler.INSTANCE || size <= 0 || amount <= 0) {
+            return false;
+        }
+        int start = cursor.get(side) < size ? cursor.get(side) : 0;
+        int initialAmount = amount;
+        for (int j = 0; j < size && amount > 0; ++j) {
+            int i = (start + j) % size;
+            int moved = pullFromSlot(handler, i, slot, amount);
+            if (moved > 0) {
+                amount -= moved;
+                cursor.set(side, i);
+            }
+        }
+        return amount != initialAmount;
+    }
+
+    /**
+     * Fills a list of slots from a handler, scanning the handler once. Each source stack is offered to the slots in
+     * order, up to the given amount per slot.
+     */
+    public static boolean extractFromHandler(IItemHandler handler, List<? extends ItemStorageCoFH> slots, int amount, TransferCursor cursor, @Nullable Direction side) {
+
+        int size = handler.getSlots();
+        if (handler == EmptyHandler.INSTANCE || size <= 0 || amount <= 0 || slots.isEmpty()) {
+            return false;
+        }
+        int[] quota = new int[slots.size()];
+        int remaining = 0;
+        for (int k = 0; k < quota.length; ++k) {
+            quota[k] = Math.min(amount, Math.max(slots.get(k).getSpace(), 0));
+            remaining += quota[k];
+        }
+        int initialRemaining = remaining;
+        int start = cursor.get(side) < size ? cursor.get(side) : 0;
+        for (int j = 0; j < size && remaining > 0; ++j) {
+            int i = (start + j) % size;
+            boolean pulled = false;
+            for (int k = 0; k < quota.length && remaining > 0; ++k) {
+                if (quota[k] <= 0) {
+                    continue;
+                }
+                int moved = pullFromSlot(handler, i, slots.get(k), quota[k]);
+                if (moved > 0) {
+                    quota[k] -= moved;
+                    remaining -= moved;
+                    pulled = true;
+                } else if (handler.getStackInSlot(i).isEmpty()) {
+                    break;
+                }
+            }
+            if (pulled) {
+                cursor.set(side, i);
+            }
+        }
+        return remaining != initialRemaining;
+    }
+
+    /**
+     * Empties a single slot into a handler. Equivalent to {@link #insertIntoHandler(IItemHandler, ItemStorageCoFH, int)},
+     * but the handler is scanned once - matching stacks are topped up as they are found, starting at the slot the cursor
+     * remembers for the given side, and empty slots are only filled afterwards.
+     */
+    public static boolean insertIntoHandler(IItemHandler handler, ItemStorageCoFH slot, int amount, TransferCursor cursor, @Nullable Direction side) {
+
+        int size = handler.getSlots();
+        if (slot.isEmpty() || handler == EmptyHandler.INSTANCE || size <= 0 || amount <= 0) {
+            return false;
+        }
+        ItemStack stack = cloneStack(slot.getItemStack(), Math.min(amount, slot.getCount()));
+        int initialCount = stack.getCount();
+        int start = cursor.get(side) < size ? cursor.get(side) : 0;
+        int firstEmpty = -1;
+
+        for (int j = 0; j < size && !stack.isEmpty(); ++j) {
+            int i = (start + j) % size;
+            ItemStack inSlot = handler.getStackInSlot(i);
+            if (inSlot.isEmpty()) {
+                if (firstEmpty < 0) {
+                    firstEmpty = j;
+                }
+            } else if (inSlot.getCount() < Math.min(inSlot.getMaxStackSize(), handler.getSlotLimit(i)) && ItemHandlerHelper.canItemStacksStack(inSlot, stack)) {
+                stack = pushToSlot(handler, i, stack, cursor, side);
+            }
+        }
+        if (firstEmpty >= 0) {
+            for (int j = firstEmpty; j < size && !stack.isEmpty(); ++j) {
+                int i = (start + j) % size;
+                if (handler.getStackInSlot(i).isEmpty()) {
+                    stack = pushToSlot(handler, i, stack, cursor, side);
+                }
+            }
+        }
+        if (stack.getCount() >= initialCount) {
+            return false;
+        }
+        slot.modify(stack.getCount() - initialCount);
+        return true;
+    }
+
+    /**
+     * Empties a list of slots into a handler, in order.
+     */
+    public static boolean insertIntoHandler(IItemHandler handler, List<? extends ItemStorageCoFH> slots, int amount, TransferCursor cursor, @Nullable Direction side) {
+
+        boolean inserted = false;
+        for (ItemStorageCoFH slot : slots) {
+            inserted |= insertIntoHandler(handler, slot, amount, cursor, side);
+        }
+        return inserted;
+    }
+
+    /**
+     * Moves as much of a source slot into the given slot as it will take, up to the given amount. The insert is
+     * simulated first, so only what the slot accepts is ever extracted from the source.
+     *
+     * @return The number of items moved.
+     */
+    protected static int pullFromSlot(IItemHandler handler, int index, ItemStorageCoFH slot, int amount) {
+
+        ItemStack source = handler.getStackInSlot(index);
+        if (source.isEmpty()) {
+            return 0;
+        }
+        int query = Math.min(amount, source.getCount());
+        int accepted = query - slot.insertItem(0, cloneStack(source, query), true).getCount();
+        if (accepted <= 0) {
+            return 0;
+        }
+        ItemStack extracted = handler.extractItem(index, accepted, false);
+        if (extracted.isEmpty()) {
+            return 0;
+        }
+        ItemStack ret = slot.insertItem(0, extracted, false);
+        if (!ret.isEmpty()) {
+            // Only if the handler handed over something other than the stack it reported; give that back.
+            handler.insertItem(index, ret, false);
+        }
+        return extracted.getCount() - ret.getCount();
+    }
+
+    protected static ItemStack pushToSlot(IItemHandler handler, int index, ItemStack stack, TransferCursor cursor, @Nullable Direction side) {
+
+        ItemStack ret = handler.insertItem(index, stack, false);
+        if (ret.getCount() < stack.getCount()) {
+            cursor.set(side, index);
+        }
+        return ret;
+    }
     // endregion
 
     // region HELPERS
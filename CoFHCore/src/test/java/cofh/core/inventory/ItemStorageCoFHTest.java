@@ -0,0 +1,87 @@
+package cofh.core.inventory;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.registry.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemStorageCoFHTest {
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void countChangesKeepIdentity() {
+
+        ItemStorageCoFH slot = new ItemStorageCoFH();
+        slot.setItemStack(new ItemStack(Items.PAPER, 10));
+        int version = slot.getVersion();
+        int identity = slot.getIdentityVersion();
+
+        slot.insertItem(0, new ItemStack(Items.PAPER, 5), false);
+        slot.insertItem(0, new ItemStack(Items.PAPER, 64), false);
+        slot.extractItem(0, 3, false);
+        slot.consume(2);
+        slot.modify(-1);
+        slot.modify(1);
+        assertEquals(59, slot.getCount());
+        assertEquals(version + 6, slot.getVersion());
+        assertEquals(identity, slot.getIdentityVersion());
+
+        // Simulated and rejected inserts change nothing.
+        slot.insertItem(0, new ItemStack(Items.PAPER), true);
+        slot.insertItem(0, new ItemStack(Items.BOOK), false);
+        assertEquals(version + 6, slot.getVersion());
+        assertEquals(identity, slot.getIdentityVersion());
+    }
+
+    @Test
+    public void itemChangesBumpIdentity() {
+
+        ItemStorageCoFH slot = new ItemStorageCoFH();
+        int identity = slot.getIdentityVersion();
+
+        slot.insertItem(0, new ItemStack(Items.PAPER, 2), false);
+        assertEquals(++identity, slot.getIdentityVersion());
+
+        slot.extractItem(0, 2, false);
+        assertTrue(slot.isEmpty());
+        assertEquals(++identity, slot.getIdentityVersion());
+
+        slot.setItemStack(new ItemStack(Items.PAPER, 2));
+        assertEquals(++identity, slot.getIdentityVersion());
+        slot.consume(2);
+        assertTrue(slot.isEmpty());
+        assertEquals(++identity, slot.getIdentityVersion());
+
+        slot.setItemStack(new ItemStack(Items.PAPER, 2));
+        assertEquals(++identity, slot.getIdentityVersion());
+        slot.modify(-2);
+        assertTrue(slot.isEmpty());
+        assertEquals(++identity, slot.getIdentityVersion());
+
+        slot.setItemStack(new ItemStack(Items.PAPER));
+        slot.setItemStack(new ItemStack(Items.BOOK));
+        identity += 2;
+        assertEquals(identity, slot.getIdentityVersion());
+
+        // Same item, different NBT; then an equal copy.
+        ItemStack tagged = new ItemStack(Items.BOOK);
+        tagged.getOrCreateTag().putInt("Test", 1);
+        slot.setItemStack(tagged);
+        assertEquals(++identity, slot.getIdentityVersion());
+        slot.setItemStack(tagged.copy());
+        assertEquals(identity, slot.getIdentityVersion());
+
+        // Direct mutation can not be told apart from an item change.
+        slot.markChanged();
+        assertEquals(++identity, slot.getIdentityVersion());
+    }
+
+}
@@ -0,0 +1,114 @@
+package cofh.core.network;
+
+import cofh.core.network.PacketHandler.Batch;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PacketHandlerTest {
+
+    @Test
+    public void lonePacketIsSentAsItself() {
+
+        byte[] frame = frame(7, 100, 1);
+        Batch batch = new Batch();
+        batch.add(Unpooled.wrappedBuffer(frame));
+
+        assertArrayEquals(frame, bytes(batch.toPayload(false)));
+    }
+
+    @Test
+    public void batchRoundTrip() throws DataFormatException {
+
+        List<byte[]> frames = Arrays.asList(frame(1, 10, 1), frame(2, 300, 2), frame(3, 0, 3));
+
+        assertFramesEqual(frames, roundTrip(frames, false));
+    }
+
+    @Test
+    public void compressedBatchRoundTrip() throws DataFormatException {
+
+        List<byte[]> frames = new ArrayList<>();
+        for (int i = 0; i < 40; ++i) {
+            frames.add(frame(i + 1, 200, i));
+        }
+        assertFramesEqual(frames, roundTrip(frames, true));
+    }
+
+    @Test
+    public void sendingLeavesQueuedFramesIntact() {
+
+        ByteBuf frame = Unpooled.wrappedBuffer(frame(4, 20, 4));
+        Batch first = new Batch();
+        Batch second = new Batch();
+        first.add(frame);
+        second.add(frame);
+
+        assertEquals(20 + 1, frame.readableBytes());
+        assertArrayEquals(bytes(first.frames), bytes(second.frames));
+    }
+
+    @Test
+    public void oversizedBatchIsRejected() {
+
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeBoolean(true);
+        buf.writeVarInt(Integer.MAX_VALUE);
+
+        assertThrows(DataFormatException.class, () -> PacketHandler.readBatch(buf));
+    }
+
+    // region HELPERS
+    private static List<byte[]> roundTrip(List<byte[]> frames, boolean compress) throws DataFormatException {
+
+        Batch batch = new Batch();
+        for (byte[] frame : frames) {
+            batch.add(Unpooled.wrappedBuffer(frame));
+        }
+        PacketBuffer payload = new PacketBuffer(batch.toPayload(compress));
+        assertEquals(0, payload.readByte());
+
+        // Same as the client handler.
+        PacketBuffer read = PacketHandler.readBatch(payload);
+        List<byte[]> ret = new ArrayList<>();
+        while (read.isReadable()) {
+            ret.add(bytes(read.readSlice(read.readVarInt())));
+        }
+        return ret;
+    }
+
+    private static void assertFramesEqual(List<byte[]> expected, List<byte[]> actual) {
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static byte[] frame(int id, int length, long seed) {
+
+        byte[] frame = new byte[length + 1];
+        new Random(seed).nextBytes(frame);
+        frame[0] = (byte) id;
+        // Repetitive enough to compress.
+        Arrays.fill(frame, 1 + length / 2, frame.length, (byte) seed);
+        return frame;
+    }
+
+    private static byte[] bytes(ByteBuf buf) {
+
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+    // endregion
+}
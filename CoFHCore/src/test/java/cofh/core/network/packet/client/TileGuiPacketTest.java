@@ -0,0 +1,113 @@
+package cofh.core.network.packet.client;
+
+import cofh.core.energy.EnergyStorageCoFH;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileGuiPacketTest {
+
+    @Test
+    public void deltaRoundTrip() {
+
+        byte[] prev = payload(new EnergyStorageCoFH(100000, 1000, 1000, 500), 40);
+        byte[] cur = payload(new EnergyStorageCoFH(100000, 1000, 1000, 75000), 41);
+
+        assertArrayEquals(cur, roundTrip(prev, cur));
+    }
+
+    @Test
+    public void unchangedPayloadSendsNoSegments() {
+
+        byte[] prev = payload(new EnergyStorageCoFH(100000, 1000, 1000, 500), 40);
+
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        byte[] mask = TileGuiPacket.writeSegments(buf, prev, prev.clone());
+
+        assertEquals(mask.length, buf.readableBytes());
+        for (byte b : mask) {
+            assertEquals(0, b);
+        }
+    }
+
+    @Test
+    public void changingEnergyOnlyChangesItsOwnSegment() {
+
+        // Fields are fixed width, so a value growing must not shift anything after it.
+        byte[] prev = payload(new EnergyStorageCoFH(100000, 1000, 1000, 5), 40);
+        byte[] cur = payload(new EnergyStorageCoFH(100000, 1000, 1000, 99999), 40);
+        assertEquals(prev.length, cur.length);
+
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        byte[] mask = TileGuiPacket.writeSegments(buf, prev, cur);
+
+        // Stored energy is the second int, i.e. segment 1.
+        assertEquals(1 << 1, mask[0]);
+        assertEquals(mask.length + TileGuiPacket.SEGMENT_SIZE, buf.readableBytes());
+    }
+
+    @Test
+    public void negativeProcessRoundTrips() {
+
+        byte[] prev = payload(new EnergyStorageCoFH(1000), 10);
+        byte[] cur = payload(new EnergyStorageCoFH(1000), -25);
+
+        PacketBuffer read = new PacketBuffer(Unpooled.wrappedBuffer(roundTrip(prev, cur)));
+        new EnergyStorageCoFH(0).readFromBuffer(read);
+
+        assertEquals(-25, read.readInt());
+        assertFalse(read.isReadable());
+    }
+
+    @Test
+    public void energyStorageRoundTrip() {
+
+        EnergyStorageCoFH storage = new EnergyStorageCoFH(250000, 2000, 4000, 123456);
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        storage.writeToBuffer(buf);
+
+        EnergyStorageCoFH read = new EnergyStorageCoFH(0);
+        read.readFromBuffer(buf);
+
+        assertEquals(250000, read.getMaxEnergyStored());
+        assertEquals(123456, read.getEnergyStored());
+        assertEquals(4000, read.getMaxExtract());
+        assertEquals(2000, read.getMaxReceive());
+        assertFalse(buf.isReadable());
+    }
+
+    // region HELPERS
+
+    /**
+     * A GUI payload shaped like a machine's: its energy storage followed by its process.
+     */
+    private static byte[] payload(EnergyStorageCoFH storage, int process) {
+
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        storage.writeToBuffer(buf);
+        buf.writeInt(process);
+        byte[] data = new byte[buf.readableBytes()];
+        buf.readBytes(data);
+        return data;
+    }
+
+    /**
+     * Sends cur as a delta against prev, and applies it to the client's copy of prev the way the packet does.
+     */
+    private static byte[] roundTrip(byte[] prev, byte[] cur) {
+
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        TileGuiPacket.writeSegments(buf, prev, cur);
+
+        byte[] data = new byte[cur.length];
+        byte[] mask = TileGuiPacket.readSegments(buf, data);
+        assertFalse(buf.isReadable());
+
+        byte[] client = prev.clone();
+        TileGuiPacket.applyDelta(client, data, mask);
+        return client;
+    }
+    // endregion
+}
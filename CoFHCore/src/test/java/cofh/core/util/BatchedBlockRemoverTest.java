@@ -0,0 +1,111 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchedBlockRemoverTest {
+
+    @Test
+    public void queuedBlocksMatchPerBlockRemoval() {
+
+        // Blasts crossing section borders on every axis, at negative coordinates and past both build limits.
+        for (BlockPos center : new BlockPos[]{new BlockPos(0, 64, 0), new BlockPos(-17, 8, 31), new BlockPos(100, 250, -100), new BlockPos(7, 2, 7)}) {
+            for (int radius : new int[]{1, 5, 12}) {
+                BatchedBlockRemover remover = new BatchedBlockRemover(null);
+                LongSet expected = new LongOpenHashSet();
+                for (BlockPos pos : blast(center, radius)) {
+                    remover.add(pos);
+                    // The per-block path removes exactly the positions a block can be set at.
+                    if (!World.isOutsideBuildHeight(pos)) {
+                        expected.add(pos.toLong());
+                    }
+                }
+                // Adding a position again does not remove anything more.
+                for (BlockPos pos : blast(center, radius)) {
+                    remover.add(pos);
+                }
+                assertEquals(expected, queued(remover), "Blast of radius " + radius + " at " + center);
+            }
+        }
+    }
+
+    @Test
+    public void offsetsRoundTrip() {
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (BlockPos original : BlockPos.getAllInBoxMutable(new BlockPos(-18, 0, -18), new BlockPos(18, 35, 18))) {
+            SectionPos sectionPos = SectionPos.from(original);
+            short offset = BatchedBlockRemover.packOffset(original);
+            assertEquals(original, BatchedBlockRemover.unpackOffset(sectionPos, offset, pos));
+            // Layout expected by the multi-block change packet: x, then z, then y, four bits each.
+            assertEquals((original.getX() & 15) << 8 | (original.getZ() & 15) << 4 | original.getY() & 15, offset);
+        }
+    }
+
+    @Test
+    public void surfaceSidesFaceKeptBlocks() {
+
+        BatchedBlockRemover remover = new BatchedBlockRemover(null);
+        remover.removed.add(new BlockPos(0, 64, 0).toLong());
+        assertEquals(6, countSurfaceSides(remover));
+
+        remover.removed.add(new BlockPos(1, 64, 0).toLong());
+        assertEquals(10, countSurfaceSides(remover));
+
+        remover.removed.clear();
+        for (BlockPos pos : BlockPos.getAllInBoxMutable(new BlockPos(-1, 63, -1), new BlockPos(1, 65, 1))) {
+            remover.removed.add(pos.toLong());
+        }
+        // Nine faces on each of six sides; the middle block has none.
+        assertEquals(54, countSurfaceSides(remover));
+        remover.forEachSurfaceSide((pos, side) -> {
+            assertTrue(remover.removed.contains(pos.toLong()));
+            assertFalse(remover.removed.contains(pos.offset(side).toLong()));
+            assertNotEquals(new BlockPos(0, 64, 0), pos);
+        });
+    }
+
+    // region HELPERS
+
+    /**
+     * The positions a nuke of the given radius considers, as in NukeGrenadeEntity.destroyBlocks.
+     */
+    private static Iterable<BlockPos> blast(BlockPos center, int radius) {
+
+        return () -> BlockPos.getAllInBox(center.add(-radius, -radius / 2, -radius), center.add(radius, radius, radius))
+                .filter(pos -> pos.distanceSq(center) < radius * radius)
+                .iterator();
+    }
+
+    private static LongSet queued(BatchedBlockRemover remover) {
+
+        LongSet queued = new LongOpenHashSet();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (Long2ObjectMap.Entry<ShortSet> entry : remover.sections.long2ObjectEntrySet()) {
+            SectionPos sectionPos = SectionPos.from(entry.getLongKey());
+            for (ShortIterator iter = entry.getValue().iterator(); iter.hasNext(); ) {
+                BlockPos unpacked = BatchedBlockRemover.unpackOffset(sectionPos, iter.nextShort(), pos);
+                assertEquals(sectionPos, SectionPos.from(unpacked));
+                assertTrue(queued.add(unpacked.toLong()), "Queued twice: " + unpacked);
+            }
+        }
+        return queued;
+    }
+
+    private static int countSurfaceSides(BatchedBlockRemover remover) {
+
+        int[] count = new int[1];
+        remover.forEachSurfaceSide((pos, side) -> ++count[0]);
+        return count[0];
+    }
+    // endregion
+}
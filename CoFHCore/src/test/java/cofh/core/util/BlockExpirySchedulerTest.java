@@ -0,0 +1,61 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockExpirySchedulerTest {
+
+    @Test
+    public void expiryDataRoundTrips() {
+
+        long now = 5000000;
+        BlockExpiryScheduler.ExpiryData data = new BlockExpiryScheduler.ExpiryData(now);
+        // One position per wheel level and one in the overflow list; a rescheduled and a cancelled one.
+        long[] deadlines = {now + 1, now + 300, now + 20000, now + 2000000};
+        for (int i = 0; i < deadlines.length; ++i) {
+            data.wheel.schedule(new BlockPos(i, 64, -i).toLong(), deadlines[i]);
+        }
+        data.wheel.schedule(new BlockPos(0, 64, 0).toLong(), now + 40);
+        data.wheel.schedule(new BlockPos(9, 9, 9).toLong(), now + 40);
+        data.wheel.cancel(new BlockPos(9, 9, 9).toLong());
+        data.overdue.add(new BlockPos(-100, 10, 100).toLong());
+        data.overdue.add(new BlockPos(30000000, 255, -30000000).toLong());
+
+        CompoundNBT nbt = data.write(new CompoundNBT());
+        BlockExpiryScheduler.ExpiryData read = new BlockExpiryScheduler.ExpiryData(now);
+        read.read(nbt);
+
+        assertEquals(new Long2LongOpenHashMap(data.wheel.getDeadlines()), new Long2LongOpenHashMap(read.wheel.getDeadlines()));
+        assertEquals(data.overdue, read.overdue);
+        assertEquals(new LongOpenHashSet(new long[]{new BlockPos(-100, 10, 100).toLong(), new BlockPos(30000000, 255, -30000000).toLong()}), read.overdue);
+
+        // Both wheels go on to expire the same positions on the same ticks.
+        LongList expected = new LongArrayList();
+        LongList actual = new LongArrayList();
+        data.wheel.advance(now + 2000000, key -> expected.add(key ^ data.wheel.getCurrentTick()));
+        read.wheel.advance(now + 2000000, key -> actual.add(key ^ read.wheel.getCurrentTick()));
+        assertEquals(deadlines.length, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void emptyDataRoundTrips() {
+
+        BlockExpiryScheduler.ExpiryData read = new BlockExpiryScheduler.ExpiryData(0);
+        read.read(new BlockExpiryScheduler.ExpiryData(0).write(new CompoundNBT()));
+        assertEquals(0, read.wheel.size());
+        assertTrue(read.overdue.isEmpty());
+
+        // Missing tags read as nothing scheduled.
+        read.read(new CompoundNBT());
+        assertTrue(read.overdue.isEmpty());
+    }
+
+}
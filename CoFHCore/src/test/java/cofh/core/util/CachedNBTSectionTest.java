@@ -0,0 +1,101 @@
+package cofh.core.util;
+
+import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.inventory.SimpleItemInv;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.util.registry.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedNBTSectionTest {
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void saveLoadRoundTripIsByteIdentical() throws IOException {
+
+        SimpleItemInv inv = createInv();
+        inv.set(0, new ItemStack(Items.COBBLESTONE, 37));
+        inv.set(2, taggedSword("first"));
+
+        CachedNBTSection section = new CachedNBTSection();
+        byte[] saved = toBytes(section.write(new CompoundNBT(), inv.getVersion(), inv::write));
+        assertArrayEquals(saved, toBytes(section.write(new CompoundNBT(), inv.getVersion(), inv::write)));
+
+        SimpleItemInv loaded = createInv();
+        loaded.read(inv.write(new CompoundNBT()));
+        byte[] reloaded = toBytes(new CachedNBTSection().write(new CompoundNBT(), loaded.getVersion(), loaded::write));
+
+        assertArrayEquals(saved, reloaded);
+        assertArrayEquals(toBytes(inv.write(new CompoundNBT())), saved);
+    }
+
+    @Test
+    public void inPlaceMutationIsSavedOnceMarked() throws IOException {
+
+        SimpleItemInv inv = createInv();
+        ItemStack sword = taggedSword("first");
+        inv.set(1, sword);
+
+        CachedNBTSection section = new CachedNBTSection();
+        byte[] before = toBytes(section.write(new CompoundNBT(), inv.getVersion(), inv::write));
+
+        // Same as the tinker bench writing augments into the stack sitting in its slot.
+        sword.getOrCreateTag().putString("Augment", "second");
+        inv.getSlot(1).markChanged();
+        byte[] after = toBytes(section.write(new CompoundNBT(), inv.getVersion(), inv::write));
+
+        assertFalse(Arrays.equals(before, after));
+        assertArrayEquals(toBytes(inv.write(new CompoundNBT())), after);
+    }
+
+    @Test
+    public void invalidateForcesRewrite() throws IOException {
+
+        SimpleItemInv inv = createInv();
+        ItemStack sword = taggedSword("first");
+        inv.set(0, sword);
+
+        CachedNBTSection section = new CachedNBTSection();
+        section.write(new CompoundNBT(), inv.getVersion(), inv::write);
+        sword.getOrCreateTag().putString("Augment", "second");
+        section.invalidate();
+
+        assertArrayEquals(toBytes(inv.write(new CompoundNBT())), toBytes(section.write(new CompoundNBT(), inv.getVersion(), inv::write)));
+    }
+
+    // region HELPERS
+    private static SimpleItemInv createInv() {
+
+        return new SimpleItemInv(null, Arrays.asList(new ItemStorageCoFH(), new ItemStorageCoFH(), new ItemStorageCoFH()), "Inv");
+    }
+
+    private static ItemStack taggedSword(String augment) {
+
+        ItemStack stack = new ItemStack(Items.DIAMOND_SWORD);
+        stack.getOrCreateTag().putString("Augment", augment);
+        return stack;
+    }
+
+    private static byte[] toBytes(CompoundNBT nbt) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(nbt, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+    // endregion
+}
@@ -0,0 +1,101 @@
+package cofh.core.util;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.registry.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemStackMapTest {
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void emptyTagMatchesNoTag() {
+
+        ItemStackMap<String> map = new ItemStackMap<>(true);
+        map.put(new ItemStack(Items.PAPER), "plain");
+
+        assertEquals("plain", map.get(tagged(new CompoundNBT())));
+        assertEquals("plain", map.put(tagged(new CompoundNBT()), "empty"));
+        assertEquals(1, map.size());
+        assertEquals("empty", map.remove(new ItemStack(Items.PAPER)));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void collidingFingerprintsAreKeptApart() {
+
+        // "Aa" and "BB" share a String hash code, so the two tags share a fingerprint.
+        ItemStack first = tagged(tag("Aa", 1));
+        ItemStack second = tagged(tag("BB", 1));
+        assertEquals(PackedStackMap.fingerprint(first.getTag()), PackedStackMap.fingerprint(second.getTag()));
+        assertNotEquals(first.getTag(), second.getTag());
+
+        ItemStackMap<String> map = new ItemStackMap<>(true);
+        map.put(first, "first");
+        map.put(second, "second");
+
+        assertEquals(2, map.size());
+        assertEquals(2, map.keys().size());
+        assertEquals("first", map.get(tagged(tag("Aa", 1))));
+        assertEquals("second", map.get(tagged(tag("BB", 1))));
+        assertNull(map.get(new ItemStack(Items.PAPER)));
+
+        assertEquals("first", map.remove(first));
+        assertNull(map.get(first));
+        assertEquals("second", map.get(second));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void collisionWithEmptyFingerprintIsKeptApart() {
+
+        ItemStackMap<String> map = new ItemStackMap<>(true);
+        map.put(new ItemStack(Items.PAPER), "plain");
+
+        // A tag whose hash code is 0 has the same fingerprint as no tag, but is not the same tag.
+        ItemStack zero = tagged(tag("", 0));
+        assertEquals(0, PackedStackMap.fingerprint(zero.getTag()));
+        assertNull(map.get(zero));
+
+        map.put(zero, "zero");
+        assertEquals("plain", map.get(new ItemStack(Items.PAPER)));
+        assertEquals("zero", map.get(zero));
+    }
+
+    @Test
+    public void tagsAreIgnoredWhenNotSensitive() {
+
+        ItemStackMap<String> map = new ItemStackMap<>();
+        map.put(tagged(tag("Aa", 1)), "any");
+
+        assertEquals("any", map.get(new ItemStack(Items.PAPER)));
+        assertEquals("any", map.get(tagged(tag("BB", 2))));
+        assertNull(map.get(new ItemStack(Items.BOOK)));
+    }
+
+    // region HELPERS
+    private static CompoundNBT tag(String key, int value) {
+
+        CompoundNBT tag = new CompoundNBT();
+        tag.putInt(key, value);
+        return tag;
+    }
+
+    private static ItemStack tagged(CompoundNBT tag) {
+
+        // Not damageable, so the stack never adds a tag of its own.
+        ItemStack stack = new ItemStack(Items.PAPER);
+        stack.setTag(tag);
+        return stack;
+    }
+    // endregion
+}
@@ -0,0 +1,189 @@
+package cofh.core.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    /**
+     * Deltas on either side of every level boundary: 256 ticks, 64 * 256 ticks and 64 * 64 * 256 ticks.
+     */
+    private static final long[] DELTAS = {1, 2, 255, 256, 257, 1000, 16383, 16384, 16385, 100000, 1048575, 1048576, 1048577, 2500000};
+
+    @Test
+    public void expiresOnDeadlineInOrderAcrossLevels() {
+
+        // From an aligned start, and from one that is not aligned to any level.
+        for (long start : new long[]{0, 1048576 * 3, 1000003, 16383}) {
+            TimerWheel wheel = new TimerWheel(start);
+            Long2LongMap expected = new Long2LongOpenHashMap();
+            for (int i = DELTAS.length - 1; i >= 0; --i) {
+                wheel.schedule(i, start + DELTAS[i]);
+                expected.put(i, start + DELTAS[i]);
+            }
+            assertEquals(DELTAS.length, wheel.size());
+
+            List<long[]> fired = new ArrayList<>();
+            // Small steps first, then uneven jumps past every boundary.
+            for (long tick = start; tick < start + 300; ++tick) {
+                wheel.advance(tick, key -> fired.add(new long[]{key, wheel.getCurrentTick()}));
+            }
+            for (long tick = start + 300; wheel.size() > 0; tick += 997) {
+                wheel.advance(tick, key -> fired.add(new long[]{key, wheel.getCurrentTick()}));
+            }
+            assertFired(expected, fired, "Start " + start);
+        }
+    }
+
+    @Test
+    public void matchesReferenceSchedule() {
+
+        Random rand = new Random(1234);
+        TimerWheel wheel = new TimerWheel(500);
+        Long2LongMap expected = new Long2LongOpenHashMap();
+        List<long[]> fired = new ArrayList<>();
+
+        long tick = 500;
+        while (tick < 2000000) {
+            for (int i = 0; i < 20; ++i) {
+                long key = rand.nextInt(400);
+                switch (rand.nextInt(4)) {
+                    case 0:
+                        wheel.cancel(key);
+                        expected.remove(key);
+                        break;
+                    default:
+                        // Near, mid and far deadlines; keys already pending are rescheduled.
+                        int range = new int[]{300, 20000, 1500000}[rand.nextInt(3)];
+                        long deadline = tick + 1 + rand.nextInt(range);
+                        wheel.schedule(key, deadline);
+                        expected.put(key, deadline);
+                }
+            }
+            assertEquals(expected.size(), wheel.size());
+
+            tick += 1 + rand.nextInt(rand.nextBoolean() ? 50 : 30000);
+            Long2LongMap due = new Long2LongOpenHashMap();
+            for (Long2LongMap.Entry entry : expected.long2LongEntrySet()) {
+                if (entry.getLongValue() <= tick) {
+                    due.put(entry.getLongKey(), entry.getLongValue());
+                }
+            }
+            fired.clear();
+            wheel.advance(tick, key -> fired.add(new long[]{key, wheel.getCurrentTick()}));
+            assertFired(due, fired, "Advancing to " + tick);
+            due.keySet().forEach(expected::remove);
+            assertEquals(expected, new Long2LongOpenHashMap(wheel.getDeadlines()));
+        }
+    }
+
+    @Test
+    public void rescheduleMovesDeadline() {
+
+        TimerWheel wheel = new TimerWheel(0);
+        LongList fired = new LongArrayList();
+
+        // Earlier, across levels: only the new deadline fires.
+        wheel.schedule(1, 40000);
+        wheel.schedule(1, 100);
+        // Later, across levels: the old deadline no longer fires.
+        wheel.schedule(2, 100);
+        wheel.schedule(2, 40000);
+        // Later within the first level.
+        wheel.schedule(3, 10);
+        wheel.schedule(3, 20);
+
+        wheel.advance(100, key -> fired.add(wheel.getCurrentTick() << 8 | key));
+        assertEquals(LongArrayList.wrap(new long[]{20 << 8 | 3, 100 << 8 | 1}), fired);
+        assertTrue(wheel.contains(2));
+        assertFalse(wheel.contains(1));
+
+        // Scheduled again after firing, at the tick its stale entry is still waiting on.
+        wheel.schedule(1, 40000);
+        fired.clear();
+        wheel.advance(50000, key -> fired.add(wheel.getCurrentTick() << 8 | key));
+        assertEquals(2, fired.size());
+        assertTrue(fired.contains(40000L << 8 | 1));
+        assertTrue(fired.contains(40000L << 8 | 2));
+
+        // A deadline already passed fires on the next tick.
+        wheel.schedule(4, 10);
+        fired.clear();
+        wheel.advance(50001, key -> fired.add(wheel.getCurrentTick() << 8 | key));
+        assertEquals(LongArrayList.wrap(new long[]{50001L << 8 | 4}), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cancelledKeysNeverFire() {
+
+        TimerWheel wheel = new TimerWheel(0);
+        for (int i = 0; i < DELTAS.length; ++i) {
+            wheel.schedule(i, DELTAS[i]);
+        }
+        for (int i = 0; i < DELTAS.length; i += 2) {
+            wheel.cancel(i);
+            assertFalse(wheel.contains(i));
+        }
+        wheel.cancel(1000);
+        assertEquals(DELTAS.length / 2, wheel.size());
+
+        LongList fired = new LongArrayList();
+        wheel.advance(DELTAS[DELTAS.length - 1], fired::add);
+        for (int i = 0; i < DELTAS.length; ++i) {
+            assertEquals(i % 2 == 1, fired.contains(i), "Key " + i);
+        }
+        assertEquals(0, wheel.size());
+
+        // Cancelled and scheduled again, it fires once at the new deadline.
+        wheel.schedule(7, wheel.getCurrentTick() + 300);
+        wheel.cancel(7);
+        wheel.schedule(7, wheel.getCurrentTick() + 500);
+        fired.clear();
+        wheel.advance(wheel.getCurrentTick() + 1000, fired::add);
+        assertEquals(LongArrayList.wrap(new long[]{7}), fired);
+    }
+
+    @Test
+    public void idleWheelSkipsAhead() {
+
+        TimerWheel wheel = new TimerWheel(0);
+        wheel.advance(123456789, key -> fail("Nothing is scheduled"));
+        assertEquals(123456789, wheel.getCurrentTick());
+
+        LongList fired = new LongArrayList();
+        wheel.schedule(1, 123456789 + 20000);
+        wheel.advance(123456789 + 19999, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(123456789 + 20000, fired::add);
+        assertEquals(LongArrayList.wrap(new long[]{1}), fired);
+    }
+
+    // region HELPERS
+    private static void assertFired(Long2LongMap expected, List<long[]> fired, String message) {
+
+        assertEquals(expected.size(), fired.size(), message + ": " + fired.size() + " keys fired");
+        long last = Long.MIN_VALUE;
+        for (long[] entry : fired) {
+            assertTrue(expected.containsKey(entry[0]), message + ": key " + entry[0] + " fired unexpectedly");
+            assertEquals(expected.get(entry[0]), entry[1], message + ": key " + entry[0] + " fired on the wrong tick");
+            assertTrue(entry[1] >= last, message + ": keys fired out of order");
+            last = entry[1];
+        }
+        fired.sort(Comparator.comparingLong(entry -> entry[0]));
+        for (int i = 1; i < fired.size(); ++i) {
+            assertNotEquals(fired.get(i - 1)[0], fired.get(i)[0], message + ": key fired twice");
+        }
+    }
+    // endregion
+}
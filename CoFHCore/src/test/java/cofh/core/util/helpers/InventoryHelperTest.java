@@ -0,0 +1,300 @@
+package cofh.core.util.helpers;
+
+import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.inventory.ManagedItemInv;
+import cofh.core.inventory.SimpleItemInv;
+import cofh.core.inventory.TransferCursor;
+import cofh.core.util.StorageGroup;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.tileentity.ChestTileEntity;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.wrapper.InvWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryHelperTest {
+
+    private static final int[] AMOUNTS = {1, 8, 32, 64, 200};
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void bulkExtractMatchesPerSlotExtract() {
+
+        for (Function<ItemStack[], IItemHandler> source : sources()) {
+            for (Supplier<ItemStorageCoFH> target : targets()) {
+                for (int amount : AMOUNTS) {
+                    IItemHandler legacyHandler = source.apply(layout());
+                    ItemStorageCoFH legacySlot = target.get();
+                    boolean legacy = InventoryHelper.extractFromHandler(legacyHandler, legacySlot, amount);
+
+                    IItemHandler bulkHandler = source.apply(layout());
+                    ItemStorageCoFH bulkSlot = target.get();
+                    boolean bulk = InventoryHelper.extractFromHandler(bulkHandler, bulkSlot, amount, new TransferCursor(), null);
+
+                    assertEquals(legacy, bulk);
+                    assertSameStacks(legacyHandler, bulkHandler);
+                    assertTrue(ItemStack.areItemStacksEqual(legacySlot.getItemStack(), bulkSlot.getItemStack()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bulkInsertMatchesPerSlotInsert() {
+
+        for (Function<ItemStack[], IItemHandler> source : sources()) {
+            for (ItemStack stack : Arrays.asList(new ItemStack(Items.IRON_INGOT, 64), new ItemStack(Items.GOLD_INGOT, 40), tagged(new ItemStack(Items.PAPER, 20)))) {
+                for (int amount : AMOUNTS) {
+                    IItemHandler legacyHandler = source.apply(layout());
+                    ItemStorageCoFH legacySlot = slot(stack.copy());
+                    boolean legacy = InventoryHelper.insertIntoHandler(legacyHandler, legacySlot, amount);
+
+                    IItemHandler bulkHandler = source.apply(layout());
+                    ItemStorageCoFH bulkSlot = slot(stack.copy());
+                    boolean bulk = InventoryHelper.insertIntoHandler(bulkHandler, bulkSlot, amount, new TransferCursor(), null);
+
+                    assertEquals(legacy, bulk);
+                    assertSameStacks(legacyHandler, bulkHandler);
+                    assertTrue(ItemStack.areItemStacksEqual(legacySlot.getItemStack(), bulkSlot.getItemStack()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nothingIsExtractedBeyondWhatTheSlotAccepts() {
+
+        for (Function<ItemStack[], IItemHandler> source : sources()) {
+            for (Supplier<ItemStorageCoFH> target : targets()) {
+                for (int amount : AMOUNTS) {
+                    CountingHandler handler = new CountingHandler(source.apply(layout()));
+                    ItemStorageCoFH slot = target.get();
+                    int before = slot.getCount();
+
+                    InventoryHelper.extractFromHandler(handler, slot, amount, new TransferCursor(), null);
+
+                    assertEquals(0, handler.returned, "Items were extracted that the slot did not accept.");
+                    assertEquals(handler.extracted, slot.getCount() - before);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void listExtractKeepsEveryItem() {
+
+        for (Function<ItemStack[], IItemHandler> source : sources()) {
+            for (int amount : AMOUNTS) {
+                CountingHandler handler = new CountingHandler(source.apply(layout()));
+                List<ItemStorageCoFH> slots = new ArrayList<>();
+                for (Supplier<ItemStorageCoFH> target : targets()) {
+                    slots.add(target.get());
+                }
+                int before = total(handler) + total(slots);
+
+                InventoryHelper.extractFromHandler(handler, slots, amount, new TransferCursor(), null);
+
+                assertEquals(0, handler.returned, "Items were extracted that no slot accepted.");
+                assertEquals(before, total(handler) + total(slots));
+                for (ItemStorageCoFH slot : slots) {
+                    assertTrue(slot.getCount() <= slot.getSlotLimit(0));
+                }
+            }
+        }
+    }
+
+    // region HELPERS
+    private static ItemStack[] layout() {
+
+        return new ItemStack[]{
+                new ItemStack(Items.IRON_INGOT, 10),
+                ItemStack.EMPTY,
+                new ItemStack(Items.GOLD_INGOT, 64),
+                new ItemStack(Items.IRON_INGOT, 64),
+                tagged(new ItemStack(Items.IRON_INGOT, 5)),
+                new ItemStack(Items.IRON_INGOT, 30),
+                ItemStack.EMPTY,
+                new ItemStack(Items.GOLD_INGOT, 3),
+                new ItemStack(Items.IRON_INGOT, 1)
+        };
+    }
+
+    private static List<Function<ItemStack[], IItemHandler>> sources() {
+
+        return Arrays.asList(
+                stacks -> {
+                    SimpleItemInv inv = new SimpleItemInv(null, slots(stacks.length), "Inv");
+                    for (int i = 0; i < stacks.length; ++i) {
+                        inv.set(i, stacks[i]);
+                    }
+                    return inv;
+                },
+                stacks -> {
+                    // Inputs first, then outputs; like a machine, inputs only insert and outputs only extract.
+                    ManagedItemInv inv = new ManagedItemInv(null, "Inv");
+                    inv.addSlots(StorageGroup.INPUT, stacks.length);
+                    inv.addSlots(StorageGroup.OUTPUT, stacks.length);
+                    for (int i = 0; i < stacks.length; ++i) {
+                        inv.set(i, stacks[i].copy());
+                        inv.set(stacks.length + i, stacks[i].copy());
+                    }
+                    return inv.getHandler(StorageGroup.ACCESSIBLE);
+                },
+                stacks -> {
+                    ChestTileEntity chest = new ChestTileEntity();
+                    for (int i = 0; i < stacks.length; ++i) {
+                        chest.setInventorySlotContents(i * 3, stacks[i]);
+                    }
+                    return new InvWrapper(chest);
+                }
+        );
+    }
+
+    private static List<Supplier<ItemStorageCoFH>> targets() {
+
+        return Arrays.asList(
+                ItemStorageCoFH::new,
+                () -> slot(new ItemStack(Items.IRON_INGOT, 50)),
+                () -> {
+                    ItemStorageCoFH slot = new ItemStorageCoFH(16);
+                    slot.setItemStack(new ItemStack(Items.IRON_INGOT, 10));
+                    return slot;
+                },
+                () -> new ItemStorageCoFH(stack -> stack.getItem() == Items.GOLD_INGOT),
+                () -> slot(tagged(new ItemStack(Items.IRON_INGOT, 60)))
+        );
+    }
+
+    private static List<ItemStorageCoFH> slots(int count) {
+
+        List<ItemStorageCoFH> slots = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            slots.add(new ItemStorageCoFH());
+        }
+        return slots;
+    }
+
+    private static ItemStorageCoFH slot(ItemStack stack) {
+
+        ItemStorageCoFH slot = new ItemStorageCoFH();
+        slot.setItemStack(stack);
+        return slot;
+    }
+
+    private static ItemStack tagged(ItemStack stack) {
+
+        CompoundNBT tag = new CompoundNBT();
+        tag.putString("Name", "marked");
+        stack.setTag(tag);
+        return stack;
+    }
+
+    private static int total(IItemHandler handler) {
+
+        int total = 0;
+        for (int i = 0; i < handler.getSlots(); ++i) {
+            total += handler.getStackInSlot(i).getCount();
+        }
+        return total;
+    }
+
+    private static int total(List<ItemStorageCoFH> slots) {
+
+        int total = 0;
+        for (ItemStorageCoFH slot : slots) {
+            total += slot.getCount();
+        }
+        return total;
+    }
+
+    private static void assertSameStacks(IItemHandler expected, IItemHandler actual) {
+
+        assertEquals(expected.getSlots(), actual.getSlots());
+        for (int i = 0; i < expected.getSlots(); ++i) {
+            ItemStack a = expected.getStackInSlot(i);
+            ItemStack b = actual.getStackInSlot(i);
+            assertTrue(ItemStack.areItemStacksEqual(a, b), "Slot " + i + ": expected " + a + " but was " + b);
+        }
+    }
+
+    /**
+     * Passes everything through, counting items extracted from it and items handed back to it.
+     */
+    private static class CountingHandler implements IItemHandler {
+
+        private final IItemHandler handler;
+        private int extracted;
+        private int returned;
+
+        CountingHandler(IItemHandler handler) {
+
+            this.handler = handler;
+        }
+
+        @Override
+        public int getSlots() {
+
+            return handler.getSlots();
+        }
+
+        @Nonnull
+        @Override
+        public ItemStack getStackInSlot(int slot) {
+
+            return handler.getStackInSlot(slot);
+        }
+
+        @Nonnull
+        @Override
+        public ItemStack insertItem(int slot, @Nonnull ItemStack stack, boolean simulate) {
+
+            ItemStack ret = handler.insertItem(slot, stack, simulate);
+            if (!simulate) {
+                returned += stack.getCount() - ret.getCount();
+            }
+            return ret;
+        }
+
+        @Nonnull
+        @Override
+        public ItemStack extractItem(int slot, int amount, boolean simulate) {
+
+            ItemStack ret = handler.extractItem(slot, amount, simulate);
+            if (!simulate) {
+                extracted += ret.getCount();
+            }
+            return ret;
+        }
+
+        @Override
+        public int getSlotLimit(int slot) {
+
+            return handler.getSlotLimit(slot);
+        }
+
+        @Override
+        public boolean isItemValid(int slot, @Nonnull ItemStack stack) {
+
+            return handler.isItemValid(slot, stack);
+        }
+
+    }
+    // endregion
+}
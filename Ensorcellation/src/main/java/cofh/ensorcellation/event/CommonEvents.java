@@ -34,6 +34,7 @@ import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.common.ForgeMod;
 import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
 import net.minecraftforge.event.entity.living.*;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
 import net.minecraftforge.event.entity.player.ItemFishedEvent;
@@ -47,12 +48,12 @@ import net.minecraftforge.fml.common.Mod;
 
 import java.util.List;
 
-import static cofh.core.util.Utils.getHeldEnchantmentLevel;
 import static cofh.core.util.constants.Constants.*;
 import static cofh.core.util.references.EnsorcIDs.ID_REACH;
 import static cofh.core.util.references.EnsorcIDs.ID_VITALITY;
 import static cofh.core.util.references.EnsorcReferences.*;
-import static net.minecraft.enchantment.EnchantmentHelper.getMaxEnchantmentLevel;
+import static cofh.ensorcellation.event.EnchantmentLevelCache.getHeldEnchantmentLevel;
+import static cofh.ensorcellation.event.EnchantmentLevelCache.getMaxEnchantmentLevel;
 import static net.minecraft.enchantment.Enchantments.EFFICIENCY;
 import static net.minecraft.enchantment.Enchantments.FROST_WALKER;
 import static net.minecraft.entity.ai.attributes.AttributeModifier.Operation.ADDITION;
@@ -205,6 +206,7 @@ public class CommonEvents {
     public static void handleLivingEquipmentChangeEvent(LivingEquipmentChangeEvent event) {
 
         LivingEntity entity = event.getEntityLiving();
+        EnchantmentLevelCache.invalidate(entity);
 
         // REACH
         int encReach = getMaxEnchantmentLevel(REACH, entity);
@@ -245,6 +247,14 @@ public class CommonEvents {
         //        }
     }
 
+    @SubscribeEvent
+    public static void handleEntityLeaveWorldEvent(EntityLeaveWorldEvent event) {
+
+        if (event.getEntity() instanceof LivingEntity) {
+            EnchantmentLevelCache.invalidate((LivingEntity) event.getEntity());
+        }
+    }
+
     @SubscribeEvent
     public static void handleLivingExperienceDropEvent(LivingExperienceDropEvent event) {
 
@@ -0,0 +1,171 @@
+package cofh.ensorcellation.event;
+
+import cofh.core.util.Utils;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.passive.horse.AbstractHorseEntity;
+import net.minecraft.inventory.EquipmentSlotType;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Hand;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Server-side cache of the enchantment levels the event handlers ask for, per entity.
+ * <p>
+ * Levels are computed on first query and kept until the entity's equipment changes. LivingEquipmentChangeEvent drops
+ * an entity's levels outright; as that event is only fired once per entity tick, each query also checks that the
+ * equipped stacks are still the ones the levels were computed from (e.g. a hotbar swap followed by an attack within
+ * the same tick). Client queries always take the uncached path.
+ */
+public class EnchantmentLevelCache {
+
+    private static final EquipmentSlotType[] SLOTS = EquipmentSlotType.values();
+    private static final Map<LivingEntity, Levels> CACHE = new WeakHashMap<>();
+
+    private EnchantmentLevelCache() {
+
+    }
+
+    /**
+     * Cached equivalent of {@link Utils#getHeldEnchantmentLevel(LivingEntity, Enchantment)}.
+     */
+    public static int getHeldEnchantmentLevel(LivingEntity living, Enchantment ench) {
+
+        if (Utils.isClientWorld(living.world)) {
+            return Utils.getHeldEnchantmentLevel(living, ench);
+        }
+        Levels levels = levels(living);
+        return Math.max(levels.get(ench, EquipmentSlotType.MAINHAND), levels.get(ench, EquipmentSlotType.OFFHAND));
+    }
+
+    /**
+     * Cached equivalent of {@link EnchantmentHelper#getMaxEnchantmentLevel(Enchantment, LivingEntity)}.
+     */
+    public static int getMaxEnchantmentLevel(Enchantment ench, LivingEntity living) {
+
+        if (Utils.isClientWorld(living.world)) {
+            return EnchantmentHelper.getMaxEnchantmentLevel(ench, living);
+        }
+        Levels levels = levels(living);
+        int level = levels.equipped.getInt(ench);
+        if (level < 0) {
+            level = EnchantmentHelper.getMaxEnchantmentLevel(ench, living);
+            levels.equipped.put(ench, level);
+        }
+        return level;
+    }
+
+    /**
+     * Level on the item currently in use (e.g. a raised shield), or 0 if nothing is in use.
+     */
+    public static int getActiveEnchantmentLevel(LivingEntity living, Enchantment ench) {
+
+        ItemStack active = living.getActiveItemStack();
+        if (active.isEmpty()) {
+            return 0;
+        }
+        if (Utils.isClientWorld(living.world)) {
+            return EnchantmentHelper.getEnchantmentLevel(ench, active);
+        }
+        Levels levels = levels(living);
+        if (active == levels.stacks[EquipmentSlotType.MAINHAND.ordinal()]) {
+            return levels.get(ench, EquipmentSlotType.MAINHAND);
+        } else if (active == levels.stacks[EquipmentSlotType.OFFHAND.ordinal()]) {
+            return levels.get(ench, EquipmentSlotType.OFFHAND);
+        }
+        return EnchantmentHelper.getEnchantmentLevel(ench, active);
+    }
+
+    public static int getHorseArmorEnchantmentLevel(AbstractHorseEntity horse, Enchantment ench) {
+
+        ItemStack armor = horse.horseChest.getStackInSlot(1);
+        if (Utils.isClientWorld(horse.world)) {
+            return EnchantmentHelper.getEnchantmentLevel(ench, armor);
+        }
+        Levels levels = levels(horse);
+        if (levels.horseArmorStack != armor) {
+            levels.horseArmorStack = armor;
+            levels.horseArmor.clear();
+        }
+        int level = levels.horseArmor.getInt(ench);
+        if (level < 0) {
+            level = EnchantmentHelper.getEnchantmentLevel(ench, armor);
+            levels.horseArmor.put(ench, level);
+        }
+        return level;
+    }
+
+    public static void invalidate(LivingEntity living) {
+
+        CACHE.remove(living);
+    }
+
+    // region HELPERS
+    private static Levels levels(LivingEntity living) {
+
+        Levels levels = CACHE.computeIfAbsent(living, e -> new Levels());
+        levels.validate(living);
+        return levels;
+    }
+    // endregion
+
+    private static class Levels {
+
+        final ItemStack[] stacks = new ItemStack[SLOTS.length];
+        final Object2IntOpenHashMap<Enchantment>[] slots = createSlots();
+        final Object2IntOpenHashMap<Enchantment> equipped = create();
+
+        ItemStack horseArmorStack;
+        final Object2IntOpenHashMap<Enchantment> horseArmor = create();
+
+        void validate(LivingEntity living) {
+
+            boolean changed = false;
+            for (EquipmentSlotType slot : SLOTS) {
+                ItemStack stack = living.getItemStackFromSlot(slot);
+                if (stacks[slot.ordinal()] != stack) {
+                    stacks[slot.ordinal()] = stack;
+                    slots[slot.ordinal()].clear();
+                    changed = true;
+                }
+            }
+            if (changed) {
+                equipped.clear();
+            }
+        }
+
+        int get(Enchantment ench, EquipmentSlotType slot) {
+
+            Object2IntOpenHashMap<Enchantment> levels = slots[slot.ordinal()];
+            int level = levels.getInt(ench);
+            if (level < 0) {
+                level = EnchantmentHelper.getEnchantmentLevel(ench, stacks[slot.ordinal()]);
+                levels.put(ench, level);
+            }
+            return level;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Object2IntOpenHashMap<Enchantment>[] createSlots() {
+
+            Object2IntOpenHashMap<Enchantment>[] slots = new Object2IntOpenHashMap[SLOTS.length];
+            for (int i = 0; i < slots.length; ++i) {
+                slots[i] = create();
+            }
+            return slots;
+        }
+
+        static Object2IntOpenHashMap<Enchantment> create() {
+
+            Object2IntOpenHashMap<Enchantment> map = new Object2IntOpenHashMap<>(4);
+            map.defaultReturnValue(-1);
+            return map;
+        }
+
+    }
+
+}
@@ -20,7 +20,7 @@ import net.minecraftforge.fml.common.Mod;
 
 import static cofh.core.util.constants.Constants.ID_ENSORCELLATION;
 import static cofh.core.util.references.EnsorcReferences.*;
-import static net.minecraft.enchantment.EnchantmentHelper.getEnchantmentLevel;
+import static cofh.ensorcellation.event.EnchantmentLevelCache.getHorseArmorEnchantmentLevel;
 import static net.minecraft.enchantment.Enchantments.*;
 
 @Mod.EventBusSubscriber(modid = ID_ENSORCELLATION)
@@ -45,10 +45,11 @@ public class HorseEnchEvents {
         if (!(entity instanceof AbstractHorseEntity)) {
             return;
         }
-        ItemStack armor = ((AbstractHorseEntity) entity).horseChest.getStackInSlot(1);
+        AbstractHorseEntity horse = (AbstractHorseEntity) entity;
+        ItemStack armor = horse.horseChest.getStackInSlot(1);
         if (!armor.isEmpty()) {
             // FROST WALKER
-            int encFrostWalker = getEnchantmentLevel(FROST_WALKER, armor);
+            int encFrostWalker = getHorseArmorEnchantmentLevel(horse, FROST_WALKER);
             if (event.getSource().equals(DamageSource.HOT_FLOOR) && encFrostWalker > 0) {
                 event.setCanceled(true);
             }
@@ -68,31 +69,32 @@ public class HorseEnchEvents {
         if (!(entity instanceof AbstractHorseEntity)) {
             return;
         }
-        ItemStack armor = ((AbstractHorseEntity) entity).horseChest.getStackInSlot(1);
+        AbstractHorseEntity horse = (AbstractHorseEntity) entity;
+        ItemStack armor = horse.horseChest.getStackInSlot(1);
         if (!armor.isEmpty()) {
             int totalProtection = 0;
             // PROTECTION
-            int encProtection = getEnchantmentLevel(PROTECTION, armor);
+            int encProtection = getHorseArmorEnchantmentLevel(horse, PROTECTION);
             if (encProtection > 0) {
                 totalProtection += PROTECTION.calcModifierDamage(encProtection, source);
             }
             // FIRE PROTECTION
-            int encProtectionFire = getEnchantmentLevel(FIRE_PROTECTION, armor);
+            int encProtectionFire = getHorseArmorEnchantmentLevel(horse, FIRE_PROTECTION);
             if (encProtectionFire > 0) {
                 totalProtection += FIRE_PROTECTION.calcModifierDamage(encProtection, source);
             }
             // FEATHER FALLING
-            int encProtectionFall = getEnchantmentLevel(FEATHER_FALLING, armor);
+            int encProtectionFall = getHorseArmorEnchantmentLevel(horse, FEATHER_FALLING);
             if (encProtectionFall > 0) {
                 totalProtection += FEATHER_FALLING.calcModifierDamage(encProtection, source);
             }
             // BLAST PROTECTION
-            int encProtectionExplosion = getEnchantmentLevel(BLAST_PROTECTION, armor);
+            int encProtectionExplosion = getHorseArmorEnchantmentLevel(horse, BLAST_PROTECTION);
             if (encProtectionExplosion > 0) {
                 totalProtection += BLAST_PROTECTION.calcModifierDamage(encProtection, source);
             }
             // PROJECTILE PROTECTION
-            int encProtectionProjectile = getEnchantmentLevel(PROJECTILE_PROTECTION, armor);
+            int encProtectionProjectile = getHorseArmorEnchantmentLevel(horse, PROJECTILE_PROTECTION);
             if (encProtectionProjectile > 0) {
                 totalProtection += PROJECTILE_PROTECTION.calcModifierDamage(encProtection, source);
             }
@@ -101,22 +103,22 @@ public class HorseEnchEvents {
 
             if (attacker != null) {
                 // THORNS
-                int encThorns = getEnchantmentLevel(THORNS, armor);
+                int encThorns = getHorseArmorEnchantmentLevel(horse, THORNS);
                 if (ThornsEnchantment.shouldHit(encThorns, entity.getRNG())) {
                     attacker.attackEntityFrom(DamageSource.causeThornsDamage(entity), ThornsEnchantment.getDamage(encThorns, MathHelper.RANDOM));
                 }
                 // DISPLACEMENT
-                int encDisplacement = getEnchantmentLevel(DISPLACEMENT, armor);
+                int encDisplacement = getHorseArmorEnchantmentLevel(horse, DISPLACEMENT);
                 if (DisplacementEnchantment.shouldHit(encDisplacement, entity.getRNG())) {
                     DisplacementEnchantment.onHit(entity, attacker, encDisplacement);
                 }
                 // FIRE REBUKE
-                int encFireRebuke = getEnchantmentLevel(FIRE_REBUKE, armor);
+                int encFireRebuke = getHorseArmorEnchantmentLevel(horse, FIRE_REBUKE);
                 if (FireRebukeEnchantment.shouldHit(encFireRebuke, entity.getRNG())) {
                     FireRebukeEnchantment.onHit(entity, attacker, encFireRebuke);
                 }
                 // FROST REBUKE
-                int encFrostRebuke = getEnchantmentLevel(FROST_REBUKE, armor);
+                int encFrostRebuke = getHorseArmorEnchantmentLevel(horse, FROST_REBUKE);
                 if (FrostRebukeEnchantment.shouldHit(encFrostRebuke, entity.getRNG())) {
                     FrostRebukeEnchantment.onHit(entity, attacker, encFrostRebuke);
                 }
@@ -135,10 +137,11 @@ public class HorseEnchEvents {
         if (!(entity instanceof AbstractHorseEntity)) {
             return;
         }
-        ItemStack armor = ((AbstractHorseEntity) entity).horseChest.getStackInSlot(1);
+        AbstractHorseEntity horse = (AbstractHorseEntity) entity;
+        ItemStack armor = horse.horseChest.getStackInSlot(1);
         if (!armor.isEmpty()) {
             // FROST WALKER
-            int encFrostWalker = getEnchantmentLevel(FROST_WALKER, armor);
+            int encFrostWalker = getHorseArmorEnchantmentLevel(horse, FROST_WALKER);
             if (encFrostWalker > 0) {
                 FrostWalkerEnchantment.freezeNearby(entity, entity.world, entity.getPosition(), encFrostWalker);
                 FrostWalkerEnchantmentImp.freezeNearby(entity, entity.world, entity.getPosition(), encFrostWalker);
@@ -25,7 +25,7 @@ import static cofh.core.util.constants.Constants.*;
 import static cofh.core.util.references.EnsorcIDs.ID_PHALANX;
 import static cofh.core.util.references.EnsorcIDs.ID_REACH;
 import static cofh.core.util.references.EnsorcReferences.*;
-import static net.minecraft.enchantment.EnchantmentHelper.getEnchantmentLevel;
+import static cofh.ensorcellation.event.EnchantmentLevelCache.getActiveEnchantmentLevel;
 import static net.minecraft.enchantment.Enchantments.THORNS;
 import static net.minecraft.entity.ai.attributes.AttributeModifier.Operation.ADDITION;
 import static net.minecraft.entity.ai.attributes.AttributeModifier.Operation.MULTIPLY_TOTAL;
@@ -46,31 +46,30 @@ public class ShieldEnchEvents {
         LivingEntity entity = event.getEntityLiving();
         DamageSource source = event.getSource();
         Entity attacker = source.getTrueSource();
-        ItemStack stack = entity.getActiveItemStack();
 
         if (canBlockDamageSource(entity, source) && attacker != null) {
             // THORNS
-            int encThorns = getEnchantmentLevel(THORNS, stack);
+            int encThorns = getActiveEnchantmentLevel(entity, THORNS);
             if (ThornsEnchantmentImp.shouldHit(encThorns, entity.getRNG())) {
                 attacker.attackEntityFrom(DamageSource.causeThornsDamage(entity), ThornsEnchantment.getDamage(encThorns, entity.getRNG()));
             }
             // DISPLACEMENT
-            int encDisplacement = getEnchantmentLevel(DISPLACEMENT, stack);
+            int encDisplacement = getActiveEnchantmentLevel(entity, DISPLACEMENT);
             if (DisplacementEnchantment.shouldHit(encDisplacement, entity.getRNG())) {
                 DisplacementEnchantment.onHit(entity, attacker, encDisplacement);
             }
             // FIRE REBUKE
-            int encFireRebuke = getEnchantmentLevel(FIRE_REBUKE, stack);
+            int encFireRebuke = getActiveEnchantmentLevel(entity, FIRE_REBUKE);
             if (FireRebukeEnchantment.shouldHit(encFireRebuke, entity.getRNG())) {
                 FireRebukeEnchantment.onHit(entity, attacker, encFireRebuke);
             }
             // FROST REBUKE
-            int encFrostRebuke = getEnchantmentLevel(FROST_REBUKE, stack);
+            int encFrostRebuke = getActiveEnchantmentLevel(entity, FROST_REBUKE);
             if (FrostRebukeEnchantment.shouldHit(encFrostRebuke, entity.getRNG())) {
                 FrostRebukeEnchantment.onHit(entity, attacker, encFrostRebuke);
             }
             // BULWARK
-            int encBulwark = getEnchantmentLevel(BULWARK, stack);
+            int encBulwark = getActiveEnchantmentLevel(entity, BULWARK);
             if (encBulwark > 0 && attacker instanceof PlayerEntity) {
                 PlayerEntity playerAttacker = (PlayerEntity) attacker;
                 if (playerAttacker.getRNG().nextFloat() < 0.5F) {
@@ -101,14 +100,14 @@ public class ShieldEnchEvents {
         }
         if (stack.getItem().isShield(stack, entity)) {
             // BULWARK
-            int encBulwark = getEnchantmentLevel(BULWARK, stack);
+            int encBulwark = getActiveEnchantmentLevel(entity, BULWARK);
             if (knockbackResAttr != null) {
                 if (encBulwark > 0) {
                     knockbackResAttr.applyNonPersistentModifier(new AttributeModifier(UUID_ENCH_BULWARK_KNOCKBACK_RESISTANCE, ID_REACH, 1.0D, ADDITION));
                 }
             }
             // PHALANX
-            int encPhalanx = getEnchantmentLevel(PHALANX, stack);
+            int encPhalanx = getActiveEnchantmentLevel(entity, PHALANX);
             if (moveSpeedAttr != null) {
                 if (encPhalanx > 0) {
                     moveSpeedAttr.applyNonPersistentModifier(new AttributeModifier(UUID_ENCH_PHALANX_MOVEMENT_SPEED, ID_PHALANX, PhalanxEnchantment.SPEED * encPhalanx, MULTIPLY_TOTAL));
@@ -0,0 +1,111 @@
+package cofh.ensorcellation.event;
+
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.item.ArmorStandEntity;
+import net.minecraft.inventory.EquipmentSlotType;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnchantmentLevelCacheTest {
+
+    private static final List<Enchantment> ENCHANTMENTS = Arrays.asList(Enchantments.SHARPNESS, Enchantments.UNBREAKING, Enchantments.PROTECTION, Enchantments.FEATHER_FALLING, Enchantments.LOOTING);
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void levelsMatchEnchantmentHelper() throws ReflectiveOperationException {
+
+        LivingEntity entity = equippedEntity();
+        assertLevelsMatch(entity);
+        // Again, now served from the cache.
+        assertLevelsMatch(entity);
+    }
+
+    @Test
+    public void swappedEquipmentIsPickedUp() throws ReflectiveOperationException {
+
+        LivingEntity entity = equippedEntity();
+        assertLevelsMatch(entity);
+
+        entity.setItemStackToSlot(EquipmentSlotType.MAINHAND, enchanted(new ItemStack(Items.IRON_SWORD), Enchantments.LOOTING, 2));
+        entity.setItemStackToSlot(EquipmentSlotType.FEET, ItemStack.EMPTY);
+        assertLevelsMatch(entity);
+    }
+
+    @Test
+    public void equipmentChangeInvalidatesLevels() throws ReflectiveOperationException {
+
+        LivingEntity entity = equippedEntity();
+        assertEquals(0, EnchantmentLevelCache.getMaxEnchantmentLevel(Enchantments.LOOTING, entity));
+
+        // Changed in place, the stack is still the one the levels were computed from. Only the equipment change event
+        // (which tells stacks apart by contents) notices, and its handler invalidates the entity's levels.
+        entity.getHeldItemMainhand().addEnchantment(Enchantments.LOOTING, 3);
+        assertEquals(0, EnchantmentLevelCache.getMaxEnchantmentLevel(Enchantments.LOOTING, entity));
+
+        EnchantmentLevelCache.invalidate(entity);
+        assertEquals(3, EnchantmentLevelCache.getMaxEnchantmentLevel(Enchantments.LOOTING, entity));
+        assertLevelsMatch(entity);
+    }
+
+    // region HELPERS
+    private static void assertLevelsMatch(LivingEntity entity) {
+
+        for (Enchantment ench : ENCHANTMENTS) {
+            String name = ench.getName();
+            assertEquals(EnchantmentHelper.getMaxEnchantmentLevel(ench, entity), EnchantmentLevelCache.getMaxEnchantmentLevel(ench, entity), name);
+            int held = Math.max(EnchantmentHelper.getEnchantmentLevel(ench, entity.getHeldItemMainhand()), EnchantmentHelper.getEnchantmentLevel(ench, entity.getHeldItemOffhand()));
+            assertEquals(held, EnchantmentLevelCache.getHeldEnchantmentLevel(entity, ench), name);
+        }
+    }
+
+    private static LivingEntity equippedEntity() throws ReflectiveOperationException {
+
+        ArmorStandEntity entity = new ArmorStandEntity(EntityType.ARMOR_STAND, serverWorld());
+        // Equipping plays a sound, which would need a working world.
+        entity.setSilent(true);
+
+        entity.setItemStackToSlot(EquipmentSlotType.MAINHAND, enchanted(new ItemStack(Items.DIAMOND_SWORD), Enchantments.SHARPNESS, 3));
+        entity.setItemStackToSlot(EquipmentSlotType.OFFHAND, enchanted(new ItemStack(Items.SHIELD), Enchantments.UNBREAKING, 2));
+        entity.setItemStackToSlot(EquipmentSlotType.HEAD, enchanted(new ItemStack(Items.DIAMOND_HELMET), Enchantments.PROTECTION, 3));
+        entity.setItemStackToSlot(EquipmentSlotType.FEET, enchanted(enchanted(new ItemStack(Items.DIAMOND_BOOTS), Enchantments.PROTECTION, 1), Enchantments.FEATHER_FALLING, 4));
+        return entity;
+    }
+
+    private static ItemStack enchanted(ItemStack stack, Enchantment ench, int level) {
+
+        stack.addEnchantment(ench, level);
+        return stack;
+    }
+
+    /**
+     * A server world that was never constructed. The cache only reads whether a world is remote, which is false.
+     */
+    private static World serverWorld() throws ReflectiveOperationException {
+
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (World) ((Unsafe) field.get(null)).allocateInstance(ServerWorld.class);
+    }
+    // endregion
+}
@@ -0,0 +1,277 @@
+package cofh.thermal.core.tileentity;
+
+import cofh.core.inventory.FluidStorageCoFH;
+import cofh.core.inventory.ItemStorageCoFH;
+import cofh.thermal.core.util.recipes.internal.BaseMachineRecipe;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.container.Container;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.world.World;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.fluids.FluidStack;
+import org.openjdk.jmh.annotations.*;
+import sun.misc.Unsafe;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static cofh.core.util.StorageGroup.OUTPUT;
+import static cofh.core.util.constants.Constants.BASE_CHANCE;
+import static cofh.core.util.helpers.FluidHelper.fluidsEqual;
+import static cofh.core.util.helpers.ItemHelper.cloneStack;
+import static cofh.core.util.helpers.ItemHelper.itemsEqualWithTags;
+
+/**
+ * Output checks and merges of a machine with its outputs partly filled, as on every quarter check and completed
+ * operation. Run with the GC profiler ("gradlew :ThermalCore:jmh"); gc.alloc.rate.norm is the allocation per op.
+ * <p>
+ * "legacy" runs the output handling as it was before it stopped allocating, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MachineOutputBenchmark {
+
+    @Param({"1", "4"})
+    public int outputs;
+
+    @Param({"false", "true"})
+    public boolean legacy;
+
+    private BenchMachine machine;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+
+        Bootstrap.register();
+        List<ItemStack> recipeOutputs = Arrays.asList(new ItemStack(Items.IRON_NUGGET), new ItemStack(Items.GOLD_NUGGET, 2), new ItemStack(Items.FLINT), new ItemStack(Items.GRAVEL)).subList(0, outputs);
+        machine = legacy ? new LegacyMachine(recipeOutputs) : new BenchMachine(recipeOutputs);
+    }
+
+    @Benchmark
+    public boolean validateOutputs() {
+
+        return machine.validateOutputs();
+    }
+
+    @Benchmark
+    public boolean completeOperation() {
+
+        boolean valid = machine.validateOutputs();
+        machine.resolveOutputs();
+        machine.resetOutputs();
+        return valid;
+    }
+
+    // region MACHINES
+
+    /**
+     * A machine without a block or neighbours; outputs are rolled from a world that was never constructed.
+     */
+    static class BenchMachine extends MachineTileProcess {
+
+        private final List<ItemStack> recipeOutputs;
+
+        BenchMachine(List<ItemStack> recipeOutputs) throws ReflectiveOperationException {
+
+            super(null);
+            this.recipeOutputs = recipeOutputs;
+            inventory.addSlots(OUTPUT, recipeOutputs.size());
+            initHandlers();
+
+            world = serverWorld();
+            curRecipe = new BaseMachineRecipe(2000, 0, null, null, recipeOutputs, null, null);
+            resetOutputs();
+        }
+
+        /**
+         * Every output slot back to one of its item, in place, so merges always grow an existing stack.
+         */
+        void resetOutputs() {
+
+            List<? extends ItemStorageCoFH> slots = outputSlots();
+            for (int i = 0; i < slots.size(); ++i) {
+                if (slots.get(i).isEmpty()) {
+                    slots.get(i).setItemStack(cloneStack(recipeOutputs.get(i), 1));
+                } else {
+                    slots.get(i).getItemStack().setCount(1);
+                }
+            }
+        }
+
+        @Nullable
+        @Override
+        public Container createMenu(int i, PlayerInventory inventory, PlayerEntity player) {
+
+            return null;
+        }
+
+    }
+
+    /**
+     * The output handling before it reused scratch flags, planned slots and indexed chances.
+     */
+    static class LegacyMachine extends BenchMachine {
+
+        LegacyMachine(List<ItemStack> recipeOutputs) throws ReflectiveOperationException {
+
+            super(recipeOutputs);
+        }
+
+        @Override
+        protected boolean validateOutputs() {
+
+            // ITEMS
+            List<? extends ItemStorageCoFH> slotOutputs = outputSlots();
+            List<ItemStack> recipeOutputItems = curRecipe.getOutputItems(this);
+            boolean[] used = new boolean[outputSlots().size()];
+            for (ItemStack recipeOutput : recipeOutputItems) {
+                boolean matched = false;
+                for (int i = 0; i < slotOutputs.size(); ++i) {
+                    if (used[i]) {
+                        continue;
+                    }
+                    ItemStack output = slotOutputs.get(i).getItemStack();
+                    if (output.getCount() >= output.getMaxStackSize()) {
+                        continue;
+                    }
+                    if (itemsEqualWithTags(output, recipeOutput)) {
+                        used[i] = true;
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    for (int i = 0; i < slotOutputs.size(); ++i) {
+                        if (used[i]) {
+                            continue;
+                        }
+                        if (slotOutputs.get(i).isEmpty()) {
+                            used[i] = true;
+                            matched = true;
+                            break;
+                        }
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            // FLUIDS
+            List<? extends FluidStorageCoFH> tankOutputs = outputTanks();
+            List<FluidStack> recipeOutputFluids = curRecipe.getOutputFluids(this);
+            used = new boolean[outputTanks().size()];
+            for (FluidStack recipeOutput : recipeOutputFluids) {
+                boolean matched = false;
+                for (int i = 0; i < tankOutputs.size(); ++i) {
+                    if (used[i] || tankOutputs.get(i).getSpace() <= 0) {
+                        continue;
+                    }
+                    FluidStack output = tankOutputs.get(i).getFluidStack();
+                    if (fluidsEqual(output, recipeOutput)) {
+                        used[i] = true;
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    for (int i = 0; i < tankOutputs.size(); ++i) {
+                        if (used[i]) {
+                            continue;
+                        }
+                        if (tankOutputs.get(i).isEmpty()) {
+                            used[i] = true;
+                            matched = true;
+                            break;
+                        }
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected void resolveOutputs() {
+
+            List<ItemStack> recipeOutputItems = curRecipe.getOutputItems(this);
+            List<FluidStack> recipeOutputFluids = curRecipe.getOutputFluids(this);
+            List<Float> recipeOutputChances = curRecipe.getOutputItemChances(this);
+
+            // Output Items
+            for (int i = 0; i < recipeOutputItems.size(); ++i) {
+                ItemStack recipeOutput = recipeOutputItems.get(i);
+                float chance = recipeOutputChances.get(i);
+                int outputCount = chance <= BASE_CHANCE ? recipeOutput.getCount() : (int) chance;
+                while (world.rand.nextFloat() < chance) {
+                    boolean matched = false;
+                    for (ItemStorageCoFH slot : outputSlots()) {
+                        ItemStack output = slot.getItemStack();
+                        if (itemsEqualWithTags(output, recipeOutput) && output.getCount() < output.getMaxStackSize()) {
+                            output.grow(outputCount);
+                            matched = true;
+                            break;
+                        }
+                    }
+                    if (!matched) {
+                        for (ItemStorageCoFH slot : outputSlots()) {
+                            if (slot.isEmpty()) {
+                                slot.setItemStack(cloneStack(recipeOutput, outputCount));
+                                break;
+                            }
+                        }
+                    }
+                    chance -= BASE_CHANCE * outputCount;
+                    outputCount = 1;
+                }
+            }
+            // Output Fluids
+            for (FluidStack recipeOutput : recipeOutputFluids) {
+                boolean matched = false;
+                for (FluidStorageCoFH tank : outputTanks()) {
+                    FluidStack output = tank.getFluidStack();
+                    if (tank.getSpace() >= recipeOutput.getAmount() && fluidsEqual(output, recipeOutput)) {
+                        output.setAmount(output.getAmount() + recipeOutput.getAmount());
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    for (FluidStorageCoFH tank : outputTanks()) {
+                        if (tank.isEmpty()) {
+                            tank.setFluidStack(recipeOutput.copy());
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+    // endregion
+
+    // region HELPERS
+    private static World serverWorld() throws ReflectiveOperationException {
+
+        Field unsafe = Unsafe.class.getDeclaredField("theUnsafe");
+        unsafe.setAccessible(true);
+        World world = (World) ((Unsafe) unsafe.get(null)).allocateInstance(ServerWorld.class);
+        Field rand = World.class.getDeclaredField("rand");
+        rand.setAccessible(true);
+        rand.set(world, new Random(0));
+        return world;
+    }
+    // endregion
+}
@@ -1,22 +1,17 @@
 package cofh.thermal.core.client.renderer.model;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import cofh.core.util.LongLRUCache;
 import net.minecraft.client.renderer.model.BakedQuad;
 import net.minecraft.client.renderer.model.IBakedModel;
 import net.minecraftforge.client.model.data.IDynamicBakedModel;
 
-import java.util.List;
-import java.util.Map;
-
 // TODO: Adjust this when Dynamos have more model needs
 public class DynamoBakedModel extends UnderlayBakedModel implements IDynamicBakedModel {
 
-    private static final Int2ObjectMap<BakedQuad[]> COIL_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> COIL_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
 
-    private static final Int2ObjectMap<BakedQuad[]> ITEM_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
-    private static final Map<List<Integer>, IBakedModel> MODEL_CACHE = new Object2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> ITEM_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<IBakedModel> MODEL_CACHE = new LongLRUCache<>(ModelCacheKeys.MODEL_CACHE_SIZE);
 
     public static void clearCache() {
 
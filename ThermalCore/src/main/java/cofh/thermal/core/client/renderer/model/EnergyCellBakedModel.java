@@ -4,11 +4,9 @@ import cofh.core.client.renderer.model.BakedQuadRetextured;
 import cofh.core.client.renderer.model.ModelUtils;
 import cofh.core.energy.IEnergyContainerItem;
 import cofh.core.item.ICoFHItem;
-import cofh.core.util.ComparableItemStack;
+import cofh.core.util.LongLRUCache;
 import cofh.core.util.helpers.MathHelper;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import com.google.common.collect.ImmutableList;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.model.BakedQuad;
 import net.minecraft.client.renderer.model.IBakedModel;
@@ -36,11 +34,13 @@ import static net.minecraft.util.Direction.*;
 
 public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> implements IDynamicBakedModel {
 
-    private static final Map<List<Integer>, BakedQuad> FACE_QUAD_CACHE = new Object2ObjectOpenHashMap<>();
-    private static final Int2ObjectMap<BakedQuad[]> SIDE_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad> FACE_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<BakedQuad[]> SIDE_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
 
-    private static final Int2ObjectMap<BakedQuad[]> ITEM_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
-    private static final Map<List<Integer>, IBakedModel> MODEL_CACHE = new Object2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> ITEM_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<IBakedModel> MODEL_CACHE = new LongLRUCache<>(ModelCacheKeys.MODEL_CACHE_SIZE);
+
+    protected final LongLRUCache<List<BakedQuad>> quadCache = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
 
     public static void clearCache() {
 
@@ -60,10 +60,24 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
     @Nonnull
     public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
 
-        LinkedList<BakedQuad> quads = new LinkedList<>(originalModel.getQuads(state, side, rand, extraData));
-        if (side == null || quads.isEmpty()) {
-            return quads;
+        List<BakedQuad> baseQuads = originalModel.getQuads(state, side, rand, extraData);
+        if (side == null || baseQuads.isEmpty()) {
+            return baseQuads;
+        }
+        long key = ModelCacheKeys.side(side) | ModelCacheKeys.sides(extraData.getData(ModelUtils.SIDES));
+        if (side == extraData.getData(ModelUtils.FACING)) {
+            key |= ModelCacheKeys.level(extraData.getData(ModelUtils.LEVEL));
+        }
+        List<BakedQuad> quads = quadCache.get(key);
+        if (quads == null) {
+            quads = ImmutableList.copyOf(buildQuads(new LinkedList<>(baseQuads), side, extraData));
+            quadCache.put(key, quads);
         }
+        return quads;
+    }
+
+    protected List<BakedQuad> buildQuads(LinkedList<BakedQuad> quads, Direction side, IModelData extraData) {
+
         BakedQuad baseQuad = quads.get(0);
         int sideIndex = side.getIndex();
 
@@ -75,10 +89,11 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
                 // This shouldn't happen, but playing it safe.
                 return quads;
             }
-            BakedQuad faceQuad = FACE_QUAD_CACHE.get(Arrays.asList(face.getIndex(), level));
+            long faceKey = ModelCacheKeys.side(face) | ModelCacheKeys.level(level);
+            BakedQuad faceQuad = FACE_QUAD_CACHE.get(faceKey);
             if (faceQuad == null) {
                 faceQuad = new BakedQuadRetextured(baseQuad, getLevelTexture(level));
-                FACE_QUAD_CACHE.put(Arrays.asList(face.getIndex(), level), faceQuad);
+                FACE_QUAD_CACHE.put(faceKey, faceQuad);
             }
             quads.add(faceQuad);
         }
@@ -89,14 +104,14 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
             // This shouldn't happen, but playing it safe.
             return quads;
         }
-        int configHash = Arrays.hashCode(sideConfigRaw);
-        BakedQuad[] cachedSideQuads = SIDE_QUAD_CACHE.get(configHash);
+        long configKey = ModelCacheKeys.packSides(sideConfigRaw);
+        BakedQuad[] cachedSideQuads = SIDE_QUAD_CACHE.get(configKey);
         if (cachedSideQuads == null || cachedSideQuads.length < 6) {
             cachedSideQuads = new BakedQuad[6];
         }
         if (cachedSideQuads[sideIndex] == null) {
             cachedSideQuads[sideIndex] = new BakedQuadRetextured(baseQuad, getConfigTexture(sideConfigRaw[sideIndex]));
-            SIDE_QUAD_CACHE.put(configHash, cachedSideQuads);
+            SIDE_QUAD_CACHE.put(configKey, cachedSideQuads);
         }
         quads.add(cachedSideQuads[sideIndex]);
 
@@ -117,11 +132,12 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
 
             CompoundNBT tag = stack.getChildTag(TAG_BLOCK_ENTITY);
             byte[] sideConfigRaw = getSideConfigRaw(tag);
-            int itemHash = new ComparableItemStack(stack).hashCode();
+            int itemId = ModelCacheKeys.itemId(stack.getItem());
             int level = getLevel(stack);
-            int configHash = Arrays.hashCode(sideConfigRaw);
+            long configKey = ModelCacheKeys.packSides(sideConfigRaw);
+            long modelKey = ModelCacheKeys.identity(itemId) | ModelCacheKeys.level(level) | configKey;
 
-            IBakedModel ret = MODEL_CACHE.get(Arrays.asList(itemHash, level, configHash));
+            IBakedModel ret = MODEL_CACHE.get(modelKey);
             if (ret == null) {
                 ModelUtils.WrappedBakedModelBuilder builder = new ModelUtils.WrappedBakedModelBuilder(model);
 
@@ -129,7 +145,7 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
                 builder.addFaceQuad(NORTH, new BakedQuadRetextured(builder.getQuads(NORTH).get(0), getLevelTexture(level)));
 
                 // SIDES
-                BakedQuad[] cachedQuads = ITEM_QUAD_CACHE.get(configHash);
+                BakedQuad[] cachedQuads = ITEM_QUAD_CACHE.get(configKey);
                 if (cachedQuads == null || cachedQuads.length < 6) {
                     cachedQuads = new BakedQuad[6];
 
@@ -139,7 +155,7 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
                     cachedQuads[3] = new BakedQuadRetextured(builder.getQuads(SOUTH).get(0), getConfigTexture(sideConfigRaw[3]));
                     cachedQuads[4] = new BakedQuadRetextured(builder.getQuads(WEST).get(0), getConfigTexture(sideConfigRaw[4]));
                     cachedQuads[5] = new BakedQuadRetextured(builder.getQuads(EAST).get(0), getConfigTexture(sideConfigRaw[5]));
-                    ITEM_QUAD_CACHE.put(configHash, cachedQuads);
+                    ITEM_QUAD_CACHE.put(configKey, cachedQuads);
                 }
                 builder.addFaceQuad(DOWN, cachedQuads[0]);
                 builder.addFaceQuad(UP, cachedQuads[1]);
@@ -149,7 +165,7 @@ public class EnergyCellBakedModel extends BakedModelWrapper<IBakedModel> impleme
                 builder.addFaceQuad(EAST, cachedQuads[5]);
 
                 ret = builder.build();
-                MODEL_CACHE.put(Arrays.asList(itemHash, level, configHash), ret);
+                MODEL_CACHE.put(modelKey, ret);
             }
             return ret;
         }
@@ -4,13 +4,9 @@ import cofh.core.client.renderer.model.BakedQuadRetextured;
 import cofh.core.client.renderer.model.ModelUtils;
 import cofh.core.fluid.IFluidContainerItem;
 import cofh.core.item.ICoFHItem;
-import cofh.core.util.ComparableItemStack;
-import cofh.core.util.helpers.FluidHelper;
+import cofh.core.util.LongLRUCache;
 import cofh.core.util.helpers.MathHelper;
 import cofh.core.util.helpers.RenderHelper;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.model.BakedQuad;
 import net.minecraft.client.renderer.model.IBakedModel;
@@ -39,12 +35,12 @@ import static net.minecraftforge.common.util.Constants.NBT.TAG_COMPOUND;
 
 public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicBakedModel {
 
-    private static final Map<List<Integer>, BakedQuad> FACE_QUAD_CACHE = new Object2ObjectOpenHashMap<>();
-    private static final Int2ObjectMap<BakedQuad[]> SIDE_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad> FACE_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<BakedQuad[]> SIDE_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
 
-    private static final Int2ObjectMap<BakedQuad[]> ITEM_UNDERLAY_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
-    private static final Int2ObjectMap<BakedQuad[]> ITEM_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
-    private static final Map<List<Integer>, IBakedModel> MODEL_CACHE = new Object2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> ITEM_UNDERLAY_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<BakedQuad[]> ITEM_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<IBakedModel> MODEL_CACHE = new LongLRUCache<>(ModelCacheKeys.MODEL_CACHE_SIZE);
 
     public static void clearCache() {
 
@@ -62,13 +58,18 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
     }
 
     @Override
-    @Nonnull
-    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
+    protected long getQuadKey(Direction side, IModelData extraData) {
 
-        LinkedList<BakedQuad> quads = new LinkedList<>(originalModel.getQuads(state, side, rand, extraData));
-        if (side == null || quads.isEmpty()) {
-            return quads;
+        long key = super.getQuadKey(side, extraData) | ModelCacheKeys.sides(extraData.getData(ModelUtils.SIDES));
+        if (side == extraData.getData(ModelUtils.FACING)) {
+            key |= ModelCacheKeys.level(extraData.getData(ModelUtils.LEVEL));
         }
+        return key;
+    }
+
+    @Override
+    protected List<BakedQuad> buildQuads(LinkedList<BakedQuad> quads, @Nullable BlockState state, Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
+
         BakedQuad baseQuad = quads.get(0);
         int sideIndex = side.getIndex();
 
@@ -80,10 +81,11 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
                 // This shouldn't happen, but playing it safe.
                 return quads;
             }
-            BakedQuad faceQuad = FACE_QUAD_CACHE.get(Arrays.asList(face.getIndex(), level));
+            long faceKey = ModelCacheKeys.side(face) | ModelCacheKeys.level(level);
+            BakedQuad faceQuad = FACE_QUAD_CACHE.get(faceKey);
             if (faceQuad == null) {
                 faceQuad = new BakedQuadRetextured(baseQuad, getLevelTexture(level));
-                FACE_QUAD_CACHE.put(Arrays.asList(face.getIndex(), level), faceQuad);
+                FACE_QUAD_CACHE.put(faceKey, faceQuad);
             }
             quads.add(faceQuad);
         }
@@ -94,15 +96,14 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
             // This shouldn't happen, but playing it safe.
             return quads;
         }
-
-        int configHash = Arrays.hashCode(sideConfigRaw);
-        BakedQuad[] cachedSideQuads = SIDE_QUAD_CACHE.get(configHash);
+        long configKey = ModelCacheKeys.packSides(sideConfigRaw);
+        BakedQuad[] cachedSideQuads = SIDE_QUAD_CACHE.get(configKey);
         if (cachedSideQuads == null || cachedSideQuads.length < 6) {
             cachedSideQuads = new BakedQuad[6];
         }
         if (cachedSideQuads[sideIndex] == null) {
             cachedSideQuads[sideIndex] = new BakedQuadRetextured(baseQuad, getConfigTexture(sideConfigRaw[sideIndex]));
-            SIDE_QUAD_CACHE.put(configHash, cachedSideQuads);
+            SIDE_QUAD_CACHE.put(configKey, cachedSideQuads);
         }
         quads.add(cachedSideQuads[sideIndex]);
 
@@ -124,14 +125,15 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
 
             CompoundNBT tag = stack.getChildTag(TAG_BLOCK_ENTITY);
             byte[] sideConfigRaw = getSideConfigRaw(tag);
-            int itemHash = new ComparableItemStack(stack).hashCode();
+            int itemId = ModelCacheKeys.itemId(stack.getItem());
             int level = getLevel(stack);
-            int configHash = Arrays.hashCode(sideConfigRaw);
+            long configKey = ModelCacheKeys.packSides(sideConfigRaw);
 
             FluidStack fluid = getFluid(tag);
-            int fluidHash = fluid.isEmpty() ? 0 : FluidHelper.fluidHashcode(fluid);
+            int fluidId = ModelCacheKeys.fluidId(fluid);
 
-            IBakedModel ret = MODEL_CACHE.get(Arrays.asList(itemHash, level, configHash, fluidHash));
+            long modelKey = ModelCacheKeys.identity(ModelCacheKeys.id(itemId, fluidId)) | ModelCacheKeys.level(level) | configKey;
+            IBakedModel ret = MODEL_CACHE.get(modelKey);
             if (ret == null) {
                 ModelUtils.WrappedBakedModelBuilder builder = new ModelUtils.WrappedBakedModelBuilder(model);
 
@@ -140,7 +142,7 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
 
                 // FLUID
                 if (!fluid.isEmpty()) {
-                    BakedQuad[] cachedUnderlayQuads = ITEM_UNDERLAY_QUAD_CACHE.get(FluidHelper.fluidHashcode(fluid));
+                    BakedQuad[] cachedUnderlayQuads = ITEM_UNDERLAY_QUAD_CACHE.get(fluidId);
                     if (cachedUnderlayQuads == null || cachedUnderlayQuads.length < 6) {
                         cachedUnderlayQuads = new BakedQuad[6];
                         TextureAtlasSprite fluidTexture = RenderHelper.getFluidTexture(fluid);
@@ -152,7 +154,7 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
                         cachedUnderlayQuads[3] = new BakedQuadRetextured(RenderHelper.mulColor(builder.getQuads(SOUTH).get(0), fluidColor), fluidTexture);
                         cachedUnderlayQuads[4] = new BakedQuadRetextured(RenderHelper.mulColor(builder.getQuads(WEST).get(0), fluidColor), fluidTexture);
                         cachedUnderlayQuads[5] = new BakedQuadRetextured(RenderHelper.mulColor(builder.getQuads(EAST).get(0), fluidColor), fluidTexture);
-                        ITEM_UNDERLAY_QUAD_CACHE.put(fluidHash, cachedUnderlayQuads);
+                        ITEM_UNDERLAY_QUAD_CACHE.put(fluidId, cachedUnderlayQuads);
                     }
                     builder.addUnderlayQuad(DOWN, cachedUnderlayQuads[0]);
                     builder.addUnderlayQuad(UP, cachedUnderlayQuads[1]);
@@ -163,7 +165,7 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
                 }
 
                 // SIDES
-                BakedQuad[] cachedQuads = ITEM_QUAD_CACHE.get(configHash);
+                BakedQuad[] cachedQuads = ITEM_QUAD_CACHE.get(configKey);
                 if (cachedQuads == null || cachedQuads.length < 6) {
                     cachedQuads = new BakedQuad[6];
 
@@ -173,7 +175,7 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
                     cachedQuads[3] = new BakedQuadRetextured(builder.getQuads(SOUTH).get(0), getConfigTexture(sideConfigRaw[3]));
                     cachedQuads[4] = new BakedQuadRetextured(builder.getQuads(WEST).get(0), getConfigTexture(sideConfigRaw[4]));
                     cachedQuads[5] = new BakedQuadRetextured(builder.getQuads(EAST).get(0), getConfigTexture(sideConfigRaw[5]));
-                    ITEM_QUAD_CACHE.put(configHash, cachedQuads);
+                    ITEM_QUAD_CACHE.put(configKey, cachedQuads);
                 }
                 builder.addFaceQuad(DOWN, cachedQuads[0]);
                 builder.addFaceQuad(UP, cachedQuads[1]);
@@ -183,7 +185,7 @@ public class FluidCellBakedModel extends UnderlayBakedModel implements IDynamicB
                 builder.addFaceQuad(EAST, cachedQuads[5]);
 
                 ret = builder.build();
-                MODEL_CACHE.put(Arrays.asList(itemHash, level, configHash, fluidHash), ret);
+                MODEL_CACHE.put(modelKey, ret);
             }
             return ret;
         }
@@ -0,0 +1,148 @@
+package cofh.thermal.core.client.renderer.model;
+
+import cofh.core.client.renderer.model.ModelUtils;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.Direction;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.client.model.data.IModelData;
+import net.minecraftforge.fluids.FluidStack;
+
+import javax.annotation.Nullable;
+
+/**
+ * Packs the render state of a Thermal model face into a single long.
+ * <p>
+ * Bits 0-2 hold the side, 3-20 the side configuration (3 bits per side), 21-25 the level, 26-27 the underlay type and
+ * 32-63 the underlay id.
+ * <p>
+ * Fluids, textures and items are not hashed into keys, as two of them sharing a hash would render each other's quads.
+ * Each distinct one is given an id of its own on first use instead; ids are never reused, so they stay valid across
+ * cache clears.
+ */
+public class ModelCacheKeys {
+
+    public static final int QUAD_CACHE_SIZE = 512;
+    public static final int MODEL_CACHE_SIZE = 256;
+
+    private static final long SIDES_MISSING = 0x3FFFFL;
+    private static final long FLUID = 1L << 26;
+    private static final long UNDERLAY = 1L << 27;
+
+    private static final Object2IntOpenHashMap<Object> IDS = new Object2IntOpenHashMap<>();
+    private static final Long2IntOpenHashMap PAIR_IDS = new Long2IntOpenHashMap();
+    private static int nextId = 1;
+
+    private ModelCacheKeys() {
+
+    }
+
+    public static long side(Direction side) {
+
+        return side.getIndex();
+    }
+
+    public static long sides(byte[] sideConfigRaw) {
+
+        return packSides(sideConfigRaw) << 3;
+    }
+
+    public static long level(@Nullable Integer level) {
+
+        // Creative is -1; 0 is kept free for "no level" and 31 for a missing one.
+        return (long) (level == null ? 31 : (level + 2) & 31) << 21;
+    }
+
+    public static long underlay(IModelData extraData) {
+
+        if (extraData.hasProperty(ModelUtils.FLUID)) {
+            FluidStack fluid = extraData.getData(ModelUtils.FLUID);
+            return fluid == null || fluid.isEmpty() ? 0 : FLUID | identity(fluidId(fluid));
+        } else if (extraData.hasProperty(ModelUtils.UNDERLAY)) {
+            ResourceLocation loc = extraData.getData(ModelUtils.UNDERLAY);
+            return UNDERLAY | identity(loc == null ? 0 : id(loc));
+        }
+        return 0;
+    }
+
+    /**
+     * @return The id of the fluid and its NBT, or 0 for an empty stack.
+     */
+    public static int fluidId(FluidStack fluid) {
+
+        if (fluid.isEmpty()) {
+            return 0;
+        }
+        CompoundNBT tag = fluid.getTag();
+        return tag == null ? id(fluid.getFluid()) : id(id(fluid.getFluid()), tagId(tag));
+    }
+
+    public static int itemId(Item item) {
+
+        return id(item);
+    }
+
+    /**
+     * @return The id of an exact key: equal keys share an id and unequal ones never do. The key must be immutable.
+     */
+    public static synchronized int id(Object key) {
+
+        int id = IDS.getInt(key);
+        if (id == 0) {
+            id = nextId++;
+            IDS.put(key, id);
+        }
+        return id;
+    }
+
+    /**
+     * @return The id of a pair of ids, from the same sequence as {@link #id(Object)}.
+     */
+    public static synchronized int id(int first, int second) {
+
+        long key = (long) first << 32 | second & 0xFFFFFFFFL;
+        int id = PAIR_IDS.get(key);
+        if (id == 0) {
+            id = nextId++;
+            PAIR_IDS.put(key, id);
+        }
+        return id;
+    }
+
+    /**
+     * Side configuration alone, 3 bits per side; an impossible value if the configuration is missing.
+     */
+    public static long packSides(byte[] sideConfigRaw) {
+
+        if (sideConfigRaw == null) {
+            return SIDES_MISSING;
+        }
+        long packed = 0;
+        for (int i = 0; i < Math.min(sideConfigRaw.length, 6); ++i) {
+            packed |= (long) (sideConfigRaw[i] & 7) << (3 * i);
+        }
+        return packed;
+    }
+
+    /**
+     * Places an id (or any other exact value) in bits 32-63.
+     */
+    public static long identity(int id) {
+
+        return (long) id << 32;
+    }
+
+    private static synchronized int tagId(CompoundNBT tag) {
+
+        int id = IDS.getInt(tag);
+        if (id == 0) {
+            id = nextId++;
+            // The stack's own tag may still change; the map keeps a copy.
+            IDS.put(tag.copy(), id);
+        }
+        return id;
+    }
+
+}
@@ -2,10 +2,7 @@ package cofh.thermal.core.client.renderer.model;
 
 import cofh.core.client.renderer.model.BakedQuadRetextured;
 import cofh.core.client.renderer.model.ModelUtils;
-import cofh.core.util.ComparableItemStack;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import cofh.core.util.LongLRUCache;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.model.BakedQuad;
 import net.minecraft.client.renderer.model.IBakedModel;
@@ -31,10 +28,10 @@ import static net.minecraft.util.Direction.*;
 
 public class ReconfigurableBakedModel extends UnderlayBakedModel implements IDynamicBakedModel {
 
-    private static final Int2ObjectMap<BakedQuad[]> SIDE_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> SIDE_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
 
-    private static final Int2ObjectMap<BakedQuad[]> ITEM_QUAD_CACHE = new Int2ObjectOpenHashMap<>();
-    private static final Map<List<Integer>, IBakedModel> MODEL_CACHE = new Object2ObjectOpenHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> ITEM_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+    private static final LongLRUCache<IBakedModel> MODEL_CACHE = new LongLRUCache<>(ModelCacheKeys.MODEL_CACHE_SIZE);
 
     public static void clearCache() {
 
@@ -50,13 +47,14 @@ public class ReconfigurableBakedModel extends UnderlayBakedModel implements IDyn
     }
 
     @Override
-    @Nonnull
-    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
+    protected long getQuadKey(Direction side, IModelData extraData) {
+
+        return super.getQuadKey(side, extraData) | ModelCacheKeys.sides(extraData.getData(ModelUtils.SIDES));
+    }
+
+    @Override
+    protected List<BakedQuad> buildQuads(LinkedList<BakedQuad> quads, @Nullable BlockState state, Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
 
-        LinkedList<BakedQuad> quads = new LinkedList<>(originalModel.getQuads(state, side, rand, extraData));
-        if (side == null || quads.isEmpty()) {
-            return quads;
-        }
         BakedQuad baseQuad = quads.get(0);
         int sideIndex = side.getIndex();
 
@@ -66,14 +64,14 @@ public class ReconfigurableBakedModel extends UnderlayBakedModel implements IDyn
             // This shouldn't happen, but playing it safe.
             return quads;
         }
-        int configHash = Arrays.hashCode(sideConfigRaw);
-        BakedQuad[] cachedSideQuads = SIDE_QUAD_CACHE.get(configHash);
+        long configKey = ModelCacheKeys.packSides(sideConfigRaw);
+        BakedQuad[] cachedSideQuads = SIDE_QUAD_CACHE.get(configKey);
         if (cachedSideQuads == null || cachedSideQuads.length < 6) {
             cachedSideQuads = new BakedQuad[6];
         }
         if (cachedSideQuads[sideIndex] == null) {
             cachedSideQuads[sideIndex] = new BakedQuadRetextured(baseQuad, getConfigTexture(sideConfigRaw[sideIndex]));
-            SIDE_QUAD_CACHE.put(configHash, cachedSideQuads);
+            SIDE_QUAD_CACHE.put(configKey, cachedSideQuads);
         }
         quads.add(cachedSideQuads[sideIndex]);
 
@@ -95,15 +93,16 @@ public class ReconfigurableBakedModel extends UnderlayBakedModel implements IDyn
 
             CompoundNBT tag = stack.getChildTag(TAG_BLOCK_ENTITY);
             byte[] sideConfigRaw = getSideConfigRaw(tag);
-            int itemHash = new ComparableItemStack(stack).hashCode();
-            int configHash = Arrays.hashCode(sideConfigRaw);
+            int itemId = ModelCacheKeys.itemId(stack.getItem());
+            long configKey = ModelCacheKeys.packSides(sideConfigRaw);
+            long modelKey = ModelCacheKeys.identity(itemId) | configKey;
 
-            IBakedModel ret = MODEL_CACHE.get(Arrays.asList(itemHash, configHash));
+            IBakedModel ret = MODEL_CACHE.get(modelKey);
             if (ret == null) {
                 ModelUtils.WrappedBakedModelBuilder builder = new ModelUtils.WrappedBakedModelBuilder(model);
 
                 // SIDES
-                BakedQuad[] cachedQuads = ITEM_QUAD_CACHE.get(configHash);
+                BakedQuad[] cachedQuads = ITEM_QUAD_CACHE.get(configKey);
                 if (cachedQuads == null || cachedQuads.length < 6) {
                     cachedQuads = new BakedQuad[6];
 
@@ -113,7 +112,7 @@ public class ReconfigurableBakedModel extends UnderlayBakedModel implements IDyn
                     cachedQuads[3] = new BakedQuadRetextured(builder.getQuads(SOUTH).get(0), getConfigTexture(sideConfigRaw[3]));
                     cachedQuads[4] = new BakedQuadRetextured(builder.getQuads(WEST).get(0), getConfigTexture(sideConfigRaw[4]));
                     cachedQuads[5] = new BakedQuadRetextured(builder.getQuads(EAST).get(0), getConfigTexture(sideConfigRaw[5]));
-                    ITEM_QUAD_CACHE.put(configHash, cachedQuads);
+                    ITEM_QUAD_CACHE.put(configKey, cachedQuads);
                 }
                 builder.addFaceQuad(DOWN, cachedQuads[0]);
                 builder.addFaceQuad(UP, cachedQuads[1]);
@@ -123,7 +122,7 @@ public class ReconfigurableBakedModel extends UnderlayBakedModel implements IDyn
                 builder.addFaceQuad(EAST, cachedQuads[5]);
 
                 ret = builder.build();
-                MODEL_CACHE.put(Arrays.asList(itemHash, configHash), ret);
+                MODEL_CACHE.put(modelKey, ret);
             }
             return ret;
         }
@@ -2,8 +2,10 @@ package cofh.thermal.core.client.renderer.model;
 
 import cofh.core.client.renderer.model.BakedQuadRetextured;
 import cofh.core.client.renderer.model.ModelUtils;
-import cofh.core.client.renderer.model.ModelUtils.FluidCacheWrapper;
+import cofh.core.util.LongLRUCache;
 import cofh.core.util.helpers.RenderHelper;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.model.BakedQuad;
 import net.minecraft.client.renderer.model.IBakedModel;
@@ -23,9 +25,11 @@ import java.util.Random;
 
 public class UnderlayBakedModel extends BakedModelWrapper<IBakedModel> implements IDynamicBakedModel {
 
-    private static final IdentityHashMap<FluidCacheWrapper, BakedQuad[]> FLUID_QUAD_CACHE = new IdentityHashMap<>();
+    private static final LongLRUCache<BakedQuad[]> FLUID_QUAD_CACHE = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
     private static final IdentityHashMap<BlockState, BakedQuad[]> UNDERLAY_QUAD_CACHE = new IdentityHashMap<>();
 
+    protected final LongLRUCache<List<BakedQuad>> quadCache = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+
     public static void clearCache() {
 
         FLUID_QUAD_CACHE.clear();
@@ -41,10 +45,33 @@ public class UnderlayBakedModel extends BakedModelWrapper<IBakedModel> implement
     @Nonnull
     public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
 
-        return addUnderlayQuads(new LinkedList<>(originalModel.getQuads(state, side, rand, extraData)), state, side, rand, extraData);
+        List<BakedQuad> baseQuads = originalModel.getQuads(state, side, rand, extraData);
+        if (side == null || baseQuads.isEmpty()) {
+            return baseQuads;
+        }
+        long key = getQuadKey(side, extraData);
+        List<BakedQuad> quads = quadCache.get(key);
+        if (quads == null) {
+            quads = ImmutableList.copyOf(buildQuads(new LinkedList<>(baseQuads), state, side, rand, extraData));
+            quadCache.put(key, quads);
+        }
+        return quads;
     }
 
     // region HELPERS
+    /**
+     * Everything {@link #buildQuads} depends on, packed by {@link ModelCacheKeys}.
+     */
+    protected long getQuadKey(Direction side, IModelData extraData) {
+
+        return ModelCacheKeys.side(side) | ModelCacheKeys.underlay(extraData);
+    }
+
+    protected List<BakedQuad> buildQuads(LinkedList<BakedQuad> quads, @Nullable BlockState state, Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
+
+        return addUnderlayQuads(quads, state, side, rand, extraData);
+    }
+
     protected List<BakedQuad> addUnderlayQuads(LinkedList<BakedQuad> quads, @Nullable BlockState state, @Nullable Direction side, @Nonnull Random rand, @Nonnull IModelData extraData) {
 
         if (side == null || quads.isEmpty()) {
@@ -57,14 +84,14 @@ public class UnderlayBakedModel extends BakedModelWrapper<IBakedModel> implement
         if (extraData.hasProperty(ModelUtils.FLUID)) {
             FluidStack fluid = extraData.getData(ModelUtils.FLUID);
             if (fluid != null && !fluid.isEmpty()) {
-                FluidCacheWrapper wrapper = new FluidCacheWrapper(state, fluid);
-                BakedQuad[] cachedFluidQuads = FLUID_QUAD_CACHE.get(wrapper);
+                long fluidKey = ModelCacheKeys.identity(state == null ? 0 : Block.getStateId(state)) | ModelCacheKeys.fluidId(fluid);
+                BakedQuad[] cachedFluidQuads = FLUID_QUAD_CACHE.get(fluidKey);
                 if (cachedFluidQuads == null || cachedFluidQuads.length < 6) {
                     cachedFluidQuads = new BakedQuad[6];
                 }
                 if (cachedFluidQuads[sideIndex] == null) {
                     cachedFluidQuads[sideIndex] = new BakedQuadRetextured(RenderHelper.mulColor(baseQuad, RenderHelper.getFluidColor(fluid)), RenderHelper.getFluidTexture(fluid));
-                    FLUID_QUAD_CACHE.put(wrapper, cachedFluidQuads);
+                    FLUID_QUAD_CACHE.put(fluidKey, cachedFluidQuads);
                 }
                 quads.offerFirst(cachedFluidQuads[sideIndex]);
             }
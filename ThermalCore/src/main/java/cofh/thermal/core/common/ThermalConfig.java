@@ -2,6 +2,7 @@ package cofh.thermal.core.common;
 
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.config.ModConfig;
@@ -69,6 +70,13 @@ public class ThermalConfig {
                 .comment("If TRUE, Thermal Blocks will retain Transfer Control configuration when dropped.")
                 .define("Blocks Retain Transfer Control", true);
 
+        serverActiveStateDelay = SERVER_CONFIG
+                .comment("The number of ticks a Thermal Block must keep working (or stay idle) before its appearance changes to match. Higher values reduce block and lighting updates from machines which frequently start and stop.")
+                .defineInRange("Active State Delay", 40, 0, 1200);
+        serverCatchUpTicks = SERVER_CONFIG
+                .comment("The maximum number of ticks which machines and dynamos make up for when their chunk is loaded again. Only energy, fuel and materials already held by the block are used. Set to 0 to disable.")
+                .defineInRange("Offline Catch-Up Ticks", 72000, 0, Integer.MAX_VALUE);
+
         SERVER_CONFIG.pop();
 
         SERVER_CONFIG.push("Features");
@@ -160,6 +168,9 @@ public class ThermalConfig {
 
     private static void refreshServerConfig() {
 
+        activeStateDelay = serverActiveStateDelay.get();
+        catchUpTicks = serverCatchUpTicks.get();
+
         setFlag(FLAG_VANILLA_BLOCKS, flagVanillaBlocks.get());
         setFlag(FLAG_ROCKWOOL, flagRockwool.get());
 
@@ -207,6 +218,9 @@ public class ThermalConfig {
     public static boolean permanentLava = true;
     public static boolean permanentWater = true;
 
+    public static int activeStateDelay = 40;
+    public static int catchUpTicks = 72000;
+
     public static BooleanValue keepEnergy;
     public static BooleanValue keepItems;
     public static BooleanValue keepFluids;
@@ -216,6 +230,9 @@ public class ThermalConfig {
     public static BooleanValue keepSideConfig;
     public static BooleanValue keepTransferControl;
 
+    private static IntValue serverActiveStateDelay;
+    private static IntValue serverCatchUpTicks;
+
     private static BooleanValue flagVanillaBlocks;
     private static BooleanValue flagRockwool;
 
@@ -1,24 +1,63 @@
 package cofh.thermal.core.common;
 
+import cofh.core.util.TileTickScheduler;
 import cofh.thermal.core.ThermalCore;
+import cofh.thermal.core.tileentity.MachineTileProcess;
 import cofh.thermal.core.util.managers.IManager;
 import net.minecraft.item.crafting.RecipeManager;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ThermalRecipeManagers {
 
     private static final ThermalRecipeManagers INSTANCE = new ThermalRecipeManagers();
 
-    private RecipeManager serverRecipeManager;
+    private final AtomicInteger generation = new AtomicInteger();
     private final List<IManager> managers = new ArrayList<>();
 
+    // Tables of every registered manager, indexed by table slot. Only ever replaced as a whole.
+    private volatile Object[] liveTables = new Object[0];
+
+    private RecipeManager serverRecipeManager;
+
+    private ExecutorService refreshExecutor;
+    private CompletableFuture<Object[]> lastBuild = CompletableFuture.completedFuture(null);
+    private CompletableFuture<Object[]> pendingRefresh;
+    private boolean published;
+
+    ThermalRecipeManagers() {
+
+    }
+
     public static ThermalRecipeManagers instance() {
 
         return INSTANCE;
     }
 
+    /**
+     * Increases every time new recipe tables go live. Anything resolved against older tables should be looked up again.
+     */
+    public static int getGeneration() {
+
+        return INSTANCE.generation.get();
+    }
+
+    /**
+     * The live tables of the manager registered with the given slot.
+     */
+    public static Object getTables(int slot) {
+
+        return INSTANCE.liveTables[slot];
+    }
+
     public void setServerRecipeManager(RecipeManager recipeManager) {
 
         this.serverRecipeManager = recipeManager;
@@ -26,9 +65,7 @@ public class ThermalRecipeManagers {
 
     public static void registerManager(IManager manager) {
 
-        if (!instance().managers.contains(manager)) {
-            instance().managers.add(manager);
-        }
+        instance().register(manager);
     }
 
     public void config() {
@@ -38,13 +75,24 @@ public class ThermalRecipeManagers {
         }
     }
 
-    public void refreshServer() {
+    /**
+     * Starts building new tables off-thread; the live tables keep serving lookups until {@link #tick()} publishes the
+     * new ones. Never blocks once a server is running.
+     * <p>
+     * The very first refresh after a server starts is waited on, as there are no valid tables to serve from yet. This
+     * happens while the server is loading, before it ticks.
+     */
+    public synchronized void refreshServer() {
 
         if (this.serverRecipeManager == null) {
             return;
         }
-        for (IManager sub : managers) {
-            sub.refresh(this.serverRecipeManager);
+        pendingRefresh = build(this.serverRecipeManager);
+
+        if (!published) {
+            CompletableFuture<Object[]> build = pendingRefresh;
+            pendingRefresh = null;
+            complete(build.handle((tables, t) -> t == null ? tables : null).join());
         }
     }
 
@@ -57,9 +105,131 @@ public class ThermalRecipeManagers {
             ThermalCore.LOG.error("The client's Recipe Manager is null! This is REALLY BAD and will prevent recipes from registering. Check your modpack and configs.");
             return;
         }
-        for (IManager sub : managers) {
-            sub.refresh(recipeManager);
+        // JEI reads the managers as soon as this returns, so the client waits for the build.
+        CompletableFuture<Object[]> build = build(recipeManager);
+        try {
+            complete(build.join());
+        } catch (CompletionException | CancellationException e) {
+            ThermalCore.LOG.error("Failed to build Thermal recipe tables; keeping the previous ones.", e);
+        }
+    }
+
+    /**
+     * Called on the server thread at the start of every tick. Publishes a completed refresh, if there is one; a build
+     * still in progress is left alone.
+     */
+    public synchronized void tick() {
+
+        CompletableFuture<Object[]> build = pendingRefresh;
+        if (build == null || !build.isDone()) {
+            return;
+        }
+        pendingRefresh = null;
+        try {
+            complete(build.getNow(null));
+            // Machines asleep on a recipe that was missing or blocked may be able to run now.
+            TileTickScheduler.forEachSleeping(tile -> {
+                if (tile instanceof MachineTileProcess) {
+                    ((MachineTileProcess) tile).wake();
+                }
+            });
+        } catch (CompletionException | CancellationException e) {
+            ThermalCore.LOG.error("Failed to build Thermal recipe tables; keeping the previous ones.", e);
+        }
+    }
+
+    /**
+     * Called when the server stops; tables from one world are never served to the next. A build still running is
+     * dropped once it completes.
+     */
+    public synchronized void reset() {
+
+        pendingRefresh = null;
+        published = false;
+        serverRecipeManager = null;
+        generation.incrementAndGet();
+    }
+
+    // region HELPERS
+    synchronized void register(IManager manager) {
+
+        if (managers.contains(manager)) {
+            return;
+        }
+        manager.setTableSlot(managers.size());
+        managers.add(manager);
+
+        Object[] tables = Arrays.copyOf(liveTables, managers.size());
+        tables[managers.size() - 1] = manager.getStagedTables();
+        liveTables = tables;
+    }
+
+    Object[] getLiveTables() {
+
+        return liveTables;
+    }
+
+    /**
+     * Builds write to each manager's staging tables, so a build only starts once the previous one has finished. The
+     * result holds the new tables of every manager, by slot.
+     */
+    private synchronized CompletableFuture<Object[]> build(RecipeManager recipeManager) {
+
+        List<IManager> subs = new ArrayList<>(managers);
+        ExecutorService executor = getRefreshExecutor();
+        CompletableFuture<Object[]> build = lastBuild
+                .handle((tables, t) -> null)
+                .thenComposeAsync(v -> {
+                    CompletableFuture<?>[] refreshes = new CompletableFuture[subs.size()];
+                    for (int i = 0; i < refreshes.length; ++i) {
+                        IManager sub = subs.get(i);
+                        refreshes[i] = CompletableFuture.runAsync(() -> sub.refresh(recipeManager), executor);
+                    }
+                    return CompletableFuture.allOf(refreshes).thenApply(done -> {
+                        Object[] tables = new Object[subs.size()];
+                        for (int i = 0; i < tables.length; ++i) {
+                            tables[i] = subs.get(i).getStagedTables();
+                        }
+                        return tables;
+                    });
+                }, executor);
+        lastBuild = build;
+        return build;
+    }
+
+    /**
+     * Makes a complete set of tables live with a single write, so nothing ever sees a mix of old and new tables.
+     */
+    private void complete(Object[] tables) {
+
+        published = true;
+        if (tables == null) {
+            ThermalCore.LOG.error("Failed to build Thermal recipe tables; keeping the previous ones.");
+            return;
+        }
+        Object[] current = liveTables;
+        if (tables.length < current.length) {
+            // Managers registered after the build started keep their current tables.
+            Object[] padded = Arrays.copyOf(current, current.length);
+            System.arraycopy(tables, 0, padded, 0, tables.length);
+            tables = padded;
+        }
+        liveTables = tables;
+        generation.incrementAndGet();
+    }
+
+    private ExecutorService getRefreshExecutor() {
+
+        if (refreshExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            refreshExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "Thermal Recipe Refresh #" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
         }
+        return refreshExecutor;
     }
     // endregion
 }
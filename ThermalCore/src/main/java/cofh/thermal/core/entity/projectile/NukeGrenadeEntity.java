@@ -2,6 +2,7 @@ package cofh.thermal.core.entity.projectile;
 
 import cofh.core.entity.AbstractGrenadeEntity;
 import cofh.core.util.AreaUtils;
+import cofh.core.util.BatchedBlockRemover;
 import cofh.core.util.Utils;
 import cofh.core.util.helpers.MathHelper;
 import net.minecraft.block.BlockState;
@@ -85,27 +86,30 @@ public class NukeGrenadeEntity extends AbstractGrenadeEntity {
         float maxResistance = 400F * radius * radius;
         float f2 = f * f;
 
+        BatchedBlockRemover remover = new BatchedBlockRemover(worldIn);
         for (BlockPos iterPos : BlockPos.getAllInBoxMutable(pos.add(-f, -f / 2, -f), pos.add(f, f, f))) {
             double distance = iterPos.distanceSq(entity.getPositionVec(), true);
             if (distance < f2) {
                 BlockState state = worldIn.getBlockState(iterPos);
                 if (!state.isAir(worldIn, iterPos) && state.getBlock().getExplosionResistance(state, worldIn, iterPos, null) < maxResistance - (maxResistance * distance / f2)) {
-                    worldIn.setBlockState(iterPos, Blocks.AIR.getDefaultState());
+                    remover.add(iterPos);
                 }
             }
         }
+        remover.apply();
     }
 
     public static void damageNearbyEntities(Entity entity, World worldIn, BlockPos pos, int radius, @Nullable Entity source) {
 
         AxisAlignedBB area = new AxisAlignedBB(pos.add(-radius, -radius, -radius), pos.add(1 + radius, 1 + radius, 1 + radius));
         double f2 = radius * radius;
+        DamageSource damageSource = DamageSource.causeExplosionDamage(source instanceof LivingEntity ? (LivingEntity) source : null);
         worldIn.getEntitiesWithinAABB(LivingEntity.class, area, EntityPredicates.IS_ALIVE)
                 .forEach(livingEntity -> {
                     double distance = pos.distanceSq(livingEntity.getPosition());
                     if (distance < f2) {
                         float damage = (float) MathHelper.clamp(f2 - distance, radius, f2);
-                        livingEntity.attackEntityFrom(DamageSource.causeExplosionDamage(source instanceof LivingEntity ? (LivingEntity) source : null), damage);
+                        livingEntity.attackEntityFrom(damageSource, damage);
                         livingEntity.addPotionEffect(new EffectInstance(WITHER, effectDuration, effectAmplifier, false, false));
                     }
                 });
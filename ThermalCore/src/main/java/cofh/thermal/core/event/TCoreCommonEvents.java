@@ -1,11 +1,16 @@
 package cofh.thermal.core.event;
 
+import cofh.core.util.Utils;
 import cofh.thermal.core.item.DivingArmorItem;
+import cofh.thermal.core.tileentity.storage.EnergyCellBankManager;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.inventory.EquipmentSlotType;
 import net.minecraft.tags.FluidTags;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -41,4 +46,20 @@ public class TCoreCommonEvents {
         }
     }
 
+    @SubscribeEvent
+    public static void handleWorldTickEvent(TickEvent.WorldTickEvent event) {
+
+        if (event.phase == TickEvent.Phase.END && Utils.isServerWorld(event.world)) {
+            EnergyCellBankManager.tick(event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleWorldUnloadEvent(WorldEvent.Unload event) {
+
+        if (event.getWorld() instanceof World) {
+            EnergyCellBankManager.clear((World) event.getWorld());
+        }
+    }
+
 }
@@ -8,11 +8,13 @@ import net.minecraft.resources.IResourceManager;
 import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.event.AddReloadListenerEvent;
 import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.world.BiomeLoadingEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLModIdMappingEvent;
+import net.minecraftforge.fml.event.server.FMLServerStoppedEvent;
 
 import static cofh.core.util.constants.Constants.ID_THERMAL;
 
@@ -86,6 +88,21 @@ public class TCoreCommonSetupEvents {
         ThermalRecipeManagers.instance().refreshServer();
     }
 
+    // Recipes rebuilt off-thread are published at the start of a Server tick.
+    @SubscribeEvent
+    public static void serverTick(final TickEvent.ServerTickEvent event) {
+
+        if (event.phase == TickEvent.Phase.START) {
+            ThermalRecipeManagers.instance().tick();
+        }
+    }
+
+    @SubscribeEvent
+    public static void serverStopped(final FMLServerStoppedEvent event) {
+
+        ThermalRecipeManagers.instance().reset();
+    }
+
     // Recipes reload during RecipesUpdatedEvent on Client side.
     @SubscribeEvent
     public static void recipesUpdated(final RecipesUpdatedEvent event) {
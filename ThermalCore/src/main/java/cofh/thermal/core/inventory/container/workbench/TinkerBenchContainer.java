@@ -98,6 +98,7 @@ public class TinkerBenchContainer extends TileContainer {
         if (!stack.isEmpty()) {
             tile.setPause(true);
             AugmentableHelper.setAugments(stack, itemInventory.getStacks());
+            tile.markTinkerChanged();
             tile.setPause(false);
         }
     }
@@ -130,8 +130,8 @@ public abstract class CellTileBase extends ThermalTileBase implements IReconfigu
 
         super.getConfigPacket(buffer);
 
-        buffer.writeInt(amountInput);
-        buffer.writeInt(amountOutput);
+        buffer.writeVarInt(amountInput);
+        buffer.writeVarInt(amountOutput);
 
         return buffer;
     }
@@ -143,8 +143,8 @@ public abstract class CellTileBase extends ThermalTileBase implements IReconfigu
 
         reconfigControl.writeToBuffer(buffer);
 
-        buffer.writeInt(compareTracker);
-        buffer.writeInt(levelTracker);
+        buffer.writeVarInt(compareTracker);
+        buffer.writeVarInt(levelTracker);
 
         return buffer;
     }
@@ -165,9 +165,9 @@ public abstract class CellTileBase extends ThermalTileBase implements IReconfigu
 
         super.getStatePacket(buffer);
 
-        buffer.writeInt(compareTracker);
-        buffer.writeInt(levelTracker);
-        buffer.writeInt(prevLight);
+        buffer.writeVarInt(compareTracker);
+        buffer.writeVarInt(levelTracker);
+        buffer.writeVarInt(prevLight);
 
         return buffer;
     }
@@ -177,8 +177,8 @@ public abstract class CellTileBase extends ThermalTileBase implements IReconfigu
 
         super.handleConfigPacket(buffer);
 
-        amountInput = MathHelper.clamp(buffer.readInt(), 0, getMaxInput());
-        amountOutput = MathHelper.clamp(buffer.readInt(), 0, getMaxOutput());
+        amountInput = MathHelper.clamp(buffer.readVarInt(), 0, getMaxInput());
+        amountOutput = MathHelper.clamp(buffer.readVarInt(), 0, getMaxOutput());
     }
 
     @Override
@@ -188,8 +188,8 @@ public abstract class CellTileBase extends ThermalTileBase implements IReconfigu
 
         reconfigControl.readFromBuffer(buffer);
 
-        compareTracker = buffer.readInt();
-        levelTracker = buffer.readInt();
+        compareTracker = buffer.readVarInt();
+        levelTracker = buffer.readVarInt();
 
         ModelDataManager.requestModelDataRefresh(this);
     }
@@ -208,9 +208,9 @@ public abstract class CellTileBase extends ThermalTileBase implements IReconfigu
 
         super.handleStatePacket(buffer);
 
-        compareTracker = buffer.readInt();
-        levelTracker = buffer.readInt();
-        prevLight = buffer.readInt();
+        compareTracker = buffer.readVarInt();
+        levelTracker = buffer.readVarInt();
+        prevLight = buffer.readVarInt();
 
         if (prevLight != getLightValue()) {
             world.getChunkProvider().getLightManager().checkBlock(pos);
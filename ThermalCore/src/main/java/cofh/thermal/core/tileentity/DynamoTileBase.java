@@ -2,21 +2,21 @@ package cofh.thermal.core.tileentity;
 
 import cofh.core.energy.EnergyStorageCoFH;
 import cofh.core.tileentity.TileCoFH;
-import cofh.core.util.helpers.BlockHelper;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.helpers.MathHelper;
+import cofh.thermal.core.util.AugmentProfile;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SUpdateTileEntityPacket;
 import net.minecraft.tileentity.ITickableTileEntity;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.tileentity.TileEntityType;
 import net.minecraft.util.Direction;
 import net.minecraft.world.IBlockReader;
 import net.minecraftforge.client.model.ModelDataManager;
 import net.minecraftforge.common.util.LazyOptional;
-import net.minecraftforge.energy.CapabilityEnergy;
+import net.minecraftforge.energy.IEnergyStorage;
 
 import javax.annotation.Nullable;
 
@@ -72,38 +72,37 @@ public abstract class DynamoTileBase extends ThermalTileBase implements ITickabl
         updateFacing();
     }
 
-    //    @Override
-    //    public void neighborChanged(Block blockIn, BlockPos fromPos) {
-    //
-    //        super.neighborChanged(blockIn, fromPos);
-    //
-    //        // TODO: Handle caching of neighbor caps.
-    //    }
-
     @Override
     public void tick() {
 
-        boolean curActive = isActive;
-        if (isActive) {
-            processTick();
-            if (canProcessFinish()) {
-                processFinish();
-                if (!redstoneControl.getState() || !canProcessStart()) {
-                    processOff();
-                } else {
+        long profile = TickProfiler.start();
+        try {
+            checkCatchUp();
+
+            boolean curActive = isActive;
+            if (isActive) {
+                processTick();
+                if (canProcessFinish()) {
+                    processFinish();
+                    if (!redstoneControl.getState() || !canProcessStart()) {
+                        processOff();
+                    } else {
+                        processStart();
+                    }
+                }
+            } else if (timeCheckQuarter()) {
+                if (redstoneControl.getState() && canProcessStart()) {
                     processStart();
+                    processTick();
+                    isActive = true;
+                } else {
+                    energyStorage.modify(-minProcessTick);
                 }
             }
-        } else if (timeCheckQuarter()) {
-            if (redstoneControl.getState() && canProcessStart()) {
-                processStart();
-                processTick();
-                isActive = true;
-            } else {
-                energyStorage.modify(-minProcessTick);
-            }
+            updateActiveState(curActive);
+        } finally {
+            TickProfiler.end(this, profile);
         }
-        updateActiveState(curActive);
     }
 
     // region PROCESS
@@ -129,6 +128,40 @@ public abstract class DynamoTileBase extends ThermalTileBase implements ITickabl
         }
     }
 
+    /**
+     * Nothing can take energy from the dynamo while it is catching up, so it only runs until its own storage is full. A
+     * tick-by-tick run would keep burning fuel into the full storage; that fuel is kept instead. Nor does the dynamo
+     * bleed energy for the time it spent idle.
+     */
+    @Override
+    protected void catchUp(long ticks) {
+
+        if (!redstoneControl.getState()) {
+            return;
+        }
+        for (long i = 0; i < ticks && energyStorage.getSpace() > 0; ++i) {
+            if (!isActive) {
+                if (!canProcessStart()) {
+                    break;
+                }
+                processStart();
+                isActive = true;
+            }
+            int energy = calcEnergy();
+            energyStorage.modify(energy);
+            fuel -= energy;
+            if (canProcessFinish()) {
+                processFinish();
+                if (!canProcessStart()) {
+                    processOff();
+                    break;
+                }
+                processStart();
+            }
+        }
+        markDirty();
+    }
+
     protected int processTick() {
 
         if (fuel <= 0) {
@@ -150,12 +183,10 @@ public abstract class DynamoTileBase extends ThermalTileBase implements ITickabl
     // region HELPERS
     protected void transferRF() {
 
-        TileEntity adjTile = BlockHelper.getAdjacentTileEntity(this, getFacing());
-        if (adjTile != null) {
-            Direction opposite = getFacing().getOpposite();
+        IEnergyStorage handler = neighborCaps.getEnergyStorage(getFacing());
+        if (handler != null) {
             int maxTransfer = Math.min(energyStorage.getMaxExtract(), energyStorage.getEnergyStored());
-            adjTile.getCapability(CapabilityEnergy.ENERGY, opposite)
-                    .ifPresent(e -> energyStorage.modify(-e.receiveEnergy(maxTransfer, false)));
+            energyStorage.modify(-handler.receiveEnergy(maxTransfer, false));
         }
     }
 
@@ -297,12 +328,12 @@ public abstract class DynamoTileBase extends ThermalTileBase implements ITickabl
     }
 
     @Override
-    protected void setAttributesFromAugment(CompoundNBT augmentData) {
+    protected void setAttributesFromAugments(AugmentProfile profile) {
 
-        super.setAttributesFromAugment(augmentData);
+        super.setAttributesFromAugments(profile);
 
-        processMod += getAttributeMod(augmentData, TAG_AUGMENT_DYNAMO_PRODUCTION);
-        energyMod *= getAttributeModWithDefault(augmentData, TAG_AUGMENT_DYNAMO_EFFICIENCY, 1.0F);
+        processMod += profile.getSum(TAG_AUGMENT_DYNAMO_PRODUCTION);
+        energyMod *= profile.getProduct(TAG_AUGMENT_DYNAMO_EFFICIENCY);
     }
 
     @Override
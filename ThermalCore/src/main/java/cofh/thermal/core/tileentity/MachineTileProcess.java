@@ -4,20 +4,27 @@ import cofh.core.energy.EnergyStorageCoFH;
 import cofh.core.fluid.FluidStorageCoFH;
 import cofh.core.inventory.ItemStorageCoFH;
 import cofh.core.network.packet.client.TileStatePacket;
+import cofh.core.util.TickProfiler;
+import cofh.core.util.TileTickScheduler;
 import cofh.core.util.Utils;
 import cofh.core.util.helpers.MathHelper;
+import cofh.thermal.core.common.ThermalRecipeManagers;
+import cofh.thermal.core.util.AugmentProfile;
 import cofh.thermal.core.util.IMachineInventory;
 import cofh.thermal.core.util.recipes.internal.IMachineRecipe;
 import cofh.thermal.core.util.recipes.internal.IRecipeCatalyst;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fluids.FluidStack;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static cofh.core.util.constants.Constants.*;
@@ -28,55 +35,93 @@ import static cofh.core.util.helpers.ItemHelper.itemsEqualWithTags;
 
 public abstract class MachineTileProcess extends ReconfigurableTile4Way implements ITickableTileEntity, IMachineInventory {
 
+    protected static final int MAX_PROCESS_BATCH = 16;
+
     protected IMachineRecipe curRecipe;
     protected IRecipeCatalyst curCatalyst;
     protected List<Integer> itemInputCounts = new ArrayList<>();
     protected List<Integer> fluidInputCounts = new ArrayList<>();
 
+    protected long recipeItemVersion;
+    protected long recipeFluidVersion;
+    protected int recipeGeneration = -1;
+    protected boolean recipeResolved;
+
+    protected boolean[] usedOutputs = new boolean[0];
+    protected int[] itemOutputPlan = new int[0];
+    protected int[] fluidOutputPlan = new int[0];
+    protected IMachineRecipe outputPlanRecipe;
+
     protected int process;
     protected int processMax;
 
     protected int baseProcessTick = getBaseProcessTick();
     protected int processTick = baseProcessTick;
 
+    protected boolean sleeping;
+    protected boolean sleepOnEnergy;
+
     public MachineTileProcess(TileEntityType<?> tileEntityTypeIn) {
 
         super(tileEntityTypeIn);
-        energyStorage = new EnergyStorageCoFH(getBaseEnergyStorage(), getBaseEnergyXfer());
+        energyStorage = new EnergyStorageCoFH(getBaseEnergyStorage(), getBaseEnergyXfer()) {
+
+            @Override
+            public int receiveEnergy(int maxReceive, boolean simulate) {
+
+                int energyReceived = super.receiveEnergy(maxReceive, simulate);
+                if (energyReceived > 0 && !simulate) {
+                    onEnergyReceived();
+                }
+                return energyReceived;
+            }
+        };
     }
 
     @Override
     public void tick() {
 
-        boolean curActive = isActive;
-        if (isActive) {
-            processTick();
-            if (canProcessFinish()) {
-                processFinish();
-                transferOutput();
-                transferInput();
-                if (!redstoneControl.getState() || !canProcessStart()) {
-                    energyStorage.modify(-process);     // Addresses case where additional process energy was spent, and another process does not immediately begin.
+        long profile = TickProfiler.start();
+        try {
+            checkCatchUp();
+
+            boolean curActive = isActive;
+            if (isActive) {
+                processTick();
+                if (canProcessFinish()) {
+                    processFinish();
+                    transferOutput();
+                    transferInput();
+                    if (!redstoneControl.getState() || !canProcessStart()) {
+                        energyStorage.modify(-process);     // Addresses case where additional process energy was spent, and another process does not immediately begin.
+                        processOff();
+                    } else {
+                        processStart();
+                        processBatch();
+                    }
+                } else if (energyStorage.getEnergyStored() < processTick) {
                     processOff();
-                } else {
-                    processStart();
                 }
-            } else if (energyStorage.getEnergyStored() < processTick) {
-                processOff();
-            }
-        } else if (redstoneControl.getState()) {
-            if (timeCheck()) {
-                transferOutput();
-                transferInput();
-            }
-            if (timeCheckQuarter() && canProcessStart()) {
-                processStart();
-                processTick();
-                isActive = true;
+            } else if (redstoneControl.getState()) {
+                if (timeCheck()) {
+                    transferOutput();
+                    transferInput();
+                }
+                if (timeCheckQuarter()) {
+                    if (canProcessStart()) {
+                        processStart();
+                        processTick();
+                        isActive = true;
+                    } else if (canSleep()) {
+                        sleep();
+                    }
+                }
             }
+            updateActiveState(curActive);
+            chargeEnergy();
+        } finally {
+            TickProfiler.end(this, profile);
         }
-        updateActiveState(curActive);
-        chargeEnergy();
     }
 
     // region PROCESS
@@ -129,6 +174,73 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
         }
     }
 
+    /**
+     * Completes further operations in the same tick, for as long as the energy already spent this tick covers them
+     * (i.e. processTick exceeds the recipe energy). Each operation was checked by canProcessStart() right before, so
+     * its outputs and inputs are resolved directly.
+     */
+    protected void processBatch() {
+
+        for (int i = 1; i < MAX_PROCESS_BATCH && canProcessFinish(); ++i) {
+            resolveOutputs();
+            resolveInputs();
+            if (!canProcessStart()) {
+                energyStorage.modify(-process);
+                processOff();
+                return;
+            }
+            processStart();
+        }
+    }
+
+    /**
+     * Runs whole operations rather than ticks. A tick-by-tick run spends processTick each tick, for as long as the
+     * stored energy covers another tick; each operation then costs exactly its recipe energy, which is what a
+     * tick-by-tick run spends in total as well. If the energy runs out first, the machine stops as it would have,
+     * dropping the operation in progress.
+     */
+    @Override
+    protected void catchUp(long ticks) {
+
+        if (!redstoneControl.getState() || processTick <= 0) {
+            return;
+        }
+        long energyTicks = energyStorage.getEnergyStored() / processTick;
+        boolean energyLimited = energyTicks <= ticks;
+        long budget = Math.min(ticks, energyTicks) * processTick;
+        for (long ops = 0; ops < ticks * MAX_PROCESS_BATCH; ++ops) {
+            if (!isActive) {
+                if (!canProcessStart()) {
+                    break;
+                }
+                processStart();
+                isActive = true;
+            }
+            if (process > budget) {
+                // Partway through the last operation.
+                energyStorage.modify((int) -budget);
+                process -= budget;
+                if (energyLimited) {
+                    processOff();
+                }
+                break;
+            }
+            budget -= process;
+            energyStorage.modify(-process);
+            process = 0;
+            processFinish();
+            if (!isActive) {
+                break;
+            }
+            if (!canProcessStart()) {
+                processOff();
+                break;
+            }
+            processStart();
+        }
+        markDirty();
+    }
+
     protected int processTick() {
 
         if (process <= 0) {
@@ -140,6 +252,49 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
     }
     // endregion
 
+    // region SLEEP
+    /**
+     * Called when the machine is idle and unable to start a process. Machines which pull, push or charge on their own
+     * (or are open in a GUI) need to keep ticking; everything else can wait for something to change.
+     */
+    protected boolean canSleep() {
+
+        if (wasActive || numPlayersUsing > 0 || !chargeSlot.isEmpty() || transferControl.getTransferIn() || transferControl.getTransferOut()) {
+            return false;
+        }
+        // Energy is only worth waking up for if nothing else is blocking the next process.
+        sleepOnEnergy = energyStorage.getEnergyStored() - process < processTick && validateInputs() && validateOutputs();
+        return true;
+    }
+
+    protected void sleep() {
+
+        if (!sleeping) {
+            sleeping = true;
+            TileTickScheduler.sleep(this);
+        }
+    }
+
+    /**
+     * Puts a sleeping machine back on the ticking list, e.g. once recipes have been reloaded.
+     */
+    public void wake() {
+
+        if (sleeping) {
+            sleeping = false;
+            sleepOnEnergy = false;
+            TileTickScheduler.wake(this);
+        }
+    }
+
+    protected void onEnergyReceived() {
+
+        if (sleepOnEnergy && energyStorage.getEnergyStored() - process >= processTick) {
+            wake();
+        }
+    }
+    // endregion
+
     // region HELPERS
     protected boolean cacheRecipe() {
 
@@ -152,11 +307,51 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
         curCatalyst = null;
         itemInputCounts = new ArrayList<>();
         fluidInputCounts = new ArrayList<>();
+        invalidateRecipe();
+    }
+
+    /**
+     * Memoized {@link #cacheRecipe()}. The recipe is only looked up again if the item in an input slot or a tank has
+     * changed, or the recipe tables have been republished, since the last lookup. Item counts are only taken into
+     * account if {@link #recipeDependsOnCounts()}; {@link #validateInputs()} checks them either way.
+     */
+    protected boolean resolveRecipe() {
+
+        long itemVersion = recipeDependsOnCounts() ? inventory.getInputVersion() : inventory.getInputIdentityVersion();
+        long fluidVersion = tankInv.getInputVersion();
+        int generation = ThermalRecipeManagers.getGeneration();
+
+        if (generation == recipeGeneration && itemVersion == recipeItemVersion && fluidVersion == recipeFluidVersion) {
+            return recipeResolved;
+        }
+        recipeResolved = cacheRecipe();
+        recipeItemVersion = itemVersion;
+        recipeFluidVersion = fluidVersion;
+        recipeGeneration = generation;
+        return recipeResolved;
+    }
+
+    /**
+     * Whether the recipe manager picks recipes by input counts as well as by item, so that topping up an input slot
+     * with more of the same item can change the recipe.
+     */
+    protected boolean recipeDependsOnCounts() {
+
+        return false;
+    }
+
+    /**
+     * Forces the next {@link #resolveRecipe()} to look the recipe up; for state other than the inputs that the recipe
+     * depends on.
+     */
+    protected void invalidateRecipe() {
+
+        recipeGeneration = -1;
     }
 
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         List<? extends ItemStorageCoFH> slotInputs = inputSlots();
@@ -182,72 +377,34 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
         // ITEMS
         List<? extends ItemStorageCoFH> slotOutputs = outputSlots();
         List<ItemStack> recipeOutputItems = curRecipe.getOutputItems(this);
-        boolean[] used = new boolean[outputSlots().size()];
-        for (ItemStack recipeOutput : recipeOutputItems) {
-            boolean matched = false;
-            for (int i = 0; i < slotOutputs.size(); ++i) {
-                if (used[i]) {
-                    continue;
-                }
-                ItemStack output = slotOutputs.get(i).getItemStack();
-                if (output.getCount() >= output.getMaxStackSize()) {
-                    continue;
-                }
-                if (itemsEqualWithTags(output, recipeOutput)) {
-                    used[i] = true;
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
-                for (int i = 0; i < slotOutputs.size(); ++i) {
-                    if (used[i]) {
-                        continue;
-                    }
-                    if (slotOutputs.get(i).isEmpty()) {
-                        used[i] = true;
-                        matched = true;
-                        break;
-                    }
-                }
-            }
-            if (!matched) {
+        boolean[] used = clearUsedOutputs(slotOutputs.size());
+        if (itemOutputPlan.length < recipeOutputItems.size()) {
+            itemOutputPlan = new int[recipeOutputItems.size()];
+        }
+        for (int j = 0; j < recipeOutputItems.size(); ++j) {
+            int slot = findItemOutput(slotOutputs, recipeOutputItems.get(j), used);
+            if (slot < 0) {
                 return false;
             }
+            used[slot] = true;
+            itemOutputPlan[j] = slot;
         }
         // FLUIDS
         List<? extends FluidStorageCoFH> tankOutputs = outputTanks();
         List<FluidStack> recipeOutputFluids = curRecipe.getOutputFluids(this);
-        used = new boolean[outputTanks().size()];
-        for (FluidStack recipeOutput : recipeOutputFluids) {
-            boolean matched = false;
-            for (int i = 0; i < tankOutputs.size(); ++i) {
-                if (used[i] || tankOutputs.get(i).getSpace() <= 0) {
-                    continue;
-                }
-                FluidStack output = tankOutputs.get(i).getFluidStack();
-                if (fluidsEqual(output, recipeOutput)) {
-                    used[i] = true;
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
-                for (int i = 0; i < tankOutputs.size(); ++i) {
-                    if (used[i]) {
-                        continue;
-                    }
-                    if (tankOutputs.get(i).isEmpty()) {
-                        used[i] = true;
-                        matched = true;
-                        break;
-                    }
-                }
-            }
-            if (!matched) {
+        used = clearUsedOutputs(tankOutputs.size());
+        if (fluidOutputPlan.length < recipeOutputFluids.size()) {
+            fluidOutputPlan = new int[recipeOutputFluids.size()];
+        }
+        for (int j = 0; j < recipeOutputFluids.size(); ++j) {
+            int tank = findFluidOutput(tankOutputs, recipeOutputFluids.get(j), used);
+            if (tank < 0) {
                 return false;
             }
+            used[tank] = true;
+            fluidOutputPlan[j] = tank;
         }
+        outputPlanRecipe = curRecipe;
         return true;
     }
 
@@ -255,54 +412,25 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
 
         List<ItemStack> recipeOutputItems = curRecipe.getOutputItems(this);
         List<FluidStack> recipeOutputFluids = curRecipe.getOutputFluids(this);
-        List<Float> recipeOutputChances = curRecipe.getOutputItemChances(this);
+        boolean planned = outputPlanRecipe == curRecipe;
 
         // Output Items
+        List<? extends ItemStorageCoFH> slotOutputs = outputSlots();
         for (int i = 0; i < recipeOutputItems.size(); ++i) {
             ItemStack recipeOutput = recipeOutputItems.get(i);
-            float chance = recipeOutputChances.get(i);
+            float chance = curRecipe.getOutputItemChance(this, i);
             int outputCount = chance <= BASE_CHANCE ? recipeOutput.getCount() : (int) chance;
+            int plannedSlot = planned ? itemOutputPlan[i] : -1;
             while (world.rand.nextFloat() < chance) {
-                boolean matched = false;
-                for (ItemStorageCoFH slot : outputSlots()) {
-                    ItemStack output = slot.getItemStack();
-                    if (itemsEqualWithTags(output, recipeOutput) && output.getCount() < output.getMaxStackSize()) {
-                        output.grow(outputCount);
-                        matched = true;
-                        break;
-                    }
-                }
-                if (!matched) {
-                    for (ItemStorageCoFH slot : outputSlots()) {
-                        if (slot.isEmpty()) {
-                            slot.setItemStack(cloneStack(recipeOutput, outputCount));
-                            break;
-                        }
-                    }
-                }
+                mergeItemOutput(slotOutputs, recipeOutput, outputCount, plannedSlot);
                 chance -= BASE_CHANCE * outputCount;
                 outputCount = 1;
             }
         }
         // Output Fluids
-        for (FluidStack recipeOutput : recipeOutputFluids) {
-            boolean matched = false;
-            for (FluidStorageCoFH tank : outputTanks()) {
-                FluidStack output = tank.getFluidStack();
-                if (tank.getSpace() >= recipeOutput.getAmount() && fluidsEqual(output, recipeOutput)) {
-                    output.setAmount(output.getAmount() + recipeOutput.getAmount());
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
-                for (FluidStorageCoFH tank : outputTanks()) {
-                    if (tank.isEmpty()) {
-                        tank.setFluidStack(recipeOutput.copy());
-                        break;
-                    }
-                }
-            }
+        List<? extends FluidStorageCoFH> tankOutputs = outputTanks();
+        for (int i = 0; i < recipeOutputFluids.size(); ++i) {
+            mergeFluidOutput(tankOutputs, recipeOutputFluids.get(i), planned ? fluidOutputPlan[i] : -1);
         }
     }
 
@@ -317,6 +445,117 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
             inputTanks().get(i).modify(-fluidInputCounts.get(i));
         }
     }
+
+    /**
+     * Scratch flags for matching recipe outputs to output slots or tanks; reused between checks.
+     */
+    protected boolean[] clearUsedOutputs(int size) {
+
+        if (usedOutputs.length < size) {
+            usedOutputs = new boolean[size];
+        } else {
+            Arrays.fill(usedOutputs, 0, size, false);
+        }
+        return usedOutputs;
+    }
+
+    /**
+     * Slot a recipe output would go into: one already holding the same item with room left, otherwise an empty one.
+     *
+     * @return The slot index, or -1 if the output does not fit.
+     */
+    protected int findItemOutput(List<? extends ItemStorageCoFH> slotOutputs, ItemStack recipeOutput, boolean[] used) {
+
+        for (int i = 0; i < slotOutputs.size(); ++i) {
+            if (used[i]) {
+                continue;
+            }
+            ItemStack output = slotOutputs.get(i).getItemStack();
+            if (output.getCount() < output.getMaxStackSize() && itemsEqualWithTags(output, recipeOutput)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < slotOutputs.size(); ++i) {
+            if (!used[i] && slotOutputs.get(i).isEmpty()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected int findFluidOutput(List<? extends FluidStorageCoFH> tankOutputs, FluidStack recipeOutput, boolean[] used) {
+
+        for (int i = 0; i < tankOutputs.size(); ++i) {
+            if (used[i] || tankOutputs.get(i).getSpace() <= 0) {
+                continue;
+            }
+            if (fluidsEqual(tankOutputs.get(i).getFluidStack(), recipeOutput)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < tankOutputs.size(); ++i) {
+            if (!used[i] && tankOutputs.get(i).isEmpty()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Merges an output into the slot planned by {@link #validateOutputs()} if it still holds the same item, otherwise
+     * into the first slot that takes it. Existing stacks are grown in place.
+     */
+    protected void mergeItemOutput(List<? extends ItemStorageCoFH> slotOutputs, ItemStack recipeOutput, int outputCount, int plannedSlot) {
+
+        if (plannedSlot >= 0 && plannedSlot < slotOutputs.size()) {
+            ItemStorageCoFH slot = slotOutputs.get(plannedSlot);
+            ItemStack output = slot.getItemStack();
+            if (output.getCount() < output.getMaxStackSize() && itemsEqualWithTags(output, recipeOutput)) {
+                slot.modify(outputCount);
+                return;
+            }
+        }
+        for (int i = 0; i < slotOutputs.size(); ++i) {
+            ItemStorageCoFH slot = slotOutputs.get(i);
+            ItemStack output = slot.getItemStack();
+            if (itemsEqualWithTags(output, recipeOutput) && output.getCount() < output.getMaxStackSize()) {
+                slot.modify(outputCount);
+                return;
+            }
+        }
+        for (int i = 0; i < slotOutputs.size(); ++i) {
+            ItemStorageCoFH slot = slotOutputs.get(i);
+            if (slot.isEmpty()) {
+                slot.setItemStack(cloneStack(recipeOutput, outputCount));
+                return;
+            }
+        }
+    }
+
+    protected void mergeFluidOutput(List<? extends FluidStorageCoFH> tankOutputs, FluidStack recipeOutput, int plannedTank) {
+
+        if (plannedTank >= 0 && plannedTank < tankOutputs.size()) {
+            FluidStorageCoFH tank = tankOutputs.get(plannedTank);
+            if (tank.getSpace() >= recipeOutput.getAmount() && fluidsEqual(tank.getFluidStack(), recipeOutput)) {
+                tank.modify(recipeOutput.getAmount());
+                return;
+            }
+        }
+        for (int i = 0; i < tankOutputs.size(); ++i) {
+            FluidStorageCoFH tank = tankOutputs.get(i);
+            if (tank.getSpace() >= recipeOutput.getAmount() && fluidsEqual(tank.getFluidStack(), recipeOutput)) {
+                tank.modify(recipeOutput.getAmount());
+                return;
+            }
+        }
+        for (int i = 0; i < tankOutputs.size(); ++i) {
+            FluidStorageCoFH tank = tankOutputs.get(i);
+            if (tank.isEmpty()) {
+                tank.setFluidStack(recipeOutput.copy());
+                return;
+            }
+        }
+    }
     // endregion
 
     // region GUI
@@ -384,6 +623,22 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
     }
     // endregion
 
+    // region TileCoFH
+    @Override
+    public void addPlayerUsing() {
+
+        super.addPlayerUsing();
+        wake();
+    }
+
+    @Override
+    public void neighborChanged(Block blockIn, BlockPos fromPos) {
+
+        super.neighborChanged(blockIn, fromPos);
+        wake();
+    }
+    // endregion
+
     // region NBT
     @Override
     public void read(BlockState state, CompoundNBT nbt) {
@@ -432,17 +687,17 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
     }
 
     @Override
-    protected void setAttributesFromAugment(CompoundNBT augmentData) {
+    protected void setAttributesFromAugments(AugmentProfile profile) {
 
-        super.setAttributesFromAugment(augmentData);
+        super.setAttributesFromAugments(profile);
 
-        processMod += getAttributeMod(augmentData, TAG_AUGMENT_MACHINE_POWER);
-        primaryMod += getAttributeMod(augmentData, TAG_AUGMENT_MACHINE_PRIMARY);
-        secondaryMod += getAttributeMod(augmentData, TAG_AUGMENT_MACHINE_SECONDARY);
-        energyMod *= getAttributeModWithDefault(augmentData, TAG_AUGMENT_MACHINE_ENERGY, 1.0F);
-        experienceMod *= getAttributeModWithDefault(augmentData, TAG_AUGMENT_MACHINE_XP, 1.0F);
-        catalystMod *= getAttributeModWithDefault(augmentData, TAG_AUGMENT_MACHINE_CATALYST, 1.0F);
-        minOutputChance = Math.max(getAttributeMod(augmentData, TAG_AUGMENT_MACHINE_MIN_OUTPUT), minOutputChance);
+        processMod += profile.getSum(TAG_AUGMENT_MACHINE_POWER);
+        primaryMod += profile.getSum(TAG_AUGMENT_MACHINE_PRIMARY);
+        secondaryMod += profile.getSum(TAG_AUGMENT_MACHINE_SECONDARY);
+        energyMod *= profile.getProduct(TAG_AUGMENT_MACHINE_ENERGY);
+        experienceMod *= profile.getProduct(TAG_AUGMENT_MACHINE_XP);
+        catalystMod *= profile.getProduct(TAG_AUGMENT_MACHINE_CATALYST);
+        minOutputChance = Math.max(profile.getMax(TAG_AUGMENT_MACHINE_MIN_OUTPUT), minOutputChance);
     }
 
     @Override
@@ -461,6 +716,7 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
         catalystMod = MathHelper.clamp(catalystMod, scaleMin, scaleMax);
 
         processTick = baseProcessTick;
+        invalidateRecipe();
     }
     // endregion
 
@@ -469,6 +725,7 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
     public void onInventoryChange(int slot) {
 
         super.onInventoryChange(slot);
+        wake();
 
         if (world != null && Utils.isServerWorld(world) && isActive) {
             if (slot >= invSize() - augSize()) {
@@ -488,6 +745,7 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
     @Override
     public void onTankChange(int tank) {
 
+        wake();
         if (Utils.isServerWorld(world) && tank < tankInv.getInputTanks().size()) {
             if (isActive) {
                 IMachineRecipe tempRecipe = curRecipe;
@@ -499,6 +757,13 @@ public abstract class MachineTileProcess extends ReconfigurableTile4Way implemen
         }
         super.onTankChange(tank);
     }
+
+    @Override
+    public void onControlUpdate() {
+
+        super.onControlUpdate();
+        wake();
+    }
     // endregion
 
     // region IMachineInventory
@@ -2,6 +2,7 @@ package cofh.thermal.core.tileentity;
 
 import cofh.core.fluid.FluidStorageCoFH;
 import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.inventory.TransferCursor;
 import cofh.core.tileentity.TileCoFH;
 import cofh.core.util.control.IReconfigurableTile;
 import cofh.core.util.control.ITransferControllableTile;
@@ -10,7 +11,6 @@ import cofh.core.util.control.TransferControlModule;
 import cofh.core.util.helpers.EnergyHelper;
 import cofh.core.util.helpers.FluidHelper;
 import cofh.core.util.helpers.InventoryHelper;
-import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundNBT;
@@ -19,7 +19,6 @@ import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SUpdateTileEntityPacket;
 import net.minecraft.tileentity.TileEntityType;
 import net.minecraft.util.Direction;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockReader;
 import net.minecraftforge.client.model.ModelDataManager;
 import net.minecraftforge.client.model.data.IModelData;
@@ -48,6 +47,9 @@ public abstract class ReconfigurableTile4Way extends ThermalTileBase implements
     protected int inputTracker;
     protected int outputTracker;
 
+    protected final TransferCursor inputCursor = new TransferCursor();
+    protected final TransferCursor outputCursor = new TransferCursor();
+
     protected ReconfigControlModule reconfigControl = new ReconfigControlModule(this);
     protected TransferControlModule transferControl = new TransferControlModule(this);
 
@@ -132,6 +134,8 @@ public abstract class ReconfigurableTile4Way extends ThermalTileBase implements
             chargeSlot.getItemStack()
                     .getCapability(CapabilityEnergy.ENERGY, null)
                     .ifPresent(c -> energyStorage.receiveEnergy(c.extractEnergy(Math.min(energyStorage.getMaxReceive(), energyStorage.getSpace()), false), false));
+            // The stack's energy was changed in place.
+            chargeSlot.markChanged();
         }
     }
 
@@ -146,14 +150,16 @@ public abstract class ReconfigurableTile4Way extends ThermalTileBase implements
         for (int i = inputTracker + 1; i <= inputTracker + 6; ++i) {
             Direction side = DIRECTIONS[i % 6];
             if (reconfigControl.getSideConfig(side).isInput()) {
-                for (ItemStorageCoFH slot : inputSlots()) {
-                    if (slot.getSpace() > 0) {
-                        InventoryHelper.extractFromAdjacent(this, slot, Math.min(getInputItemAmount(), slot.getSpace()), side);
-                    }
+                IItemHandler itemHandler = inputSlots().isEmpty() ? null : neighborCaps.getItemHandler(side);
+                if (itemHandler != null) {
+                    InventoryHelper.extractFromHandler(itemHandler, inputSlots(), getInputItemAmount(), inputCursor, side);
                 }
-                for (FluidStorageCoFH tank : inputTanks()) {
-                    if (tank.getSpace() > 0) {
-                        FluidHelper.extractFromAdjacent(this, tank, Math.min(getInputFluidAmount(), tank.getSpace()), side);
+                IFluidHandler fluidHandler = inputTanks().isEmpty() ? null : neighborCaps.getFluidHandler(side);
+                if (fluidHandler != null) {
+                    for (FluidStorageCoFH tank : inputTanks()) {
+                        if (tank.getSpace() > 0) {
+                            FluidHelper.extractFromHandler(fluidHandler, tank, Math.min(getInputFluidAmount(), tank.getSpace()));
+                        }
                     }
                 }
                 if (!updateTracker) {
@@ -176,11 +182,15 @@ public abstract class ReconfigurableTile4Way extends ThermalTileBase implements
         for (int i = outputTracker + 1; i <= outputTracker + 6; ++i) {
             Direction side = DIRECTIONS[i % 6];
             if (reconfigControl.getSideConfig(side).isOutput()) {
-                for (ItemStorageCoFH slot : outputSlots()) {
-                    InventoryHelper.insertIntoAdjacent(this, slot, getOutputItemAmount(), side);
+                IItemHandler itemHandler = outputSlots().isEmpty() ? null : neighborCaps.getItemHandler(side);
+                if (itemHandler != null) {
+                    InventoryHelper.insertIntoHandler(itemHandler, outputSlots(), getOutputItemAmount(), outputCursor, side);
                 }
-                for (FluidStorageCoFH tank : outputTanks()) {
-                    FluidHelper.insertIntoAdjacent(this, tank, getOutputFluidAmount(), side);
+                IFluidHandler fluidHandler = outputTanks().isEmpty() ? null : neighborCaps.getFluidHandler(side);
+                if (fluidHandler != null) {
+                    for (FluidStorageCoFH tank : outputTanks()) {
+                        FluidHelper.insertIntoHandler(fluidHandler, tank, getOutputFluidAmount());
+                    }
                 }
                 if (!updateTracker) {
                     newTracker = side.ordinal();
@@ -210,13 +220,6 @@ public abstract class ReconfigurableTile4Way extends ThermalTileBase implements
 
         return 1000;
     }
-
-    @Override
-    public void neighborChanged(Block blockIn, BlockPos fromPos) {
-
-        super.neighborChanged(blockIn, fromPos);
-        // TODO: Handle caching of neighbor caps?
-    }
     // endregion
 
     // region NETWORK
@@ -10,17 +10,20 @@ import cofh.core.network.packet.client.TileControlPacket;
 import cofh.core.network.packet.client.TileRedstonePacket;
 import cofh.core.network.packet.client.TileStatePacket;
 import cofh.core.tileentity.TileCoFH;
+import cofh.core.util.CachedNBTSection;
+import cofh.core.util.NeighborCapabilityCache;
+import cofh.core.util.TileTickScheduler;
 import cofh.core.util.TimeTracker;
 import cofh.core.util.Utils;
 import cofh.core.util.control.*;
 import cofh.core.util.helpers.AugmentDataHelper;
 import cofh.core.util.helpers.MathHelper;
 import cofh.thermal.core.common.ThermalConfig;
+import cofh.thermal.core.util.AugmentProfile;
 import cofh.thermal.core.util.IThermalInventory;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.enchantment.Enchantment;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
@@ -49,7 +52,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -73,6 +75,11 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
     protected ManagedTankInv tankInv = new ManagedTankInv(this, TAG_TANK_INV);
     protected EnergyStorageCoFH energyStorage = new EnergyStorageCoFH(0);
 
+    protected CachedNBTSection inventoryTag = new CachedNBTSection();
+    protected CachedNBTSection tankTag = new CachedNBTSection();
+
+    protected NeighborCapabilityCache neighborCaps = new NeighborCapabilityCache(this);
+
     protected SecurityControlModule securityControl = new SecurityControlModule(this);
     protected RedstoneControlModule redstoneControl = new RedstoneControlModule(this);
 
@@ -80,9 +87,13 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
     protected Set<String> augmentTypes = new ObjectOpenHashSet<>();
 
     protected ListNBT enchantments = new ListNBT();
+    protected int holdingLevel;
 
     public boolean isActive;
     public boolean wasActive;
+    protected boolean visibleActive;
+    protected long activeChangeTime = Long.MIN_VALUE;
+    protected long saveTime = -1;
     protected FluidStack renderFluid = FluidStack.EMPTY;
 
     public ThermalTileBase(TileEntityType<?> tileEntityTypeIn) {
@@ -110,6 +121,14 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
         return MIN_PROCESS_TICK;
     }
+
+    /**
+     * Tiles which do not tick must return 0, as a pending change would otherwise never be published.
+     */
+    protected int getActiveStateDelay() {
+
+        return ThermalConfig.activeStateDelay;
+    }
     // endregion
 
     // TODO: Does this need to exist?
@@ -117,6 +136,7 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
     public void remove() {
 
         super.remove();
+        TileTickScheduler.remove(this);
 
         energyCap.invalidate();
         itemCap.invalidate();
@@ -152,10 +172,25 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
         tankInv.initHandlers();
     }
 
+    /**
+     * Publishes the active state once it has differed from what clients see for the configured number of ticks, so
+     * that machines which briefly stall between operations do not cause a block update each time.
+     */
     protected void updateActiveState(boolean curActive) {
 
-        // TODO: Config time delay
-        if (!wasActive && curActive != isActive || wasActive && (timeTracker.hasDelayPassed(world, 40) || timeTracker.notSet())) {
+        if (isActive == visibleActive) {
+            activeChangeTime = Long.MIN_VALUE;
+            wasActive = false;
+            return;
+        }
+        long gameTime = world.getGameTime();
+        if (activeChangeTime == Long.MIN_VALUE || activeChangeTime > gameTime) {
+            activeChangeTime = gameTime;
+        }
+        wasActive = true;
+        if (gameTime - activeChangeTime >= getActiveStateDelay()) {
+            visibleActive = isActive;
+            activeChangeTime = Long.MIN_VALUE;
             wasActive = false;
             if (getBlockState().hasProperty(ACTIVE)) {
                 world.setBlockState(pos, getBlockState().with(ACTIVE, isActive));
@@ -164,6 +199,30 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
         }
     }
 
+    /**
+     * Called by ticking tiles at the start of their tick. The first time after the tile was loaded from a saved chunk,
+     * it makes up for the time the chunk spent unloaded, up to the configured cap; see {@link #catchUp(long)}.
+     */
+    protected void checkCatchUp() {
+
+        if (saveTime < 0 || world == null || Utils.isClientWorld(world)) {
+            return;
+        }
+        long elapsed = world.getGameTime() - saveTime;
+        saveTime = -1;
+        if (elapsed > 1 && ThermalConfig.catchUpTicks > 0) {
+            catchUp(Math.min(elapsed, ThermalConfig.catchUpTicks));
+        }
+    }
+
+    /**
+     * Advances the tile by the given number of ticks in one step. Neighbors are not loaded yet, so nothing is pulled in
+     * or pushed out; only what the tile already holds is used.
+     */
+    protected void catchUp(long ticks) {
+
+    }
+
     protected boolean cacheRenderFluid() {
 
         return false;
@@ -204,18 +263,26 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
     @Override
     public void neighborChanged(Block blockIn, BlockPos fromPos) {
 
+        neighborCaps.invalidate(fromPos);
+
         if (world != null && redstoneControl.isControllable()) {
             redstoneControl.setPower(world.getRedstonePowerFromNeighbors(pos));
             TileRedstonePacket.sendToClient(this);
         }
     }
 
+    @Override
+    public void onNeighborChange(BlockPos neighbor) {
+
+        neighborCaps.invalidate(neighbor);
+    }
+
     @Override
     public void onPlacedBy(World worldIn, BlockPos pos, BlockState state, @Nullable LivingEntity placer, ItemStack stack) {
 
         super.onPlacedBy(worldIn, pos, state, placer, stack);
 
-        enchantments = stack.getEnchantmentTagList();
+        setEnchantments(stack.getEnchantmentTagList());
 
         updateAugmentState();
         onControlUpdate();
@@ -427,7 +494,7 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
         super.getRedstonePacket(buffer);
 
-        buffer.writeInt(redstoneControl.getPower());
+        buffer.writeVarInt(redstoneControl.getPower());
 
         return buffer;
     }
@@ -437,7 +504,7 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
         super.getStatePacket(buffer);
 
-        buffer.writeBoolean(isActive);
+        buffer.writeBoolean(visibleActive);
         buffer.writeFluidStack(renderFluid);
 
         return buffer;
@@ -474,7 +541,7 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
         super.handleRedstonePacket(buffer);
 
-        redstoneControl.setPower(buffer.readInt());
+        redstoneControl.setPower(buffer.readVarInt());
     }
 
     @Override
@@ -495,10 +562,13 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
         isActive = nbt.getBoolean(TAG_ACTIVE);
         wasActive = nbt.getBoolean(TAG_ACTIVE_TRACK);
+        visibleActive = state.hasProperty(ACTIVE) ? state.get(ACTIVE) : isActive;
+        saveTime = nbt.contains(TAG_SAVE_TIME) ? nbt.getLong(TAG_SAVE_TIME) : -1;
 
-        enchantments = nbt.getList(TAG_ENCHANTMENTS, 10);
+        setEnchantments(nbt.getList(TAG_ENCHANTMENTS, 10));
 
         inventory.read(nbt);
+        inventoryTag.invalidate();
 
         if (nbt.contains(TAG_AUGMENTS)) {
             inventory.readSlotsUnordered(nbt.getList(TAG_AUGMENTS, TAG_COMPOUND), invSize() - augSize());
@@ -506,6 +576,7 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
         updateAugmentState();
 
         tankInv.read(nbt);
+        tankTag.invalidate();
         energyStorage.read(nbt);
 
         securityControl.read(nbt);
@@ -521,11 +592,15 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
         nbt.putBoolean(TAG_ACTIVE, isActive);
         nbt.putBoolean(TAG_ACTIVE_TRACK, wasActive);
+        if (world != null) {
+            nbt.putLong(TAG_SAVE_TIME, world.getGameTime());
+        }
 
         nbt.put(TAG_ENCHANTMENTS, enchantments);
 
-        inventory.write(nbt);
-        tankInv.write(nbt);
+        // Stack serialization dominates the cost of a save; only redo it when the contents have changed.
+        inventoryTag.write(nbt, inventory.getVersion(), inventory::write);
+        tankTag.write(nbt, tankInv.getVersion(), tankInv::write);
         getEnergyStorage().write(nbt);
 
         securityControl.write(nbt);
@@ -544,6 +619,8 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
     protected float energyXferMod = 1.0F;
     protected float fluidStorageMod = 1.0F;
 
+    protected AugmentProfile augmentProfile = AugmentProfile.EMPTY;
+
     /**
      * This should be called AFTER all other slots have been added.
      * Augment slots are added to the INTERNAL inventory category.
@@ -562,16 +639,11 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
 
     protected void updateAugmentState() {
 
+        augmentProfile = AugmentProfile.of(augments);
+        augmentTypes.addAll(augmentProfile.getTypes());
+
         resetAttributes();
-        for (ItemStorageCoFH slot : augments) {
-            ItemStack augment = slot.getItemStack();
-            CompoundNBT augmentData = AugmentDataHelper.getAugmentData(augment);
-            if (augmentData == null) {
-                continue;
-            }
-            augmentTypes.add(AugmentDataHelper.getAugmentType(augment));
-            setAttributesFromAugment(augmentData);
-        }
+        setAttributesFromAugments(augmentProfile);
         finalizeAttributes();
     }
 
@@ -583,12 +655,12 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
         fluidStorageMod = 1.0F;
     }
 
-    protected void setAttributesFromAugment(CompoundNBT augmentData) {
+    protected void setAttributesFromAugments(AugmentProfile profile) {
 
-        baseMod = Math.max(getAttributeMod(augmentData, TAG_AUGMENT_BASE_MOD), baseMod);
-        energyStorageMod = Math.max(getAttributeMod(augmentData, TAG_AUGMENT_ENERGY_STORAGE), energyStorageMod);
-        energyXferMod = Math.max(getAttributeMod(augmentData, TAG_AUGMENT_ENERGY_XFER), energyXferMod);
-        fluidStorageMod = Math.max(getAttributeMod(augmentData, TAG_AUGMENT_FLUID_STORAGE), fluidStorageMod);
+        baseMod = Math.max(profile.getMax(TAG_AUGMENT_BASE_MOD), baseMod);
+        energyStorageMod = Math.max(profile.getMax(TAG_AUGMENT_ENERGY_STORAGE), energyStorageMod);
+        energyXferMod = Math.max(profile.getMax(TAG_AUGMENT_ENERGY_XFER), energyXferMod);
+        fluidStorageMod = Math.max(profile.getMax(TAG_AUGMENT_FLUID_STORAGE), fluidStorageMod);
     }
 
     protected void finalizeAttributes() {
@@ -596,10 +668,7 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
         float scaleMin = AUG_SCALE_MIN;
         float scaleMax = AUG_SCALE_MAX;
 
-        Map<Enchantment, Integer> encMap = EnchantmentHelper.deserializeEnchantments(enchantments);
-
-        int holding = encMap.getOrDefault(HOLDING, 0);
-        float holdingMod = 1 + holding / 2F;
+        float holdingMod = 1 + holdingLevel / 2F;
 
         energyStorageMod = holdingMod * MathHelper.clamp(energyStorageMod, scaleMin, scaleMax);
         energyXferMod = MathHelper.clamp(energyXferMod, scaleMin, scaleMax);
@@ -626,14 +695,10 @@ public abstract class ThermalTileBase extends TileCoFH implements ISecurableTile
         return fluidStorageMod * baseMod;
     }
 
-    protected float getAttributeMod(CompoundNBT augmentData, String key) {
-
-        return augmentData.getFloat(key);
-    }
-
-    protected float getAttributeModWithDefault(CompoundNBT augmentData, String key, float defaultValue) {
+    protected void setEnchantments(ListNBT enchantments) {
 
-        return augmentData.contains(key) ? augmentData.getFloat(key) : defaultValue;
+        this.enchantments = enchantments;
+        this.holdingLevel = EnchantmentHelper.deserializeEnchantments(enchantments).getOrDefault(HOLDING, 0);
     }
     // endregion
 
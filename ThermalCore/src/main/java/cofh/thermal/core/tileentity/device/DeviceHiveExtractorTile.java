@@ -74,6 +74,12 @@ public class DeviceHiveExtractorTile extends ThermalTileBase {
         }
     }
 
+    @Override
+    protected int getActiveStateDelay() {
+
+        return 0;
+    }
+
     protected void updateActiveState() {
 
         boolean curActive = isActive;
@@ -110,6 +110,12 @@ public class DeviceRockGenTile extends ThermalTileBase {
         }
     }
 
+    @Override
+    protected int getActiveStateDelay() {
+
+        return 0;
+    }
+
     protected void updateActiveState() {
 
         boolean curActive = isActive;
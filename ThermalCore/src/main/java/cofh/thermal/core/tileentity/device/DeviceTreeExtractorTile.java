@@ -3,6 +3,7 @@ package cofh.thermal.core.tileentity.device;
 import cofh.core.fluid.FluidStorageCoFH;
 import cofh.core.inventory.ItemStorageCoFH;
 import cofh.core.network.packet.client.TileStatePacket;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.Utils;
 import cofh.core.util.helpers.MathHelper;
 import cofh.thermal.core.inventory.container.device.DeviceTreeExtractorContainer;
@@ -180,34 +181,39 @@ public class DeviceTreeExtractorTile extends ThermalTileBase implements ITickabl
     @Override
     public void tick() {
 
-        if (!timeCheckOffset()) {
-            return;
-        }
-        Fluid curFluid = renderFluid.getFluid();
-
-        if (isActive) {
-            if (valid) {
-                if (boostCycles > 0) {
-                    --boostCycles;
-                } else if (!inputSlot.isEmpty()) {
-                    boostMult = TreeExtractorManager.instance().getBoostMultiplier(inputSlot.getItemStack());
-                    boostCycles = TreeExtractorManager.instance().getBoostCycles(inputSlot.getItemStack());
-                    inputSlot.consume(1);
-                } else {
-                    boostMult = 1.0F;
-                    boostCycles = 0;
+        long profile = TickProfiler.start();
+        try {
+            if (!timeCheckOffset()) {
+                return;
+            }
+            Fluid curFluid = renderFluid.getFluid();
+
+            if (isActive) {
+                if (valid) {
+                    if (boostCycles > 0) {
+                        --boostCycles;
+                    } else if (!inputSlot.isEmpty()) {
+                        boostMult = TreeExtractorManager.instance().getBoostMultiplier(inputSlot.getItemStack());
+                        boostCycles = TreeExtractorManager.instance().getBoostCycles(inputSlot.getItemStack());
+                        inputSlot.consume(1);
+                    } else {
+                        boostMult = 1.0F;
+                        boostCycles = 0;
+                    }
+                    outputTank.fill(new FluidStack(renderFluid, (int) (renderFluid.getAmount() * baseMod * boostMult)), EXECUTE);
+                    updateValidity();
                 }
-                outputTank.fill(new FluidStack(renderFluid, (int) (renderFluid.getAmount() * baseMod * boostMult)), EXECUTE);
+            }
+            if (!cached) {
                 updateValidity();
             }
+            if (curFluid != renderFluid.getFluid()) {
+                TileStatePacket.sendToClient(this);
+            }
+            updateActiveState();
+        } finally {
+            TickProfiler.end(this, profile);
         }
-        if (!cached) {
-            updateValidity();
-        }
-        if (curFluid != renderFluid.getFluid()) {
-            TileStatePacket.sendToClient(this);
-        }
-        updateActiveState();
     }
 
     @Override
@@ -2,6 +2,7 @@ package cofh.thermal.core.tileentity.device;
 
 import cofh.core.fluid.FluidStorageCoFH;
 import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.helpers.FluidHelper;
 import cofh.thermal.core.inventory.container.device.DeviceWaterGenContainer;
 import cofh.thermal.core.tileentity.ThermalTileBase;
@@ -87,6 +88,12 @@ public class DeviceWaterGenTile extends ThermalTileBase implements ITickableTile
         }
     }
 
+    @Override
+    protected int getActiveStateDelay() {
+
+        return 0;
+    }
+
     protected void updateActiveState() {
 
         boolean curActive = isActive;
@@ -112,9 +119,14 @@ public class DeviceWaterGenTile extends ThermalTileBase implements ITickableTile
     @Override
     public void tick() {
 
-        if (isActive) {
-            tank.modify((int) (GENERATION_RATE * baseMod));
-            fillFluid();
+        long profile = TickProfiler.start();
+        try {
+            if (isActive) {
+                tank.modify((int) (GENERATION_RATE * baseMod));
+                fillFluid();
+            }
+        } finally {
+            TickProfiler.end(this, profile);
         }
     }
 
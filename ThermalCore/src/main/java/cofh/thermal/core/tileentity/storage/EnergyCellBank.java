@@ -0,0 +1,137 @@
+package cofh.thermal.core.tileentity.storage;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static cofh.core.tileentity.TileCoFH.TIME_CONSTANT;
+
+/**
+ * A set of linked energy cells which pool their energy and tick as one.
+ * <p>
+ * Energy is pooled at the start of the bank's tick, pushed out through every output side that faces something other
+ * than a member, and then written back to the members in proportion to their capacity. Energy is never passed from
+ * one member to another directly, and the members themselves do not tick. Each cell always holds its own share, so
+ * nothing needs to be written back when the bank is saved, split or rebuilt.
+ */
+public class EnergyCellBank {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    protected final Long2ObjectOpenHashMap<EnergyCellTile> cells = new Long2ObjectOpenHashMap<>();
+    protected final List<EnergyCellTile> outputCells = new ArrayList<>();
+    protected final List<Direction> outputSides = new ArrayList<>();
+
+    protected int offset;
+
+    public int size() {
+
+        return cells.size();
+    }
+
+    public boolean contains(long pos) {
+
+        return cells.containsKey(pos);
+    }
+
+    public void tick(long gameTime) {
+
+        long pool = 0;
+        long capacity = 0;
+        for (EnergyCellTile cell : cells.values()) {
+            pool += cell.getEnergyStorage().getEnergyStored();
+            capacity += cell.getEnergyStorage().getMaxEnergyStored();
+        }
+        if (pool > 0 && !outputCells.isEmpty()) {
+            pool -= transferOut(pool);
+        }
+        distribute(pool, capacity);
+
+        if (gameTime % TIME_CONSTANT == 0) {
+            for (EnergyCellTile cell : cells.values()) {
+                cell.updateTrackers(true);
+            }
+        }
+    }
+
+    // region HELPERS
+    void addCell(EnergyCellTile cell) {
+
+        cells.put(cell.getPos().toLong(), cell);
+        cell.setBank(this);
+    }
+
+    void removeCell(long pos) {
+
+        cells.remove(pos);
+    }
+
+    /**
+     * Called once every member has been added; finds the output sides which face outside of the bank.
+     */
+    void buildOutputs() {
+
+        outputCells.clear();
+        outputSides.clear();
+        for (EnergyCellTile cell : cells.values()) {
+            for (Direction side : DIRECTIONS) {
+                if (cell.reconfigControl().getSideConfig(side.ordinal()).isOutput() && !contains(BlockPos.offset(cell.getPos().toLong(), side))) {
+                    outputCells.add(cell);
+                    outputSides.add(side);
+                }
+            }
+        }
+    }
+
+    protected long transferOut(long pool) {
+
+        long sent = 0;
+        int size = outputCells.size();
+        offset = (offset + 1) % size;
+        for (int i = 0; i < size && sent < pool; ++i) {
+            int index = (offset + i) % size;
+            EnergyCellTile cell = outputCells.get(index);
+            if (cell.amountOutput <= 0 || !cell.redstoneControl().getState()) {
+                continue;
+            }
+            sent += cell.transferOut(outputSides.get(index), (int) Math.min(cell.amountOutput, pool - sent));
+        }
+        return sent;
+    }
+
+    /**
+     * Writes the pool back to the members, in proportion to their capacity. Rounding leftovers go to whichever members
+     * still have room.
+     */
+    protected void distribute(long pool, long capacity) {
+
+        if (capacity <= 0) {
+            return;
+        }
+        double ratio = Math.min(1.0D, (double) pool / capacity);
+        long remaining = pool;
+        for (EnergyCellTile cell : cells.values()) {
+            int share = (int) (cell.getEnergyStorage().getMaxEnergyStored() * ratio);
+            cell.getEnergyStorage().setEnergyStored(share);
+            remaining -= share;
+        }
+        if (remaining <= 0) {
+            return;
+        }
+        for (EnergyCellTile cell : cells.values()) {
+            int stored = cell.getEnergyStorage().getEnergyStored();
+            int extra = (int) Math.min(remaining, cell.getEnergyStorage().getMaxEnergyStored() - stored);
+            if (extra > 0) {
+                cell.getEnergyStorage().setEnergyStored(stored + extra);
+                remaining -= extra;
+                if (remaining <= 0) {
+                    return;
+                }
+            }
+        }
+    }
+    // endregion
+}
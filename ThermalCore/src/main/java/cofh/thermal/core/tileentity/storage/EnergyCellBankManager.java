@@ -0,0 +1,168 @@
+package cofh.thermal.core.tileentity.storage;
+
+import cofh.core.util.TickProfiler;
+import cofh.core.util.control.IReconfigurable.SideConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Groups the loaded energy cells of a world into banks.
+ * <p>
+ * Two face-adjacent cells are linked if energy could flow between them on their own, i.e. one of the two facing sides
+ * is an output and the other an input. Positions where a cell is added or removed or a cell's side configuration
+ * changes are marked dirty, and only the banks containing or bordering them are rebuilt; as every cell always holds its
+ * own share of the energy, rebuilding never moves energy.
+ */
+public class EnergyCellBankManager {
+
+    private static final Map<World, EnergyCellBankManager> MANAGERS = new WeakHashMap<>();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    protected final World world;
+    protected final Long2ObjectOpenHashMap<EnergyCellTile> cells = new Long2ObjectOpenHashMap<>();
+    protected final List<EnergyCellBank> banks = new ArrayList<>();
+    protected final LongSet dirty = new LongOpenHashSet();
+
+    protected EnergyCellBankManager(World world) {
+
+        this.world = world;
+    }
+
+    public static EnergyCellBankManager get(World world) {
+
+        return MANAGERS.computeIfAbsent(world, EnergyCellBankManager::new);
+    }
+
+    public static void tick(World world) {
+
+        EnergyCellBankManager manager = MANAGERS.get(world);
+        if (manager == null) {
+            return;
+        }
+        if (!manager.dirty.isEmpty()) {
+            manager.rebuild();
+        }
+        long gameTime = world.getGameTime();
+        for (EnergyCellBank bank : manager.banks) {
+            // Member cells do not tick themselves, so the bank's time is charged to them.
+            long profile = TickProfiler.start();
+            bank.tick(gameTime);
+            TickProfiler.endShared(bank.cells.values(), profile);
+        }
+    }
+
+    public static void clear(World world) {
+
+        MANAGERS.remove(world);
+    }
+
+    public void addCell(EnergyCellTile cell) {
+
+        cells.put(cell.getPos().toLong(), cell);
+        dirty.add(cell.getPos().toLong());
+    }
+
+    public void removeCell(EnergyCellTile cell) {
+
+        long pos = cell.getPos().toLong();
+        if (cells.remove(pos, cell)) {
+            if (cell.getBank() != null) {
+                cell.getBank().removeCell(pos);
+                cell.setBank(null);
+            }
+            dirty.add(pos);
+        }
+    }
+
+    /**
+     * Called when a cell's side configuration changes, which can link it to or unlink it from its neighbors.
+     */
+    public void markDirty(EnergyCellTile cell) {
+
+        dirty.add(cell.getPos().toLong());
+    }
+
+    // region HELPERS
+
+    /**
+     * Breaks up every bank which contains or borders a dirty position, and regroups the cells that were in them along
+     * with any new cells. Links only change next to a dirty position, so all other banks stay as they are.
+     */
+    protected void rebuild() {
+
+        Set<EnergyCellBank> affected = new ReferenceOpenHashSet<>();
+        LongSet starts = new LongOpenHashSet();
+        for (long dirtyPos : dirty) {
+            collect(dirtyPos, affected, starts);
+            for (Direction side : DIRECTIONS) {
+                collect(BlockPos.offset(dirtyPos, side), affected, starts);
+            }
+        }
+        // Banks emptied by removed cells are dropped along with the affected ones.
+        banks.removeIf(bank -> bank.size() <= 0 || affected.contains(bank));
+        for (EnergyCellBank bank : affected) {
+            for (EnergyCellTile cell : bank.cells.values()) {
+                cell.setBank(null);
+                starts.add(cell.getPos().toLong());
+            }
+        }
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        for (long startPos : starts) {
+            EnergyCellTile start = cells.get(startPos);
+            if (start.getBank() != null) {
+                continue;
+            }
+            EnergyCellBank bank = new EnergyCellBank();
+            bank.addCell(start);
+            queue.enqueue(start.getPos().toLong());
+
+            while (!queue.isEmpty()) {
+                long pos = queue.dequeueLong();
+                EnergyCellTile cell = cells.get(pos);
+                for (Direction side : DIRECTIONS) {
+                    EnergyCellTile adjCell = cells.get(BlockPos.offset(pos, side));
+                    if (adjCell != null && adjCell.getBank() == null && linked(cell, adjCell, side)) {
+                        bank.addCell(adjCell);
+                        queue.enqueue(adjCell.getPos().toLong());
+                    }
+                }
+            }
+            bank.buildOutputs();
+            banks.add(bank);
+        }
+        dirty.clear();
+    }
+
+    protected void collect(long pos, Set<EnergyCellBank> affected, LongSet starts) {
+
+        EnergyCellTile cell = cells.get(pos);
+        if (cell == null) {
+            return;
+        }
+        if (cell.getBank() != null) {
+            affected.add(cell.getBank());
+        } else {
+            starts.add(pos);
+        }
+    }
+
+    protected static boolean linked(EnergyCellTile cell, EnergyCellTile adjCell, Direction side) {
+
+        SideConfig config = cell.reconfigControl().getSideConfig(side.ordinal());
+        SideConfig adjConfig = adjCell.reconfigControl().getSideConfig(side.getOpposite().ordinal());
+        return config.isOutput() && adjConfig.isInput() || config.isInput() && adjConfig.isOutput();
+    }
+    // endregion
+}
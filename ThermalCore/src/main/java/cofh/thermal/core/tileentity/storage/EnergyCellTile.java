@@ -3,19 +3,20 @@ package cofh.thermal.core.tileentity.storage;
 import cofh.core.energy.EmptyEnergyHandler;
 import cofh.core.energy.EnergyStorageAdjustable;
 import cofh.core.network.packet.client.TileStatePacket;
-import cofh.core.util.helpers.BlockHelper;
+import cofh.core.util.TickProfiler;
+import cofh.core.util.TileTickScheduler;
+import cofh.core.util.Utils;
 import cofh.thermal.core.inventory.container.storage.EnergyCellContainer;
 import cofh.thermal.core.tileentity.CellTileBase;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.tileentity.ITickableTileEntity;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraftforge.client.model.data.IModelData;
 import net.minecraftforge.client.model.data.ModelDataMap;
 import net.minecraftforge.common.util.LazyOptional;
-import net.minecraftforge.energy.CapabilityEnergy;
+import net.minecraftforge.energy.IEnergyStorage;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -30,6 +31,8 @@ public class EnergyCellTile extends CellTileBase implements ITickableTileEntity
     public static final int BASE_RECV = 1000;
     public static final int BASE_SEND = 1000;
 
+    protected EnergyCellBank bank;
+
     public EnergyCellTile() {
 
         super(ENERGY_CELL_TILE);
@@ -53,13 +56,49 @@ public class EnergyCellTile extends CellTileBase implements ITickableTileEntity
     //    }
 
     @Override
-    public void tick() {
+    public void onLoad() {
+
+        super.onLoad();
 
-        if (redstoneControl.getState()) {
-            transferRF();
+        if (world != null && Utils.isServerWorld(world)) {
+            EnergyCellBankManager.get(world).addCell(this);
         }
-        if (timeCheck()) {
-            updateTrackers(true);
+    }
+
+    @Override
+    public void remove() {
+
+        super.remove();
+
+        leaveBank();
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+
+        super.onChunkUnloaded();
+
+        leaveBank();
+    }
+
+    @Override
+    public void tick() {
+
+        long profile = TickProfiler.start();
+        try {
+            // Banked cells are ticked by their bank.
+            if (bank != null) {
+                TileTickScheduler.sleep(this);
+                return;
+            }
+            if (redstoneControl.getState()) {
+                transferRF();
+            }
+            if (timeCheck()) {
+                updateTrackers(true);
+            }
+        } finally {
+            TickProfiler.end(this, profile);
         }
     }
 
@@ -90,15 +129,43 @@ public class EnergyCellTile extends CellTileBase implements ITickableTileEntity
 
     protected void attemptTransferRF(Direction side) {
 
-        TileEntity adjTile = BlockHelper.getAdjacentTileEntity(this, side);
-        if (adjTile != null) {
-            Direction opposite = side.getOpposite();
+        IEnergyStorage handler = neighborCaps.getEnergyStorage(side);
+        if (handler != null) {
             int maxTransfer = Math.min(amountOutput, energyStorage.getEnergyStored());
-            adjTile.getCapability(CapabilityEnergy.ENERGY, opposite)
-                    .ifPresent(e -> energyStorage.modify(-e.receiveEnergy(maxTransfer, false)));
+            energyStorage.modify(-handler.receiveEnergy(maxTransfer, false));
         }
     }
 
+    // region BANK
+    EnergyCellBank getBank() {
+
+        return bank;
+    }
+
+    void setBank(EnergyCellBank bank) {
+
+        this.bank = bank;
+    }
+
+    /**
+     * Pushes energy from the bank out through one side of this cell.
+     *
+     * @return The amount of energy the neighbor accepted.
+     */
+    int transferOut(Direction side, int maxTransfer) {
+
+        IEnergyStorage handler = neighborCaps.getEnergyStorage(side);
+        return handler == null ? 0 : handler.receiveEnergy(maxTransfer, false);
+    }
+
+    protected void leaveBank() {
+
+        if (world != null && Utils.isServerWorld(world)) {
+            EnergyCellBankManager.get(world).removeCell(this);
+        }
+    }
+    // endregion
+
     @Override
     protected boolean keepEnergy() {
 
@@ -156,6 +223,18 @@ public class EnergyCellTile extends CellTileBase implements ITickableTileEntity
         }
     }
 
+    // region ITileCallback
+    @Override
+    public void onControlUpdate() {
+
+        super.onControlUpdate();
+
+        if (world != null && Utils.isServerWorld(world)) {
+            EnergyCellBankManager.get(world).markDirty(this);
+        }
+    }
+    // endregion
+
     // region CAPABILITIES
     @Override
     protected void updateHandlers() {
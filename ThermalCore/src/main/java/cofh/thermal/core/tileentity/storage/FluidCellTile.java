@@ -4,7 +4,7 @@ import cofh.core.fluid.FluidStorageAdjustable;
 import cofh.core.fluid.FluidStorageCoFH;
 import cofh.core.network.packet.client.TileStatePacket;
 import cofh.core.util.StorageGroup;
-import cofh.core.util.helpers.BlockHelper;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.helpers.FluidHelper;
 import cofh.thermal.core.inventory.container.storage.FluidCellContainer;
 import cofh.thermal.core.tileentity.CellTileBase;
@@ -12,13 +12,12 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.tileentity.ITickableTileEntity;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.Direction;
 import net.minecraftforge.client.model.data.IModelData;
 import net.minecraftforge.client.model.data.ModelDataMap;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fluids.capability.templates.EmptyFluidHandler;
 
 import javax.annotation.Nonnull;
@@ -62,11 +61,16 @@ public class FluidCellTile extends CellTileBase implements ITickableTileEntity {
     @Override
     public void tick() {
 
-        if (redstoneControl.getState()) {
-            transferFluid();
-        }
-        if (timeCheck() || fluidStorage.getFluidStack() != renderFluid) {
-            updateTrackers(true);
+        long profile = TickProfiler.start();
+        try {
+            if (redstoneControl.getState()) {
+                transferFluid();
+            }
+            if (timeCheck() || fluidStorage.getFluidStack() != renderFluid) {
+                updateTrackers(true);
+            }
+        } finally {
+            TickProfiler.end(this, profile);
         }
     }
 
@@ -97,12 +101,10 @@ public class FluidCellTile extends CellTileBase implements ITickableTileEntity {
 
     protected void attemptTransferFluid(Direction side) {
 
-        TileEntity adjTile = BlockHelper.getAdjacentTileEntity(this, side);
-        if (adjTile != null) {
-            Direction opposite = side.getOpposite();
+        IFluidHandler handler = neighborCaps.getFluidHandler(side);
+        if (handler != null) {
             int maxTransfer = Math.min(amountOutput, fluidStorage.getAmount());
-            adjTile.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, opposite)
-                    .ifPresent(e -> fluidStorage.modify(-e.fill(new FluidStack(fluidStorage.getFluidStack(), maxTransfer), EXECUTE)));
+            fluidStorage.modify(-handler.fill(new FluidStack(fluidStorage.getFluidStack(), maxTransfer), EXECUTE));
         }
     }
 
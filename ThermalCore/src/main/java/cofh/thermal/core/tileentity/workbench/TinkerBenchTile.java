@@ -95,6 +95,14 @@ public class TinkerBenchTile extends ThermalTileBase implements ITickableTileEnt
         this.pause = pause;
     }
 
+    /**
+     * The tinker stack is modified in place when augments are written to it, which the inventory cannot see.
+     */
+    public void markTinkerChanged() {
+
+        tinkerSlot.markChanged();
+    }
+
     public boolean allowAugmentation() {
 
         return mode == AUGMENT;
@@ -111,10 +119,12 @@ public class TinkerBenchTile extends ThermalTileBase implements ITickableTileEnt
         if (!chargeSlot.isEmpty()) {
             int maxTransfer = Math.min(energyStorage.getMaxReceive(), energyStorage.getSpace());
             chargeSlot.getItemStack().getCapability(CapabilityEnergy.ENERGY, null).ifPresent(c -> energyStorage.receiveEnergy(c.extractEnergy(maxTransfer, false), false));
+            chargeSlot.markChanged();
         }
         if (!tinkerSlot.isEmpty() && mode == REPLENISH && !pause) {
             int maxTransfer = Math.min(energyStorage.getMaxExtract(), energyStorage.getEnergyStored());
             tinkerSlot.getItemStack().getCapability(CapabilityEnergy.ENERGY, null).ifPresent(c -> energyStorage.extractEnergy(c.receiveEnergy(maxTransfer, false), false));
+            tinkerSlot.markChanged();
         }
     }
 
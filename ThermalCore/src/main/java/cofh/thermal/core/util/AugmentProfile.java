@@ -0,0 +1,113 @@
+package cofh.thermal.core.util;
+
+import cofh.core.inventory.IItemStackAccess;
+import cofh.core.util.helpers.AugmentDataHelper;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.NumberNBT;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cofh.core.util.constants.NBTTags.TAG_TYPE;
+
+/**
+ * The combined attributes of a set of augments.
+ * <p>
+ * Every numeric attribute is folded three ways - sum, product and maximum - so that tiles can combine it however they
+ * need to without reading the augments again. Profiles are immutable and interned by the augment data they were built
+ * from, regardless of slot order, so identical machines share a single profile.
+ */
+public final class AugmentProfile {
+
+    public static final AugmentProfile EMPTY = new AugmentProfile(Collections.emptyList());
+
+    private static final int MAX_CACHED = 1024;
+    private static final Map<List<CompoundNBT>, AugmentProfile> CACHE = new ConcurrentHashMap<>();
+
+    private final Object2FloatMap<String> sums = new Object2FloatOpenHashMap<>();
+    private final Object2FloatMap<String> products = new Object2FloatOpenHashMap<>();
+    private final Object2FloatMap<String> maxima = new Object2FloatOpenHashMap<>();
+    private final Set<String> types = new ObjectOpenHashSet<>();
+
+    private AugmentProfile(List<CompoundNBT> augments) {
+
+        products.defaultReturnValue(1.0F);
+        for (CompoundNBT augmentData : augments) {
+            types.add(augmentData.getString(TAG_TYPE));
+            for (String key : augmentData.keySet()) {
+                INBT tag = augmentData.get(key);
+                if (!(tag instanceof NumberNBT)) {
+                    continue;
+                }
+                float value = ((NumberNBT) tag).getFloat();
+                sums.put(key, sums.getFloat(key) + value);
+                products.put(key, products.getFloat(key) * value);
+                maxima.put(key, maxima.containsKey(key) ? Math.max(maxima.getFloat(key), value) : value);
+            }
+        }
+    }
+
+    public static AugmentProfile of(List<? extends IItemStackAccess> slots) {
+
+        List<CompoundNBT> augments = new ArrayList<>(slots.size());
+        for (IItemStackAccess slot : slots) {
+            CompoundNBT augmentData = AugmentDataHelper.getAugmentData(slot.getItemStack());
+            if (augmentData != null) {
+                augments.add(augmentData);
+            }
+        }
+        if (augments.isEmpty()) {
+            return EMPTY;
+        }
+        // Any consistent order will do; equal sets whose hashes collide merely miss the cache.
+        augments.sort(Comparator.comparingInt(CompoundNBT::hashCode));
+
+        AugmentProfile profile = CACHE.get(augments);
+        if (profile == null) {
+            List<CompoundNBT> key = new ArrayList<>(augments.size());
+            for (CompoundNBT augmentData : augments) {
+                key.add(augmentData.copy());
+            }
+            profile = new AugmentProfile(key);
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            CACHE.put(key, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Sum of the attribute over all augments; 0 if none have it.
+     */
+    public float getSum(String key) {
+
+        return sums.getFloat(key);
+    }
+
+    /**
+     * Product of the attribute over all augments which have it; 1 if none do.
+     */
+    public float getProduct(String key) {
+
+        return products.getFloat(key);
+    }
+
+    /**
+     * Largest value of the attribute over all augments which have it; 0 if none do.
+     */
+    public float getMax(String key) {
+
+        return maxima.getFloat(key);
+    }
+
+    public Set<String> getTypes() {
+
+        return Collections.unmodifiableSet(types);
+    }
+
+}
@@ -2,12 +2,14 @@ package cofh.thermal.core.util.managers;
 
 import cofh.core.util.ComparableItemStack;
 import cofh.core.util.ComparableItemStackNBT;
+import cofh.thermal.core.common.ThermalRecipeManagers;
 import net.minecraft.item.ItemStack;
 
 public abstract class AbstractManager implements IManager {
 
     protected int defaultEnergy;
     protected float defaultScale = 1.0F;
+    protected int tableSlot = -1;
 
     protected AbstractManager(int defaultEnergy) {
 
@@ -40,6 +42,22 @@ public abstract class AbstractManager implements IManager {
         return new ComparableItemStackNBT(stack);
     }
 
+    /**
+     * The published tables of this manager. Callers reading several tables should fetch them once, as a later call may
+     * already return the next set.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T liveTables() {
+
+        return (T) ThermalRecipeManagers.getTables(tableSlot);
+    }
+
+    @Override
+    public void setTableSlot(int slot) {
+
+        this.tableSlot = slot;
+    }
+
     public int getDefaultEnergy() {
 
         return defaultEnergy;
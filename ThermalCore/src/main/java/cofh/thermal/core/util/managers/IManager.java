@@ -6,6 +6,21 @@ public interface IManager {
 
     void config();
 
+    /**
+     * Builds a fresh set of staging tables. This may run off the main thread while the live tables keep serving lookups,
+     * so it must never write to the live tables.
+     */
     void refresh(RecipeManager recipeManager);
 
+    /**
+     * The tables built by the last {@link #refresh(RecipeManager)}. These are published along with those of every other
+     * manager, and are not written to by the build once handed over.
+     */
+    Object getStagedTables();
+
+    /**
+     * Index of this manager's tables in the published set; assigned on registration.
+     */
+    void setTableSlot(int slot);
+
 }
@@ -1,21 +1,17 @@
 package cofh.thermal.core.util.managers;
 
-import cofh.core.fluid.FluidStackHolder;
 import cofh.core.fluid.IFluidStackAccess;
 import cofh.core.inventory.IItemStackAccess;
-import cofh.core.util.helpers.FluidHelper;
+import cofh.core.util.FluidStackMap;
 import cofh.thermal.core.util.IThermalInventory;
 import cofh.thermal.core.util.recipes.ThermalFuel;
 import cofh.thermal.core.util.recipes.internal.BaseDynamoFuel;
 import cofh.thermal.core.util.recipes.internal.IDynamoFuel;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import static cofh.core.util.constants.Constants.BUCKET_VOLUME;
 
@@ -27,7 +23,7 @@ public abstract class SingleFluidFuelManager extends AbstractManager implements
     public static final int FLUID_FUEL_AMOUNT = 100;
     public static final int ENERGY_FACTOR = BUCKET_VOLUME / FLUID_FUEL_AMOUNT;
 
-    protected Map<Integer, IDynamoFuel> fuelMap = new Object2ObjectOpenHashMap<>();
+    protected Tables stagedTables = createTables();
 
     protected SingleFluidFuelManager(int defaultEnergy) {
 
@@ -46,12 +42,25 @@ public abstract class SingleFluidFuelManager extends AbstractManager implements
 
     protected void clear() {
 
-        fuelMap.clear();
+        stagedTables = createTables();
+    }
+
+    protected Tables createTables() {
+
+        return new Tables();
+    }
+
+    protected Tables tables() {
+
+        return liveTables();
     }
 
     protected IDynamoFuel getFuel(FluidStack input) {
 
-        return getFuel(Collections.emptyList(), Collections.singletonList(new FluidStackHolder(input)));
+        if (input.isEmpty()) {
+            return null;
+        }
+        return tables().fuelMap.get(input);
     }
 
     protected IDynamoFuel getFuel(List<? extends IItemStackAccess> inputSlots, List<? extends IFluidStackAccess> inputTanks) {
@@ -59,7 +68,7 @@ public abstract class SingleFluidFuelManager extends AbstractManager implements
         if (inputTanks.isEmpty() || inputTanks.get(0).isEmpty()) {
             return null;
         }
-        return fuelMap.get(FluidHelper.fluidHashcode(inputTanks.get(0).getFluidStack()));
+        return tables().fuelMap.get(inputTanks.get(0).getFluidStack());
     }
 
     public IDynamoFuel addFuel(int energy, List<ItemStack> inputItems, List<FluidStack> inputFluids) {
@@ -86,10 +95,18 @@ public abstract class SingleFluidFuelManager extends AbstractManager implements
         energy = (int) (energy * getDefaultScale());
 
         BaseDynamoFuel fuel = new BaseDynamoFuel(energy, inputItems, inputFluids);
-        fuelMap.put(FluidHelper.fluidHashcode(input), fuel);
+        stagedTables.fuelMap.put(input, fuel);
         return fuel;
     }
 
+    // region IManager
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+    // endregion
+
     // region IFuelManager
     @Override
     public IDynamoFuel getFuel(IThermalInventory inventory) {
@@ -100,7 +117,15 @@ public abstract class SingleFluidFuelManager extends AbstractManager implements
     @Override
     public List<IDynamoFuel> getFuelList() {
 
-        return new ArrayList<>(fuelMap.values());
+        return tables().fuelMap.values();
+    }
+    // endregion
+
+    // region TABLES
+    protected static class Tables {
+
+        protected final FluidStackMap<IDynamoFuel> fuelMap = new FluidStackMap<>();
+
     }
     // endregion
 }
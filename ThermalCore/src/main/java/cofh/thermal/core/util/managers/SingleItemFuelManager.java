@@ -2,27 +2,23 @@ package cofh.thermal.core.util.managers;
 
 import cofh.core.fluid.IFluidStackAccess;
 import cofh.core.inventory.IItemStackAccess;
-import cofh.core.inventory.ItemStackHolder;
-import cofh.core.util.ComparableItemStack;
+import cofh.core.util.ItemStackMap;
 import cofh.thermal.core.util.IThermalInventory;
 import cofh.thermal.core.util.recipes.ThermalFuel;
 import cofh.thermal.core.util.recipes.internal.BaseDynamoFuel;
 import cofh.thermal.core.util.recipes.internal.IDynamoFuel;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public abstract class SingleItemFuelManager extends AbstractManager implements IFuelManager {
 
     public static final int MIN_ENERGY = 1000;
     public static final int MAX_ENERGY = 20000000;
 
-    protected Map<ComparableItemStack, IDynamoFuel> fuelMap = new Object2ObjectOpenHashMap<>();
+    protected Tables stagedTables = createTables();
 
     protected SingleItemFuelManager(int defaultEnergy) {
 
@@ -43,12 +39,25 @@ public abstract class SingleItemFuelManager extends AbstractManager implements I
 
     protected void clear() {
 
-        fuelMap.clear();
+        stagedTables = createTables();
+    }
+
+    protected Tables createTables() {
+
+        return new Tables();
+    }
+
+    protected Tables tables() {
+
+        return liveTables();
     }
 
     protected IDynamoFuel getFuel(ItemStack input) {
 
-        return getFuel(Collections.singletonList(new ItemStackHolder(input)), Collections.emptyList());
+        if (input.isEmpty()) {
+            return null;
+        }
+        return tables().fuelMap.get(input);
     }
 
     protected IDynamoFuel getFuel(List<? extends IItemStackAccess> inputSlots, List<? extends IFluidStackAccess> inputTanks) {
@@ -56,7 +65,7 @@ public abstract class SingleItemFuelManager extends AbstractManager implements I
         if (inputSlots.isEmpty() || inputSlots.get(0).isEmpty()) {
             return null;
         }
-        return fuelMap.get(convert(inputSlots.get(0).getItemStack()));
+        return tables().fuelMap.get(inputSlots.get(0).getItemStack());
     }
 
     public IDynamoFuel addFuel(int energy, List<ItemStack> inputItems, List<FluidStack> inputFluids) {
@@ -74,10 +83,18 @@ public abstract class SingleItemFuelManager extends AbstractManager implements I
         energy = (int) (energy * getDefaultScale());
 
         BaseDynamoFuel fuel = new BaseDynamoFuel(energy, inputItems, inputFluids);
-        fuelMap.put(convert(input), fuel);
+        stagedTables.fuelMap.put(input, fuel);
         return fuel;
     }
 
+    // region IManager
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+    // endregion
+
     // region IFuelManager
     @Override
     public IDynamoFuel getFuel(IThermalInventory inventory) {
@@ -88,7 +105,15 @@ public abstract class SingleItemFuelManager extends AbstractManager implements I
     @Override
     public List<IDynamoFuel> getFuelList() {
 
-        return new ArrayList<>(fuelMap.values());
+        return tables().fuelMap.values();
+    }
+    // endregion
+
+    // region TABLES
+    protected static class Tables {
+
+        protected final ItemStackMap<IDynamoFuel> fuelMap = new ItemStackMap<>();
+
     }
     // endregion
 }
@@ -2,8 +2,7 @@ package cofh.thermal.core.util.managers;
 
 import cofh.core.fluid.IFluidStackAccess;
 import cofh.core.inventory.IItemStackAccess;
-import cofh.core.inventory.ItemStackHolder;
-import cofh.core.util.ComparableItemStack;
+import cofh.core.util.ItemStackMap;
 import cofh.thermal.core.util.IThermalInventory;
 import cofh.thermal.core.util.recipes.ThermalCatalyst;
 import cofh.thermal.core.util.recipes.ThermalRecipe;
@@ -11,21 +10,18 @@ import cofh.thermal.core.util.recipes.internal.BaseMachineCatalyst;
 import cofh.thermal.core.util.recipes.internal.IMachineRecipe;
 import cofh.thermal.core.util.recipes.internal.IRecipeCatalyst;
 import cofh.thermal.core.util.recipes.internal.SimpleMachineRecipe;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Simple recipe manager - single item key'd. Fluids NOT part of key.
  */
 public abstract class SingleItemRecipeManager extends AbstractManager implements IRecipeManager {
 
-    protected Map<ComparableItemStack, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
+    protected Tables stagedTables = createTables();
 
     protected int maxOutputItems;
     protected int maxOutputFluids;
@@ -51,12 +47,25 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
 
     protected void clear() {
 
-        recipeMap.clear();
+        stagedTables = createTables();
+    }
+
+    protected Tables createTables() {
+
+        return new Tables();
+    }
+
+    protected Tables tables() {
+
+        return liveTables();
     }
 
     protected IMachineRecipe getRecipe(ItemStack input) {
 
-        return getRecipe(Collections.singletonList(new ItemStackHolder(input)), Collections.emptyList());
+        if (input.isEmpty()) {
+            return null;
+        }
+        return tables().recipeMap.get(input);
     }
 
     protected IMachineRecipe getRecipe(List<? extends IItemStackAccess> inputSlots, List<? extends IFluidStackAccess> inputTanks) {
@@ -64,7 +73,7 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
         if (inputSlots.isEmpty() || inputSlots.get(0).isEmpty()) {
             return null;
         }
-        return recipeMap.get(convert(inputSlots.get(0).getItemStack()));
+        return tables().recipeMap.get(inputSlots.get(0).getItemStack());
     }
 
     protected IMachineRecipe addRecipe(int energy, float experience, List<ItemStack> inputItems, List<FluidStack> inputFluids, List<ItemStack> outputItems, List<Float> chance, List<FluidStack> outputFluids) {
@@ -89,7 +98,7 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
         energy = (int) (energy * getDefaultScale());
 
         SimpleMachineRecipe recipe = new SimpleMachineRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(convert(input), recipe);
+        stagedTables.recipeMap.put(input, recipe);
         return recipe;
     }
 
@@ -108,6 +117,14 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
     //        return addRecipe(energy, experience, Collections.singletonList(input), Collections.emptyList(), output, chance, Collections.emptyList());
     //    }
 
+    // region IManager
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+    // endregion
+
     // region IRecipeManager
     @Override
     public IMachineRecipe getRecipe(IThermalInventory inventory) {
@@ -118,42 +135,44 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return tables().recipeMap.values();
+    }
+    // endregion
+
+    // region TABLES
+    /**
+     * Everything a refresh builds; published as a whole. Catalysts are only used by {@link Catalyzed} managers.
+     */
+    protected static class Tables {
+
+        protected final ItemStackMap<IMachineRecipe> recipeMap = new ItemStackMap<>();
+        protected final ItemStackMap<IRecipeCatalyst> catalystMap = new ItemStackMap<>();
+
     }
     // endregion
 
     // region CATALYZED CLASS
     public static abstract class Catalyzed extends SingleItemRecipeManager {
 
-        protected Map<ComparableItemStack, IRecipeCatalyst> catalystMap = new Object2ObjectOpenHashMap<>();
-
         protected Catalyzed(int defaultEnergy, int maxOutputItems, int maxOutputFluids) {
 
             super(defaultEnergy, maxOutputItems, maxOutputFluids);
         }
 
-        protected void clear() {
-
-            super.clear();
-            catalystMap.clear();
-        }
-
         public List<ItemStack> getCatalysts() {
 
-            List<ItemStack> ret = new ArrayList<>(catalystMap.size());
-            catalystMap.keySet().forEach(stack -> ret.add(stack.toItemStack()));
-            return ret;
+            return tables().catalystMap.keys();
         }
 
         // region CATALYSTS
         public IRecipeCatalyst getCatalyst(IItemStackAccess input) {
 
-            return catalystMap.get(convert(input.getItemStack()));
+            return tables().catalystMap.get(input.getItemStack());
         }
 
         public IRecipeCatalyst getCatalyst(ItemStack input) {
 
-            return catalystMap.get(convert(input));
+            return tables().catalystMap.get(input);
         }
 
         public void addCatalyst(ThermalCatalyst catalyst) {
@@ -169,7 +188,7 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
                 return null;
             }
             BaseMachineCatalyst catalyst = new BaseMachineCatalyst(primaryMod, secondaryMod, energyMod, minChance, useChance);
-            catalystMap.put(convert(input), catalyst);
+            stagedTables.catalystMap.put(input, catalyst);
             return catalyst;
         }
 
@@ -180,7 +199,7 @@ public abstract class SingleItemRecipeManager extends AbstractManager implements
 
         public IRecipeCatalyst removeCatalyst(ItemStack input) {
 
-            return catalystMap.remove(convert(input));
+            return tables().catalystMap.remove(input);
         }
         // endregion
     }
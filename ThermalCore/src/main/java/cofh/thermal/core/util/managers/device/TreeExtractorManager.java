@@ -25,11 +25,7 @@ public class TreeExtractorManager extends AbstractManager {
 
     private static final TreeExtractorManager INSTANCE = new TreeExtractorManager();
 
-    protected Map<ComparableItemStack, FluidStack> itemMap = new Object2ObjectOpenHashMap<>();
-    protected Map<ComparableItemStack, Pair<Float, Integer>> boostMap = new Object2ObjectOpenHashMap<>();
-
-    protected IdentityHashMap<BlockState, FluidStack> trunkMap = new IdentityHashMap<>();
-    protected SetMultimap<BlockState, BlockState> leafMap = HashMultimap.create();
+    protected TreeExtractorTables stagedTables = new TreeExtractorTables();
 
     protected TreeExtractorManager() {
 
@@ -43,27 +39,29 @@ public class TreeExtractorManager extends AbstractManager {
 
     protected void clear() {
 
-        itemMap.clear();
-        boostMap.clear();
+        stagedTables = new TreeExtractorTables();
+    }
+
+    protected TreeExtractorTables tables() {
 
-        trunkMap.clear();
-        leafMap.clear();
+        return liveTables();
     }
 
     // region MAPPINGS
     public Set<BlockState> getMatchingLeaves(BlockState trunk) {
 
-        return leafMap.get(trunk);
+        return tables().leafMap.get(trunk);
     }
 
     public boolean validTrunk(BlockState state) {
 
-        return trunkMap.containsKey(state);
+        return tables().trunkMap.containsKey(state);
     }
 
     public FluidStack getFluid(BlockState trunk) {
 
-        return validTrunk(trunk) ? trunkMap.get(trunk) : FluidStack.EMPTY;
+        FluidStack fluid = tables().trunkMap.get(trunk);
+        return fluid != null ? fluid : FluidStack.EMPTY;
     }
 
     public boolean addTrunkMapping(BlockState trunk, FluidStack stack) {
@@ -71,7 +69,7 @@ public class TreeExtractorManager extends AbstractManager {
         if (stack.isEmpty() || trunk == null || trunk.getBlock() == Blocks.AIR) {
             return false;
         }
-        trunkMap.put(trunk, stack);
+        stagedTables.trunkMap.put(trunk, stack);
         return true;
     }
 
@@ -80,7 +78,7 @@ public class TreeExtractorManager extends AbstractManager {
         if (trunk == null || trunk.getBlock() == Blocks.AIR || leaf == null || leaf.getBlock() == Blocks.AIR) {
             return false;
         }
-        leafMap.put(trunk, leaf);
+        stagedTables.leafMap.put(trunk, leaf);
         return true;
     }
 
@@ -93,24 +91,26 @@ public class TreeExtractorManager extends AbstractManager {
     // region BOOSTS
     public boolean validBoost(ItemStack item) {
 
-        return boostMap.containsKey(convert(item));
+        return tables().boostMap.containsKey(convert(item));
     }
 
     public void addBoost(TreeExtractorBoost boost) {
 
         for (ItemStack ingredient : boost.getIngredient().getMatchingStacks()) {
-            boostMap.put(convert(ingredient), Pair.of(boost.getBoostMult(), boost.getBoostCycles()));
+            stagedTables.boostMap.put(convert(ingredient), Pair.of(boost.getBoostMult(), boost.getBoostCycles()));
         }
     }
 
     public float getBoostMultiplier(ItemStack item) {
 
-        return validBoost(item) ? boostMap.get(convert(item)).getLeft() : 1.0F;
+        Pair<Float, Integer> boost = tables().boostMap.get(convert(item));
+        return boost != null ? boost.getLeft() : 1.0F;
     }
 
     public int getBoostCycles(ItemStack item) {
 
-        return validBoost(item) ? boostMap.get(convert(item)).getRight() : 0;
+        Pair<Float, Integer> boost = tables().boostMap.get(convert(item));
+        return boost != null ? boost.getRight() : 0;
     }
     // endregion
 
@@ -120,6 +120,12 @@ public class TreeExtractorManager extends AbstractManager {
 
     }
 
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+
     @Override
     public void refresh(RecipeManager recipeManager) {
 
@@ -148,4 +154,16 @@ public class TreeExtractorManager extends AbstractManager {
         }
     }
     // endregion
+
+    // region TABLES
+    protected static class TreeExtractorTables {
+
+        protected final Map<ComparableItemStack, FluidStack> itemMap = new Object2ObjectOpenHashMap<>();
+        protected final Map<ComparableItemStack, Pair<Float, Integer>> boostMap = new Object2ObjectOpenHashMap<>();
+
+        protected final IdentityHashMap<BlockState, FluidStack> trunkMap = new IdentityHashMap<>();
+        protected final SetMultimap<BlockState, BlockState> leafMap = HashMultimap.create();
+
+    }
+    // endregion
 }
@@ -103,17 +103,23 @@ public class BaseMachineRecipe implements IMachineRecipe {
     @Override
     public List<Float> getOutputItemChances(IMachineInventory inventory) {
 
-        ArrayList<Float> modifiedChances = new ArrayList<>(outputItemChances);
-        for (int i = 0; i < modifiedChances.size(); ++i) {
-            if (modifiedChances.get(i) < 0.0F) {
-                modifiedChances.set(i, Math.abs(modifiedChances.get(i)));
-            } else {
-                modifiedChances.set(i, Math.max(modifiedChances.get(i) * (i == 0 ? inventory.getPrimaryMod() : inventory.getSecondaryMod()), inventory.getMinOutputChance()));
-            }
+        ArrayList<Float> modifiedChances = new ArrayList<>(outputItemChances.size());
+        for (int i = 0; i < outputItemChances.size(); ++i) {
+            modifiedChances.add(getOutputItemChance(inventory, i));
         }
         return modifiedChances;
     }
 
+    @Override
+    public float getOutputItemChance(IMachineInventory inventory, int index) {
+
+        float chance = outputItemChances.get(index);
+        if (chance < 0.0F) {
+            return Math.abs(chance);
+        }
+        return Math.max(chance * (index == 0 ? inventory.getPrimaryMod() : inventory.getSecondaryMod()), inventory.getMinOutputChance());
+    }
+
     @Override
     public List<Integer> getInputItemCounts(IMachineInventory inventory) {
 
@@ -6,7 +6,6 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,26 +40,21 @@ public abstract class CatalyzedMachineRecipe extends BaseMachineRecipe {
      * This shouldn't ever cause problems because you're relying on this method call and not hacking around in the recipe, right? ;)
      */
     @Override
-    public List<Float> getOutputItemChances(IMachineInventory inventory) {
-
-        ArrayList<Float> modifiedChances = new ArrayList<>(outputItemChances);
+    public float getOutputItemChance(IMachineInventory inventory, int index) {
 
         // Catalyst Logic
         if (catalyzable && inventory.inputSlots().size() > catalystSlot) {
             IRecipeCatalyst catalyst = getCatalyst(inventory.inputSlots().get(catalystSlot).getItemStack());
             if (catalyst == null) {
-                return super.getOutputItemChances(inventory);
+                return super.getOutputItemChance(inventory, index);
             }
-            for (int i = 0; i < modifiedChances.size(); ++i) {
-                if (modifiedChances.get(i) < 0.0F) {
-                    modifiedChances.set(i, Math.abs(modifiedChances.get(i)));
-                } else {
-                    modifiedChances.set(i, Math.max(modifiedChances.get(i) * (i == 0 ? catalyst.getPrimaryMod() * inventory.getPrimaryMod() : catalyst.getSecondaryMod() * inventory.getSecondaryMod()), Math.max(catalyst.getMinOutputChance(), inventory.getMinOutputChance())));
-                }
+            float chance = outputItemChances.get(index);
+            if (chance < 0.0F) {
+                return Math.abs(chance);
             }
-            return modifiedChances;
+            return Math.max(chance * (index == 0 ? catalyst.getPrimaryMod() * inventory.getPrimaryMod() : catalyst.getSecondaryMod() * inventory.getSecondaryMod()), Math.max(catalyst.getMinOutputChance(), inventory.getMinOutputChance()));
         }
-        return super.getOutputItemChances(inventory);
+        return super.getOutputItemChance(inventory, index);
     }
 
     @Override
@@ -19,6 +19,15 @@ public interface IMachineRecipe {
 
     List<Float> getOutputItemChances(IMachineInventory inventory);
 
+    /**
+     * Chance for a single output; equivalent to indexing {@link #getOutputItemChances(IMachineInventory)}, without
+     * building the list.
+     */
+    default float getOutputItemChance(IMachineInventory inventory, int index) {
+
+        return getOutputItemChances(inventory).get(index);
+    }
+
     List<Integer> getInputItemCounts(IMachineInventory inventory);
 
     List<Integer> getInputFluidCounts(IMachineInventory inventory);
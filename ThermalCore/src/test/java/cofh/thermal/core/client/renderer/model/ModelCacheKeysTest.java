@@ -0,0 +1,133 @@
+package cofh.thermal.core.client.renderer.model;
+
+import cofh.core.client.renderer.model.ModelUtils;
+import cofh.core.util.LongLRUCache;
+import cofh.core.util.helpers.FluidHelper;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.Direction;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraftforge.client.model.data.IModelData;
+import net.minecraftforge.client.model.data.ModelDataMap;
+import net.minecraftforge.fluids.FluidStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelCacheKeysTest {
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void distinctStatesGetDistinctKeys() {
+
+        List<IModelData> underlays = new ArrayList<>();
+        underlays.add(new ModelDataMap.Builder().build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.FLUID, FluidStack.EMPTY).build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.FLUID, new FluidStack(Fluids.WATER, 1000)).build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.FLUID, new FluidStack(Fluids.LAVA, 1000)).build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.FLUID, tagged("Aa")).build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.FLUID, tagged("BB")).build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.UNDERLAY, new ResourceLocation("minecraft", "block/stone")).build());
+        underlays.add(new ModelDataMap.Builder().withInitial(ModelUtils.UNDERLAY, new ResourceLocation("minecraft", "block/dirt")).build());
+
+        byte[][] configs = {null, {0, 0, 0, 0, 0, 0}, {1, 2, 3, 4, 0, 0}, {4, 4, 4, 4, 4, 4}, {0, 0, 0, 0, 0, 1}};
+        Integer[] levels = {null, -1, 0, 1, 8, 15};
+
+        LongSet keys = new LongOpenHashSet();
+        int combinations = 0;
+        for (Direction side : Direction.values()) {
+            for (byte[] config : configs) {
+                for (Integer level : levels) {
+                    for (IModelData underlay : underlays) {
+                        long key = ModelCacheKeys.side(side) | ModelCacheKeys.sides(config) | ModelCacheKeys.level(level) | ModelCacheKeys.underlay(underlay);
+                        // An empty fluid renders as no underlay at all; every other combination renders differently.
+                        if (!underlay.hasProperty(ModelUtils.FLUID) || !underlay.getData(ModelUtils.FLUID).isEmpty()) {
+                            assertTrue(keys.add(key), "Key reused by " + side + " / " + level + " / " + underlay);
+                            ++combinations;
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(combinations, keys.size());
+    }
+
+    @Test
+    public void fluidIdsAreExact() {
+
+        // These tags hash the same, so the old 32-bit fluid hash could not tell them apart.
+        FluidStack a = tagged("Aa");
+        FluidStack b = tagged("BB");
+        assertEquals(FluidHelper.fluidHashcode(a), FluidHelper.fluidHashcode(b));
+        assertNotEquals(ModelCacheKeys.fluidId(a), ModelCacheKeys.fluidId(b));
+
+        assertEquals(0, ModelCacheKeys.fluidId(FluidStack.EMPTY));
+        assertEquals(ModelCacheKeys.fluidId(new FluidStack(Fluids.WATER, 1)), ModelCacheKeys.fluidId(new FluidStack(Fluids.WATER, 1000)));
+        assertNotEquals(ModelCacheKeys.fluidId(new FluidStack(Fluids.WATER, 1)), ModelCacheKeys.fluidId(new FluidStack(Fluids.LAVA, 1)));
+        assertNotEquals(ModelCacheKeys.fluidId(new FluidStack(Fluids.WATER, 1)), ModelCacheKeys.fluidId(a));
+
+        // Changing a stack's tag after the fact does not change the id its old contents got.
+        int id = ModelCacheKeys.fluidId(a);
+        a.getTag().putInt("Aa", 2);
+        assertNotEquals(id, ModelCacheKeys.fluidId(a));
+        assertEquals(id, ModelCacheKeys.fluidId(tagged("Aa")));
+    }
+
+    @Test
+    public void pairIdsAreExact() {
+
+        assertEquals(ModelCacheKeys.id(1, 2), ModelCacheKeys.id(1, 2));
+        assertNotEquals(ModelCacheKeys.id(1, 2), ModelCacheKeys.id(2, 1));
+        // 31 * item + fluid, as the fluid cell model used to combine them.
+        assertNotEquals(ModelCacheKeys.id(1, 31), ModelCacheKeys.id(2, 0));
+    }
+
+    @Test
+    public void cacheStaysBoundedAndHits() {
+
+        LongLRUCache<Long> cache = new LongLRUCache<>(ModelCacheKeys.QUAD_CACHE_SIZE);
+        IModelData water = new ModelDataMap.Builder().withInitial(ModelUtils.FLUID, new FluidStack(Fluids.WATER, 1000)).build();
+        long hot = ModelCacheKeys.side(Direction.NORTH) | ModelCacheKeys.underlay(water);
+        cache.put(hot, hot);
+
+        int misses = 0;
+        for (Direction side : Direction.values()) {
+            for (int config = 0; config < 1 << 9; ++config) {
+                // The hot key is looked up between every other render, as an often seen face would be.
+                assertEquals(Long.valueOf(hot), cache.get(hot));
+
+                long key = ModelCacheKeys.side(side) | ModelCacheKeys.sides(new byte[]{(byte) (config & 7), (byte) (config >> 3 & 7), (byte) (config >> 6), 0, 0, 0});
+                if (cache.get(key) == null) {
+                    ++misses;
+                    cache.put(key, key);
+                }
+                assertTrue(cache.size() <= cache.maxSize());
+                // Repeated right away, the key hits.
+                assertEquals(Long.valueOf(key), cache.get(key));
+            }
+        }
+        assertEquals(6 * (1 << 9), misses);
+        assertEquals(cache.maxSize(), cache.size());
+    }
+
+    // region HELPERS
+    private static FluidStack tagged(String key) {
+
+        CompoundNBT tag = new CompoundNBT();
+        tag.putInt(key, 1);
+        return new FluidStack(Fluids.WATER, 1000, tag);
+    }
+    // endregion
+}
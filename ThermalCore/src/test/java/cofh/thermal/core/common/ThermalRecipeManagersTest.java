@@ -0,0 +1,235 @@
+package cofh.thermal.core.common;
+
+import cofh.thermal.core.util.managers.IManager;
+import net.minecraft.item.crafting.RecipeManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThermalRecipeManagersTest {
+
+    private static final int MANAGERS = 4;
+
+    @Test
+    public void firstRefreshPublishesBeforeReturning() {
+
+        ThermalRecipeManagers recipes = new ThermalRecipeManagers();
+        CountingManager[] managers = register(recipes);
+        assertTablesEqual(recipes, 0);
+
+        recipes.setServerRecipeManager(new RecipeManager());
+        recipes.refreshServer();
+
+        assertTablesEqual(recipes, 1);
+        assertNoOverlap(managers);
+    }
+
+    @Test
+    public void refreshNeverBlocksTheTickThread() throws InterruptedException {
+
+        ThermalRecipeManagers recipes = new ThermalRecipeManagers();
+        CountingManager[] managers = register(recipes);
+        recipes.setServerRecipeManager(new RecipeManager());
+        recipes.refreshServer();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        managers[MANAGERS - 1].gate = gate;
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            recipes.refreshServer();
+            for (int i = 0; i < 20; ++i) {
+                recipes.tick();
+            }
+        });
+        // Every other manager may be done, but nothing is published until the whole set is.
+        assertTablesEqual(recipes, 1);
+
+        gate.countDown();
+        tickUntil(recipes, 2);
+        assertTablesEqual(recipes, 2);
+        assertNoOverlap(managers);
+    }
+
+    @Test
+    public void overlappingRefreshesRunOneAtATime() throws InterruptedException {
+
+        ThermalRecipeManagers recipes = new ThermalRecipeManagers();
+        CountingManager[] managers = register(recipes);
+        recipes.setServerRecipeManager(new RecipeManager());
+        recipes.refreshServer();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        managers[0].gate = gate;
+        recipes.refreshServer();
+        recipes.refreshServer();
+        recipes.refreshServer();
+        gate.countDown();
+
+        // Only the latest build is published; the ones it replaced still ran, in order.
+        tickUntil(recipes, 4);
+        assertTablesEqual(recipes, 4);
+        assertNoOverlap(managers);
+    }
+
+    @Test
+    public void readersNeverSeeMixedTables() throws InterruptedException {
+
+        ThermalRecipeManagers recipes = new ThermalRecipeManagers();
+        CountingManager[] managers = register(recipes);
+        recipes.setServerRecipeManager(new RecipeManager());
+        recipes.refreshServer();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean mixed = new AtomicBoolean();
+        AtomicInteger reads = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                Object[] tables = recipes.getLiveTables();
+                for (Object table : tables) {
+                    if (!table.equals(tables[0])) {
+                        mixed.set(true);
+                    }
+                }
+                reads.incrementAndGet();
+            }
+        });
+        reader.start();
+
+        for (int i = 2; i <= 50; ++i) {
+            recipes.refreshServer();
+            tickUntil(recipes, i);
+        }
+        running.set(false);
+        reader.join();
+
+        assertFalse(mixed.get());
+        assertTrue(reads.get() > 0);
+        assertNoOverlap(managers);
+    }
+
+    @Test
+    public void resetDropsRunningBuild() throws InterruptedException {
+
+        ThermalRecipeManagers recipes = new ThermalRecipeManagers();
+        CountingManager[] managers = register(recipes);
+        recipes.setServerRecipeManager(new RecipeManager());
+        recipes.refreshServer();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        managers[0].gate = gate;
+        recipes.refreshServer();
+        recipes.reset();
+        gate.countDown();
+        managers[0].awaitBuilds(2);
+        recipes.tick();
+
+        assertTablesEqual(recipes, 1);
+
+        // The next server waits for its own tables, built after the dropped ones.
+        recipes.setServerRecipeManager(new RecipeManager());
+        recipes.refreshServer();
+        assertTablesEqual(recipes, 3);
+        assertNoOverlap(managers);
+    }
+
+    // region HELPERS
+    private static CountingManager[] register(ThermalRecipeManagers recipes) {
+
+        CountingManager[] managers = new CountingManager[MANAGERS];
+        for (int i = 0; i < MANAGERS; ++i) {
+            managers[i] = new CountingManager();
+            recipes.register(managers[i]);
+        }
+        return managers;
+    }
+
+    private static void tickUntil(ThermalRecipeManagers recipes, int build) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!recipes.getLiveTables()[0].equals(build)) {
+            assertTrue(System.nanoTime() < deadline, "Build " + build + " was never published.");
+            Thread.sleep(1);
+            recipes.tick();
+        }
+    }
+
+    private static void assertTablesEqual(ThermalRecipeManagers recipes, int build) {
+
+        Object[] tables = recipes.getLiveTables();
+        assertEquals(MANAGERS, tables.length);
+        for (Object table : tables) {
+            assertEquals(build, table);
+        }
+    }
+
+    private static void assertNoOverlap(CountingManager[] managers) {
+
+        for (CountingManager manager : managers) {
+            assertFalse(manager.overlapped, "Two builds refreshed the same manager at once.");
+        }
+    }
+
+    /**
+     * Stands in for a recipe manager; its tables are the number of builds it has seen.
+     */
+    private static class CountingManager implements IManager {
+
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private volatile boolean overlapped;
+        private volatile CountDownLatch gate;
+        private Integer staged = 0;
+
+        @Override
+        public void config() {
+
+        }
+
+        @Override
+        public void refresh(RecipeManager recipeManager) {
+
+            if (active.incrementAndGet() > 1) {
+                overlapped = true;
+            }
+            try {
+                CountDownLatch latch = gate;
+                if (latch != null) {
+                    latch.await();
+                }
+                staged = completed.get() + 1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        }
+
+        @Override
+        public Object getStagedTables() {
+
+            return staged;
+        }
+
+        @Override
+        public void setTableSlot(int slot) {
+
+        }
+
+        void awaitBuilds(int builds) throws InterruptedException {
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (completed.get() < builds) {
+                assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+        }
+
+    }
+    // endregion
+}
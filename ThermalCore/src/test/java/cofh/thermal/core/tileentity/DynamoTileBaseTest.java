@@ -0,0 +1,181 @@
+package cofh.thermal.core.tileentity;
+
+import cofh.core.inventory.ItemStorageCoFH;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.container.Container;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.registry.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static cofh.core.util.StorageGroup.INPUT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamoTileBaseTest {
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void fuelRunningOutMatchesTicks() {
+
+        assertCatchUpMatches(() -> new TestDynamo(0, new ItemStack(Items.STICK, 3)), 1, 12, 13, 14, 40, 1000);
+    }
+
+    @Test
+    public void fuelChangeMatchesTicks() {
+
+        // Once the sticks are burnt, the coal in the second slot is a different fuel.
+        assertCatchUpMatches(() -> new TestDynamo(0, new ItemStack(Items.STICK), new ItemStack(Items.COAL)), 12, 13, 14, 50, 80, 1000);
+    }
+
+    @Test
+    public void fullStorageMatchesTicksUntilFull() {
+
+        assertCatchUpMatches(() -> new TestDynamo(0, new ItemStack(Items.COAL, 4)), 100, 1000, 5000);
+        assertCatchUpMatches(() -> new TestDynamo(3900, new ItemStack(Items.COAL, 4)), 1, 10, 100, 1000);
+
+        // A ticking dynamo would go on burning fuel into the full storage; catching up keeps it.
+        TestDynamo dynamo = new TestDynamo(0, new ItemStack(Items.COAL, 4));
+        dynamo.catchUp(72000);
+        assertEquals(0, dynamo.energyStorage.getSpace());
+        assertTrue(dynamo.isActive);
+        assertEquals(2, dynamo.fuelSlots.get(0).getCount());
+    }
+
+    @Test
+    public void fuelInProgressMatchesTicks() {
+
+        assertCatchUpMatches(() -> {
+            TestDynamo dynamo = new TestDynamo(0, new ItemStack(Items.STICK, 2));
+            assertTrue(dynamo.canProcessStart());
+            dynamo.processStart();
+            dynamo.fuel = 100;
+            dynamo.isActive = true;
+            return dynamo;
+        }, 1, 2, 3, 4, 30, 1000);
+    }
+
+    // region HELPERS
+    private static void assertCatchUpMatches(Supplier<TestDynamo> factory, long... ticks) {
+
+        for (long t : ticks) {
+            TestDynamo expected = factory.get();
+            tickByTick(expected, t);
+
+            TestDynamo actual = factory.get();
+            actual.catchUp(t);
+
+            String at = " after " + t + " ticks";
+            assertEquals(expected.energyStorage.getEnergyStored(), actual.energyStorage.getEnergyStored(), "Energy" + at);
+            assertEquals(expected.fuel, actual.fuel, "Fuel" + at);
+            assertEquals(expected.fuelMax, actual.fuelMax, "Fuel max" + at);
+            assertEquals(expected.isActive, actual.isActive, "Active" + at);
+            for (int i = 0; i < expected.fuelSlots.size(); ++i) {
+                ItemStack a = expected.fuelSlots.get(i).getItemStack();
+                ItemStack b = actual.fuelSlots.get(i).getItemStack();
+                assertTrue(ItemStack.areItemStacksEqual(a, b), "Fuel slot " + i + at + ": expected " + a + " but was " + b);
+            }
+        }
+    }
+
+    /**
+     * The process part of {@link DynamoTileBase#tick()}, up to where catching up stops: once the storage is full, or
+     * once the dynamo goes idle, as the energy an idle dynamo bleeds on quarter checks is not made up for either. An
+     * idle dynamo tries to start every tick rather than on quarter checks.
+     */
+    private static void tickByTick(TestDynamo dynamo, long ticks) {
+
+        for (long t = 0; t < ticks && dynamo.energyStorage.getSpace() > 0; ++t) {
+            if (dynamo.isActive) {
+                dynamo.processTick();
+                if (dynamo.canProcessFinish()) {
+                    dynamo.processFinish();
+                    if (!dynamo.canProcessStart()) {
+                        dynamo.processOff();
+                    } else {
+                        dynamo.processStart();
+                    }
+                }
+            } else if (dynamo.canProcessStart()) {
+                dynamo.processStart();
+                dynamo.processTick();
+                dynamo.isActive = true;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * A dynamo without a world, burning whatever is in its first non-empty slot.
+     */
+    private static class TestDynamo extends DynamoTileBase {
+
+        private final List<ItemStorageCoFH> fuelSlots;
+
+        TestDynamo(int energy, ItemStack... fuels) {
+
+            super(null);
+
+            for (ItemStack fuel : fuels) {
+                ItemStorageCoFH slot = new ItemStorageCoFH();
+                slot.setItemStack(fuel.copy());
+                inventory.addSlot(slot, INPUT);
+            }
+            initHandlers();
+            fuelSlots = inventory.getInputSlots();
+
+            energyStorage.setEnergyStored(energy);
+        }
+
+        @Override
+        protected boolean canProcessStart() {
+
+            return getFuelSlot() != null;
+        }
+
+        @Override
+        protected void processStart() {
+
+            ItemStorageCoFH slot = getFuelSlot();
+            fuel += fuelMax = slot.getItemStack().getItem() == Items.COAL ? 3010 : 515;
+            slot.consume(1);
+        }
+
+        @Override
+        protected void transferRF() {
+
+            // Nothing is loaded next to the dynamo.
+        }
+
+        @Nullable
+        @Override
+        public Container createMenu(int i, PlayerInventory inventory, PlayerEntity player) {
+
+            return null;
+        }
+
+        @Nullable
+        private ItemStorageCoFH getFuelSlot() {
+
+            for (ItemStorageCoFH slot : fuelSlots) {
+                if (!slot.isEmpty()) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+    }
+    // endregion
+}
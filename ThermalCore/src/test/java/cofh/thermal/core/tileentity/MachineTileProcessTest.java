@@ -0,0 +1,369 @@
+package cofh.thermal.core.tileentity;
+
+import cofh.core.inventory.ItemStorageCoFH;
+import cofh.thermal.core.util.IMachineInventory;
+import cofh.thermal.core.util.recipes.internal.IMachineRecipe;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.container.Container;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraftforge.fluids.FluidStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static cofh.core.util.StorageGroup.INPUT;
+import static cofh.core.util.StorageGroup.OUTPUT;
+import static cofh.core.util.constants.Constants.BASE_CHANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MachineTileProcessTest {
+
+    private static final TestRecipe IRON = new TestRecipe(Items.IRON_INGOT, 1990, new ItemStack(Items.IRON_NUGGET));
+    private static final TestRecipe GOLD = new TestRecipe(Items.GOLD_INGOT, 1530, new ItemStack(Items.GOLD_NUGGET, 2));
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void timeLimitedRunMatchesTicks() {
+
+        // 1990 is not a multiple of processTick, so every operation carries energy over into the next.
+        assertCatchUpMatches(() -> new TestMachine(50000, Collections.singletonList(IRON), stacks(new ItemStack(Items.IRON_INGOT, 64)), 1), 1, 99, 100, 199, 200, 1000);
+    }
+
+    @Test
+    public void cheapOperationsMatchBatchedTicks() {
+
+        // Several operations complete per tick; the input runs out partway. The machine starts out active, as a
+        // ticking machine only notices an operation that cheap is done one tick after starting it.
+        TestRecipe cheap = new TestRecipe(Items.IRON_INGOT, 6, new ItemStack(Items.IRON_NUGGET));
+        assertCatchUpMatches(() -> active(new TestMachine(50000, Collections.singletonList(cheap), stacks(new ItemStack(Items.IRON_INGOT, 64)), 2)), 1, 2, 3, 19, 20, 50);
+    }
+
+    @Test
+    public void energyLimitedRunMatchesTicks() {
+
+        // Runs out partway through the third operation, and stops as the ticking machine would.
+        assertCatchUpMatches(() -> new TestMachine(5010, Collections.singletonList(new TestRecipe(Items.IRON_INGOT, 2000, new ItemStack(Items.IRON_NUGGET))), stacks(new ItemStack(Items.IRON_INGOT, 64)), 1), 100, 249, 250, 251, 1000);
+        // Runs out exactly as the second operation completes.
+        assertCatchUpMatches(() -> new TestMachine(4000, Collections.singletonList(new TestRecipe(Items.IRON_INGOT, 2000, new ItemStack(Items.IRON_NUGGET))), stacks(new ItemStack(Items.IRON_INGOT, 64)), 1), 199, 200, 201, 1000);
+    }
+
+    @Test
+    public void fullOutputMatchesTicks() {
+
+        assertCatchUpMatches(() -> {
+            TestMachine machine = new TestMachine(50000, Collections.singletonList(IRON), stacks(new ItemStack(Items.IRON_INGOT, 64)), 1);
+            machine.outputSlots().get(0).setItemStack(new ItemStack(Items.IRON_NUGGET, 62));
+            return machine;
+        }, 99, 100, 199, 200, 1000);
+    }
+
+    @Test
+    public void recipeChangeMatchesTicks() {
+
+        // Once the iron is used up, the gold in the second slot selects a different recipe.
+        assertCatchUpMatches(() -> new TestMachine(50000, Arrays.asList(IRON, GOLD), stacks(new ItemStack(Items.IRON_INGOT, 2), new ItemStack(Items.GOLD_INGOT, 3)), 2), 150, 199, 200, 276, 277, 400, 1000);
+    }
+
+    @Test
+    public void operationInProgressMatchesTicks() {
+
+        assertCatchUpMatches(() -> {
+            TestMachine machine = active(new TestMachine(50000, Collections.singletonList(IRON), stacks(new ItemStack(Items.IRON_INGOT, 64)), 1));
+            machine.process = 705;
+            return machine;
+        }, 1, 35, 36, 300);
+    }
+
+    @Test
+    public void topUpDoesNotResolveAgain() {
+
+        TestMachine machine = new TestMachine(50000, Arrays.asList(IRON, GOLD), stacks(new ItemStack(Items.IRON_INGOT, 10)), 1);
+        ItemStorageCoFH input = machine.inputSlots().get(0);
+        assertTrue(machine.resolveRecipe());
+        assertEquals(1, machine.lookups);
+
+        // A hopper topping up the same item, and the machine consuming it.
+        assertTrue(input.insertItem(0, new ItemStack(Items.IRON_INGOT, 5), false).isEmpty());
+        input.consume(1);
+        input.modify(-2);
+        assertTrue(machine.resolveRecipe());
+        assertEquals(1, machine.lookups);
+        assertSame(IRON, machine.curRecipe);
+
+        // Emptying the slot or swapping the item does look the recipe up again.
+        input.extractItem(0, 64, false);
+        assertFalse(machine.resolveRecipe());
+        assertEquals(2, machine.lookups);
+        input.insertItem(0, new ItemStack(Items.GOLD_INGOT, 5), false);
+        assertTrue(machine.resolveRecipe());
+        assertEquals(3, machine.lookups);
+        assertSame(GOLD, machine.curRecipe);
+    }
+
+    @Test
+    public void topUpResolvesAgainWhenCountsMatter() {
+
+        TestMachine machine = new TestMachine(50000, Collections.singletonList(IRON), stacks(new ItemStack(Items.IRON_INGOT, 10)), 1);
+        machine.countsMatter = true;
+        assertTrue(machine.resolveRecipe());
+        machine.inputSlots().get(0).insertItem(0, new ItemStack(Items.IRON_INGOT, 5), false);
+        assertTrue(machine.resolveRecipe());
+        assertEquals(2, machine.lookups);
+    }
+
+    @Test
+    public void outputChecksDoNotAllocate() {
+
+        TestMachine machine = new TestMachine(50000, Collections.singletonList(IRON), stacks(new ItemStack(Items.IRON_INGOT, 64)), 4);
+        machine.outputSlots().get(2).setItemStack(new ItemStack(Items.IRON_NUGGET, 10));
+        assertTrue(machine.resolveRecipe());
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < 1000; ++i) {
+            machine.validateOutputs();
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 10000; ++i) {
+            assertTrue(machine.validateOutputs());
+            machine.resolveOutputs();
+            machine.outputSlots().get(2).getItemStack().setCount(10);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        // A boolean[] per check alone would be over 100 KB; this leaves room for the measurement itself.
+        assertTrue(allocated < 10000, "Allocated " + allocated + " bytes over 10000 checks");
+        assertEquals(10, machine.outputSlots().get(2).getCount());
+    }
+
+    // region HELPERS
+    private static TestMachine active(TestMachine machine) {
+
+        assertTrue(machine.canProcessStart());
+        machine.processStart();
+        machine.isActive = true;
+        return machine;
+    }
+
+    private static void assertCatchUpMatches(Supplier<TestMachine> factory, long... ticks) {
+
+        for (long t : ticks) {
+            TestMachine expected = factory.get();
+            tickByTick(expected, t);
+
+            TestMachine actual = factory.get();
+            actual.catchUp(t);
+
+            String at = " after " + t + " ticks";
+            assertEquals(expected.energyStorage.getEnergyStored(), actual.energyStorage.getEnergyStored(), "Energy" + at);
+            assertEquals(expected.process, actual.process, "Process" + at);
+            assertEquals(expected.processMax, actual.processMax, "Process max" + at);
+            assertEquals(expected.isActive, actual.isActive, "Active" + at);
+            assertSameStacks(expected.inputSlots(), actual.inputSlots(), "Inputs" + at);
+            assertSameStacks(expected.outputSlots(), actual.outputSlots(), "Outputs" + at);
+        }
+    }
+
+    /**
+     * The process part of {@link MachineTileProcess#tick()}. Nothing is loaded around a machine while it catches up,
+     * so there are no transfers; an idle machine tries to start every tick rather than on quarter checks.
+     */
+    private static void tickByTick(TestMachine machine, long ticks) {
+
+        for (long t = 0; t < ticks; ++t) {
+            if (machine.isActive) {
+                machine.processTick();
+                if (machine.canProcessFinish()) {
+                    machine.processFinish();
+                    if (!machine.canProcessStart()) {
+                        machine.energyStorage.modify(-machine.process);
+                        machine.processOff();
+                    } else {
+                        machine.processStart();
+                        machine.processBatch();
+                    }
+                } else if (machine.energyStorage.getEnergyStored() < machine.processTick) {
+                    machine.processOff();
+                }
+            } else if (machine.canProcessStart()) {
+                machine.processStart();
+                machine.processTick();
+                machine.isActive = true;
+            }
+        }
+    }
+
+    private static ItemStack[] stacks(ItemStack... stacks) {
+
+        return stacks;
+    }
+
+    private static void assertSameStacks(List<? extends ItemStorageCoFH> expected, List<? extends ItemStorageCoFH> actual, String message) {
+
+        assertEquals(expected.size(), actual.size(), message);
+        for (int i = 0; i < expected.size(); ++i) {
+            ItemStack a = expected.get(i).getItemStack();
+            ItemStack b = actual.get(i).getItemStack();
+            assertTrue(ItemStack.areItemStacksEqual(a, b), message + ", slot " + i + ": expected " + a + " but was " + b);
+        }
+    }
+
+    /**
+     * A machine without a world: the recipe is picked by the first non-empty input slot, and every output is produced
+     * in full rather than rolled.
+     */
+    private static class TestMachine extends MachineTileProcess {
+
+        private final List<TestRecipe> recipes;
+        private boolean countsMatter;
+        private int lookups;
+
+        TestMachine(int energy, List<TestRecipe> recipes, ItemStack[] inputs, int outputs) {
+
+            super(null);
+            this.recipes = recipes;
+
+            for (ItemStack input : inputs) {
+                ItemStorageCoFH slot = new ItemStorageCoFH();
+                slot.setItemStack(input.copy());
+                inventory.addSlot(slot, INPUT);
+            }
+            inventory.addSlots(OUTPUT, outputs);
+            initHandlers();
+
+            energyStorage.setEnergyStored(energy);
+        }
+
+        @Override
+        protected boolean cacheRecipe() {
+
+            ++lookups;
+            curRecipe = null;
+            List<? extends ItemStorageCoFH> slots = inputSlots();
+            for (int i = 0; i < slots.size(); ++i) {
+                ItemStack input = slots.get(i).getItemStack();
+                if (input.isEmpty()) {
+                    continue;
+                }
+                for (TestRecipe recipe : recipes) {
+                    if (recipe.input == input.getItem()) {
+                        curRecipe = recipe;
+                        itemInputCounts = new ArrayList<>(Collections.nCopies(slots.size(), 0));
+                        itemInputCounts.set(i, 1);
+                    }
+                }
+                break;
+            }
+            return curRecipe != null;
+        }
+
+        @Override
+        protected boolean recipeDependsOnCounts() {
+
+            return countsMatter;
+        }
+
+        @Override
+        protected void resolveOutputs() {
+
+            List<ItemStack> outputs = curRecipe.getOutputItems(this);
+            boolean planned = outputPlanRecipe == curRecipe;
+            for (int i = 0; i < outputs.size(); ++i) {
+                mergeItemOutput(outputSlots(), outputs.get(i), outputs.get(i).getCount(), planned ? itemOutputPlan[i] : -1);
+            }
+        }
+
+        @Nullable
+        @Override
+        public Container createMenu(int i, PlayerInventory inventory, PlayerEntity player) {
+
+            return null;
+        }
+
+    }
+
+    private static class TestRecipe implements IMachineRecipe {
+
+        private final Item input;
+        private final int energy;
+        private final List<ItemStack> outputs;
+
+        TestRecipe(Item input, int energy, ItemStack output) {
+
+            this.input = input;
+            this.energy = energy;
+            this.outputs = Collections.singletonList(output);
+        }
+
+        @Override
+        public List<ItemStack> getInputItems() {
+
+            return Collections.singletonList(new ItemStack(input));
+        }
+
+        @Override
+        public List<FluidStack> getInputFluids() {
+
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ItemStack> getOutputItems(IMachineInventory inventory) {
+
+            return outputs;
+        }
+
+        @Override
+        public List<FluidStack> getOutputFluids(IMachineInventory inventory) {
+
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Float> getOutputItemChances(IMachineInventory inventory) {
+
+            return Collections.singletonList(BASE_CHANCE);
+        }
+
+        @Override
+        public List<Integer> getInputItemCounts(IMachineInventory inventory) {
+
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Integer> getInputFluidCounts(IMachineInventory inventory) {
+
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int getEnergy(IMachineInventory inventory) {
+
+            return energy;
+        }
+
+        @Override
+        public float getExperience(IMachineInventory inventory) {
+
+            return 0;
+        }
+
+    }
+    // endregion
+}
@@ -2,9 +2,11 @@ package cofh.thermal.cultivation.tileentity;
 
 import cofh.core.energy.EnergyStorageCoFH;
 import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.helpers.EnergyHelper;
 import cofh.thermal.core.block.SoilBlock;
 import cofh.thermal.core.tileentity.ThermalTileBase;
+import cofh.thermal.core.util.AugmentProfile;
 import cofh.thermal.cultivation.inventory.container.device.DeviceSoilInfuserContainer;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
@@ -49,24 +51,29 @@ public class DeviceSoilInfuserTile extends ThermalTileBase implements ITickableT
     @Override
     public void tick() {
 
-        boolean curActive = isActive;
-        if (isActive) {
-            if (energyStorage.getEnergyStored() >= processTick) {
-                process += processTick;
-                energyStorage.modify(-processTick);
-                if (process >= processMax) {
-                    process -= processMax;
-                    BlockPos.getAllInBox(pos.add(-radius, -1, -radius), pos.add(radius, 1, radius))
-                            .forEach(this::chargeSoil);
+        long profile = TickProfiler.start();
+        try {
+            boolean curActive = isActive;
+            if (isActive) {
+                if (energyStorage.getEnergyStored() >= processTick) {
+                    process += processTick;
+                    energyStorage.modify(-processTick);
+                    if (process >= processMax) {
+                        process -= processMax;
+                        BlockPos.getAllInBox(pos.add(-radius, -1, -radius), pos.add(radius, 1, radius))
+                                .forEach(this::chargeSoil);
+                    }
+                } else {
+                    processOff();
                 }
-            } else {
-                processOff();
+            } else if (redstoneControl.getState() && energyStorage.getEnergyStored() >= processTick) {
+                isActive = true;
             }
-        } else if (redstoneControl.getState() && energyStorage.getEnergyStored() >= processTick) {
-            isActive = true;
+            updateActiveState(curActive);
+            chargeEnergy();
+        } finally {
+            TickProfiler.end(this, profile);
         }
-        updateActiveState(curActive);
-        chargeEnergy();
     }
 
     protected void chargeSoil(BlockPos blockPos) {
@@ -83,6 +90,8 @@ public class DeviceSoilInfuserTile extends ThermalTileBase implements ITickableT
             chargeSlot.getItemStack()
                     .getCapability(CapabilityEnergy.ENERGY, null)
                     .ifPresent(c -> energyStorage.receiveEnergy(c.extractEnergy(Math.min(energyStorage.getMaxReceive(), energyStorage.getSpace()), false), false));
+            // The stack's energy was changed in place.
+            chargeSlot.markChanged();
         }
     }
 
@@ -178,11 +187,11 @@ public class DeviceSoilInfuserTile extends ThermalTileBase implements ITickableT
     }
 
     @Override
-    protected void setAttributesFromAugment(CompoundNBT augmentData) {
+    protected void setAttributesFromAugments(AugmentProfile profile) {
 
-        super.setAttributesFromAugment(augmentData);
+        super.setAttributesFromAugments(profile);
 
-        radius += getAttributeMod(augmentData, TAG_AUGMENT_AREA_RADIUS);
+        radius += profile.getSum(TAG_AUGMENT_AREA_RADIUS);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package cofh.thermal.dynamics;
 
+import cofh.thermal.dynamics.init.TDynBlocks;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
@@ -12,6 +13,8 @@ public class ThermalDynamics {
     public ThermalDynamics() {
 
         final IEventBus modEventBus = FMLJavaModLoadingContext.get().getModEventBus();
+
+        TDynBlocks.register();
     }
 
 }
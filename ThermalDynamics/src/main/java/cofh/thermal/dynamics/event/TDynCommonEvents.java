@@ -0,0 +1,53 @@
+package cofh.thermal.dynamics.event;
+
+import cofh.core.util.Utils;
+import cofh.thermal.dynamics.grid.EnergyGridManager;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import static cofh.core.util.constants.Constants.ID_THERMAL_DYNAMICS;
+
+@Mod.EventBusSubscriber(modid = ID_THERMAL_DYNAMICS)
+public class TDynCommonEvents {
+
+    private TDynCommonEvents() {
+
+    }
+
+    @SubscribeEvent
+    public static void handleWorldTickEvent(TickEvent.WorldTickEvent event) {
+
+        if (event.phase == TickEvent.Phase.END && Utils.isServerWorld(event.world)) {
+            EnergyGridManager.tick(event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleChunkLoadEvent(ChunkEvent.Load event) {
+
+        if (event.getWorld() instanceof World && Utils.isServerWorld((World) event.getWorld())) {
+            EnergyGridManager.onChunkChanged((World) event.getWorld(), event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleChunkUnloadEvent(ChunkEvent.Unload event) {
+
+        if (event.getWorld() instanceof World && Utils.isServerWorld((World) event.getWorld())) {
+            EnergyGridManager.onChunkChanged((World) event.getWorld(), event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void handleWorldUnloadEvent(WorldEvent.Unload event) {
+
+        if (event.getWorld() instanceof World) {
+            EnergyGridManager.clear((World) event.getWorld());
+        }
+    }
+
+}
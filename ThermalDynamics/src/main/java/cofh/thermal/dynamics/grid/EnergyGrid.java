@@ -0,0 +1,192 @@
+package cofh.thermal.dynamics.grid;
+
+import cofh.thermal.dynamics.tileentity.EnergyDuctTile;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraftforge.energy.IEnergyStorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A set of connected energy ducts sharing a single buffer.
+ * <p>
+ * The grid keeps the energy handlers of everything attached to its ducts in one list, which is only rebuilt when a
+ * duct is added or removed or when a duct reports a neighbor change. Energy is pushed out once per tick, so the cost of
+ * a network depends on the number of endpoints rather than the number of ducts.
+ */
+public class EnergyGrid {
+
+    public static final int DUCT_CAPACITY = 1000;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    protected final Long2ObjectOpenHashMap<EnergyDuctTile> ducts = new Long2ObjectOpenHashMap<>();
+    protected final List<IEnergyStorage> endpoints = new ArrayList<>();
+    protected final LongSet endpointChunks = new LongOpenHashSet();
+    protected boolean endpointsValid;
+    protected boolean refreshNeighbors;
+
+    protected int energy;
+    protected int offset;
+
+    public int size() {
+
+        return ducts.size();
+    }
+
+    public boolean contains(long pos) {
+
+        return ducts.containsKey(pos);
+    }
+
+    public void tick() {
+
+        if (energy <= 0) {
+            return;
+        }
+        if (!endpointsValid) {
+            rebuildEndpoints();
+        }
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        offset = (offset + 1) % endpoints.size();
+        energy = distribute(endpoints, energy, offset);
+    }
+
+    public void invalidateEndpoints() {
+
+        endpointsValid = false;
+    }
+
+    /**
+     * Chunk loads and unloads do not notify neighbors, so ducts next to the chunk would keep handlers of tiles which
+     * are gone (or miss new ones). Drops the cached neighbors of every duct if the grid may border the chunk.
+     */
+    public void onChunkChanged(long chunk) {
+
+        if (!endpointsValid || endpointChunks.contains(chunk)) {
+            refreshNeighbors = true;
+            invalidateEndpoints();
+        }
+    }
+
+    /**
+     * Energy a single duct carries with it when it is saved or unloaded.
+     */
+    public int getShare() {
+
+        return ducts.isEmpty() ? 0 : energy / ducts.size();
+    }
+
+    // region IEnergyStorage
+    public int receiveEnergy(int maxReceive, boolean simulate) {
+
+        int received = Math.min(getMaxEnergyStored() - energy, Math.max(maxReceive, 0));
+        if (!simulate) {
+            energy += received;
+        }
+        return received;
+    }
+
+    public int getEnergyStored() {
+
+        return energy;
+    }
+
+    public int getMaxEnergyStored() {
+
+        return (int) Math.min(Integer.MAX_VALUE, (long) ducts.size() * DUCT_CAPACITY);
+    }
+    // endregion
+
+    // region MEMBERSHIP
+    void addDuct(EnergyDuctTile duct) {
+
+        ducts.put(duct.getPos().toLong(), duct);
+        duct.setGrid(this);
+        energy = (int) Math.min(getMaxEnergyStored(), (long) energy + duct.takeStoredEnergy());
+        invalidateEndpoints();
+    }
+
+    void removeDuct(EnergyDuctTile duct) {
+
+        energy -= getShare();
+        ducts.remove(duct.getPos().toLong());
+        duct.setGrid(null);
+        invalidateEndpoints();
+    }
+
+    /**
+     * Moves every duct of another grid into this one, along with its energy.
+     */
+    void absorb(EnergyGrid other) {
+
+        for (EnergyDuctTile duct : other.ducts.values()) {
+            ducts.put(duct.getPos().toLong(), duct);
+            duct.setGrid(this);
+        }
+        energy += other.energy;
+        other.ducts.clear();
+        other.energy = 0;
+        invalidateEndpoints();
+    }
+    // endregion
+
+    // region HELPERS
+    protected void rebuildEndpoints() {
+
+        endpoints.clear();
+        endpointChunks.clear();
+        Set<IEnergyStorage> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (EnergyDuctTile duct : ducts.values()) {
+            if (refreshNeighbors) {
+                duct.invalidateNeighbors();
+            }
+            long pos = duct.getPos().toLong();
+            for (Direction side : DIRECTIONS) {
+                long adjPos = BlockPos.offset(pos, side);
+                if (ducts.containsKey(adjPos)) {
+                    continue;
+                }
+                endpointChunks.add(ChunkPos.asLong(BlockPos.unpackX(adjPos) >> 4, BlockPos.unpackZ(adjPos) >> 4));
+                IEnergyStorage storage = duct.getNeighborEnergyStorage(side);
+                if (storage != null && seen.add(storage)) {
+                    endpoints.add(storage);
+                }
+            }
+        }
+        endpointsValid = true;
+        refreshNeighbors = false;
+    }
+
+    /**
+     * Offers energy to each endpoint in turn, starting at the given index. Each endpoint is offered an even split of
+     * whatever is left among the endpoints not yet visited, so energy refused by a full endpoint goes to the rest.
+     *
+     * @return The energy that could not be placed.
+     */
+    public static int distribute(List<IEnergyStorage> endpoints, int energy, int start) {
+
+        int count = endpoints.size();
+        for (int i = 0; i < count && energy > 0; ++i) {
+            IEnergyStorage endpoint = endpoints.get((start + i) % count);
+            if (!endpoint.canReceive()) {
+                continue;
+            }
+            int share = Math.max(energy / (count - i), 1);
+            energy -= endpoint.receiveEnergy(share, false);
+        }
+        return energy;
+    }
+    // endregion
+}
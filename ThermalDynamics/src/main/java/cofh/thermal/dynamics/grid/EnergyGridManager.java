@@ -0,0 +1,194 @@
+package cofh.thermal.dynamics.grid;
+
+import cofh.thermal.dynamics.tileentity.EnergyDuctTile;
+import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Tracks the energy grids of a world.
+ * <p>
+ * Grids are only restructured when a duct joins or leaves: a new duct joins (and merges) the grids of its neighbors,
+ * and a removed duct triggers a walk over its old grid to find out whether the grid has been split in two or more.
+ */
+public class EnergyGridManager {
+
+    private static final Map<World, EnergyGridManager> MANAGERS = new WeakHashMap<>();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    protected final World world;
+    protected final Set<EnergyGrid> grids = new ObjectOpenHashSet<>();
+
+    protected EnergyGridManager(World world) {
+
+        this.world = world;
+    }
+
+    public static EnergyGridManager get(World world) {
+
+        return MANAGERS.computeIfAbsent(world, EnergyGridManager::new);
+    }
+
+    public static void tick(World world) {
+
+        EnergyGridManager manager = MANAGERS.get(world);
+        if (manager != null) {
+            for (EnergyGrid grid : manager.grids) {
+                grid.tick();
+            }
+        }
+    }
+
+    public static void clear(World world) {
+
+        MANAGERS.remove(world);
+    }
+
+    public static void onChunkChanged(World world, ChunkPos pos) {
+
+        EnergyGridManager manager = MANAGERS.get(world);
+        if (manager != null) {
+            long chunk = pos.asLong();
+            for (EnergyGrid grid : manager.grids) {
+                grid.onChunkChanged(chunk);
+            }
+        }
+    }
+
+    public void addDuct(EnergyDuctTile duct) {
+
+        if (duct.getGrid() != null) {
+            return;
+        }
+        EnergyGrid target = null;
+        for (Direction side : DIRECTIONS) {
+            EnergyDuctTile adjDuct = getDuct(duct.getPos().offset(side));
+            if (adjDuct == null) {
+                continue;
+            }
+            EnergyGrid adjGrid = adjDuct.getGrid();
+            if (adjGrid == null || adjGrid == target) {
+                continue;
+            }
+            target = target == null ? adjGrid : merge(target, adjGrid);
+        }
+        if (target == null) {
+            target = new EnergyGrid();
+            grids.add(target);
+        }
+        target.addDuct(duct);
+    }
+
+    public void removeDuct(EnergyDuctTile duct) {
+
+        EnergyGrid grid = duct.getGrid();
+        if (grid == null) {
+            return;
+        }
+        grid.removeDuct(duct);
+        if (grid.size() <= 0) {
+            grids.remove(grid);
+            return;
+        }
+        split(grid, duct.getPos().toLong());
+    }
+
+    public int size() {
+
+        return grids.size();
+    }
+
+    // region HELPERS
+    @Nullable
+    protected EnergyDuctTile getDuct(BlockPos pos) {
+
+        if (!world.isBlockLoaded(pos)) {
+            return null;
+        }
+        TileEntity tile = world.getTileEntity(pos);
+        return tile instanceof EnergyDuctTile ? (EnergyDuctTile) tile : null;
+    }
+
+    protected EnergyGrid merge(EnergyGrid a, EnergyGrid b) {
+
+        EnergyGrid larger = a.size() >= b.size() ? a : b;
+        EnergyGrid smaller = larger == a ? b : a;
+        larger.absorb(smaller);
+        grids.remove(smaller);
+        return larger;
+    }
+
+    protected void split(EnergyGrid grid, long removed) {
+
+        LongList starts = new LongArrayList(DIRECTIONS.length);
+        for (Direction side : DIRECTIONS) {
+            long adjPos = BlockPos.offset(removed, side);
+            if (grid.contains(adjPos)) {
+                starts.add(adjPos);
+            }
+        }
+        if (starts.size() <= 1) {
+            return;
+        }
+        List<LongSet> components = new ArrayList<>();
+        LongSet visited = new LongOpenHashSet();
+        for (long start : starts) {
+            if (visited.contains(start)) {
+                continue;
+            }
+            LongSet component = walk(grid, start);
+            if (components.isEmpty() && component.size() == grid.size()) {
+                return;     // Still fully connected; by far the common case.
+            }
+            visited.addAll(component);
+            components.add(component);
+        }
+        // The largest piece stays in the original grid; the rest leave with a proportional share of its energy.
+        LongSet largest = Collections.max(components, Comparator.comparingInt(LongSet::size));
+        int total = grid.energy;
+        int size = grid.size();
+        for (LongSet component : components) {
+            if (component == largest) {
+                continue;
+            }
+            EnergyGrid created = new EnergyGrid();
+            for (long pos : component) {
+                EnergyDuctTile duct = grid.ducts.remove(pos);
+                created.ducts.put(pos, duct);
+                duct.setGrid(created);
+            }
+            created.energy = (int) ((long) total * component.size() / size);
+            grid.energy -= created.energy;
+            created.invalidateEndpoints();
+            grids.add(created);
+        }
+        grid.invalidateEndpoints();
+    }
+
+    protected static LongSet walk(EnergyGrid grid, long start) {
+
+        LongSet component = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        component.add(start);
+        queue.enqueue(start);
+
+        while (!queue.isEmpty()) {
+            long pos = queue.dequeueLong();
+            for (Direction side : DIRECTIONS) {
+                long adjPos = BlockPos.offset(pos, side);
+                if (grid.contains(adjPos) && component.add(adjPos)) {
+                    queue.enqueue(adjPos);
+                }
+            }
+        }
+        return component;
+    }
+    // endregion
+}
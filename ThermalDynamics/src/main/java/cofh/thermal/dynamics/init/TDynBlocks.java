@@ -0,0 +1,42 @@
+package cofh.thermal.dynamics.init;
+
+import cofh.core.block.TileBlockCoFH;
+import cofh.thermal.dynamics.tileentity.EnergyDuctTile;
+import net.minecraft.block.SoundType;
+import net.minecraft.block.material.Material;
+import net.minecraft.tileentity.TileEntityType;
+
+import static cofh.thermal.core.ThermalCore.TILE_ENTITIES;
+import static cofh.thermal.core.util.RegistrationHelper.registerBlock;
+import static cofh.thermal.dynamics.init.TDynIDs.ID_ENERGY_DUCT;
+import static cofh.thermal.dynamics.init.TDynReferences.ENERGY_DUCT_BLOCK;
+import static net.minecraft.block.AbstractBlock.Properties.create;
+
+public class TDynBlocks {
+
+    private TDynBlocks() {
+
+    }
+
+    public static void register() {
+
+        registerTileBlocks();
+        registerTileEntities();
+    }
+
+    public static void setup() {
+
+    }
+
+    // region HELPERS
+    private static void registerTileBlocks() {
+
+        registerBlock(ID_ENERGY_DUCT, () -> new TileBlockCoFH(create(Material.IRON).sound(SoundType.METAL).hardnessAndResistance(1.0F).notSolid(), EnergyDuctTile::new));
+    }
+
+    private static void registerTileEntities() {
+
+        TILE_ENTITIES.register(ID_ENERGY_DUCT, () -> TileEntityType.Builder.create(EnergyDuctTile::new, ENERGY_DUCT_BLOCK).build(null));
+    }
+    // endregion
+}
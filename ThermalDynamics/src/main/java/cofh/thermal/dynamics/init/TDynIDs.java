@@ -0,0 +1,12 @@
+package cofh.thermal.dynamics.init;
+
+public class TDynIDs {
+
+    private TDynIDs() {
+
+    }
+
+    // region DUCTS
+    public static final String ID_ENERGY_DUCT = "energy_duct";
+    // endregion
+}
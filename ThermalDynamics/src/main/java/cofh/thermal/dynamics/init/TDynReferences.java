@@ -0,0 +1,24 @@
+package cofh.thermal.dynamics.init;
+
+import cofh.thermal.dynamics.tileentity.EnergyDuctTile;
+import net.minecraft.block.Block;
+import net.minecraft.tileentity.TileEntityType;
+import net.minecraftforge.registries.ObjectHolder;
+
+import static cofh.core.util.constants.Constants.ID_THERMAL;
+import static cofh.thermal.dynamics.init.TDynIDs.ID_ENERGY_DUCT;
+
+@ObjectHolder(ID_THERMAL)
+public class TDynReferences {
+
+    private TDynReferences() {
+
+    }
+
+    // region DUCTS
+    @ObjectHolder(ID_ENERGY_DUCT)
+    public static final Block ENERGY_DUCT_BLOCK = null;
+    @ObjectHolder(ID_ENERGY_DUCT)
+    public static final TileEntityType<EnergyDuctTile> ENERGY_DUCT_TILE = null;
+    // endregion
+}
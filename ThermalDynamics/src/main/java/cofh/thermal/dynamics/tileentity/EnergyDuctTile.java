@@ -0,0 +1,213 @@
+package cofh.thermal.dynamics.tileentity;
+
+import cofh.core.tileentity.TileCoFH;
+import cofh.core.util.NeighborCapabilityCache;
+import cofh.core.util.Utils;
+import cofh.thermal.dynamics.grid.EnergyGrid;
+import cofh.thermal.dynamics.grid.EnergyGridManager;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.energy.CapabilityEnergy;
+import net.minecraftforge.energy.IEnergyStorage;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static cofh.core.util.constants.NBTTags.TAG_ENERGY;
+import static cofh.thermal.dynamics.init.TDynReferences.ENERGY_DUCT_TILE;
+
+/**
+ * Ducts do not tick; all transport is done by the {@link EnergyGrid} they belong to.
+ */
+public class EnergyDuctTile extends TileCoFH {
+
+    protected final NeighborCapabilityCache neighborCaps = new NeighborCapabilityCache(this);
+    protected final IEnergyStorage energyStorage = new DuctEnergyStorage();
+    protected LazyOptional<?> energyCap = LazyOptional.empty();
+
+    protected EnergyGrid grid;
+    protected int storedEnergy;
+
+    public EnergyDuctTile() {
+
+        super(ENERGY_DUCT_TILE);
+    }
+
+    @Override
+    public void onLoad() {
+
+        super.onLoad();
+
+        if (world != null && Utils.isServerWorld(world)) {
+            EnergyGridManager.get(world).addDuct(this);
+        }
+    }
+
+    @Override
+    public void remove() {
+
+        super.remove();
+
+        energyCap.invalidate();
+        leaveGrid();
+    }
+
+    @Override
+    public void onChunkUnloaded() {
+
+        super.onChunkUnloaded();
+
+        leaveGrid();
+    }
+
+    @Override
+    public void neighborChanged(Block blockIn, BlockPos fromPos) {
+
+        super.neighborChanged(blockIn, fromPos);
+
+        neighborCaps.invalidate(fromPos);
+        if (grid != null) {
+            grid.invalidateEndpoints();
+        }
+    }
+
+    @Override
+    public void onNeighborChange(BlockPos neighbor) {
+
+        super.onNeighborChange(neighbor);
+
+        neighborCaps.invalidate(neighbor);
+        if (grid != null) {
+            grid.invalidateEndpoints();
+        }
+    }
+
+    @Nullable
+    public EnergyGrid getGrid() {
+
+        return grid;
+    }
+
+    public void setGrid(@Nullable EnergyGrid grid) {
+
+        this.grid = grid;
+    }
+
+    @Nullable
+    public IEnergyStorage getNeighborEnergyStorage(Direction side) {
+
+        if (world == null || !world.isBlockLoaded(pos.offset(side))) {
+            neighborCaps.invalidate(side);
+            return null;
+        }
+        IEnergyStorage storage = neighborCaps.getEnergyStorage(side);
+        return storage instanceof DuctEnergyStorage ? null : storage;
+    }
+
+    public void invalidateNeighbors() {
+
+        neighborCaps.invalidate();
+    }
+
+    /**
+     * Energy read from NBT, handed over to the grid this duct joins.
+     */
+    public int takeStoredEnergy() {
+
+        int energy = storedEnergy;
+        storedEnergy = 0;
+        return energy;
+    }
+
+    // region HELPERS
+    protected void leaveGrid() {
+
+        if (world != null && Utils.isServerWorld(world)) {
+            EnergyGridManager.get(world).removeDuct(this);
+        }
+    }
+    // endregion
+
+    // region NBT
+    @Override
+    public void read(BlockState state, CompoundNBT nbt) {
+
+        super.read(state, nbt);
+
+        storedEnergy = nbt.getInt(TAG_ENERGY);
+    }
+
+    @Override
+    public CompoundNBT write(CompoundNBT nbt) {
+
+        super.write(nbt);
+
+        nbt.putInt(TAG_ENERGY, grid != null ? grid.getShare() : storedEnergy);
+
+        return nbt;
+    }
+    // endregion
+
+    // region CAPABILITIES
+    @Override
+    public <T> LazyOptional<T> getCapability(@Nonnull Capability<T> cap, @Nullable Direction side) {
+
+        if (cap == CapabilityEnergy.ENERGY) {
+            if (!energyCap.isPresent()) {
+                energyCap = LazyOptional.of(() -> energyStorage);
+            }
+            return energyCap.cast();
+        }
+        return super.getCapability(cap, side);
+    }
+    // endregion
+
+    /**
+     * Exposes the grid buffer. Ducts only accept energy; the grid pushes it out to endpoints itself.
+     */
+    protected class DuctEnergyStorage implements IEnergyStorage {
+
+        @Override
+        public int receiveEnergy(int maxReceive, boolean simulate) {
+
+            return grid == null ? 0 : grid.receiveEnergy(maxReceive, simulate);
+        }
+
+        @Override
+        public int extractEnergy(int maxExtract, boolean simulate) {
+
+            return 0;
+        }
+
+        @Override
+        public int getEnergyStored() {
+
+            return grid == null ? 0 : grid.getEnergyStored();
+        }
+
+        @Override
+        public int getMaxEnergyStored() {
+
+            return grid == null ? 0 : grid.getMaxEnergyStored();
+        }
+
+        @Override
+        public boolean canExtract() {
+
+            return false;
+        }
+
+        @Override
+        public boolean canReceive() {
+
+            return grid != null;
+        }
+
+    }
+
+}
@@ -0,0 +1,174 @@
+package cofh.thermal.dynamics.grid;
+
+import cofh.thermal.dynamics.tileentity.EnergyDuctTile;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.energy.EnergyStorage;
+import net.minecraftforge.energy.IEnergyStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnergyGridTest {
+
+    @Test
+    public void joiningDuctMergesNeighborGrids() {
+
+        TestManager manager = new TestManager();
+        EnergyDuctTile a = manager.place(0, 0, 0);
+        EnergyDuctTile c = manager.place(2, 0, 0);
+        assertEquals(2, manager.size());
+        a.getGrid().receiveEnergy(300, false);
+        c.getGrid().receiveEnergy(500, false);
+
+        EnergyDuctTile b = manager.place(1, 0, 0);
+
+        assertEquals(1, manager.size());
+        assertSame(a.getGrid(), b.getGrid());
+        assertSame(a.getGrid(), c.getGrid());
+        assertEquals(3, a.getGrid().size());
+        assertEquals(800, a.getGrid().getEnergyStored());
+    }
+
+    @Test
+    public void removingBridgeSplitsGridAndEnergy() {
+
+        TestManager manager = new TestManager();
+        EnergyDuctTile[] line = new EnergyDuctTile[5];
+        for (int i = 0; i < line.length; ++i) {
+            line[i] = manager.place(i, 0, 0);
+        }
+        line[0].getGrid().receiveEnergy(1000, false);
+
+        manager.remove(line[2]);
+
+        assertEquals(2, manager.size());
+        EnergyGrid left = line[0].getGrid();
+        EnergyGrid right = line[4].getGrid();
+        assertNotSame(left, right);
+        assertSame(left, line[1].getGrid());
+        assertSame(right, line[3].getGrid());
+        assertNull(line[2].getGrid());
+        // The removed duct takes its share (200) with it; the remainder is split by size.
+        assertEquals(400, left.getEnergyStored());
+        assertEquals(400, right.getEnergyStored());
+    }
+
+    @Test
+    public void removingDuctFromLoopKeepsGrid() {
+
+        TestManager manager = new TestManager();
+        EnergyDuctTile corner = manager.place(0, 0, 0);
+        manager.place(1, 0, 0);
+        manager.place(1, 0, 1);
+        manager.place(0, 0, 1);
+        EnergyGrid grid = corner.getGrid();
+
+        manager.remove(corner);
+
+        assertEquals(1, manager.size());
+        assertEquals(3, grid.size());
+    }
+
+    @Test
+    public void removingLastDuctDropsGrid() {
+
+        TestManager manager = new TestManager();
+        EnergyDuctTile duct = manager.place(0, 0, 0);
+
+        manager.remove(duct);
+
+        assertEquals(0, manager.size());
+    }
+
+    @Test
+    public void distributeSplitsEvenly() {
+
+        List<IEnergyStorage> endpoints = Arrays.asList(new EnergyStorage(1000), new EnergyStorage(1000), new EnergyStorage(1000));
+
+        int left = EnergyGrid.distribute(endpoints, 300, 0);
+
+        assertEquals(0, left);
+        for (IEnergyStorage endpoint : endpoints) {
+            assertEquals(100, endpoint.getEnergyStored());
+        }
+    }
+
+    @Test
+    public void distributeSkipsFullEndpoints() {
+
+        IEnergyStorage full = new EnergyStorage(100, 100, 100, 100);
+        IEnergyStorage small = new EnergyStorage(50);
+        IEnergyStorage large = new EnergyStorage(1000);
+        List<IEnergyStorage> endpoints = Arrays.asList(full, small, large);
+
+        int left = EnergyGrid.distribute(endpoints, 600, 0);
+
+        assertEquals(0, left);
+        assertEquals(100, full.getEnergyStored());
+        assertEquals(50, small.getEnergyStored());
+        assertEquals(550, large.getEnergyStored());
+    }
+
+    @Test
+    public void distributeReturnsOverflow() {
+
+        List<IEnergyStorage> endpoints = Arrays.asList(new EnergyStorage(100), new EnergyStorage(100));
+
+        assertEquals(300, EnergyGrid.distribute(endpoints, 500, 1));
+    }
+
+    @Test
+    public void distributeRotatesRemainder() {
+
+        IEnergyStorage a = new EnergyStorage(1000);
+        IEnergyStorage b = new EnergyStorage(1000);
+        List<IEnergyStorage> endpoints = Arrays.asList(a, b);
+
+        EnergyGrid.distribute(endpoints, 3, 1);
+
+        // Odd unit goes to the last endpoint visited, which is the first in the list when starting at 1.
+        assertEquals(2, a.getEnergyStored());
+        assertEquals(1, b.getEnergyStored());
+    }
+
+    /**
+     * Grid manager backed by a plain map instead of a world.
+     */
+    private static class TestManager extends EnergyGridManager {
+
+        private final Map<BlockPos, EnergyDuctTile> ducts = new HashMap<>();
+
+        TestManager() {
+
+            super(null);
+        }
+
+        EnergyDuctTile place(int x, int y, int z) {
+
+            EnergyDuctTile duct = new EnergyDuctTile();
+            duct.setPos(new BlockPos(x, y, z));
+            ducts.put(duct.getPos(), duct);
+            addDuct(duct);
+            return duct;
+        }
+
+        void remove(EnergyDuctTile duct) {
+
+            ducts.remove(duct.getPos());
+            removeDuct(duct);
+        }
+
+        @Override
+        protected EnergyDuctTile getDuct(BlockPos pos) {
+
+            return ducts.get(pos);
+        }
+
+    }
+
+}
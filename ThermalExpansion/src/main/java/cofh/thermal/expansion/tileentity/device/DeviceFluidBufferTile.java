@@ -1,6 +1,7 @@
 package cofh.thermal.expansion.tileentity.device;
 
 import cofh.core.fluid.FluidStorageCoFH;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.helpers.FluidHelper;
 import cofh.core.util.helpers.MathHelper;
 import cofh.thermal.core.tileentity.ReconfigurableTile4Way;
@@ -13,6 +14,7 @@ import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.util.Direction;
+import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import javax.annotation.Nullable;
 
@@ -43,20 +45,25 @@ public class DeviceFluidBufferTile extends ReconfigurableTile4Way implements ITi
     @Override
     public void tick() {
 
-        boolean curActive = isActive;
+        long profile = TickProfiler.start();
+        try {
+            boolean curActive = isActive;
 
-        if (isActive) {
-            if (timeCheckHalf()) {
-                transferOutput();
-                transferInput();
-            }
-            if (!redstoneControl.getState()) {
-                isActive = false;
+            if (isActive) {
+                if (timeCheckHalf()) {
+                    transferOutput();
+                    transferInput();
+                }
+                if (!redstoneControl.getState()) {
+                    isActive = false;
+                }
+            } else if (redstoneControl.getState()) {
+                isActive = true;
             }
-        } else if (redstoneControl.getState()) {
-            isActive = true;
+            updateActiveState(curActive);
+        } finally {
+            TickProfiler.end(this, profile);
         }
-        updateActiveState(curActive);
     }
 
     @Nullable
@@ -78,10 +85,13 @@ public class DeviceFluidBufferTile extends ReconfigurableTile4Way implements ITi
         for (int i = inputTracker + 1; i <= inputTracker + 6; ++i) {
             Direction side = DIRECTIONS[i % 6];
             if (reconfigControl.getSideConfig(side).isInput()) {
-                for (FluidStorageCoFH tank : inputTanks()) {
-                    if (tank.getSpace() > 0) {
-                        if (FluidHelper.extractFromAdjacent(this, tank, Math.min(getInputFluidAmount(), tank.getSpace()), side)) {
-                            break;
+                IFluidHandler handler = neighborCaps.getFluidHandler(side);
+                if (handler != null) {
+                    for (FluidStorageCoFH tank : inputTanks()) {
+                        if (tank.getSpace() > 0) {
+                            if (FluidHelper.extractFromHandler(handler, tank, Math.min(getInputFluidAmount(), tank.getSpace()))) {
+                                break;
+                            }
                         }
                     }
                 }
@@ -106,9 +116,12 @@ public class DeviceFluidBufferTile extends ReconfigurableTile4Way implements ITi
         for (int i = outputTracker + 1; i <= outputTracker + 6; ++i) {
             Direction side = DIRECTIONS[i % 6];
             if (reconfigControl.getSideConfig(side).isOutput()) {
-                for (int j = outputTanks().size(); j-- > 0; ) {
-                    if (FluidHelper.insertIntoAdjacent(this, outputTanks().get(j), getOutputFluidAmount(), side)) {
-                        break;
+                IFluidHandler handler = neighborCaps.getFluidHandler(side);
+                if (handler != null) {
+                    for (int j = outputTanks().size(); j-- > 0; ) {
+                        if (FluidHelper.insertIntoHandler(handler, outputTanks().get(j), getOutputFluidAmount())) {
+                            break;
+                        }
                     }
                 }
                 if (!updateTracker) {
@@ -138,8 +151,8 @@ public class DeviceFluidBufferTile extends ReconfigurableTile4Way implements ITi
 
         super.getConfigPacket(buffer);
 
-        buffer.writeInt(amountInput);
-        buffer.writeInt(amountOutput);
+        buffer.writeVarInt(amountInput);
+        buffer.writeVarInt(amountOutput);
 
         return buffer;
     }
@@ -160,8 +173,8 @@ public class DeviceFluidBufferTile extends ReconfigurableTile4Way implements ITi
 
         super.handleConfigPacket(buffer);
 
-        amountInput = MathHelper.clamp(buffer.readInt(), 0, XFER_MAX);
-        amountOutput = MathHelper.clamp(buffer.readInt(), 0, XFER_MAX);
+        amountInput = MathHelper.clamp(buffer.readVarInt(), 0, XFER_MAX);
+        amountOutput = MathHelper.clamp(buffer.readVarInt(), 0, XFER_MAX);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package cofh.thermal.expansion.tileentity.device;
 
 import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.util.TickProfiler;
 import cofh.core.util.helpers.InventoryHelper;
 import cofh.core.util.helpers.MathHelper;
 import cofh.thermal.core.tileentity.ReconfigurableTile4Way;
@@ -13,6 +14,7 @@ import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.util.Direction;
+import net.minecraftforge.items.IItemHandler;
 
 import javax.annotation.Nullable;
 
@@ -41,20 +43,25 @@ public class DeviceItemBufferTile extends ReconfigurableTile4Way implements ITic
     @Override
     public void tick() {
 
-        boolean curActive = isActive;
+        long profile = TickProfiler.start();
+        try {
+            boolean curActive = isActive;
 
-        if (isActive) {
-            if (timeCheckHalf()) {
-                transferOutput();
-                transferInput();
-            }
-            if (!redstoneControl.getState()) {
-                isActive = false;
+            if (isActive) {
+                if (timeCheckHalf()) {
+                    transferOutput();
+                    transferInput();
+                }
+                if (!redstoneControl.getState()) {
+                    isActive = false;
+                }
+            } else if (redstoneControl.getState()) {
+                isActive = true;
             }
-        } else if (redstoneControl.getState()) {
-            isActive = true;
+            updateActiveState(curActive);
+        } finally {
+            TickProfiler.end(this, profile);
         }
-        updateActiveState(curActive);
     }
 
     @Nullable
@@ -76,10 +83,13 @@ public class DeviceItemBufferTile extends ReconfigurableTile4Way implements ITic
         for (int i = inputTracker + 1; i <= inputTracker + 6; ++i) {
             Direction side = DIRECTIONS[i % 6];
             if (reconfigControl.getSideConfig(side).isInput()) {
-                for (ItemStorageCoFH slot : inputSlots()) {
-                    if (slot.getSpace() > 0) {
-                        if (InventoryHelper.extractFromAdjacent(this, slot, Math.min(getInputItemAmount(), slot.getSpace()), side)) {
-                            break;
+                IItemHandler handler = neighborCaps.getItemHandler(side);
+                if (handler != null) {
+                    for (ItemStorageCoFH slot : inputSlots()) {
+                        if (slot.getSpace() > 0) {
+                            if (InventoryHelper.extractFromHandler(handler, slot, Math.min(getInputItemAmount(), slot.getSpace()), inputCursor, side)) {
+                                break;
+                            }
                         }
                     }
                 }
@@ -104,9 +114,12 @@ public class DeviceItemBufferTile extends ReconfigurableTile4Way implements ITic
         for (int i = outputTracker + 1; i <= outputTracker + 6; ++i) {
             Direction side = DIRECTIONS[i % 6];
             if (reconfigControl.getSideConfig(side).isOutput()) {
-                for (int j = outputSlots().size(); j-- > 0; ) {
-                    if (InventoryHelper.insertIntoAdjacent(this, outputSlots().get(j), getOutputItemAmount(), side)) {
-                        break;
+                IItemHandler handler = neighborCaps.getItemHandler(side);
+                if (handler != null) {
+                    for (int j = outputSlots().size(); j-- > 0; ) {
+                        if (InventoryHelper.insertIntoHandler(handler, outputSlots().get(j), getOutputItemAmount(), outputCursor, side)) {
+                            break;
+                        }
                     }
                 }
                 if (!updateTracker) {
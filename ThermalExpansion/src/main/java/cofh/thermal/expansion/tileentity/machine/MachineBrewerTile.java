@@ -74,7 +74,7 @@ public class MachineBrewerTile extends MachineTileProcess {
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         return inputSlot.getCount() >= itemInputCounts.get(0) && inputTank.getAmount() >= fluidInputCounts.get(0);
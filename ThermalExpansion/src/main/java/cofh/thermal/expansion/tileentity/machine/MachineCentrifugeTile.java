@@ -72,7 +72,7 @@ public class MachineCentrifugeTile extends MachineTileProcess {
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         return inputSlot.getCount() >= itemInputCounts.get(0);
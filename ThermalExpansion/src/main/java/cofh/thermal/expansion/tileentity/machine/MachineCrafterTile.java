@@ -98,6 +98,7 @@ public class MachineCrafterTile extends MachineTileProcess {
         craftResult.setRecipeUsed(craftRecipe);
         curRecipe = CrafterRecipeManager.instance().getRecipe(craftRecipe);
         resultSlot.setItemStack(craftResult.getStackInSlot(0));
+        invalidateRecipe();
         clearRecipeChanges();
     }
 
@@ -107,6 +108,7 @@ public class MachineCrafterTile extends MachineTileProcess {
         if (isActive) {
             processOff();
         }
+        wake();
     }
 
     public void clearRecipeChanges() {
@@ -69,7 +69,7 @@ public class MachineCrucibleTile extends MachineTileProcess {
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         return inputSlot.getCount() >= itemInputCounts.get(0);
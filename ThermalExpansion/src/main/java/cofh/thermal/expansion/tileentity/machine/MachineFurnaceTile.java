@@ -54,7 +54,7 @@ public class MachineFurnaceTile extends MachineTileProcess {
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         return inputSlot.getCount() >= itemInputCounts.get(0);
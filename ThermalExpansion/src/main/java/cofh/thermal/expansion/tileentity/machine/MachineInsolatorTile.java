@@ -5,6 +5,7 @@ import cofh.core.inventory.ItemStorageCoFH;
 import cofh.core.util.helpers.FluidHelper;
 import cofh.core.util.helpers.MathHelper;
 import cofh.thermal.core.tileentity.MachineTileProcess;
+import cofh.thermal.core.util.AugmentProfile;
 import cofh.thermal.expansion.inventory.container.machine.MachineInsolatorContainer;
 import cofh.thermal.expansion.util.managers.machine.InsolatorRecipeManager;
 import net.minecraft.entity.player.PlayerEntity;
@@ -12,7 +13,6 @@ import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.fluid.Fluids;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.CompoundNBT;
 import net.minecraftforge.fluids.FluidStack;
 
 import javax.annotation.Nullable;
@@ -108,7 +108,7 @@ public class MachineInsolatorTile extends MachineTileProcess {
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         return inputSlot.getCount() >= itemInputCounts.get(0) && (fluidInputCounts.isEmpty() || waterTank.getAmount() >= fluidInputCounts.get(0));
@@ -127,11 +127,11 @@ public class MachineInsolatorTile extends MachineTileProcess {
     }
 
     @Override
-    protected void setAttributesFromAugment(CompoundNBT augmentData) {
+    protected void setAttributesFromAugments(AugmentProfile profile) {
 
-        super.setAttributesFromAugment(augmentData);
+        super.setAttributesFromAugments(profile);
 
-        recycleFeature |= getAttributeMod(augmentData, TAG_AUGMENT_FEATURE_RECYCLE) > 0;
+        recycleFeature |= profile.getMax(TAG_AUGMENT_FEATURE_RECYCLE) > 0;
     }
     // endregion
 }
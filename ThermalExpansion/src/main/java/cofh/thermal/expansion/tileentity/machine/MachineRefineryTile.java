@@ -79,7 +79,7 @@ public class MachineRefineryTile extends MachineTileProcess {
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         return inputTank.getAmount() >= fluidInputCounts.get(0);
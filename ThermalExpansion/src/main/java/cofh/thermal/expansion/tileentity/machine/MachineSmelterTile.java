@@ -79,10 +79,17 @@ public class MachineSmelterTile extends MachineTileProcess {
     }
 
     // region OPTIMIZATION
+    @Override
+    protected boolean recipeDependsOnCounts() {
+
+        // A recipe only matches once its inputs are there in full, so a top-up can complete it.
+        return true;
+    }
+
     @Override
     protected boolean validateInputs() {
 
-        if (!cacheRecipe()) {
+        if (!resolveRecipe()) {
             return false;
         }
         List<? extends ItemStorageCoFH> slotInputs = inputSlots();
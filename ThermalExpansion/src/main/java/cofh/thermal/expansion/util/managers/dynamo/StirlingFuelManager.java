@@ -50,10 +50,9 @@ public class StirlingFuelManager extends SingleItemFuelManager {
     }
 
     @Override
-    protected void clear() {
+    protected Tables createTables() {
 
-        fuelMap.clear();
-        convertedFuels.clear();
+        return new StirlingTables();
     }
 
     public int getEnergy(ItemStack stack) {
@@ -93,20 +92,23 @@ public class StirlingFuelManager extends SingleItemFuelManager {
     // endregion
 
     // region CONVERSION
-    protected List<StirlingFuel> convertedFuels = new ArrayList<>();
-
     public List<StirlingFuel> getConvertedFuels() {
 
-        return convertedFuels;
+        return ((StirlingTables) tables()).convertedFuels;
     }
 
     protected void createConvertedRecipes(RecipeManager recipeManager) {
 
+        // Checked against the staged fuels, as this runs before they are published.
         ItemStack query;
         for (Item item : ForgeRegistries.ITEMS) {
             query = new ItemStack(item);
-            if (getFuel(query) == null && validFuel(query)) {
-                convertedFuels.add(convert(query, getEnergy(query)));
+            if (stagedTables.fuelMap.get(query) != null || query.getCapability(CapabilityFluidHandler.FLUID_HANDLER_ITEM_CAPABILITY).isPresent()) {
+                continue;
+            }
+            int energy = getEnergyFurnaceFuel(query);
+            if (energy > 0) {
+                ((StirlingTables) stagedTables).convertedFuels.add(convert(query, energy));
             }
         }
     }
@@ -116,4 +118,12 @@ public class StirlingFuelManager extends SingleItemFuelManager {
         return new StirlingFuel(new ResourceLocation(ID_THERMAL, "stirling_" + item.getItem().getRegistryName().getPath()), energy, singletonList(Ingredient.fromStacks(item)), emptyList());
     }
     // endregion
+
+    // region TABLES
+    protected static class StirlingTables extends Tables {
+
+        protected final List<StirlingFuel> convertedFuels = new ArrayList<>();
+
+    }
+    // endregion
 }
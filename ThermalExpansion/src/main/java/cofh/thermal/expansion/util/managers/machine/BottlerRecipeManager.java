@@ -45,9 +45,7 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
     protected static boolean defaultBucketRecipes = true;
     protected static boolean defaultPotionRecipes = true;
 
-    protected Map<List<Integer>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
-    protected Set<Fluid> validFluids = new ObjectOpenHashSet<>();
-    protected Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+    protected BottlerTables stagedTables = new BottlerTables();
 
     protected int maxOutputItems;
     protected int maxOutputFluids;
@@ -77,20 +75,22 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
 
     public boolean validItem(ItemStack item) {
 
-        return validItems.contains(convert(item));
+        return tables().validItems.contains(convert(item));
     }
 
     public boolean validFluid(FluidStack fluid) {
 
-        return validFluids.contains(fluid.getFluid());
+        return tables().validFluids.contains(fluid.getFluid());
     }
 
     protected void clear() {
 
-        recipeMap.clear();
-        validFluids.clear();
-        validItems.clear();
-        convertedRecipes.clear();
+        stagedTables = new BottlerTables();
+    }
+
+    protected BottlerTables tables() {
+
+        return liveTables();
     }
 
     // region RECIPES
@@ -99,6 +99,7 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
         if (inputSlots.isEmpty() && inputTanks.isEmpty() || inputSlots.get(0).isEmpty() && inputTanks.get(0).isEmpty()) {
             return null;
         }
+        Map<List<Integer>, IMachineRecipe> recipeMap = tables().recipeMap;
         if (inputTanks.isEmpty() || inputTanks.get(0).isEmpty()) {
             ItemStack inputItem = inputSlots.get(0).getItemStack();
             return recipeMap.get(singletonList(convert(inputItem).hashCode()));
@@ -130,12 +131,12 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
                 return null;
             }
         }
-        validItems.add(convert(inputItem));
-        validFluids.add(inputFluid.getFluid());
+        stagedTables.validItems.add(convert(inputItem));
+        stagedTables.validFluids.add(inputFluid.getFluid());
         energy = (int) (energy * getDefaultScale());
 
         SimpleMachineRecipe recipe = new SimpleMachineRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcodeNoTag(inputFluid)), recipe);
+        stagedTables.recipeMap.put(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcodeNoTag(inputFluid)), recipe);
         return recipe;
     }
 
@@ -149,9 +150,9 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
         if (inputFluid.isEmpty()) {
             return null;
         }
-        validItems.add(convert(inputItem));
-        validFluids.add(inputFluid.getFluid());
-        recipeMap.put(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcodeNoTag(inputFluid)), recipe);
+        stagedTables.validItems.add(convert(inputItem));
+        stagedTables.validFluids.add(inputFluid.getFluid());
+        stagedTables.recipeMap.put(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcodeNoTag(inputFluid)), recipe);
         return recipe;
     }
     // endregion
@@ -166,7 +167,7 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return new ArrayList<>(tables().recipeMap.values());
     }
     // endregion
 
@@ -176,6 +177,12 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
 
     }
 
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+
     @Override
     public void refresh(RecipeManager recipeManager) {
 
@@ -211,17 +218,26 @@ public class BottlerRecipeManager extends AbstractManager implements IRecipeMana
     // endregion
 
     // region CONVERSION
-    protected List<BottlerRecipe> convertedRecipes = new ArrayList<>();
-
     public List<BottlerRecipe> getConvertedRecipes() {
 
-        return convertedRecipes;
+        return tables().convertedRecipes;
     }
 
     protected BottlerRecipeNBT convert(int energy, float experience, @Nonnull ItemStack inputItem, @Nonnull FluidStack inputFluid, @Nonnull ItemStack outputItem) {
 
-        convertedRecipes.add(new BottlerRecipe(new ResourceLocation(ID_THERMAL, "bottler_" + inputItem.getItem().getRegistryName().getPath()), energy, experience, singletonList(Ingredient.fromStacks(inputItem)), singletonList(inputFluid), singletonList(outputItem), emptyList(), emptyList()));
+        stagedTables.convertedRecipes.add(new BottlerRecipe(new ResourceLocation(ID_THERMAL, "bottler_" + inputItem.getItem().getRegistryName().getPath()), energy, experience, singletonList(Ingredient.fromStacks(inputItem)), singletonList(inputFluid), singletonList(outputItem), emptyList(), emptyList()));
         return new BottlerRecipeNBT(energy, experience, inputItem, inputFluid, outputItem);
     }
     // endregion
+
+    // region TABLES
+    protected static class BottlerTables {
+
+        protected final Map<List<Integer>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
+        protected final Set<Fluid> validFluids = new ObjectOpenHashSet<>();
+        protected final Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+        protected final List<BottlerRecipe> convertedRecipes = new ArrayList<>();
+
+    }
+    // endregion
 }
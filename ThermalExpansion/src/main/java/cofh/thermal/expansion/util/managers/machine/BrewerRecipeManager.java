@@ -44,9 +44,7 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
 
     protected int defaultPotion = BUCKET_VOLUME;
 
-    protected Map<List<Integer>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
-    protected Set<Fluid> validFluids = new ObjectOpenHashSet<>();
-    protected Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+    protected BrewerTables stagedTables = new BrewerTables();
 
     protected int maxOutputItems;
     protected int maxOutputFluids;
@@ -72,20 +70,22 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
 
     public boolean validItem(ItemStack item) {
 
-        return validItems.contains(convert(item));
+        return tables().validItems.contains(convert(item));
     }
 
     public boolean validFluid(FluidStack fluid) {
 
-        return validFluids.contains(fluid.getFluid());
+        return tables().validFluids.contains(fluid.getFluid());
     }
 
     protected void clear() {
 
-        recipeMap.clear();
-        validFluids.clear();
-        validItems.clear();
-        convertedRecipes.clear();
+        stagedTables = new BrewerTables();
+    }
+
+    protected BrewerTables tables() {
+
+        return liveTables();
     }
 
     // region RECIPES
@@ -96,7 +96,7 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
         }
         ItemStack inputItem = inputSlots.get(0).getItemStack();
         FluidStack inputFluid = inputTanks.get(0).getFluidStack();
-        return recipeMap.get(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcode(inputFluid)));
+        return tables().recipeMap.get(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcode(inputFluid)));
     }
 
     protected IMachineRecipe addRecipe(int energy, float experience, List<ItemStack> inputItems, List<FluidStack> inputFluids, List<ItemStack> outputItems, List<Float> chance, List<FluidStack> outputFluids) {
@@ -120,9 +120,9 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
         energy = (int) (energy * getDefaultScale());
 
         SimpleMachineRecipe recipe = new SimpleMachineRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcode(inputFluid)), recipe);
-        validItems.add(convert(inputItem));
-        validFluids.add(inputFluid.getFluid());
+        stagedTables.recipeMap.put(asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcode(inputFluid)), recipe);
+        stagedTables.validItems.add(convert(inputItem));
+        stagedTables.validFluids.add(inputFluid.getFluid());
         return recipe;
     }
     // endregion
@@ -137,7 +137,7 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return new ArrayList<>(tables().recipeMap.values());
     }
     // endregion
 
@@ -147,6 +147,12 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
 
     }
 
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+
     @Override
     public void refresh(RecipeManager recipeManager) {
 
@@ -155,7 +161,7 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
             // TODO: Solve this nonsense with Forge.
             ThermalCore.LOG.debug("Adding default Brewing Stand recipes to the Alchemical Imbuer...");
             createConvertedRecipes();
-            for (ThermalRecipe recipe : getConvertedRecipes()) {
+            for (ThermalRecipe recipe : stagedTables.convertedRecipes) {
                 addRecipe(recipe);
             }
         }
@@ -167,11 +173,9 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
     // endregion
 
     // region CONVERSION
-    protected List<BrewerRecipe> convertedRecipes = new ArrayList<>();
-
     public List<BrewerRecipe> getConvertedRecipes() {
 
-        return convertedRecipes;
+        return tables().convertedRecipes;
     }
 
     protected void createConvertedRecipes() {
@@ -238,7 +242,7 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
         if (inputPotion == null || reagent == null || outputPotion == null) {
             return false;
         }
-        convertedRecipes.add(convert(inputPotion, reagent, outputPotion));
+        stagedTables.convertedRecipes.add(convert(inputPotion, reagent, outputPotion));
         return true;
     }
 
@@ -256,4 +260,15 @@ public class BrewerRecipeManager extends AbstractManager implements IRecipeManag
                 Collections.singletonList(PotionFluid.getPotionAsFluid(defaultPotion, outputPotion)));
     }
     // endregion
+
+    // region TABLES
+    protected static class BrewerTables {
+
+        protected final Map<List<Integer>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
+        protected final Set<Fluid> validFluids = new ObjectOpenHashSet<>();
+        protected final Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+        protected final List<BrewerRecipe> convertedRecipes = new ArrayList<>();
+
+    }
+    // endregion
 }
@@ -30,9 +30,7 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
     private static final ChillerRecipeManager INSTANCE = new ChillerRecipeManager();
     protected static final int DEFAULT_ENERGY = 4000;
 
-    protected Map<List<Integer>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
-    protected Set<Fluid> validFluids = new ObjectOpenHashSet<>();
-    protected Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+    protected ChillerTables stagedTables = new ChillerTables();
 
     protected int maxOutputItems;
     protected int maxOutputFluids;
@@ -62,19 +60,22 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
 
     public boolean validItem(ItemStack item) {
 
-        return validItems.contains(convert(item));
+        return tables().validItems.contains(convert(item));
     }
 
     public boolean validFluid(FluidStack fluid) {
 
-        return validFluids.contains(fluid.getFluid());
+        return tables().validFluids.contains(fluid.getFluid());
     }
 
     protected void clear() {
 
-        recipeMap.clear();
-        validFluids.clear();
-        validItems.clear();
+        stagedTables = new ChillerTables();
+    }
+
+    protected ChillerTables tables() {
+
+        return liveTables();
     }
 
     // region RECIPES
@@ -83,6 +84,7 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
         if (inputSlots.isEmpty() && inputTanks.isEmpty() || inputSlots.get(0).isEmpty() && inputTanks.get(0).isEmpty()) {
             return null;
         }
+        Map<List<Integer>, IMachineRecipe> recipeMap = tables().recipeMap;
         if (inputTanks.isEmpty() || inputTanks.get(0).isEmpty()) {
             ItemStack inputItem = inputSlots.get(0).getItemStack();
             return recipeMap.get(Collections.singletonList(convert(inputItem).hashCode()));
@@ -107,14 +109,14 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
             if (inputItem.isEmpty()) {
                 return null;
             }
-            validItems.add(convert(inputItem));
+            stagedTables.validItems.add(convert(inputItem));
             key = Collections.singletonList(convert(inputItem).hashCode());
         } else if (inputItems.isEmpty()) {
             FluidStack inputFluid = inputFluids.get(0);
             if (inputFluid.isEmpty()) {
                 return null;
             }
-            validFluids.add(inputFluid.getFluid());
+            stagedTables.validFluids.add(inputFluid.getFluid());
             key = Collections.singletonList(FluidHelper.fluidHashcode(inputFluid));
         } else {
             ItemStack inputItem = inputItems.get(0);
@@ -125,8 +127,8 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
             if (inputFluid.isEmpty()) {
                 return null;
             }
-            validItems.add(convert(inputItem));
-            validFluids.add(inputFluid.getFluid());
+            stagedTables.validItems.add(convert(inputItem));
+            stagedTables.validFluids.add(inputFluid.getFluid());
             key = asList(convert(inputItem).hashCode(), FluidHelper.fluidHashcode(inputFluid));
         }
         for (ItemStack stack : outputItems) {
@@ -137,7 +139,7 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
         energy = (int) (energy * getDefaultScale());
 
         SimpleMachineRecipe recipe = new SimpleMachineRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(key, recipe);
+        stagedTables.recipeMap.put(key, recipe);
         return recipe;
     }
     // endregion
@@ -152,7 +154,7 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return new ArrayList<>(tables().recipeMap.values());
     }
     // endregion
 
@@ -162,6 +164,12 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
 
     }
 
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+
     @Override
     public void refresh(RecipeManager recipeManager) {
 
@@ -172,4 +180,14 @@ public class ChillerRecipeManager extends AbstractManager implements IRecipeMana
         }
     }
     // endregion
+
+    // region TABLES
+    protected static class ChillerTables {
+
+        protected final Map<List<Integer>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
+        protected final Set<Fluid> validFluids = new ObjectOpenHashSet<>();
+        protected final Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+
+    }
+    // endregion
 }
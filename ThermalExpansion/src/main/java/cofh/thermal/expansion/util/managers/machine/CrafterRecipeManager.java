@@ -1,6 +1,6 @@
 package cofh.thermal.expansion.util.managers.machine;
 
-import cofh.thermal.core.util.managers.IManager;
+import cofh.thermal.core.util.managers.AbstractManager;
 import cofh.thermal.core.util.recipes.internal.IMachineRecipe;
 import cofh.thermal.expansion.util.recipes.machine.CrafterRecipe;
 import net.minecraft.item.ItemStack;
@@ -10,18 +10,23 @@ import net.minecraftforge.fluids.FluidStack;
 
 import java.util.IdentityHashMap;
 
-public class CrafterRecipeManager implements IManager {
+public class CrafterRecipeManager extends AbstractManager {
 
     private static final CrafterRecipeManager INSTANCE = new CrafterRecipeManager();
     protected static final int DEFAULT_ENERGY = 400;
 
-    protected IdentityHashMap<IRecipe<?>, CrafterRecipe> recipeMap = new IdentityHashMap<>();
+    protected IdentityHashMap<IRecipe<?>, CrafterRecipe> stagedRecipeMap = new IdentityHashMap<>();
 
     public static CrafterRecipeManager instance() {
 
         return INSTANCE;
     }
 
+    private CrafterRecipeManager() {
+
+        super(DEFAULT_ENERGY);
+    }
+
     public boolean validItem(ItemStack item, IMachineRecipe recipe) {
 
         return recipe instanceof CrafterRecipe && ((CrafterRecipe) recipe).validItem(item);
@@ -37,10 +42,9 @@ public class CrafterRecipeManager implements IManager {
         if (recipe == null || recipe.isDynamic() || recipe.getRecipeOutput().isEmpty()) {
             return null;
         }
-        if (!recipeMap.containsKey(recipe)) {
-            recipeMap.put(recipe, new CrafterRecipe(DEFAULT_ENERGY, recipe));
-        }
-        return recipeMap.get(recipe);
+        // Filled lazily on the main thread; a refresh only ever swaps in a new, empty map.
+        IdentityHashMap<IRecipe<?>, CrafterRecipe> recipeMap = liveTables();
+        return recipeMap.computeIfAbsent(recipe, r -> new CrafterRecipe(DEFAULT_ENERGY, r));
     }
 
     // region IManager
@@ -52,7 +56,13 @@ public class CrafterRecipeManager implements IManager {
     @Override
     public void refresh(RecipeManager recipeManager) {
 
-        recipeMap.clear();
+        stagedRecipeMap = new IdentityHashMap<>();
+    }
+
+    @Override
+    public Object getStagedTables() {
+
+        return stagedRecipeMap;
     }
     // endregion
 }
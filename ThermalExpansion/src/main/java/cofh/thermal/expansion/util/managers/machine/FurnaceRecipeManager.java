@@ -39,10 +39,9 @@ public class FurnaceRecipeManager extends SingleItemRecipeManager {
     }
 
     @Override
-    protected void clear() {
+    protected Tables createTables() {
 
-        recipeMap.clear();
-        convertedRecipes.clear();
+        return new FurnaceTables();
     }
 
     // region IManager
@@ -78,7 +77,7 @@ public class FurnaceRecipeManager extends SingleItemRecipeManager {
         if (defaultFurnaceRecipes) {
             ThermalCore.LOG.debug("Adding default Furnace recipes to the Redstone Furnace...");
             createConvertedRecipes(recipeManager);
-            for (ThermalRecipe recipe : getConvertedRecipes()) {
+            for (ThermalRecipe recipe : ((FurnaceTables) stagedTables).convertedRecipes) {
                 addRecipe(recipe);
             }
         }
@@ -90,11 +89,9 @@ public class FurnaceRecipeManager extends SingleItemRecipeManager {
     // endregion
 
     // region CONVERSION
-    protected List<FurnaceRecipe> convertedRecipes = new ArrayList<>();
-
     public List<FurnaceRecipe> getConvertedRecipes() {
 
-        return convertedRecipes;
+        return ((FurnaceTables) tables()).convertedRecipes;
     }
 
     protected void createConvertedRecipes(RecipeManager recipeManager) {
@@ -109,7 +106,7 @@ public class FurnaceRecipeManager extends SingleItemRecipeManager {
         if (recipe.isDynamic() || recipe.getRecipeOutput().isEmpty()) {
             return false;
         }
-        convertedRecipes.add(convert(recipe));
+        ((FurnaceTables) stagedTables).convertedRecipes.add(convert(recipe));
         return true;
     }
 
@@ -121,4 +118,12 @@ public class FurnaceRecipeManager extends SingleItemRecipeManager {
         return new FurnaceRecipe(new ResourceLocation(ID_THERMAL, "furnace_" + recipe.getIngredients().get(0).hashCode()), energy, experience, recipe);
     }
     // endregion
+
+    // region TABLES
+    protected static class FurnaceTables extends Tables {
+
+        protected final List<FurnaceRecipe> convertedRecipes = new ArrayList<>();
+
+    }
+    // endregion
 }
@@ -69,7 +69,7 @@ public class InsolatorRecipeManager extends SingleItemRecipeManager.Catalyzed {
         energy = (int) (energy * getDefaultScale());
 
         InternalInsolatorRecipe recipe = new InternalInsolatorRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(convert(input), recipe);
+        stagedTables.recipeMap.put(input, recipe);
         return recipe;
     }
     // endregion
@@ -28,9 +28,7 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
     private static final PressRecipeManager INSTANCE = new PressRecipeManager();
     protected static final int DEFAULT_ENERGY = 2400;
 
-    protected Map<List<ComparableItemStack>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
-    protected Set<ComparableItemStack> validInputs = new ObjectOpenHashSet<>();
-    protected Set<ComparableItemStack> validDies = new ObjectOpenHashSet<>();
+    protected PressTables stagedTables = new PressTables();
 
     protected int maxOutputItems;
     protected int maxOutputFluids;
@@ -65,19 +63,22 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
 
     public boolean validInput(ItemStack item) {
 
-        return validInputs.contains(convert(item));
+        return tables().validInputs.contains(convert(item));
     }
 
     public boolean validDie(ItemStack item) {
 
-        return validDies.contains(convert(item));
+        return tables().validDies.contains(convert(item));
     }
 
     protected void clear() {
 
-        recipeMap.clear();
-        validInputs.clear();
-        validDies.clear();
+        stagedTables = new PressTables();
+    }
+
+    protected PressTables tables() {
+
+        return liveTables();
     }
 
     protected ArrayList<ComparableItemStack> getKeyFromSlots(List<? extends IItemStackAccess> inputSlots) {
@@ -107,7 +108,7 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
         if (inputSlots.isEmpty() || inputSlots.get(0).isEmpty()) {
             return null;
         }
-        return recipeMap.get(getKeyFromSlots(inputSlots));
+        return tables().recipeMap.get(getKeyFromSlots(inputSlots));
     }
 
     protected IMachineRecipe addRecipe(int energy, float experience, List<ItemStack> inputItems, List<FluidStack> inputFluids, List<ItemStack> outputItems, List<Float> chance, List<FluidStack> outputFluids) {
@@ -131,12 +132,12 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
         energy = (int) (energy * getDefaultScale());
 
         SimpleMachineRecipe recipe = new SimpleMachineRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        validInputs.add(convert(inputItems.get(0)));
+        stagedTables.validInputs.add(convert(inputItems.get(0)));
 
         if (inputItems.size() > 1 && !inputItems.get(1).isEmpty()) {
-            validDies.add(convert(inputItems.get(1)));
+            stagedTables.validDies.add(convert(inputItems.get(1)));
         }
-        recipeMap.put(getKeyFromStacks(inputItems), recipe);
+        stagedTables.recipeMap.put(getKeyFromStacks(inputItems), recipe);
         return recipe;
     }
 
@@ -150,7 +151,7 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return new ArrayList<>(tables().recipeMap.values());
     }
     // endregion
 
@@ -160,6 +161,12 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
 
     }
 
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
+
     @Override
     public void refresh(RecipeManager recipeManager) {
 
@@ -214,4 +221,14 @@ public class PressRecipeManager extends AbstractManager implements IRecipeManage
     //        return true;
     //    }
     // endregion
+
+    // region TABLES
+    protected static class PressTables {
+
+        protected final Map<List<ComparableItemStack>, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
+        protected final Set<ComparableItemStack> validInputs = new ObjectOpenHashSet<>();
+        protected final Set<ComparableItemStack> validDies = new ObjectOpenHashSet<>();
+
+    }
+    // endregion
 }
@@ -57,7 +57,7 @@ public class PulverizerRecipeManager extends SingleItemRecipeManager.Catalyzed {
         energy = (int) (energy * getDefaultScale());
 
         InternalPulverizerRecipe recipe = new InternalPulverizerRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(convert(input), recipe);
+        stagedTables.recipeMap.put(input, recipe);
         return recipe;
     }
     // endregion
@@ -29,7 +29,7 @@ public class RefineryRecipeManager extends AbstractManager implements IRecipeMan
     private static final RefineryRecipeManager INSTANCE = new RefineryRecipeManager();
     protected static final int DEFAULT_ENERGY = 8000;
 
-    protected Map<Integer, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
+    protected Map<Integer, IMachineRecipe> stagedRecipeMap = new Object2ObjectOpenHashMap<>();
 
     protected int maxOutputItems;
     protected int maxOutputFluids;
@@ -58,7 +58,12 @@ public class RefineryRecipeManager extends AbstractManager implements IRecipeMan
 
     protected void clear() {
 
-        recipeMap.clear();
+        stagedRecipeMap = new Object2ObjectOpenHashMap<>();
+    }
+
+    protected Map<Integer, IMachineRecipe> recipeMap() {
+
+        return liveTables();
     }
 
     protected IMachineRecipe getRecipe(FluidStack input) {
@@ -72,7 +77,7 @@ public class RefineryRecipeManager extends AbstractManager implements IRecipeMan
             return null;
         }
         FluidStack inputFluid = inputTanks.get(0).getFluidStack();
-        return recipeMap.get(FluidHelper.fluidHashcode(inputFluid));
+        return recipeMap().get(FluidHelper.fluidHashcode(inputFluid));
     }
 
     protected IMachineRecipe addRecipe(int energy, float experience, List<ItemStack> inputItems, List<FluidStack> inputFluids, List<ItemStack> outputItems, List<Float> chance, List<FluidStack> outputFluids) {
@@ -97,7 +102,7 @@ public class RefineryRecipeManager extends AbstractManager implements IRecipeMan
         energy = (int) (energy * getDefaultScale());
 
         SimpleMachineRecipe recipe = new SimpleMachineRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(FluidHelper.fluidHashcode(input), recipe);
+        stagedRecipeMap.put(FluidHelper.fluidHashcode(input), recipe);
         return recipe;
     }
 
@@ -111,7 +116,7 @@ public class RefineryRecipeManager extends AbstractManager implements IRecipeMan
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return new ArrayList<>(recipeMap().values());
     }
     // endregion
 
@@ -121,6 +126,12 @@ public class RefineryRecipeManager extends AbstractManager implements IRecipeMan
 
     }
 
+    @Override
+    public Object getStagedTables() {
+
+        return stagedRecipeMap;
+    }
+
     @Override
     public void refresh(RecipeManager recipeManager) {
 
@@ -3,7 +3,9 @@ package cofh.thermal.expansion.util.managers.machine;
 import cofh.core.fluid.IFluidStackAccess;
 import cofh.core.inventory.FalseIInventory;
 import cofh.core.inventory.IItemStackAccess;
-import cofh.core.util.ComparableItemStack;
+import cofh.core.util.ItemStackMap;
+import cofh.core.util.helpers.MathHelper;
+import cofh.thermal.core.util.IMachineInventory;
 import cofh.thermal.core.util.IThermalInventory;
 import cofh.thermal.core.util.managers.AbstractManager;
 import cofh.thermal.core.util.managers.IRecipeManager;
@@ -14,16 +16,18 @@ import cofh.thermal.core.util.recipes.internal.CatalyzedMachineRecipe;
 import cofh.thermal.core.util.recipes.internal.IMachineRecipe;
 import cofh.thermal.core.util.recipes.internal.IRecipeCatalyst;
 import cofh.thermal.expansion.init.TExpRecipeTypes;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.Ingredient;
 import net.minecraft.item.crafting.RecipeManager;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fluids.FluidStack;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 
@@ -32,9 +36,7 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
     private static final SmelterRecipeManager INSTANCE = new SmelterRecipeManager();
     protected static final int DEFAULT_ENERGY = 3200;
 
-    protected Object2ObjectOpenHashMap<SmelterMapWrapper, IMachineRecipe> recipeMap = new Object2ObjectOpenHashMap<>();
-    protected Map<ComparableItemStack, IRecipeCatalyst> catalystMap = new Object2ObjectOpenHashMap<>();
-    protected Set<ComparableItemStack> validItems = new ObjectOpenHashSet<>();
+    protected SmelterTables stagedTables = new SmelterTables();
 
     protected int maxInputItems;
     protected int maxOutputItems;
@@ -55,42 +57,26 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
 
     public void addRecipe(ThermalRecipe recipe) {
 
-        switch (recipe.getInputItems().size()) {
-            case 1:
-                for (ItemStack firstInput : recipe.getInputItems().get(0).getMatchingStacks()) {
-                    addRecipe(recipe.getEnergy(), recipe.getExperience(), Collections.singletonList(firstInput), recipe.getInputFluids(), recipe.getOutputItems(), recipe.getOutputItemChances(), recipe.getOutputFluids());
-                }
-                return;
-            case 2:
-                for (ItemStack firstInput : recipe.getInputItems().get(0).getMatchingStacks()) {
-                    for (ItemStack secondInput : recipe.getInputItems().get(1).getMatchingStacks()) {
-                        addRecipe(recipe.getEnergy(), recipe.getExperience(), asList(firstInput, secondInput), recipe.getInputFluids(), recipe.getOutputItems(), recipe.getOutputItemChances(), recipe.getOutputFluids());
-                    }
-                }
-                return;
-            case 3:
-                for (ItemStack firstInput : recipe.getInputItems().get(0).getMatchingStacks()) {
-                    for (ItemStack secondInput : recipe.getInputItems().get(1).getMatchingStacks()) {
-                        for (ItemStack thirdInput : recipe.getInputItems().get(2).getMatchingStacks()) {
-                            addRecipe(recipe.getEnergy(), recipe.getExperience(), asList(firstInput, secondInput, thirdInput), recipe.getInputFluids(), recipe.getOutputItems(), recipe.getOutputItemChances(), recipe.getOutputFluids());
-                        }
-                    }
-                }
-                return;
-            default:
+        List<List<ItemStack>> inputItems = new ArrayList<>(recipe.getInputItems().size());
+        for (Ingredient ingredient : recipe.getInputItems()) {
+            inputItems.add(asList(ingredient.getMatchingStacks()));
         }
+        addRecipeAlternatives(recipe.getEnergy(), recipe.getExperience(), inputItems, recipe.getInputFluids(), recipe.getOutputItems(), recipe.getOutputItemChances(), recipe.getOutputFluids());
     }
 
     public boolean validItem(ItemStack item) {
 
-        return validItems.contains(convert(item));
+        return tables().recipeIndex.containsKey(item);
     }
 
     protected void clear() {
 
-        recipeMap.clear();
-        catalystMap.clear();
-        validItems.clear();
+        stagedTables = new SmelterTables();
+    }
+
+    protected SmelterTables tables() {
+
+        return liveTables();
     }
 
     // region RECIPES
@@ -99,28 +85,79 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
         if (inputSlots.isEmpty()) {
             return null;
         }
-        List<ComparableItemStack> convertedItems = new ArrayList<>(maxInputItems);
-        for (int i = 0; i < maxInputItems; ++i) {
-            if (!inputSlots.get(i).isEmpty()) {
-                ComparableItemStack compStack = convert(inputSlots.get(i).getItemStack());
-                convertedItems.add(compStack);
+        SmelterTables tables = tables();
+        // Gather the candidate set for each occupied slot; any unknown item means there is no recipe.
+        BitSet[] candidates = new BitSet[maxInputItems];
+        int present = 0;
+        for (int i = 0; i < maxInputItems && i < inputSlots.size(); ++i) {
+            if (inputSlots.get(i).isEmpty()) {
+                continue;
             }
+            BitSet bits = tables.recipeIndex.get(inputSlots.get(i).getItemStack());
+            if (bits == null) {
+                return null;
+            }
+            candidates[present++] = bits;
         }
-        if (convertedItems.isEmpty()) {
+        if (present == 0) {
             return null;
         }
-        return recipeMap.get(new SmelterMapWrapper(convertedItems));
+        // Walk the sparsest set and test membership in the others - this is the intersection, without copying.
+        int smallest = 0;
+        for (int i = 1; i < present; ++i) {
+            if (candidates[i].cardinality() < candidates[smallest].cardinality()) {
+                smallest = i;
+            }
+        }
+        for (int index = candidates[smallest].nextSetBit(0); index >= 0; index = candidates[smallest].nextSetBit(index + 1)) {
+            boolean intersects = true;
+            for (int i = 0; i < present && intersects; ++i) {
+                intersects = i == smallest || candidates[i].get(index);
+            }
+            if (intersects) {
+                InternalSmelterRecipe recipe = tables.recipeList.get(index);
+                if (recipe.matches(inputSlots, present, true)) {
+                    return recipe;
+                }
+            }
+        }
+        return null;
     }
 
     protected IMachineRecipe addRecipe(int energy, float experience, List<ItemStack> inputItems, List<FluidStack> inputFluids, List<ItemStack> outputItems, List<Float> chance, List<FluidStack> outputFluids) {
 
-        if (inputItems.isEmpty() || outputItems.isEmpty() && outputFluids.isEmpty() || outputItems.size() > maxOutputItems || outputFluids.size() > maxOutputFluids || energy <= 0) {
+        List<List<ItemStack>> alternatives = new ArrayList<>(inputItems.size());
+        for (ItemStack stack : inputItems) {
+            alternatives.add(Collections.singletonList(stack));
+        }
+        return addRecipeAlternatives(energy, experience, alternatives, inputFluids, outputItems, chance, outputFluids);
+    }
+
+    /**
+     * Adds a recipe where each input is a list of interchangeable stacks (one per matching item of an Ingredient).
+     * <p>
+     * The recipe is stored ONCE and every distinct input item is indexed against it - no ingredient combinations are expanded.
+     */
+    protected IMachineRecipe addRecipeAlternatives(int energy, float experience, List<List<ItemStack>> inputItems, List<FluidStack> inputFluids, List<ItemStack> outputItems, List<Float> chance, List<FluidStack> outputFluids) {
+
+        if (inputItems.isEmpty() || inputItems.size() > maxInputItems || outputItems.isEmpty() && outputFluids.isEmpty() || outputItems.size() > maxOutputItems || outputFluids.size() > maxOutputFluids || energy <= 0) {
             return null;
         }
-        for (ItemStack stack : inputItems) {
-            if (stack.isEmpty()) {
+        List<Long2IntOpenHashMap> inputCounts = new ArrayList<>(inputItems.size());
+        List<ItemStack> displayItems = new ArrayList<>(inputItems.size());
+        for (List<ItemStack> alternatives : inputItems) {
+            Long2IntOpenHashMap counts = new Long2IntOpenHashMap(alternatives.size());
+            for (ItemStack stack : alternatives) {
+                if (!stack.isEmpty()) {
+                    counts.putIfAbsent(ItemStackMap.getItemKey(stack), stack.getCount());
+                }
+            }
+            if (counts.isEmpty()) {
                 return null;
             }
+            counts.trim();
+            inputCounts.add(counts);
+            displayItems.add(alternatives.get(0));
         }
         for (ItemStack stack : outputItems) {
             if (stack.isEmpty()) {
@@ -134,36 +171,40 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
         }
         energy = (int) (energy * getDefaultScale());
 
-        List<ComparableItemStack> convertedItems = new ArrayList<>(inputItems.size());
-        for (ItemStack stack : inputItems) {
-            if (!inputItems.isEmpty()) {
-                ComparableItemStack compStack = convert(stack);
-                validItems.add(compStack);
-                convertedItems.add(compStack);
+        InternalSmelterRecipe recipe = new InternalSmelterRecipe(energy, experience, displayItems, inputCounts, inputFluids, outputItems, chance, outputFluids);
+        int index = stagedTables.recipeList.size();
+        stagedTables.recipeList.add(recipe);
+        for (List<ItemStack> alternatives : inputItems) {
+            for (ItemStack stack : alternatives) {
+                if (stack.isEmpty()) {
+                    continue;
+                }
+                BitSet bits = stagedTables.recipeIndex.get(stack);
+                if (bits == null) {
+                    bits = new BitSet();
+                    stagedTables.recipeIndex.put(stack, bits);
+                }
+                bits.set(index);
             }
         }
-        InternalSmelterRecipe recipe = new InternalSmelterRecipe(energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
-        recipeMap.put(new SmelterMapWrapper(convertedItems), recipe);
         return recipe;
     }
     // endregion
 
     public List<ItemStack> getCatalysts() {
 
-        List<ItemStack> ret = new ArrayList<>(catalystMap.size());
-        catalystMap.keySet().forEach(stack -> ret.add(stack.toItemStack()));
-        return ret;
+        return tables().catalystMap.keys();
     }
 
     // region CATALYSTS
     public IRecipeCatalyst getCatalyst(IItemStackAccess input) {
 
-        return catalystMap.get(convert(input.getItemStack()));
+        return tables().catalystMap.get(input.getItemStack());
     }
 
     public IRecipeCatalyst getCatalyst(ItemStack input) {
 
-        return catalystMap.get(convert(input));
+        return tables().catalystMap.get(input);
     }
 
     public void addCatalyst(ThermalCatalyst catalyst) {
@@ -179,7 +220,7 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
             return null;
         }
         BaseMachineCatalyst catalyst = new BaseMachineCatalyst(primaryMod, secondaryMod, energyMod, minChance, useChance);
-        catalystMap.put(convert(input), catalyst);
+        stagedTables.catalystMap.put(input, catalyst);
         return catalyst;
     }
 
@@ -190,7 +231,7 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
 
     public IRecipeCatalyst removeCatalyst(ItemStack input) {
 
-        return catalystMap.remove(convert(input));
+        return tables().catalystMap.remove(input);
     }
     // endregion
 
@@ -204,7 +245,7 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
     @Override
     public List<IMachineRecipe> getRecipeList() {
 
-        return new ArrayList<>(recipeMap.values());
+        return new ArrayList<>(tables().recipeList);
     }
     // endregion
 
@@ -227,59 +268,98 @@ public class SmelterRecipeManager extends AbstractManager implements IRecipeMana
             addCatalyst((ThermalCatalyst) entry.getValue());
         }
     }
+
+    @Override
+    public Object getStagedTables() {
+
+        return stagedTables;
+    }
     // endregion
 
-    // region WRAPPER CLASS
-    protected static class SmelterMapWrapper {
+    // region TABLES
+    /**
+     * Recipe indices in {@link #recipeIndex} point into {@link #recipeList}, so the two are always published together.
+     */
+    protected static class SmelterTables {
 
-        Set<Integer> itemHashes;
-        int hashCode;
+        protected final List<InternalSmelterRecipe> recipeList = new ArrayList<>();
+        protected final ItemStackMap<BitSet> recipeIndex = new ItemStackMap<>();
+        protected final ItemStackMap<IRecipeCatalyst> catalystMap = new ItemStackMap<>();
 
-        SmelterMapWrapper(List<ComparableItemStack> itemStacks) {
+    }
+    // endregion
 
-            this.itemHashes = new ObjectOpenHashSet<>(itemStacks.size());
-            for (ComparableItemStack itemStack : itemStacks) {
-                if (itemStack.hashCode() != 0) {
-                    this.itemHashes.add(itemStack.hashCode());
-                    hashCode += itemStack.hashCode();
-                }
-            }
-        }
+    // region CATALYZED RECIPE
+    protected static class InternalSmelterRecipe extends CatalyzedMachineRecipe {
 
-        @Override
-        public boolean equals(Object o) {
+        protected final List<Long2IntOpenHashMap> inputCounts;
 
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            SmelterMapWrapper that = (SmelterMapWrapper) o;
-            return itemHashes.size() == that.itemHashes.size() && itemHashes.containsAll(that.itemHashes);
+        public InternalSmelterRecipe(int energy, float experience, List<ItemStack> inputItems, List<Long2IntOpenHashMap> inputCounts, @Nullable List<FluidStack> inputFluids, @Nullable List<ItemStack> outputItems, @Nullable List<Float> chance, @Nullable List<FluidStack> outputFluids) {
+
+            super(3, energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
+            this.inputCounts = inputCounts;
         }
 
         @Override
-        public int hashCode() {
+        public IRecipeCatalyst getCatalyst(ItemStack input) {
 
-            return hashCode;
+            return instance().getCatalyst(input);
         }
 
-    }
-    // endregion
+        /**
+         * Checks whether the occupied input slots can be assigned one-to-one to this recipe's ingredients, in any order.
+         *
+         * @param inputSlots  Input slots; only those before the catalyst slot are considered.
+         * @param present     Number of occupied input slots.
+         * @param checkCounts If TRUE, each slot must also hold at least the required count.
+         */
+        public boolean matches(List<? extends IItemStackAccess> inputSlots, int present, boolean checkCounts) {
 
-    // region CATALYZED RECIPE
-    protected static class InternalSmelterRecipe extends CatalyzedMachineRecipe {
+            return present == inputCounts.size() && assign(inputSlots, 0, 0, checkCounts, null);
+        }
 
-        public InternalSmelterRecipe(int energy, float experience, @Nullable List<ItemStack> inputItems, @Nullable List<FluidStack> inputFluids, @Nullable List<ItemStack> outputItems, @Nullable List<Float> chance, @Nullable List<FluidStack> outputFluids) {
+        /**
+         * Depth-first assignment of ingredients to slots. Recipes have at most 3 ingredients, so this is at most 6 permutations.
+         */
+        protected boolean assign(List<? extends IItemStackAccess> inputSlots, int ingredient, int usedSlots, boolean checkCounts, @Nullable int[] counts) {
 
-            super(3, energy, experience, inputItems, inputFluids, outputItems, chance, outputFluids);
+            if (ingredient >= inputCounts.size()) {
+                return true;
+            }
+            Long2IntOpenHashMap alternatives = inputCounts.get(ingredient);
+            for (int i = 0; i < catalystSlot && i < inputSlots.size(); ++i) {
+                if ((usedSlots & (1 << i)) != 0 || inputSlots.get(i).isEmpty()) {
+                    continue;
+                }
+                ItemStack stack = inputSlots.get(i).getItemStack();
+                int required = alternatives.get(ItemStackMap.getItemKey(stack));
+                if (required <= 0 || checkCounts && stack.getCount() < required) {
+                    continue;
+                }
+                if (assign(inputSlots, ingredient + 1, usedSlots | (1 << i), checkCounts, counts)) {
+                    if (counts != null) {
+                        counts[i] = required;
+                    }
+                    return true;
+                }
+            }
+            return false;
         }
 
         @Override
-        public IRecipeCatalyst getCatalyst(ItemStack input) {
+        public List<Integer> getInputItemCounts(IMachineInventory inventory) {
 
-            return instance().getCatalyst(input);
+            int[] ret = new int[inventory.inputSlots().size()];
+            assign(inventory.inputSlots(), 0, 0, true, ret);
+
+            // Catalyst Logic
+            if (catalyzable && ret.length > catalystSlot) {
+                IRecipeCatalyst catalyst = getCatalyst(inventory.inputSlots().get(catalystSlot).getItemStack());
+                if (catalyst != null && MathHelper.RANDOM.nextFloat() < catalyst.getUseChance() * inventory.getUseChance()) {
+                    ret[catalystSlot] = 1;
+                }
+            }
+            return IntStream.of(ret).boxed().collect(Collectors.toList());
         }
 
     }
@@ -68,6 +68,12 @@ public class CrafterRecipe extends BaseMachineRecipe {
         return CHANCE;
     }
 
+    @Override
+    public float getOutputItemChance(IMachineInventory inventory, int index) {
+
+        return CHANCE.get(0);
+    }
+
     @Override
     public Pair<List<Integer>, List<Integer>> getInputItemAndFluidCounts(IMachineInventory inventory) {
 
@@ -0,0 +1,115 @@
+package cofh.thermal.expansion.util.managers.machine;
+
+import cofh.core.fluid.IFluidStackAccess;
+import cofh.core.inventory.ItemStorageCoFH;
+import cofh.core.util.ItemStackMap;
+import cofh.thermal.core.util.IMachineInventory;
+import cofh.thermal.expansion.util.managers.machine.SmelterRecipeManager.InternalSmelterRecipe;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.registry.Bootstrap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmelterRecipeManagerTest {
+
+    @BeforeAll
+    public static void setup() {
+
+        Bootstrap.register();
+    }
+
+    @Test
+    public void countsFollowTheAssignmentThatMatched() {
+
+        // Both ingredients accept iron; only slot 1 holds enough for the first one.
+        InternalSmelterRecipe recipe = recipe(counts(new ItemStack(Items.IRON_INGOT, 3)), counts(new ItemStack(Items.IRON_INGOT, 1)));
+        IMachineInventory inventory = inventory(new ItemStack(Items.IRON_INGOT, 1), new ItemStack(Items.IRON_INGOT, 3), ItemStack.EMPTY);
+
+        assertTrue(recipe.matches(inventory.inputSlots(), 2, true));
+        assertEquals(Arrays.asList(1, 3, 0), recipe.getInputItemCounts(inventory));
+    }
+
+    @Test
+    public void countsFollowSlotsInAnyOrder() {
+
+        InternalSmelterRecipe recipe = recipe(counts(new ItemStack(Items.IRON_INGOT, 2)), counts(new ItemStack(Items.GOLD_INGOT, 1)));
+        IMachineInventory inventory = inventory(new ItemStack(Items.GOLD_INGOT, 5), new ItemStack(Items.IRON_INGOT, 7), ItemStack.EMPTY);
+
+        assertTrue(recipe.matches(inventory.inputSlots(), 2, true));
+        assertEquals(Arrays.asList(1, 2, 0), recipe.getInputItemCounts(inventory));
+    }
+
+    @Test
+    public void alternativesBacktrackToAValidAssignment() {
+
+        // The first ingredient takes gold first, leaving nothing for the second; only iron for the first works.
+        InternalSmelterRecipe recipe = recipe(counts(new ItemStack(Items.IRON_INGOT, 1), new ItemStack(Items.GOLD_INGOT, 1)), counts(new ItemStack(Items.GOLD_INGOT, 2)));
+        IMachineInventory inventory = inventory(new ItemStack(Items.GOLD_INGOT, 2), new ItemStack(Items.IRON_INGOT, 1), ItemStack.EMPTY);
+
+        assertTrue(recipe.matches(inventory.inputSlots(), 2, true));
+        assertEquals(Arrays.asList(2, 1, 0), recipe.getInputItemCounts(inventory));
+    }
+
+    @Test
+    public void insufficientCountsDoNotMatch() {
+
+        InternalSmelterRecipe recipe = recipe(counts(new ItemStack(Items.IRON_INGOT, 3)), counts(new ItemStack(Items.IRON_INGOT, 3)));
+        IMachineInventory inventory = inventory(new ItemStack(Items.IRON_INGOT, 3), new ItemStack(Items.IRON_INGOT, 2), ItemStack.EMPTY);
+
+        assertFalse(recipe.matches(inventory.inputSlots(), 2, true));
+        assertTrue(recipe.matches(inventory.inputSlots(), 2, false));
+    }
+
+    // region HELPERS
+    private static Long2IntOpenHashMap counts(ItemStack... alternatives) {
+
+        Long2IntOpenHashMap counts = new Long2IntOpenHashMap();
+        for (ItemStack stack : alternatives) {
+            counts.put(ItemStackMap.getItemKey(stack), stack.getCount());
+        }
+        return counts;
+    }
+
+    private static InternalSmelterRecipe recipe(Long2IntOpenHashMap... inputCounts) {
+
+        List<ItemStack> display = new ArrayList<>();
+        for (int i = 0; i < inputCounts.length; ++i) {
+            display.add(new ItemStack(Items.IRON_INGOT));
+        }
+        return new InternalSmelterRecipe(1000, 0.0F, display, Arrays.asList(inputCounts), null, Collections.singletonList(new ItemStack(Items.IRON_BLOCK)), null, null);
+    }
+
+    private static IMachineInventory inventory(ItemStack... stacks) {
+
+        List<ItemStorageCoFH> slots = new ArrayList<>();
+        for (ItemStack stack : stacks) {
+            ItemStorageCoFH slot = new ItemStorageCoFH();
+            slot.setItemStack(stack);
+            slots.add(slot);
+        }
+        return new IMachineInventory() {
+
+            @Override
+            public List<ItemStorageCoFH> inputSlots() {
+
+                return slots;
+            }
+
+            @Override
+            public List<? extends IFluidStackAccess> inputTanks() {
+
+                return Collections.emptyList();
+            }
+        };
+    }
+    // endregion
+}